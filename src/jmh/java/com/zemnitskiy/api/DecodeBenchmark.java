@@ -0,0 +1,70 @@
+package com.zemnitskiy.api;
+
+import com.zemnitskiy.api.json.LeonJson;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Sport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding of the three upstream payloads through the streaming
+ * {@link LeonApiClient#decode(InputStream, java.lang.reflect.Type)} path used by the client.
+ *
+ * <p>The payloads are generated by {@link SyntheticPayloads} with the shape and size of typical
+ * {@code betline/sports}, {@code betline/events/all} and {@code betline/event/all} responses.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodeBenchmark {
+
+    private byte[] sports;
+    private byte[] league;
+    private byte[] event;
+
+    @Setup
+    public void setUp() {
+        sports = SyntheticPayloads.sports(30, 20, 10);
+        league = SyntheticPayloads.league(50, 3, 3);
+        event = SyntheticPayloads.event(200, 3);
+    }
+
+    @Benchmark
+    public List<Sport> decodeSports() throws IOException {
+        try (InputStream body = new ByteArrayInputStream(sports)) {
+            return LeonApiClient.decode(body, LeonJson.SPORT_LIST.getType());
+        }
+    }
+
+    @Benchmark
+    public League decodeLeagueEvents() throws IOException {
+        try (InputStream body = new ByteArrayInputStream(league)) {
+            return LeonApiClient.decode(body, League.class);
+        }
+    }
+
+    @Benchmark
+    public Event decodeEventDetails() throws IOException {
+        try (InputStream body = new ByteArrayInputStream(event)) {
+            return LeonApiClient.decode(body, Event.class);
+        }
+    }
+}
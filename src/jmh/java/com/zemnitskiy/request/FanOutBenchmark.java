@@ -0,0 +1,118 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.api.SyntheticPayloads;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Region;
+import com.zemnitskiy.model.basemodel.Sport;
+import com.zemnitskiy.model.result.RootResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the request fan-out of {@link RootRequest#fetch()} against an in-process stub client that
+ * answers every call with an already decoded model, so only the cost of building the request tree and
+ * assembling the results is measured.
+ *
+ * <p>{@link #fetchStructured()} runs the same tree on the {@link StructuredEngine}, which pays for a
+ * virtual thread and a scope per request instead of a chain of future stages.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FanOutBenchmark {
+
+    private static final int SPORT_COUNT = 4;
+    private static final int LEAGUES_PER_SPORT = 50;
+    private static final int EVENTS_PER_LEAGUE = 20;
+    private static final int MARKETS_PER_EVENT = 20;
+    private static final int RUNNERS_PER_MARKET = 3;
+
+    @Param({"false", "true"})
+    public boolean reuseLeagueMarkets;
+
+    private final StructuredEngine structuredEngine = new StructuredEngine();
+    private RootRequest request;
+
+    @Setup
+    public void setUp() {
+        StubApiClient apiClient = new StubApiClient();
+        request = new RootRequest(apiClient, apiClient.sportNames(), new RequestOptions(reuseLeagueMarkets, 1));
+    }
+
+    @Benchmark
+    public RootResult fetch() {
+        return request.fetch().join();
+    }
+
+    @Benchmark
+    public RootResult fetchStructured() {
+        return structuredEngine.fetch(request).join();
+    }
+
+    private static final class StubApiClient extends LeonApiClient {
+        private final List<Sport> sports = new ArrayList<>();
+        private final Map<Long, League> leaguesWithEvents = new HashMap<>();
+        private final Map<Long, Event> events = new HashMap<>();
+
+        StubApiClient() {
+            super(null, null, "http://localhost/");
+            for (int s = 0; s < SPORT_COUNT; s++) {
+                List<League> leagues = new ArrayList<>(LEAGUES_PER_SPORT);
+                for (int l = 0; l < LEAGUES_PER_SPORT; l++) {
+                    League league = new League(s * LEAGUES_PER_SPORT + l, "League " + l, l, true, l, null);
+                    leagues.add(league);
+                    List<Event> leagueEvents = new ArrayList<>(EVENTS_PER_LEAGUE);
+                    for (int e = 0; e < EVENTS_PER_LEAGUE; e++) {
+                        Event event = SyntheticPayloads.event(league.id() * EVENTS_PER_LEAGUE + e,
+                                MARKETS_PER_EVENT, RUNNERS_PER_MARKET);
+                        leagueEvents.add(event);
+                        events.put(event.id(), event);
+                    }
+                    leaguesWithEvents.put(league.id(), new League(league.id(), league.name(), league.weight(),
+                            league.top(), league.topOrder(), leagueEvents));
+                }
+                sports.add(new Sport(s, "Sport " + s, List.of(new Region("Region " + s, leagues))));
+            }
+        }
+
+        List<String> sportNames() {
+            return sports.stream().map(Sport::name).toList();
+        }
+
+        @Override
+        public CompletableFuture<List<Sport>> fetchBaseInformation() {
+            return CompletableFuture.completedFuture(sports);
+        }
+
+        @Override
+        public CompletableFuture<League> fetchEventsForLeague(League league) {
+            return CompletableFuture.completedFuture(leaguesWithEvents.get(league.id()));
+        }
+
+        @Override
+        public CompletableFuture<Event> fetchEventDetails(long eventId) {
+            return CompletableFuture.completedFuture(events.get(eventId));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.zemnitskiy.visitor;
+
+import com.zemnitskiy.api.SyntheticPayloads;
+import com.zemnitskiy.diff.SnapshotDiffer;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import com.zemnitskiy.model.snapshot.ColumnarSnapshot;
+import com.zemnitskiy.request.EventRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures traversals of a 20k-runner {@link RootResult}: printing with {@link ResultPrinter}, a bare
+ * visitor walk, and diffing two snapshots with {@link SnapshotDiffer}. Printing and the bare walk are
+ * repeated on the same tree held as a {@link ColumnarSnapshot}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VisitorBenchmark {
+
+    private static final int MATCHES = 200;
+    private static final int MARKETS_PER_MATCH = 20;
+    private static final int RUNNERS_PER_MARKET = 5;
+
+    private RootResult previous;
+    private RootResult current;
+    private ColumnarSnapshot columnar;
+
+    @Setup
+    public void setUp() {
+        previous = tree(0);
+        // every other event shifts its prices, so about half of the runners show up as changed
+        current = tree(1);
+        columnar = ColumnarSnapshot.of(current);
+    }
+
+    @Benchmark
+    public void print() throws IOException {
+        ResultPrinter printer = new ResultPrinter(Writer.nullWriter());
+        current.accept(printer);
+        printer.flush();
+    }
+
+    @Benchmark
+    public void traverse(Blackhole blackhole) {
+        current.accept(consuming(blackhole));
+    }
+
+    @Benchmark
+    public void traverseColumnar(Blackhole blackhole) {
+        columnar.accept(consuming(blackhole));
+    }
+
+    @Benchmark
+    public void printColumnar() throws IOException {
+        ResultPrinter printer = new ResultPrinter(Writer.nullWriter());
+        columnar.accept(printer);
+        printer.flush();
+    }
+
+    private static ResultVisitor consuming(Blackhole blackhole) {
+        return new ResultVisitor() {
+            @Override
+            public void visitRoot(RootResult rootResult) {
+                blackhole.consume(rootResult);
+            }
+
+            @Override
+            public void visitLeague(LeagueResult leagueResult) {
+                blackhole.consume(leagueResult);
+            }
+
+            @Override
+            public void visitMatch(MatchResult matchResult) {
+                blackhole.consume(matchResult);
+            }
+
+            @Override
+            public void visitMarket(MarketResult marketResult) {
+                blackhole.consume(marketResult);
+            }
+
+            @Override
+            public void visitRunner(RunnerResult runnerResult) {
+                blackhole.consume(runnerResult);
+            }
+        };
+    }
+
+    @Benchmark
+    public void diff(Blackhole blackhole) {
+        SnapshotDiffer.diff(previous, current, new ResultDiffVisitor() {
+            @Override
+            public void visitAddedMatch(LeagueResult leagueResult, MatchResult matchResult) {
+                blackhole.consume(matchResult);
+            }
+
+            @Override
+            public void visitRemovedMatch(LeagueResult leagueResult, MatchResult matchResult) {
+                blackhole.consume(matchResult);
+            }
+
+            @Override
+            public void visitAddedMarket(MatchResult matchResult, MarketResult marketResult) {
+                blackhole.consume(marketResult);
+            }
+
+            @Override
+            public void visitRemovedMarket(MatchResult matchResult, MarketResult marketResult) {
+                blackhole.consume(marketResult);
+            }
+
+            @Override
+            public void visitAddedRunner(MarketResult marketResult, RunnerResult runnerResult) {
+                blackhole.consume(runnerResult);
+            }
+
+            @Override
+            public void visitRemovedRunner(MarketResult marketResult, RunnerResult runnerResult) {
+                blackhole.consume(runnerResult);
+            }
+
+            @Override
+            public void visitChangedPrice(MatchResult matchResult, MarketResult marketResult,
+                                          RunnerResult previousRunner, RunnerResult currentRunner) {
+                blackhole.consume(currentRunner);
+            }
+        });
+    }
+
+    private static RootResult tree(int priceShift) {
+        List<MatchResult> matches = new ArrayList<>(MATCHES);
+        for (int e = 0; e < MATCHES; e++) {
+            int shift = e % 2 == 0 ? priceShift : 0;
+            matches.add(EventRequest.toMatchResult(withPriceShift(e, shift)));
+        }
+        League league = new League(1L, "Synthetic League", 1, true, 1, List.of());
+        return new RootResult(List.of(new LeagueResult("Football", league, matches)));
+    }
+
+    private static Event withPriceShift(long id, int shift) {
+        // the synthetic prices depend on the event id, so shifting it and restoring the ids changes only prices
+        Event shifted = SyntheticPayloads.event(id + shift, MARKETS_PER_MATCH, RUNNERS_PER_MARKET);
+        Event original = SyntheticPayloads.event(id, MARKETS_PER_MATCH, RUNNERS_PER_MARKET);
+        List<Market> markets = new ArrayList<>(MARKETS_PER_MATCH);
+        for (int m = 0; m < MARKETS_PER_MATCH; m++) {
+            Market market = original.markets().get(m);
+            List<Runner> runners = new ArrayList<>(RUNNERS_PER_MARKET);
+            for (int r = 0; r < RUNNERS_PER_MARKET; r++) {
+                Runner runner = market.runners().get(r);
+                runners.add(new Runner(runner.id(), runner.name(),
+                        shifted.markets().get(m).runners().get(r).price()));
+            }
+            markets.add(new Market(market.id(), market.name(), runners));
+        }
+        return new Event(original.id(), original.name(), original.kickoff(), markets);
+    }
+}
@@ -1,14 +1,39 @@
 package com.zemnitskiy;
 
+import com.zemnitskiy.api.ApiClientOptions;
+import com.zemnitskiy.api.HttpClientProfile;
 import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.journal.JournalReader;
+import com.zemnitskiy.journal.SnapshotJournal;
+import com.zemnitskiy.metrics.MetricsJmx;
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.metrics.MetricsTextDump;
 import com.zemnitskiy.parser.LeonParser;
+import com.zemnitskiy.request.ExecutionMode;
+import com.zemnitskiy.request.FailurePolicy;
+import com.zemnitskiy.request.RequestDeadlines;
+import com.zemnitskiy.request.RequestLimits;
+import com.zemnitskiy.request.RequestOptions;
+import com.zemnitskiy.schedule.EventRefreshScheduler;
+import com.zemnitskiy.schedule.RefreshPolicy;
+import com.zemnitskiy.visitor.ResultPrinter;
+import com.zemnitskiy.visitor.ResultDiffPrinter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class Main {
     public static final String FOOTBALL = "Football";
@@ -21,19 +46,194 @@ public class Main {
     public static final String PARAMETERS = "reg,urlv2,mm2,rrc,nodup";
     public static final int LEAGUE_COUNT = 1;
     public static final int MATCH_COUNT = 2;
+    public static final boolean REUSE_LEAGUE_MARKETS = true;
+    public static final int MIN_LEAGUE_MARKETS = 1;
+    public static final RequestDeadlines REQUEST_DEADLINES =
+            new RequestDeadlines(Duration.ofSeconds(30), Duration.ofSeconds(15), Duration.ofSeconds(10));
+    public static final FailurePolicy FAILURE_POLICY = FailurePolicy.COLLECT_PARTIAL;
+    public static final String POLL_ARGUMENT = "--poll";
+    public static final Duration POLL_INTERVAL = Duration.ofSeconds(30);
+    public static final String REFRESH_ARGUMENT = "--refresh";
+    public static final String STREAM_ARGUMENT = "--stream";
+    public static final String CRAWL_ARGUMENT = "--crawl";
+    public static final RequestDeadlines CRAWL_DEADLINES =
+            new RequestDeadlines(null, Duration.ofSeconds(60), Duration.ofSeconds(10));
+    public static final Duration CRAWL_REPORT_INTERVAL = Duration.ofSeconds(5);
+    public static final String SPORTS_ARGUMENT = "--sports=";
+    public static final String LEAGUES_ARGUMENT = "--leagues=";
+    public static final String MATCHES_ARGUMENT = "--matches=";
+    public static final String ALL_VALUE = "all";
+    public static final String USAGE = "Usage: [--poll | --refresh | --stream | --crawl | --replay]"
+            + " [--sports=<name>,<name>|all] [--leagues=<n>|all] [--matches=<n>|all]"
+            + " [--virtual-threads | --structured] [--http1] [--hedge] [--journal] [--metrics]";
+    public static final int REFRESH_REQUESTS_PER_TICK = 5;
+    public static final Duration REFRESH_TICK = Duration.ofSeconds(1);
+    public static final String VIRTUAL_THREADS_ARGUMENT = "--virtual-threads";
+    public static final String STRUCTURED_ARGUMENT = "--structured";
+    public static final String METRICS_ARGUMENT = "--metrics";
+    public static final String HTTP1_ARGUMENT = "--http1";
+    public static final String HEDGE_ARGUMENT = "--hedge";
+    public static final double HEDGE_PERCENTILE = 0.95;
+    public static final double HEDGE_BUDGET = 0.05;
+    public static final String JOURNAL_ARGUMENT = "--journal";
+    public static final String REPLAY_ARGUMENT = "--replay";
+    public static final Path JOURNAL_DIRECTORY = Path.of("journal");
     public static final List<String> CURRENT_DISCIPLINES = List.of(
             FOOTBALL, TENNIS, ICE_HOCKEY, BASKETBALL
     );
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
 
     public static void main(String[] args) {
-        try (ExecutorService executorService = Executors.newFixedThreadPool(3);
-             HttpClient httpClient = HttpClient.newBuilder().build()) {
-            LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, BASE_URL);
-            LeonParser parser = new LeonParser(apiClient);
-            parser.processData();
+        if (Arrays.asList(args).contains(REPLAY_ARGUMENT)) {
+            replayJournal();
+            return;
+        }
+        ExecutionMode mode = Arrays.asList(args).contains(STRUCTURED_ARGUMENT)
+                ? ExecutionMode.STRUCTURED
+                : Arrays.asList(args).contains(VIRTUAL_THREADS_ARGUMENT)
+                ? ExecutionMode.VIRTUAL_THREADS
+                : ExecutionMode.FIXED_POOL;
+        HttpClientProfile profile = Arrays.asList(args).contains(HTTP1_ARGUMENT)
+                ? HttpClientProfile.HTTP_1_1
+                : HttpClientProfile.HTTP_2;
+        boolean crawl = Arrays.asList(args).contains(CRAWL_ARGUMENT);
+        List<String> sportsNames;
+        RequestLimits limits;
+        try {
+            sportsNames = sportsNames(args, crawl ? List.of() : CURRENT_DISCIPLINES);
+            limits = limits(args, crawl ? RequestLimits.UNLIMITED : RequestLimits.DEFAULT);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.err.println(USAGE);
+            return;
+        }
+        MetricsRegistry metrics = MetricsRegistry.create();
+        try (ExecutorService executorService = mode.newExecutorService();
+             HttpClient httpClient = profile.newHttpClient(mode.usesVirtualThreads() ? executorService : null);
+             SnapshotJournal journal = Arrays.asList(args).contains(JOURNAL_ARGUMENT)
+                     ? SnapshotJournal.open(JOURNAL_DIRECTORY, SnapshotJournal.DEFAULT_SEGMENT_BYTES, metrics)
+                     : null) {
+            MetricsJmx.register(metrics);
+            ApiClientOptions apiOptions = Arrays.asList(args).contains(HEDGE_ARGUMENT)
+                    ? ApiClientOptions.DEFAULT.withHedging(HEDGE_PERCENTILE, HEDGE_BUDGET)
+                    : ApiClientOptions.DEFAULT;
+            LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, BASE_URL, apiOptions, metrics);
+            // connections are set up while the parser is being built
+            CompletableFuture<Void> warmUp = apiClient.warmUp(profile.warmUpConnections());
+            RequestOptions options = new RequestOptions(REUSE_LEAGUE_MARKETS, MIN_LEAGUE_MARKETS, metrics)
+                    .withDeadlines(crawl ? CRAWL_DEADLINES : REQUEST_DEADLINES)
+                    .withFailurePolicy(FAILURE_POLICY)
+                    .withLimits(limits);
+            LeonParser parser = new LeonParser(apiClient, sportsNames, options, mode.newEngine(executorService),
+                    journal);
+            // the first requests reuse the warmed-up connections instead of racing them for new ones
+            warmUp.join();
+            if (Arrays.asList(args).contains(POLL_ARGUMENT)) {
+                try (ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor()) {
+                    parser.startPolling(scheduler, POLL_INTERVAL, new ResultDiffPrinter()).get();
+                }
+            } else if (Arrays.asList(args).contains(REFRESH_ARGUMENT)) {
+                ResultPrinter printer = new ResultPrinter();
+                EventRefreshScheduler refreshScheduler = new EventRefreshScheduler(apiClient, RefreshPolicy.DEFAULT,
+                        REFRESH_REQUESTS_PER_TICK, matchResult -> {
+                            synchronized (printer) {
+                                matchResult.accept(printer);
+                                try {
+                                    printer.flush();
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            }
+                        }, Clock.systemUTC());
+                refreshScheduler.registerMetrics(metrics);
+                try (ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor()) {
+                    parser.startEventRefresh(scheduler, refreshScheduler, REFRESH_TICK).get();
+                }
+            } else if (crawl) {
+                parser.crawlData(new ResultPrinter(), CRAWL_REPORT_INTERVAL);
+            } else if (Arrays.asList(args).contains(STREAM_ARGUMENT)) {
+                parser.streamData();
+            } else {
+                parser.processData();
+            }
+            if (Arrays.asList(args).contains(METRICS_ARGUMENT)) {
+                System.err.print(MetricsTextDump.format(metrics));
+            }
         } catch (Exception e) {
             logger.error("Error during processing: {}", e.getMessage(), e);
         }
     }
+
+    /**
+     * Reads the sports to fetch from {@code --sports=<name>,<name>}, where {@code all} selects every
+     * sport of the catalog.
+     *
+     * @throws IllegalArgumentException if the argument names no sport
+     */
+    private static List<String> sportsNames(String[] args, List<String> defaultSports) {
+        String value = argumentValue(args, SPORTS_ARGUMENT);
+        if (value == null) {
+            return defaultSports;
+        }
+        if (value.equalsIgnoreCase(ALL_VALUE)) {
+            return List.of();
+        }
+        List<String> sportsNames = Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+        if (sportsNames.isEmpty()) {
+            throw new IllegalArgumentException("No sport given in " + SPORTS_ARGUMENT + value + ".");
+        }
+        return sportsNames;
+    }
+
+    /**
+     * Reads the league and match counts from {@code --leagues=<n>} and {@code --matches=<n>}, where
+     * {@code all} lifts the limit; {@code --leagues=all} also takes the leagues that are not top leagues.
+     *
+     * @throws IllegalArgumentException if a count is not a positive number
+     */
+    private static RequestLimits limits(String[] args, RequestLimits defaultLimits) {
+        RequestLimits limits = defaultLimits;
+        String leagues = argumentValue(args, LEAGUES_ARGUMENT);
+        if (leagues != null && leagues.equalsIgnoreCase(ALL_VALUE)) {
+            limits = new RequestLimits(Integer.MAX_VALUE, limits.eventsPerLeague(), false);
+        } else if (leagues != null) {
+            limits = limits.withLeaguesPerSport(Integer.parseInt(leagues));
+        }
+        String matches = argumentValue(args, MATCHES_ARGUMENT);
+        if (matches != null) {
+            limits = limits.withEventsPerLeague(matches.equalsIgnoreCase(ALL_VALUE)
+                    ? Integer.MAX_VALUE
+                    : Integer.parseInt(matches));
+        }
+        return limits;
+    }
+
+    private static String argumentValue(String[] args, String prefix) {
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith(prefix))
+                .map(arg -> arg.substring(prefix.length()))
+                .reduce((first, last) -> last)
+                .orElse(null);
+    }
+
+    private static void replayJournal() {
+        try {
+            JournalReader reader = JournalReader.open(JOURNAL_DIRECTORY);
+            ResultPrinter printer = new ResultPrinter();
+            reader.forEach(Instant.MIN, Instant.MAX, (timestamp, snapshot) -> {
+                System.out.println("# " + timestamp);
+                snapshot.accept(printer);
+                try {
+                    printer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Error during replay: {}", e.getMessage(), e);
+        }
+    }
 }
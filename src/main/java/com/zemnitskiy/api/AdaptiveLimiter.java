@@ -0,0 +1,265 @@
+package com.zemnitskiy.api;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The {@code AdaptiveLimiter} class bounds the number of concurrent upstream calls with a limit that
+ * adapts to the observed latency and error rate, and queues the calls above the limit fairly.
+ *
+ * <p>The limit follows an AIMD scheme driven by two moving averages of the call latency: a short one
+ * over the last few calls and a long one, the baseline, over the last few hundred. While the short
+ * average stays within {@code latencyTolerance} times the baseline, every successful call grows the
+ * limit additively by {@code 1 / limit}, i.e. by about one per round trip, as long as the limit is
+ * actually being used. When the short average rises above that, or a call fails with a sign of overload
+ * (a {@code 429}/{@code 5xx} {@link ApiResponseException} or an I/O error such as a timeout), the limit
+ * shrinks multiplicatively by {@code backoffRatio}, at most once per baseline round trip. Comparing
+ * averages rather than single calls keeps the normal long tail of upstream latencies from being
+ * mistaken for congestion.</p>
+ *
+ * <p>Calls that cannot start immediately wait in per-lane queues, and lanes are served round-robin, so
+ * one lane with many pending calls cannot starve the others. Cancelling a queued call removes it from
+ * the queue; cancelling a started call cancels the call itself.</p>
+ */
+public final class AdaptiveLimiter {
+
+    private static final double SHORT_WEIGHT = 0.1;
+    private static final double BASELINE_WEIGHT = 0.002;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    private final Map<String, ArrayDeque<Pending<?>>> queues = new HashMap<>();
+    private final ArrayDeque<String> laneOrder = new ArrayDeque<>();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+    private double shortLatencyNanos;
+    private double baselineNanos;
+    private long lastDecreaseNanos;
+    private boolean decreasedBefore;
+    private long decreases;
+
+    /**
+     * Constructs a new {@code AdaptiveLimiter}.
+     *
+     * @param initialLimit     the limit to start with
+     * @param minLimit         the lowest limit the limiter backs off to
+     * @param maxLimit         the highest limit the limiter grows to
+     * @param backoffRatio     the factor applied to the limit on congestion, between 0 and 1
+     * @param latencyTolerance how many times the baseline latency a call may take before it counts as congestion
+     * @throws IllegalArgumentException if the limits or ratios are out of range
+     */
+    public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+        if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < min <= initial <= max.");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1 || latencyTolerance <= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be in (0, 1) and latency tolerance above 1.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Starts the call as soon as the limit allows, queueing it in the given lane until then.
+     *
+     * @param lane the fairness lane of the call, for example the sport it belongs to
+     * @param call the supplier starting the call
+     * @param <T>  the type of the call result
+     * @return a {@link CompletableFuture} that completes with the result of the call
+     */
+    public <T> CompletableFuture<T> submit(String lane, Supplier<CompletableFuture<T>> call) {
+        Pending<T> pending = new Pending<>(call);
+        synchronized (this) {
+            ArrayDeque<Pending<?>> queue = queues.computeIfAbsent(lane, l -> new ArrayDeque<>());
+            if (queue.isEmpty()) {
+                laneOrder.addLast(lane);
+            }
+            queue.addLast(pending);
+            queued++;
+        }
+        pending.result.whenComplete((value, e) -> {
+            if (pending.result.isCancelled()) {
+                dequeue(lane, pending);
+                pending.cancel();
+            }
+        });
+        drain();
+        return pending.result;
+    }
+
+    /**
+     * Returns the current statistics of the limiter.
+     *
+     * @return the limiter statistics
+     */
+    public synchronized Stats stats() {
+        return new Stats((int) limit, inFlight, queued, decreases);
+    }
+
+    private synchronized void dequeue(String lane, Pending<?> pending) {
+        ArrayDeque<Pending<?>> queue = queues.get(lane);
+        if (queue != null && queue.remove(pending)) {
+            queued--;
+            if (queue.isEmpty()) {
+                queues.remove(lane);
+                laneOrder.remove(lane);
+            }
+        }
+    }
+
+    private void drain() {
+        // a call that completes synchronously drains again from within start(); only the outermost drain
+        // loops, so a long queue of such calls does not grow the stack
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        while (true) {
+            Pending<?> next = nextToStart();
+            if (next != null) {
+                start(next);
+            } else {
+                missed = drainRequests.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private synchronized Pending<?> nextToStart() {
+        while (inFlight < (int) limit && !laneOrder.isEmpty()) {
+            String lane = laneOrder.pollFirst();
+            ArrayDeque<Pending<?>> queue = queues.get(lane);
+            Pending<?> next = queue.pollFirst();
+            queued--;
+            if (queue.isEmpty()) {
+                queues.remove(lane);
+            } else {
+                laneOrder.addLast(lane);
+            }
+            if (!next.result.isDone()) {
+                inFlight++;
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private <T> void start(Pending<T> pending) {
+        long startNanos = System.nanoTime();
+        boolean usingLimit;
+        synchronized (this) {
+            usingLimit = inFlight * 2 >= (int) limit;
+        }
+        CompletableFuture<T> source;
+        try {
+            source = pending.call.get();
+        } catch (RuntimeException e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+        pending.started(source);
+        source.whenComplete((value, e) -> {
+            onComplete(System.nanoTime() - startNanos, e, usingLimit);
+            if (e == null) {
+                pending.result.complete(value);
+            } else {
+                pending.result.completeExceptionally(e);
+            }
+            drain();
+        });
+    }
+
+    private synchronized void onComplete(long latencyNanos, Throwable e, boolean usingLimit) {
+        inFlight--;
+        if (e != null && !isOverload(e)) {
+            return;
+        }
+        if (e == null) {
+            if (baselineNanos == 0) {
+                shortLatencyNanos = latencyNanos;
+                baselineNanos = latencyNanos;
+            } else {
+                shortLatencyNanos += SHORT_WEIGHT * (latencyNanos - shortLatencyNanos);
+                // the baseline follows a slower upstream only gradually, so a sustained slowdown is still
+                // seen as congestion, but drops at once to a faster one
+                baselineNanos = Math.min(shortLatencyNanos, baselineNanos + BASELINE_WEIGHT * (latencyNanos - baselineNanos));
+            }
+        }
+        boolean congested = e != null || shortLatencyNanos > baselineNanos * latencyTolerance;
+        long now = System.nanoTime();
+        if (congested) {
+            // without a baseline yet, any overload signal is worth reacting to
+            if (!decreasedBefore || baselineNanos == 0 || now - lastDecreaseNanos > baselineNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = now;
+                decreasedBefore = true;
+                decreases++;
+            }
+        } else if (usingLimit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    private static boolean isOverload(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof ApiResponseException responseException) {
+            return responseException.isOverload();
+        }
+        return cause instanceof IOException;
+    }
+
+    /**
+     * The statistics of an {@link AdaptiveLimiter}.
+     *
+     * @param limit      the current concurrency limit
+     * @param inFlight   the number of calls currently running
+     * @param queueDepth the number of calls waiting for a permit
+     * @param decreases  the number of times the limit was decreased
+     */
+    public record Stats(int limit, int inFlight, int queueDepth, long decreases) { }
+
+    private static final class Pending<T> {
+        private final Supplier<CompletableFuture<T>> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private CompletableFuture<T> source;
+        private boolean cancelled;
+
+        private Pending(Supplier<CompletableFuture<T>> call) {
+            this.call = call;
+        }
+
+        synchronized void started(CompletableFuture<T> source) {
+            this.source = source;
+            if (cancelled) {
+                source.cancel(true);
+            }
+        }
+
+        void cancel() {
+            CompletableFuture<T> toCancel;
+            synchronized (this) {
+                cancelled = true;
+                toCancel = source;
+            }
+            if (toCancel != null) {
+                toCancel.cancel(true);
+            }
+        }
+    }
+}
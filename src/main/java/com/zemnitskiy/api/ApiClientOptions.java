@@ -0,0 +1,65 @@
+package com.zemnitskiy.api;
+
+import java.time.Duration;
+
+/**
+ * Options that tune the behaviour of the {@link LeonApiClient}.
+ *
+ * @param sportsTtl          how long the {@code betline/sports} catalog is served from the cache
+ *                           before it is revalidated
+ * @param leagueEventsTtl    how long a league's {@code betline/events/all} response is served from the
+ *                           cache before it is revalidated; zero revalidates on every request
+ * @param maxCachedLeagues   the maximum number of league responses kept in the cache
+ * @param initialConcurrency the number of concurrent upstream calls the {@link AdaptiveLimiter} starts with
+ * @param minConcurrency     the lowest concurrency limit the limiter backs off to
+ * @param maxConcurrency     the highest concurrency limit the limiter grows to
+ * @param requestTimeout     the time allowed for a request until its response headers arrive; a timed-out
+ *                           request fails with {@link java.net.http.HttpTimeoutException}
+ * @param hedgePercentile    the percentile of recent {@code betline/event/all} latencies after which a
+ *                           second copy of the request is sent, see {@link RequestHedger}; zero disables
+ *                           hedging
+ * @param hedgeBudget        the highest ratio of hedged to sent {@code betline/event/all} requests
+ */
+public record ApiClientOptions(Duration sportsTtl, Duration leagueEventsTtl, int maxCachedLeagues,
+                               int initialConcurrency, int minConcurrency, int maxConcurrency,
+                               Duration requestTimeout, double hedgePercentile, double hedgeBudget) {
+
+    public static final ApiClientOptions DEFAULT = new ApiClientOptions(Duration.ofMinutes(10), Duration.ZERO, 1024,
+            8, 1, 64, Duration.ofSeconds(10));
+
+    public ApiClientOptions(Duration sportsTtl, Duration leagueEventsTtl, int maxCachedLeagues,
+                            int initialConcurrency, int minConcurrency, int maxConcurrency,
+                            Duration requestTimeout) {
+        this(sportsTtl, leagueEventsTtl, maxCachedLeagues, initialConcurrency, minConcurrency, maxConcurrency,
+                requestTimeout, 0, 0);
+    }
+
+    public boolean hedging() {
+        return hedgePercentile > 0;
+    }
+
+    public ApiClientOptions withSportsTtl(Duration sportsTtl) {
+        return new ApiClientOptions(sportsTtl, leagueEventsTtl, maxCachedLeagues,
+                initialConcurrency, minConcurrency, maxConcurrency, requestTimeout, hedgePercentile, hedgeBudget);
+    }
+
+    public ApiClientOptions withLeagueEventsTtl(Duration leagueEventsTtl) {
+        return new ApiClientOptions(sportsTtl, leagueEventsTtl, maxCachedLeagues,
+                initialConcurrency, minConcurrency, maxConcurrency, requestTimeout, hedgePercentile, hedgeBudget);
+    }
+
+    public ApiClientOptions withConcurrency(int initialConcurrency, int minConcurrency, int maxConcurrency) {
+        return new ApiClientOptions(sportsTtl, leagueEventsTtl, maxCachedLeagues,
+                initialConcurrency, minConcurrency, maxConcurrency, requestTimeout, hedgePercentile, hedgeBudget);
+    }
+
+    public ApiClientOptions withRequestTimeout(Duration requestTimeout) {
+        return new ApiClientOptions(sportsTtl, leagueEventsTtl, maxCachedLeagues,
+                initialConcurrency, minConcurrency, maxConcurrency, requestTimeout, hedgePercentile, hedgeBudget);
+    }
+
+    public ApiClientOptions withHedging(double hedgePercentile, double hedgeBudget) {
+        return new ApiClientOptions(sportsTtl, leagueEventsTtl, maxCachedLeagues,
+                initialConcurrency, minConcurrency, maxConcurrency, requestTimeout, hedgePercentile, hedgeBudget);
+    }
+}
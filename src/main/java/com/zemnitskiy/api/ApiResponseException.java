@@ -0,0 +1,34 @@
+package com.zemnitskiy.api;
+
+/**
+ * Thrown when the Leonbets API answers with a status code other than {@code 200 OK}.
+ */
+public class ApiResponseException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    /**
+     * Constructs a new {@code ApiResponseException} for the given status code.
+     *
+     * @param statusCode the HTTP status code of the response
+     */
+    public ApiResponseException(int statusCode) {
+        super("Failed to fetch data. Response code: " + statusCode);
+        this.statusCode = statusCode;
+    }
+
+    public int statusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Checks whether the status code signals that the server is overloaded or rate limiting.
+     *
+     * @return {@code true} for {@code 429 Too Many Requests} and {@code 5xx} responses
+     */
+    public boolean isOverload() {
+        return statusCode == 429 || statusCode >= 500;
+    }
+}
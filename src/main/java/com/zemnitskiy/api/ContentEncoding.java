@@ -0,0 +1,89 @@
+package com.zemnitskiy.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Negotiates compressed transport for the {@link LeonApiClient}: the value of the
+ * {@code Accept-Encoding} request header, and streaming decompression of a response body according to
+ * its {@code Content-Encoding}.
+ */
+final class ContentEncoding {
+
+    /**
+     * The encodings the client accepts, in order of preference.
+     */
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ContentEncoding() {
+    }
+
+    /**
+     * Checks whether the response body is compressed with an encoding this class can decode.
+     *
+     * @param response the response
+     * @return {@code true} if the body is gzip or deflate encoded
+     */
+    static boolean isCompressed(HttpResponse<?> response) {
+        String encoding = encoding(response);
+        return encoding.equals("gzip") || encoding.equals("x-gzip") || encoding.equals("deflate");
+    }
+
+    /**
+     * Wraps the body stream so that it is decompressed while it is read. Nothing is buffered besides
+     * the decompressor's window, so the decompressed body is never held as a whole.
+     *
+     * @param response the response whose headers name the encoding
+     * @param body     the raw body stream
+     * @return the decompressing stream, or {@code body} itself when the response is not compressed
+     * @throws IOException if the compressed stream header cannot be read
+     */
+    static InputStream decoding(HttpResponse<?> response, InputStream body) throws IOException {
+        return switch (encoding(response)) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, BUFFER_SIZE);
+            case "deflate" -> inflating(body);
+            default -> body;
+        };
+    }
+
+    /**
+     * {@code deflate} is specified as a zlib stream, but some servers send raw deflate data; the zlib
+     * header is recognised by its checksum and anything else is inflated as raw data.
+     */
+    private static InputStream inflating(InputStream body) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(body, 2);
+        int first = in.read();
+        int second = in.read();
+        if (second >= 0) {
+            in.unread(second);
+        }
+        if (first >= 0) {
+            in.unread(first);
+        }
+        boolean zlib = first >= 0 && second >= 0 && (first & 0x0F) == 8 && ((first << 8) | second) % 31 == 0;
+        Inflater inflater = new Inflater(!zlib);
+        return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                // a custom inflater is not released by InflaterInputStream itself
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private static String encoding(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Encoding").orElse("identity").trim().toLowerCase(Locale.ROOT);
+    }
+}
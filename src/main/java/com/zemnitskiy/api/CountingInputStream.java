@@ -0,0 +1,65 @@
+package com.zemnitskiy.api;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} that counts the bytes read through it and the time spent reading them.
+ */
+final class CountingInputStream extends FilterInputStream {
+
+    private long count;
+    private long readNanos;
+
+    CountingInputStream(InputStream in) {
+        super(in);
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     *
+     * @return the byte count
+     */
+    long count() {
+        return count;
+    }
+
+    /**
+     * Returns the time spent in the read calls of the underlying stream so far.
+     *
+     * @return the read time in nanoseconds
+     */
+    long readNanos() {
+        return readNanos;
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        int b = super.read();
+        readNanos += System.nanoTime() - start;
+        if (b >= 0) {
+            count++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        long start = System.nanoTime();
+        int read = super.read(buffer, offset, length);
+        readNanos += System.nanoTime() - start;
+        if (read > 0) {
+            count += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count += skipped;
+        return skipped;
+    }
+}
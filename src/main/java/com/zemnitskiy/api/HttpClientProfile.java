@@ -0,0 +1,45 @@
+package com.zemnitskiy.api;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * A transport profile for the {@link HttpClient} behind a {@link LeonApiClient}.
+ *
+ * @param version           the preferred HTTP version; with {@link HttpClient.Version#HTTP_2} all
+ *                          concurrent requests share one multiplexed connection, and the client falls
+ *                          back to HTTP/1.1 if the server does not negotiate HTTP/2
+ * @param connectTimeout    the time allowed to establish a connection, including the TLS handshake
+ * @param warmUpConnections the number of connections {@link LeonApiClient#warmUp(int)} opens at startup
+ */
+public record HttpClientProfile(HttpClient.Version version, Duration connectTimeout, int warmUpConnections) {
+
+    /**
+     * Prefers HTTP/2; one warmed-up connection carries every request as a multiplexed stream.
+     */
+    public static final HttpClientProfile HTTP_2 = new HttpClientProfile(HttpClient.Version.HTTP_2, Duration.ofSeconds(5), 1);
+
+    /**
+     * Uses HTTP/1.1; a connection per concurrent request is warmed up, matching the initial limit of
+     * {@link ApiClientOptions#DEFAULT}.
+     */
+    public static final HttpClientProfile HTTP_1_1 = new HttpClientProfile(HttpClient.Version.HTTP_1_1, Duration.ofSeconds(5),
+            ApiClientOptions.DEFAULT.initialConcurrency());
+
+    /**
+     * Builds an {@link HttpClient} with this profile.
+     *
+     * @param executor the executor for the client's asynchronous tasks, or {@code null} for the client's default
+     * @return the client
+     */
+    public HttpClient newHttpClient(Executor executor) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        return builder.build();
+    }
+}
@@ -1,20 +1,36 @@
 package com.zemnitskiy.api;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.zemnitskiy.api.json.LeonJson;
+import com.zemnitskiy.api.json.NamePool;
+import com.zemnitskiy.metrics.Counter;
+import com.zemnitskiy.metrics.LatencyHistogram;
+import com.zemnitskiy.metrics.MetricsRegistry;
 import com.zemnitskiy.model.basemodel.Event;
 import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Region;
 import com.zemnitskiy.model.basemodel.Sport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
 import static com.zemnitskiy.Main.LOCALE;
@@ -26,11 +42,49 @@ import static com.zemnitskiy.Main.PARAMETERS;
  * and obtaining detailed information about a particular event.
  *
  * <p>This client utilizes {@link HttpClient} to perform asynchronous HTTP requests and
- * parses JSON responses using Gson.</p>
+ * parses JSON responses with the shared {@link LeonJson} decoder registry. Response bodies are consumed
+ * as streams and decoded with a {@link JsonReader} while the bytes arrive, so a payload is never held as
+ * one big {@code String}.</p>
+ *
+ * <p>Concurrent calls for the same endpoint and id are coalesced with a {@link SingleFlight}: callers
+ * arriving while an identical request is in flight share its result instead of sending their own.</p>
+ *
+ * <p>The sports catalog and the league event lists are kept in per-endpoint {@link ResponseCache}s.
+ * Fresh entries are served without a request; stale entries are revalidated with {@code If-None-Match}
+ * and {@code If-Modified-Since}, and a {@code 304 Not Modified} answer skips decoding entirely.</p>
+ *
+ * <p>All upstream calls pass through an {@link AdaptiveLimiter} that bounds their concurrency and
+ * queues the excess fairly across sports. The sport of a league is learned from the sports catalog
+ * and the sport of an event from its league's response.</p>
+ *
+ * <p>Every endpoint reports to the {@link MetricsRegistry} under {@code api.<endpoint>.}: latency
+ * histograms of the wait for a limiter permit ({@code limiter_wait}), of the exchange up to the response
+ * headers ({@code ttfb}), of the exchange including the time spent waiting for body bytes
+ * ({@code network}), of the wait for a thread of the {@code executorService} ({@code queue_wait}) and of
+ * reading and decoding the body ({@code decode}), plus counters of requests, errors and bytes received.
+ * The time to first byte is also logged per request at debug level, with the negotiated HTTP version.
+ * The limiter, caches and single-flight layers are exposed as gauges, as is the hit rate of the
+ * {@link NamePool} deduplicating market and runner names ({@code api.name_pool.}). That pool is
+ * process-wide, so its gauges count the decodes of every client, not only this one.</p>
+ *
+ * <p>Every request offers {@code gzip} and {@code deflate} in {@code Accept-Encoding}. A compressed body
+ * is inflated while it is streamed into the decoder, so it is never copied in full. The wire bytes
+ * ({@code bytes}), the decompressed bytes ({@code decoded_bytes}), their difference
+ * ({@code bytes_saved}) and the time spent inflating ({@code decompress}) are recorded per endpoint.</p>
+ *
+ * <p>With {@link ApiClientOptions#hedging()} enabled, {@code betline/event/all} requests go through a
+ * {@link RequestHedger}: a request slower than the configured percentile of recent ones is sent a second
+ * time, within a budget of extra requests, and the first answer wins. How many hedges were sent, won
+ * ({@code hedge_wins}, {@code hedge_win_percent}) or denied by the budget is exposed as gauges under
+ * {@code api.event_details.}. Cancelled requests, such as the losing copy, are not counted as errors.</p>
+ *
+ * <p>Every request carries the {@link ApiClientOptions#requestTimeout()}. The transport, such as HTTP/2
+ * with multiplexed streams, is chosen by the {@link HttpClient} passed in, typically built from an
+ * {@link HttpClientProfile}; {@link #warmUp(int)} opens its connections ahead of the first requests.</p>
  *
  * @see HttpClient
  * @see CompletableFuture
- * @see Gson
+ * @see LeonJson
  *
  */
 public class LeonApiClient {
@@ -45,6 +99,34 @@ public class LeonApiClient {
      * The base URL for the Leonbets API.
      */
     private final String baseUrl;
+    private final Duration requestTimeout;
+
+    private final SingleFlight<String, List<Sport>> baseInformationFlights = new SingleFlight<>();
+    private final SingleFlight<Long, League> leagueFlights = new SingleFlight<>();
+    private final SingleFlight<Long, Event> eventFlights = new SingleFlight<>();
+
+    private final ResponseCache<String, List<Sport>> sportsCache;
+    private final ResponseCache<String, League> leagueEventsCache;
+
+    private static final String DEFAULT_LANE = "default";
+    private static final int MAX_REMEMBERED_EVENTS = 100_000;
+    private static final double LIMITER_BACKOFF_RATIO = 0.7;
+    private static final double LIMITER_LATENCY_TOLERANCE = 2.0;
+
+    private final AdaptiveLimiter limiter;
+    private final RequestHedger eventHedger;
+    private final Map<Long, String> leagueLanes = new ConcurrentHashMap<>();
+    private final Map<Long, String> eventLanes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return size() > MAX_REMEMBERED_EVENTS;
+        }
+    });
+    private volatile List<Sport> laneCatalog;
+
+    private final EndpointMetrics sportsMetrics;
+    private final EndpointMetrics leagueEventsMetrics;
+    private final EndpointMetrics eventDetailsMetrics;
 
     /**
      * Constructs a new {@code LeonApiClient} with the specified {@link HttpClient} and base URL.
@@ -53,12 +135,46 @@ public class LeonApiClient {
      * @throws IllegalArgumentException if {@code baseUrl} is null or empty
      */
     public LeonApiClient(HttpClient httpClient, ExecutorService executorService, String baseUrl) {
+        this(httpClient, executorService, baseUrl, ApiClientOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a new {@code LeonApiClient} with the specified {@link HttpClient}, base URL and options.
+     *
+     * @param httpClient the {@link HttpClient} to be used for HTTP requests
+     * @param options    the options tuning caching and concurrency of upstream calls
+     * @throws IllegalArgumentException if {@code baseUrl} is null or empty
+     */
+    public LeonApiClient(HttpClient httpClient, ExecutorService executorService, String baseUrl, ApiClientOptions options) {
+        this(httpClient, executorService, baseUrl, options, MetricsRegistry.NOOP);
+    }
+
+    /**
+     * Constructs a new {@code LeonApiClient} that reports its metrics to the given registry.
+     *
+     * @param httpClient the {@link HttpClient} to be used for HTTP requests
+     * @param options    the options tuning caching and concurrency of upstream calls
+     * @param metrics    the registry receiving the latency histograms, counters and gauges of the client
+     * @throws IllegalArgumentException if {@code baseUrl} is null or empty
+     */
+    public LeonApiClient(HttpClient httpClient, ExecutorService executorService, String baseUrl, ApiClientOptions options,
+                         MetricsRegistry metrics) {
         if (baseUrl == null || baseUrl.isEmpty()) {
             throw new IllegalArgumentException("Base URL must not be null or empty.");
         }
         this.httpClient = httpClient;
         this.executorService = executorService;
         this.baseUrl = baseUrl;
+        this.requestTimeout = options.requestTimeout();
+        this.sportsCache = new ResponseCache<>(options.sportsTtl(), 1, Clock.systemUTC());
+        this.leagueEventsCache = new ResponseCache<>(options.leagueEventsTtl(), options.maxCachedLeagues(), Clock.systemUTC());
+        this.limiter = new AdaptiveLimiter(options.initialConcurrency(), options.minConcurrency(), options.maxConcurrency(),
+                LIMITER_BACKOFF_RATIO, LIMITER_LATENCY_TOLERANCE);
+        this.eventHedger = options.hedging() ? new RequestHedger(options.hedgePercentile(), options.hedgeBudget()) : null;
+        this.sportsMetrics = new EndpointMetrics(metrics, "sports");
+        this.leagueEventsMetrics = new EndpointMetrics(metrics, "league_events");
+        this.eventDetailsMetrics = new EndpointMetrics(metrics, "event_details");
+        registerGauges(metrics);
     }
 
     /**
@@ -75,17 +191,12 @@ public class LeonApiClient {
         logger.debug("Fetching base information from ");
         String url = baseUrl + "betline/sports?ctag=" + LOCALE + "&flags=urlv2";
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .GET()
-                .build();
+        HttpRequest.Builder request = newRequest(url);
 
-        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApplyAsync(response -> {
-                    checkResponse(response);
-                    Type sportListType = new TypeToken<List<Sport>>() {}.getType();
-                    return new Gson().fromJson(response.body(), sportListType);
-                }, executorService);
+        CompletableFuture<List<Sport>> sports = baseInformationFlights.execute(url,
+                () -> sendCached(sportsCache, url, request, LeonJson.SPORT_LIST.getType(), DEFAULT_LANE, sportsMetrics));
+        sports.whenComplete((catalog, e) -> rememberLeagueLanes(catalog));
+        return sports;
     }
 
     /**
@@ -105,17 +216,14 @@ public class LeonApiClient {
         String url = String.format(baseUrl + "betline/events/all?ctag=%s&league_id=%d&hideClosed=%b&flags=%s",
                 LOCALE, league.id(), true, PARAMETERS);
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .GET()
-                .header("Accept", "application/json")
-                .build();
+        HttpRequest.Builder request = newRequest(url)
+                .header("Accept", "application/json");
 
-        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApplyAsync(response -> {
-                    checkResponse(response);
-                    return new Gson().fromJson(response.body(), League.class);
-                }, executorService);
+        String lane = leagueLanes.getOrDefault(league.id(), DEFAULT_LANE);
+        CompletableFuture<League> updatedLeague = leagueFlights.execute(league.id(),
+                () -> sendCached(leagueEventsCache, url, request, League.class, lane, leagueEventsMetrics));
+        updatedLeague.whenComplete((updated, e) -> rememberEventLanes(updated, lane));
+        return updatedLeague;
     }
 
     /**
@@ -135,21 +243,370 @@ public class LeonApiClient {
         String url = String.format(baseUrl + "betline/event/all?eventId=%d&ctag=%s&hideClosed=%b&flags=%s",
                 eventId, LOCALE, true, PARAMETERS);
 
+        HttpRequest request = newRequest(url).build();
+
+        String lane = eventLanes.getOrDefault(eventId, DEFAULT_LANE);
+        if (eventHedger == null) {
+            return eventFlights.execute(eventId, () -> sendAndDecode(request, Event.class, lane, eventDetailsMetrics));
+        }
+        return eventFlights.execute(eventId,
+                () -> eventHedger.submit(() -> sendAndDecode(request, Event.class, lane, eventDetailsMetrics)));
+    }
+
+    /**
+     * Opens connections to the API ahead of the first requests, so their TCP and TLS handshakes, and the
+     * HTTP/2 negotiation, overlap with other startup work instead of delaying the first fetches.
+     *
+     * <p>The given number of {@code HEAD} requests to the base URL is sent concurrently, bypassing the
+     * limiter. Over HTTP/1.1 each of them needs its own connection; over HTTP/2 a single connection
+     * carries every later request as a multiplexed stream. The answers are discarded and failures are
+     * only logged, since a failed warm-up merely leaves the connection to the first real request.
+     * Callers should wait for the returned future before sending the first requests: a request sent
+     * while the handshakes are still running cannot share their connections and opens one of its own.</p>
+     *
+     * @param connections the number of connections to open
+     * @return a {@link CompletableFuture} that completes, never exceptionally, once every warm-up request has finished
+     */
+    public CompletableFuture<Void> warmUp(int connections) {
         HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(requestTimeout)
+                .build();
+        CompletableFuture<?>[] warmUps = new CompletableFuture<?>[connections];
+        for (int i = 0; i < connections; i++) {
+            long sentAt = System.nanoTime();
+            warmUps[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, e) -> {
+                        if (e != null) {
+                            logger.debug("Connection warm-up to {} failed: {}", baseUrl, e.getMessage());
+                        } else {
+                            logger.debug("Warmed up a {} connection to {} in {} ms", response.version(), baseUrl,
+                                    Duration.ofNanos(System.nanoTime() - sentAt).toMillis());
+                        }
+                        return null;
+                    });
+        }
+        return CompletableFuture.allOf(warmUps);
+    }
+
+    /**
+     * Returns the counters of the sports catalog cache.
+     *
+     * @return the sports catalog cache statistics
+     */
+    public ResponseCache.CacheStats sportsCacheStats() {
+        return sportsCache.stats();
+    }
+
+    /**
+     * Returns the counters of the league event list cache.
+     *
+     * @return the league event list cache statistics
+     */
+    public ResponseCache.CacheStats leagueEventsCacheStats() {
+        return leagueEventsCache.stats();
+    }
+
+    /**
+     * Returns the current concurrency limit, in-flight calls and queue depth of the upstream limiter.
+     *
+     * @return the limiter statistics
+     */
+    public AdaptiveLimiter.Stats limiterStats() {
+        return limiter.stats();
+    }
+
+    /**
+     * Returns the counters of the hedger of event detail requests.
+     *
+     * @return the hedger statistics, or {@code null} if hedging is disabled
+     */
+    public RequestHedger.Stats eventHedgerStats() {
+        return eventHedger == null ? null : eventHedger.stats();
+    }
+
+    private void registerGauges(MetricsRegistry metrics) {
+        metrics.gauge("api.in_flight", () -> limiter.stats().inFlight());
+        metrics.gauge("api.limiter.limit", () -> limiter.stats().limit());
+        metrics.gauge("api.limiter.queue_depth", () -> limiter.stats().queueDepth());
+        metrics.gauge("api.limiter.decreases", () -> limiter.stats().decreases());
+        metrics.gauge("api.sports.cache_hits", () -> sportsCache.stats().hits());
+        metrics.gauge("api.sports.cache_misses", () -> sportsCache.stats().misses());
+        metrics.gauge("api.sports.cache_revalidations", () -> sportsCache.stats().revalidations());
+        metrics.gauge("api.sports.cache_evictions", () -> sportsCache.stats().evictions());
+        metrics.gauge("api.league_events.cache_hits", () -> leagueEventsCache.stats().hits());
+        metrics.gauge("api.league_events.cache_misses", () -> leagueEventsCache.stats().misses());
+        metrics.gauge("api.league_events.cache_revalidations", () -> leagueEventsCache.stats().revalidations());
+        metrics.gauge("api.league_events.cache_evictions", () -> leagueEventsCache.stats().evictions());
+        metrics.gauge("api.sports.coalesced", baseInformationFlights::coalescedCount);
+        metrics.gauge("api.league_events.coalesced", leagueFlights::coalescedCount);
+        metrics.gauge("api.event_details.coalesced", eventFlights::coalescedCount);
+        if (eventHedger != null) {
+            metrics.gauge("api.event_details.hedges", () -> eventHedger.stats().hedges());
+            metrics.gauge("api.event_details.hedge_wins", () -> eventHedger.stats().wins());
+            metrics.gauge("api.event_details.hedges_denied", () -> eventHedger.stats().denied());
+            metrics.gauge("api.event_details.hedge_delay_ms", () -> eventHedger.stats().delayNanos() / 1_000_000);
+            metrics.gauge("api.event_details.hedge_win_percent", () -> {
+                RequestHedger.Stats stats = eventHedger.stats();
+                return stats.hedges() == 0 ? 0 : stats.wins() * 100 / stats.hedges();
+            });
+        }
+        NamePool namePool = LeonJson.namePool();
+        metrics.gauge("api.name_pool.hits", namePool::hits);
+        metrics.gauge("api.name_pool.misses", namePool::misses);
+        metrics.gauge("api.name_pool.hit_percent", () -> {
+            long hits = namePool.hits();
+            long lookups = hits + namePool.misses();
+            return lookups == 0 ? 0 : hits * 100 / lookups;
+        });
+    }
+
+    private HttpRequest.Builder newRequest(String url) {
+        return HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .GET()
-                .build();
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", ContentEncoding.ACCEPT_ENCODING);
+    }
+
+    private void rememberLeagueLanes(List<Sport> catalog) {
+        if (catalog == null || catalog == laneCatalog) {
+            return;
+        }
+        laneCatalog = catalog;
+        for (Sport sport : catalog) {
+            if (sport.regions() == null) {
+                continue;
+            }
+            for (Region region : sport.regions()) {
+                if (region.leagues() != null) {
+                    region.leagues().forEach(league -> leagueLanes.put(league.id(), sport.name()));
+                }
+            }
+        }
+    }
+
+    private void rememberEventLanes(League updatedLeague, String lane) {
+        if (updatedLeague != null && updatedLeague.events() != null) {
+            updatedLeague.events().forEach(event -> eventLanes.put(event.id(), lane));
+        }
+    }
+
+    /**
+     * Serves the response from the cache when it is fresh, and otherwise sends the request, revalidating
+     * a stale entry with its validators.
+     *
+     * @param cache   the cache of the endpoint
+     * @param key     the cache key
+     * @param request the request to send, without conditional headers
+     * @param type    the type to decode the response body into
+     * @param lane    the fairness lane of the request
+     * @param metrics the metrics of the endpoint
+     * @param <T>     the decoded type
+     * @return a {@link CompletableFuture} that completes with the cached or decoded body
+     */
+    private <T> CompletableFuture<T> sendCached(ResponseCache<String, T> cache, String key,
+                                                HttpRequest.Builder request, Type type, String lane,
+                                                EndpointMetrics metrics) {
+        ResponseCache.Entry<T> cached = cache.get(key);
+        if (cache.tryHit(cached)) {
+            logger.debug("Serving {} from cache", key);
+            return CompletableFuture.completedFuture(cached.value());
+        }
+        if (cached != null && cached.etag() != null) {
+            request.header("If-None-Match", cached.etag());
+        }
+        if (cached != null && cached.lastModified() != null) {
+            request.header("If-Modified-Since", cached.lastModified());
+        }
+        return send(lane, request.build(), metrics, (response, body) -> {
+            if (response.statusCode() == 304 && cached != null) {
+                logger.debug("Revalidated {} from cache", key);
+                cache.revalidated(key, cached);
+                return cached.value();
+            }
+            checkResponse(response);
+            T value = decode(body, type);
+            cache.put(key, value,
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null));
+            return value;
+        });
+    }
+
+    /**
+     * Sends the request and decodes the streamed response body into the given type.
+     *
+     * @param request the request to send
+     * @param type    the type to decode the response body into
+     * @param lane    the fairness lane of the request
+     * @param metrics the metrics of the endpoint
+     * @param <T>     the decoded type
+     * @return a {@link CompletableFuture} that completes with the decoded body
+     */
+    private <T> CompletableFuture<T> sendAndDecode(HttpRequest request, Type type, String lane, EndpointMetrics metrics) {
+        return send(lane, request, metrics, (response, body) -> {
+            checkResponse(response);
+            return decode(body, type);
+        });
+    }
 
-        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApplyAsync(response -> {
-                    checkResponse(response);
-                    return new Gson().fromJson(response.body(), Event.class);
+    /**
+     * Sends the request and reads the streamed response with the given reader.
+     *
+     * <p>The future returned by {@link HttpClient#sendAsync} completes as soon as the response headers
+     * are received; the body is then read on the {@code executorService} and decoded incrementally,
+     * so only the reader's buffer is held in memory besides the resulting model. The body stream is
+     * always closed afterwards. Cancelling the returned future cancels the underlying HTTP exchange, and
+     * closes the body if the headers had already arrived, so the connection or HTTP/2 stream is released
+     * even though the body is never decoded.
+     * The request waits for a permit of the {@link AdaptiveLimiter}, held until the body is decoded.</p>
+     *
+     * @param lane    the fairness lane of the request
+     * @param request the request to send
+     * @param metrics the metrics of the endpoint
+     * @param reader  the reader turning the response into a value
+     * @param <T>     the resulting type
+     * @return a {@link CompletableFuture} that completes with the value read from the response
+     */
+    private <T> CompletableFuture<T> send(String lane, HttpRequest request, EndpointMetrics metrics, ResponseReader<T> reader) {
+        long submittedAt = System.nanoTime();
+        metrics.requests.increment();
+        CompletableFuture<T> result = limiter.submit(lane, () -> {
+            metrics.limiterWait.recordSince(submittedAt);
+            return exchange(request, metrics, reader);
+        });
+        // the error is counted before the returned future completes, and cancelling that future still
+        // reaches the limiter and the exchange
+        CompletableFuture<T> counted = result.whenComplete((value, e) -> {
+            if (e != null && !result.isCancelled()) {
+                metrics.errors.increment();
+            }
+        });
+        counted.whenComplete((value, e) -> {
+            if (counted.isCancelled()) {
+                result.cancel(true);
+            }
+        });
+        return counted;
+    }
+
+    private <T> CompletableFuture<T> exchange(HttpRequest request, EndpointMetrics metrics, ResponseReader<T> reader) {
+        long sentAt = System.nanoTime();
+        CompletableFuture<HttpResponse<InputStream>> exchange =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        CompletableFuture<T> decoded = exchange
+                .thenApply(response -> {
+                    long receivedAt = System.nanoTime();
+                    metrics.ttfb.record(receivedAt - sentAt);
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("{} {} answered {} over {}, first byte after {} ms", request.method(), request.uri(),
+                                response.statusCode(), response.version(), Duration.ofNanos(receivedAt - sentAt).toMillis());
+                    }
+                    return new ReceivedResponse(response, receivedAt);
+                })
+                .thenApplyAsync(received -> {
+                    long readStart = System.nanoTime();
+                    metrics.queueWait.record(readStart - received.receivedAt());
+                    HttpResponse<InputStream> response = received.response();
+                    boolean compressed = response.statusCode() == 200 && ContentEncoding.isCompressed(response);
+                    // the wire stream is a resource of its own, so a decompressor failing on a corrupt header
+                    // still closes the body
+                    try (CountingInputStream wire = new CountingInputStream(response.body());
+                         CountingInputStream body = compressed
+                                 ? new CountingInputStream(ContentEncoding.decoding(response, wire))
+                                 : wire) {
+                        try {
+                            return reader.read(response, body);
+                        } finally {
+                            metrics.decode.recordSince(readStart);
+                            metrics.network.record(received.receivedAt() - sentAt + wire.readNanos());
+                            metrics.bytes.add(wire.count());
+                            metrics.decodedBytes.add(body.count());
+                            if (compressed) {
+                                metrics.bytesSaved.add(body.count() - wire.count());
+                                // time inside the decompressing stream minus the time it waited for wire bytes
+                                metrics.decompress.record(body.readNanos() - wire.readNanos());
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to read response body", e);
+                    }
                 }, executorService);
+        decoded.whenComplete((value, e) -> {
+            if (decoded.isCancelled()) {
+                exchange.cancel(true);
+                // a cancelled decode stage is skipped and would never close the body it was handed
+                exchange.thenAccept(response -> closeBody(response.body()));
+            }
+        });
+        return decoded;
+    }
+
+    private static void closeBody(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close a cancelled response body: {}", e.getMessage());
+        }
     }
 
-    private void checkResponse(HttpResponse<String> response) {
+    /**
+     * Decodes a JSON document from the given stream without buffering it as a whole.
+     *
+     * @param body the stream to read the JSON document from
+     * @param type the type to decode the document into
+     * @param <T>  the decoded type
+     * @return the decoded value
+     */
+    static <T> T decode(InputStream body, Type type) {
+        JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return LeonJson.gson().fromJson(reader, type);
+    }
+
+    private static void checkResponse(HttpResponse<?> response) {
         if (response.statusCode() != 200) {
-            throw new IllegalArgumentException("Failed to fetch data. Response code: " + response.statusCode());
+            throw new ApiResponseException(response.statusCode());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(HttpResponse<InputStream> response, InputStream body) throws IOException;
+    }
+
+    private record ReceivedResponse(HttpResponse<InputStream> response, long receivedAt) { }
+
+    /**
+     * The metrics of one endpoint, looked up once so recording needs no registry access.
+     */
+    private static final class EndpointMetrics {
+        private final Counter requests;
+        private final Counter errors;
+        private final Counter bytes;
+        private final Counter decodedBytes;
+        private final Counter bytesSaved;
+        private final LatencyHistogram limiterWait;
+        private final LatencyHistogram ttfb;
+        private final LatencyHistogram network;
+        private final LatencyHistogram queueWait;
+        private final LatencyHistogram decode;
+        private final LatencyHistogram decompress;
+
+        private EndpointMetrics(MetricsRegistry registry, String endpoint) {
+            String prefix = "api." + endpoint + ".";
+            requests = registry.counter(prefix + "requests");
+            errors = registry.counter(prefix + "errors");
+            bytes = registry.counter(prefix + "bytes");
+            decodedBytes = registry.counter(prefix + "decoded_bytes");
+            bytesSaved = registry.counter(prefix + "bytes_saved");
+            limiterWait = registry.histogram(prefix + "limiter_wait");
+            ttfb = registry.histogram(prefix + "ttfb");
+            network = registry.histogram(prefix + "network");
+            queueWait = registry.histogram(prefix + "queue_wait");
+            decode = registry.histogram(prefix + "decode");
+            decompress = registry.histogram(prefix + "decompress");
         }
     }
 }
@@ -0,0 +1,218 @@
+package com.zemnitskiy.api;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The {@code RequestHedger} class cuts the tail latency of idempotent calls by sending a second copy of
+ * a call that is slower than most, and taking whichever copy answers first.
+ *
+ * <p>The latency of the last {@value #WINDOW} first attempts is kept in a ring; every
+ * {@value #REFRESH_INTERVAL} samples the configured percentile of the ring becomes the hedge delay. A
+ * call still unanswered after that delay is sent again. The first successful answer completes the call
+ * and cancels the other copy; a call fails only when every copy sent has failed. No call is hedged
+ * before {@value #MIN_SAMPLES} latencies have been seen.</p>
+ *
+ * <p>Hedges are paid for from a token bucket: every call earns {@code budget} tokens, up to a burst of
+ * {@value #MAX_BURST}, and a hedge spends one, so hedges never add more than {@code budget} times the
+ * number of calls to the upstream load, even when the upstream slows down as a whole. A hedge the budget
+ * cannot pay for is counted as denied and not sent.</p>
+ *
+ * <p>A first attempt cancelled because its hedge won is recorded with the time it had been running, a
+ * lower bound of its latency, so the delay keeps following the tail instead of only the winners.</p>
+ */
+public final class RequestHedger {
+
+    static final int WINDOW = 512;
+    static final int MIN_SAMPLES = 20;
+    private static final int REFRESH_INTERVAL = 32;
+    private static final int MAX_BURST = 10;
+
+    private final double percentile;
+    private final double budget;
+
+    private final long[] latencies = new long[WINDOW];
+    private long samples;
+    private long delayNanos;
+    private double tokens;
+    private long calls;
+    private long hedges;
+    private long wins;
+    private long denied;
+
+    /**
+     * Constructs a new {@code RequestHedger}.
+     *
+     * @param percentile the percentile of recent latencies after which a call is hedged, between 0 and 1
+     * @param budget     the highest ratio of hedges to calls, between 0 and 1
+     * @throws IllegalArgumentException if the percentile or budget is out of range
+     */
+    public RequestHedger(double percentile, double budget) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be in (0, 1).");
+        }
+        if (budget < 0 || budget > 1) {
+            throw new IllegalArgumentException("Budget must be in [0, 1].");
+        }
+        this.percentile = percentile;
+        this.budget = budget;
+    }
+
+    /**
+     * Starts the call, and starts it once more if it has not answered by the hedge delay and the budget
+     * allows.
+     *
+     * @param call the supplier starting one copy of the call; it must be safe to run twice
+     * @param <T>  the type of the call result
+     * @return a {@link CompletableFuture} that completes with the first successful answer; cancelling it
+     *         cancels every copy
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        long delay;
+        synchronized (this) {
+            calls++;
+            tokens = Math.min(MAX_BURST, tokens + budget);
+            delay = delayNanos;
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture<T> first = start(call);
+        first.whenComplete((value, e) -> {
+            if (e == null || first.isCancelled()) {
+                record(System.nanoTime() - startNanos);
+            }
+        });
+        if (delay == 0) {
+            return first;
+        }
+        Race<T> race = new Race<>();
+        race.add(first, false);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+            if (!race.result.isDone() && tryAcquire()) {
+                race.add(start(call), true);
+            }
+        });
+        return race.result;
+    }
+
+    /**
+     * Returns the current statistics of the hedger.
+     *
+     * @return the hedger statistics
+     */
+    public synchronized Stats stats() {
+        return new Stats(calls, hedges, wins, denied, delayNanos);
+    }
+
+    private synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            denied++;
+            return false;
+        }
+        tokens--;
+        hedges++;
+        return true;
+    }
+
+    private synchronized void won() {
+        wins++;
+    }
+
+    private synchronized void record(long latencyNanos) {
+        latencies[(int) (samples % WINDOW)] = latencyNanos;
+        samples++;
+        if (samples >= MIN_SAMPLES && (samples == MIN_SAMPLES || samples % REFRESH_INTERVAL == 0)) {
+            long[] sorted = Arrays.copyOf(latencies, (int) Math.min(samples, WINDOW));
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+            delayNanos = Math.max(1, sorted[Math.max(0, rank)]);
+        }
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * The statistics of a {@link RequestHedger}.
+     *
+     * @param calls      the number of calls submitted
+     * @param hedges     the number of second copies sent
+     * @param wins       the number of calls answered first by their second copy
+     * @param denied     the number of hedges not sent because the budget was spent
+     * @param delayNanos the current hedge delay, or 0 while too few latencies have been seen
+     */
+    public record Stats(long calls, long hedges, long wins, long denied, long delayNanos) { }
+
+    private final class Race<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // guarded by this
+        private final List<CompletableFuture<T>> copies = new ArrayList<>(2);
+        private int running;
+        private boolean settled;
+
+        private Race() {
+            result.whenComplete((value, e) -> cancelCopies());
+        }
+
+        private void add(CompletableFuture<T> copy, boolean hedge) {
+            boolean accepted;
+            synchronized (this) {
+                accepted = !settled;
+                if (accepted) {
+                    copies.add(copy);
+                    running++;
+                }
+            }
+            if (!accepted) {
+                copy.cancel(true);
+                return;
+            }
+            copy.whenComplete((value, e) -> {
+                if (e == null) {
+                    // the loser is cancelled and the win counted before the caller can see the answer
+                    if (settle()) {
+                        if (hedge) {
+                            won();
+                        }
+                        cancelCopies();
+                        result.complete(value);
+                    }
+                    return;
+                }
+                boolean last;
+                synchronized (this) {
+                    last = --running == 0;
+                    settled |= last;
+                }
+                if (last) {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+
+        private synchronized boolean settle() {
+            if (settled) {
+                return false;
+            }
+            settled = true;
+            return true;
+        }
+
+        private void cancelCopies() {
+            List<CompletableFuture<T>> toCancel;
+            synchronized (this) {
+                settled = true;
+                toCancel = List.copyOf(copies);
+            }
+            toCancel.forEach(copy -> copy.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.zemnitskiy.api;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code ResponseCache} class is a bounded cache of decoded responses for one endpoint.
+ *
+ * <p>Entries keep the decoded value together with the {@code ETag} and {@code Last-Modified} validators
+ * of the response they came from. An entry younger than the time-to-live is served without contacting
+ * the server; an older entry is revalidated with a conditional request, and a {@code 304 Not Modified}
+ * answer renews it without decoding the body again. A time-to-live of zero therefore means "always
+ * revalidate". When the cache is full, the least recently used entry is evicted.</p>
+ *
+ * @param <K> the type of the cache keys
+ * @param <V> the type of the decoded values
+ */
+public final class ResponseCache<K, V> {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long revalidations;
+    private long evictions;
+
+    /**
+     * Constructs a new {@code ResponseCache}.
+     *
+     * @param ttl        how long an entry is served without revalidation
+     * @param maxEntries the maximum number of entries kept
+     * @param clock      the clock used to age entries
+     * @throws IllegalArgumentException if {@code ttl} is negative or {@code maxEntries} is not positive
+     */
+    public ResponseCache(Duration ttl, int maxEntries, Clock clock) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("TTL must not be negative.");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive.");
+        }
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the entry for the key, fresh or stale, or {@code null} if there is none.
+     *
+     * @param key the cache key
+     * @return the cached entry or {@code null}
+     */
+    public synchronized Entry<V> get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Checks whether the entry can be served without revalidation, and counts a hit if so and a miss
+     * otherwise, whatever the request that follows brings back.
+     *
+     * @param entry the entry returned by {@link #get(Object)}, may be {@code null}
+     * @return {@code true} if the entry is fresh
+     */
+    public synchronized boolean tryHit(Entry<V> entry) {
+        if (entry != null && clock.millis() - entry.storedAt() < ttl.toMillis()) {
+            hits++;
+            return true;
+        }
+        misses++;
+        return false;
+    }
+
+    /**
+     * Stores a freshly fetched and decoded value. Values without validators are only kept when they can
+     * be served from the cache, that is when the time-to-live is positive.
+     *
+     * @param key          the cache key
+     * @param value        the decoded value
+     * @param etag         the {@code ETag} of the response, or {@code null}
+     * @param lastModified the {@code Last-Modified} of the response, or {@code null}
+     */
+    public synchronized void put(K key, V value, String etag, String lastModified) {
+        if (ttl.isZero() && etag == null && lastModified == null) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry<>(value, etag, lastModified, clock.millis()));
+    }
+
+    /**
+     * Renews an entry after the server confirmed it with {@code 304 Not Modified}.
+     *
+     * @param key   the cache key
+     * @param entry the entry that was revalidated
+     */
+    public synchronized void revalidated(K key, Entry<V> entry) {
+        revalidations++;
+        entries.put(key, new Entry<>(entry.value(), entry.etag(), entry.lastModified(), clock.millis()));
+    }
+
+    /**
+     * Returns the current counters of the cache.
+     *
+     * @return the cache statistics
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(entries.size(), hits, misses, revalidations, evictions);
+    }
+
+    /**
+     * A cached, decoded response.
+     *
+     * @param value        the decoded value
+     * @param etag         the {@code ETag} validator, or {@code null}
+     * @param lastModified the {@code Last-Modified} validator, or {@code null}
+     * @param storedAt     the time the entry was stored or last revalidated, in epoch milliseconds
+     * @param <V>          the type of the decoded value
+     */
+    public record Entry<V>(V value, String etag, String lastModified, long storedAt) { }
+
+    /**
+     * The counters of a {@link ResponseCache}.
+     *
+     * @param size          the number of entries currently cached
+     * @param hits          the number of requests served without contacting the server
+     * @param misses        the number of lookups that could not be served from the cache, including those
+     *                      whose request then failed, was not cacheable or was revalidated
+     * @param revalidations the number of entries confirmed with {@code 304 Not Modified}
+     * @param evictions     the number of entries evicted to respect the size bound
+     */
+    public record CacheStats(int size, long hits, long misses, long revalidations, long evictions) { }
+}
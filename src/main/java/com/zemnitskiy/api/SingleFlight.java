@@ -0,0 +1,141 @@
+package com.zemnitskiy.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The {@code SingleFlight} class coalesces concurrent calls for the same key into one in-flight call.
+ *
+ * <p>The first caller for a key starts the call; callers arriving while it is in flight subscribe to it
+ * instead of starting their own. Every caller gets its own {@link CompletableFuture}, completed with the
+ * shared result or failure, so a caller cancelling its future does not affect the others. The shared
+ * call itself is cancelled only when every subscriber has cancelled. Once the call completes, the key is
+ * released and the next caller starts a fresh call, so results are never served after completion.</p>
+ *
+ * @param <K> the type of the keys identifying calls
+ * @param <V> the type of the call results
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Call<V>> calls = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Returns a future for the call identified by {@code key}, starting it with {@code loader} only if no
+     * call for the key is in flight.
+     *
+     * @param key    the key identifying the call
+     * @param loader the supplier starting the call
+     * @return a {@link CompletableFuture} owned by this caller that completes with the shared result
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader) {
+        while (true) {
+            Call<V> created = new Call<>();
+            Call<V> existing = calls.putIfAbsent(key, created);
+            Call<V> call = existing != null ? existing : created;
+            CompletableFuture<V> subscriber = call.subscribe();
+            if (subscriber == null) {
+                // every subscriber of this call cancelled; it is being torn down
+                calls.remove(key, call);
+                continue;
+            }
+            if (existing != null) {
+                coalesced.increment();
+                return subscriber;
+            }
+            CompletableFuture<V> source;
+            try {
+                source = loader.get();
+            } catch (RuntimeException e) {
+                source = CompletableFuture.failedFuture(e);
+            }
+            source.whenComplete((value, e) -> {
+                calls.remove(key, call);
+                call.complete(value, e);
+            });
+            call.start(source);
+            return subscriber;
+        }
+    }
+
+    /**
+     * Returns the number of calls currently in flight.
+     *
+     * @return the number of in-flight calls
+     */
+    public int inFlight() {
+        return calls.size();
+    }
+
+    /**
+     * Returns the number of callers that joined an in-flight call instead of starting their own.
+     *
+     * @return the number of coalesced callers
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static final class Call<V> {
+        private final List<CompletableFuture<V>> subscribers = new ArrayList<>();
+        private CompletableFuture<V> source;
+        private boolean done;
+        private boolean cancelled;
+
+        synchronized CompletableFuture<V> subscribe() {
+            if (cancelled) {
+                return null;
+            }
+            CompletableFuture<V> subscriber = new CompletableFuture<>();
+            subscribers.add(subscriber);
+            subscriber.whenComplete((value, e) -> {
+                if (subscriber.isCancelled()) {
+                    unsubscribe(subscriber);
+                }
+            });
+            return subscriber;
+        }
+
+        synchronized void start(CompletableFuture<V> source) {
+            this.source = source;
+            if (cancelled) {
+                source.cancel(true);
+            }
+        }
+
+        void complete(V value, Throwable e) {
+            List<CompletableFuture<V>> toComplete;
+            synchronized (this) {
+                done = true;
+                toComplete = List.copyOf(subscribers);
+                subscribers.clear();
+            }
+            for (CompletableFuture<V> subscriber : toComplete) {
+                if (e == null) {
+                    subscriber.complete(value);
+                } else {
+                    subscriber.completeExceptionally(e);
+                }
+            }
+        }
+
+        private void unsubscribe(CompletableFuture<V> subscriber) {
+            CompletableFuture<V> toCancel = null;
+            synchronized (this) {
+                subscribers.remove(subscriber);
+                if (subscribers.isEmpty() && !done) {
+                    cancelled = true;
+                    toCancel = source;
+                }
+            }
+            if (toCancel != null) {
+                toCancel.cancel(true);
+            }
+        }
+    }
+}
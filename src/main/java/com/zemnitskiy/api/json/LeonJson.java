@@ -0,0 +1,371 @@
+package com.zemnitskiy.api.json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Price;
+import com.zemnitskiy.model.basemodel.Region;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.basemodel.Sport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code LeonJson} class is the shared decoder registry for the Leonbets API model.
+ *
+ * <p>It holds a single, thread-safe {@link Gson} instance with hand-written {@link TypeAdapter}s for
+ * every record in {@code com.zemnitskiy.model.basemodel}, so no reflection is involved in binding and
+ * there is no adapter warmup on the first requests. Fields that the model does not use are skipped
+ * with {@link JsonReader#skipValue()} without building a {@code JsonElement} tree. Fields absent from
+ * the payload are left at their default value, as reflective binding does.</p>
+ *
+ * <p>Market and runner names repeat across events and are deduplicated through a shared, bounded
+ * {@link NamePool} while decoding, so a snapshot retains one instance of each common name. Like the
+ * {@link Gson} instance, the pool is global to the process: every decoder uses it, and its hit and miss
+ * counts cover every decode, whichever client made it.</p>
+ */
+public final class LeonJson {
+
+    /**
+     * The type of the {@code betline/sports} response.
+     */
+    public static final TypeToken<List<Sport>> SPORT_LIST = new TypeToken<>() {};
+
+    private static final NamePool NAME_POOL = new NamePool(NamePool.DEFAULT_CAPACITY);
+
+    private static final TypeAdapter<Runner> RUNNER_ADAPTER = new RunnerAdapter();
+    private static final TypeAdapter<Market> MARKET_ADAPTER = new MarketAdapter();
+    private static final TypeAdapter<Event> EVENT_ADAPTER = new EventAdapter();
+    private static final TypeAdapter<League> LEAGUE_ADAPTER = new LeagueAdapter();
+    private static final TypeAdapter<Region> REGION_ADAPTER = new RegionAdapter();
+    private static final TypeAdapter<Sport> SPORT_ADAPTER = new SportAdapter();
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Runner.class, RUNNER_ADAPTER)
+            .registerTypeAdapter(Market.class, MARKET_ADAPTER)
+            .registerTypeAdapter(Event.class, EVENT_ADAPTER)
+            .registerTypeAdapter(League.class, LEAGUE_ADAPTER)
+            .registerTypeAdapter(Region.class, REGION_ADAPTER)
+            .registerTypeAdapter(Sport.class, SPORT_ADAPTER)
+            .registerTypeAdapter(SPORT_LIST.getType(), new ListAdapter<>(SPORT_ADAPTER))
+            .create();
+
+    private LeonJson() {
+    }
+
+    /**
+     * Returns the shared {@link Gson} instance with the model adapters registered.
+     *
+     * @return the shared {@link Gson} instance
+     */
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /**
+     * Returns the pool deduplicating market and runner names, for example to expose its hit rate. The
+     * pool is shared by the whole process, so its counts are not per client.
+     *
+     * @return the shared name pool
+     */
+    public static NamePool namePool() {
+        return NAME_POOL;
+    }
+
+    private static final class RunnerAdapter extends TypeAdapter<Runner> {
+        @Override
+        public Runner read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            long id = 0;
+            String name = null;
+            int price = Price.NONE;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = in.nextLong();
+                    case "name" -> name = NAME_POOL.dedup(readString(in));
+                    case "priceStr" -> price = Price.parse(readString(in));
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Runner(id, name, price);
+        }
+
+        @Override
+        public void write(JsonWriter out, Runner runner) throws IOException {
+            if (runner == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(runner.id());
+            out.name("name").value(runner.name());
+            out.name("priceStr").value(runner.priceStr());
+            out.endObject();
+        }
+    }
+
+    private static final class MarketAdapter extends TypeAdapter<Market> {
+        @Override
+        public Market read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            long id = 0;
+            String name = null;
+            List<Runner> runners = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = in.nextLong();
+                    case "name" -> name = NAME_POOL.dedup(readString(in));
+                    case "runners" -> runners = readList(in, RUNNER_ADAPTER);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Market(id, name, runners);
+        }
+
+        @Override
+        public void write(JsonWriter out, Market market) throws IOException {
+            if (market == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(market.id());
+            out.name("name").value(market.name());
+            out.name("runners");
+            writeList(out, market.runners(), RUNNER_ADAPTER);
+            out.endObject();
+        }
+    }
+
+    private static final class EventAdapter extends TypeAdapter<Event> {
+        @Override
+        public Event read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            long id = 0;
+            String name = null;
+            long kickoff = 0;
+            List<Market> markets = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = in.nextLong();
+                    case "name" -> name = readString(in);
+                    case "kickoff" -> kickoff = in.nextLong();
+                    case "markets" -> markets = readList(in, MARKET_ADAPTER);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Event(id, name, kickoff, markets);
+        }
+
+        @Override
+        public void write(JsonWriter out, Event event) throws IOException {
+            if (event == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(event.id());
+            out.name("name").value(event.name());
+            out.name("kickoff").value(event.kickoff());
+            out.name("markets");
+            writeList(out, event.markets(), MARKET_ADAPTER);
+            out.endObject();
+        }
+    }
+
+    private static final class LeagueAdapter extends TypeAdapter<League> {
+        @Override
+        public League read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            long id = 0;
+            String name = null;
+            int weight = 0;
+            boolean top = false;
+            int topOrder = 0;
+            List<Event> events = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = in.nextLong();
+                    case "name" -> name = readString(in);
+                    case "weight" -> weight = in.nextInt();
+                    case "top" -> top = in.nextBoolean();
+                    case "topOrder" -> topOrder = in.nextInt();
+                    case "events" -> events = readList(in, EVENT_ADAPTER);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new League(id, name, weight, top, topOrder, events);
+        }
+
+        @Override
+        public void write(JsonWriter out, League league) throws IOException {
+            if (league == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(league.id());
+            out.name("name").value(league.name());
+            out.name("weight").value(league.weight());
+            out.name("top").value(league.top());
+            out.name("topOrder").value(league.topOrder());
+            out.name("events");
+            writeList(out, league.events(), EVENT_ADAPTER);
+            out.endObject();
+        }
+    }
+
+    private static final class RegionAdapter extends TypeAdapter<Region> {
+        @Override
+        public Region read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String name = null;
+            List<League> leagues = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name" -> name = readString(in);
+                    case "leagues" -> leagues = readList(in, LEAGUE_ADAPTER);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Region(name, leagues);
+        }
+
+        @Override
+        public void write(JsonWriter out, Region region) throws IOException {
+            if (region == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("name").value(region.name());
+            out.name("leagues");
+            writeList(out, region.leagues(), LEAGUE_ADAPTER);
+            out.endObject();
+        }
+    }
+
+    private static final class SportAdapter extends TypeAdapter<Sport> {
+        @Override
+        public Sport read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            long id = 0;
+            String name = null;
+            List<Region> regions = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = in.nextLong();
+                    case "name" -> name = readString(in);
+                    case "regions" -> regions = readList(in, REGION_ADAPTER);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Sport(id, name, regions);
+        }
+
+        @Override
+        public void write(JsonWriter out, Sport sport) throws IOException {
+            if (sport == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(sport.id());
+            out.name("name").value(sport.name());
+            out.name("regions");
+            writeList(out, sport.regions(), REGION_ADAPTER);
+            out.endObject();
+        }
+    }
+
+    private static final class ListAdapter<T> extends TypeAdapter<List<T>> {
+        private final TypeAdapter<T> elementAdapter;
+
+        private ListAdapter(TypeAdapter<T> elementAdapter) {
+            this.elementAdapter = elementAdapter;
+        }
+
+        @Override
+        public List<T> read(JsonReader in) throws IOException {
+            return readList(in, elementAdapter);
+        }
+
+        @Override
+        public void write(JsonWriter out, List<T> list) throws IOException {
+            writeList(out, list, elementAdapter);
+        }
+    }
+
+    private static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static <T> List<T> readList(JsonReader in, TypeAdapter<T> elementAdapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(elementAdapter.read(in));
+        }
+        in.endArray();
+        return list;
+    }
+
+    private static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> elementAdapter) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T element : list) {
+            elementAdapter.write(out, element);
+        }
+        out.endArray();
+    }
+}
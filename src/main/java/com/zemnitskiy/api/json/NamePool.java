@@ -0,0 +1,96 @@
+package com.zemnitskiy.api.json;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code NamePool} class deduplicates the names that repeat across events, such as the market name
+ * {@code "Total"} or the runner name {@code "Draw"}, so every decoded event refers to one shared
+ * {@code String} instead of retaining a copy of its own.
+ *
+ * <p>The pool is a fixed-size, direct-mapped table: a name goes to the slot picked by its hash and
+ * replaces whatever name was there. Its memory is therefore bounded by the number of slots however
+ * many distinct names a long-running process decodes, and rare names are simply evicted by the common
+ * ones that keep coming back. Lookups take no lock; slots are read and written with plain races, which
+ * is safe because a {@code String} is immutable and published through its final fields.</p>
+ */
+public final class NamePool {
+
+    /**
+     * The number of slots of the pool used by the {@link LeonJson} adapters.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /**
+     * The largest capacity, the highest power of two an {@code int} can hold.
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    private final String[] slots;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new {@code NamePool}.
+     *
+     * @param capacity the number of slots, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is not positive or above {@link #MAX_CAPACITY}
+     */
+    public NamePool(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ".");
+        }
+        int slotCount = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.slots = new String[slotCount];
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Returns the pooled instance equal to the given name, pooling the name itself if there is none.
+     *
+     * @param name the decoded name, may be {@code null}
+     * @return an equal, possibly shared instance, or {@code null}
+     */
+    public String dedup(String name) {
+        if (name == null) {
+            return null;
+        }
+        int hash = name.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String pooled = slots[slot];
+        if (pooled != null && pooled.equals(name)) {
+            hits.increment();
+            return pooled;
+        }
+        slots[slot] = name;
+        misses.increment();
+        return name;
+    }
+
+    /**
+     * Returns the number of lookups answered with a pooled instance.
+     *
+     * @return the number of hits
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that pooled a new instance.
+     *
+     * @return the number of misses
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of slots of the pool.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,263 @@
+package com.zemnitskiy.diff;
+
+import com.zemnitskiy.model.index.LongObjectMap;
+import com.zemnitskiy.model.index.SnapshotIndex;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import com.zemnitskiy.visitor.ResultDiffVisitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+
+/**
+ * The {@code SnapshotDiffer} class compares two snapshots of the result tree and reports only what
+ * changed between them to a {@link ResultDiffVisitor}.
+ *
+ * <p>Matches are matched by {@code Event.id()} across all leagues, markets by {@code Market.id()}
+ * within a match and runners by {@code Runner.id()} within a market. A runner is reported as changed
+ * when its fixed-point {@code price} differs. Unchanged parts of the tree produce no callbacks.</p>
+ *
+ * <p>Matches are looked up in {@link LongObjectMap}s keyed by the primitive event id, or in the
+ * {@link SnapshotIndex} of the current snapshot when the caller built one while fetching it. Markets and
+ * runners are usually listed in the same order in both snapshots, so their lists are first compared
+ * position by position, and only a match or market whose children moved is diffed through a map.</p>
+ *
+ * <p>A partial snapshot may hold incomplete leagues and matches, placeholders for requests that failed
+ * or timed out. They say nothing about the markets upstream, so the snapshot is first passed through
+ * {@link #carryForward(RootResult, RootResult)}: an incomplete node is replaced by its previous version,
+ * and neither reported as removed nor as added. The carried-forward snapshot is returned, so a caller
+ * keeping it as the next previous snapshot does not have to build it a second time.</p>
+ */
+public final class SnapshotDiffer {
+
+    private SnapshotDiffer() {
+    }
+
+    /**
+     * Reports the differences between two snapshots.
+     *
+     * @param previous the previous snapshot, or {@code null} if there is none
+     * @param current  the current snapshot
+     * @param visitor  the visitor receiving the changes
+     * @return the current snapshot as compared, after {@link #carryForward(RootResult, RootResult)}
+     */
+    public static RootResult diff(RootResult previous, RootResult current, ResultDiffVisitor visitor) {
+        RootResult effective = carryForward(previous, current);
+        LongObjectMap<MatchResult> currentMatches = indexMatches(effective);
+        diff(previous, effective, currentMatches::containsKey, visitor);
+        return effective;
+    }
+
+    /**
+     * Reports the differences between two snapshots, looking the current matches up in the index the
+     * caller built while fetching the current snapshot.
+     *
+     * @param previous     the previous snapshot, or {@code null} if there is none
+     * @param current      the current snapshot
+     * @param currentIndex the index of the current snapshot
+     * @param visitor      the visitor receiving the changes
+     * @return the current snapshot as compared, after {@link #carryForward(RootResult, RootResult)}
+     */
+    public static RootResult diff(RootResult previous, RootResult current, SnapshotIndex currentIndex,
+                                  ResultDiffVisitor visitor) {
+        RootResult effective = carryForward(previous, current);
+        if (effective == current) {
+            diff(previous, current, currentIndex::containsMatch, visitor);
+        } else {
+            diff(previous, effective, indexMatches(effective)::containsKey, visitor);
+        }
+        return effective;
+    }
+
+    /**
+     * Replaces the incomplete leagues and matches of a partial snapshot with their versions in the
+     * previous snapshot, so a request that failed or timed out does not look like the upstream removed
+     * what it would have returned.
+     *
+     * <p>An incomplete league is replaced by the previous league with the same id, and an incomplete
+     * match by the previous match of the same event. An incomplete match without a previous version is
+     * dropped; an incomplete league without one is kept as the empty placeholder it is.</p>
+     *
+     * @param previous the previous snapshot, or {@code null} if there is none
+     * @param current  the current snapshot
+     * @return {@code current} itself if it is complete, otherwise a snapshot with the gaps filled in
+     */
+    public static RootResult carryForward(RootResult previous, RootResult current) {
+        if (isComplete(current)) {
+            return current;
+        }
+        LongObjectMap<LeagueResult> previousLeagues = new LongObjectMap<>();
+        if (previous != null) {
+            for (LeagueResult leagueResult : previous.leagueResults()) {
+                previousLeagues.put(leagueResult.league().id(), leagueResult);
+            }
+        }
+        LongObjectMap<MatchResult> previousMatches = indexMatches(previous);
+        List<LeagueResult> leagueResults = new ArrayList<>(current.leagueResults().size());
+        for (LeagueResult leagueResult : current.leagueResults()) {
+            if (!leagueResult.status().isComplete()) {
+                LeagueResult before = previousLeagues.get(leagueResult.league().id());
+                leagueResults.add(before != null ? before : leagueResult);
+                continue;
+            }
+            List<MatchResult> matchResults = new ArrayList<>(leagueResult.matchResults().size());
+            for (MatchResult matchResult : leagueResult.matchResults()) {
+                MatchResult match = matchResult.status().isComplete()
+                        ? matchResult
+                        : previousMatches.get(matchResult.event().id());
+                if (match != null) {
+                    matchResults.add(match);
+                }
+            }
+            leagueResults.add(new LeagueResult(leagueResult.sportName(), leagueResult.league(), matchResults));
+        }
+        return new RootResult(leagueResults);
+    }
+
+    private static void diff(RootResult previous, RootResult current, LongPredicate inCurrent, ResultDiffVisitor visitor) {
+        LongObjectMap<MatchResult> previousMatches = indexMatches(previous);
+        for (LeagueResult leagueResult : current.leagueResults()) {
+            for (MatchResult matchResult : leagueResult.matchResults()) {
+                MatchResult before = previousMatches.get(matchResult.event().id());
+                if (before == null) {
+                    visitor.visitAddedMatch(leagueResult, matchResult);
+                } else {
+                    diffMarkets(before, matchResult, visitor);
+                }
+            }
+        }
+        if (previous == null) {
+            return;
+        }
+        for (LeagueResult leagueResult : previous.leagueResults()) {
+            for (MatchResult matchResult : leagueResult.matchResults()) {
+                if (!inCurrent.test(matchResult.event().id())) {
+                    visitor.visitRemovedMatch(leagueResult, matchResult);
+                }
+            }
+        }
+    }
+
+    private static void diffMarkets(MatchResult previous, MatchResult current, ResultDiffVisitor visitor) {
+        List<MarketResult> before = previous.marketResults();
+        List<MarketResult> after = current.marketResults();
+        if (sameMarkets(before, after)) {
+            for (int i = 0; i < after.size(); i++) {
+                diffRunners(current, before.get(i), after.get(i), visitor);
+            }
+            return;
+        }
+        LongObjectMap<MarketResult> previousMarkets = new LongObjectMap<>(before.size());
+        for (MarketResult marketResult : before) {
+            previousMarkets.put(marketResult.market().id(), marketResult);
+        }
+        LongObjectMap<MarketResult> currentMarkets = new LongObjectMap<>(after.size());
+        for (MarketResult marketResult : after) {
+            currentMarkets.put(marketResult.market().id(), marketResult);
+            MarketResult beforeMarket = previousMarkets.get(marketResult.market().id());
+            if (beforeMarket == null) {
+                visitor.visitAddedMarket(current, marketResult);
+            } else {
+                diffRunners(current, beforeMarket, marketResult, visitor);
+            }
+        }
+        for (MarketResult marketResult : before) {
+            if (!currentMarkets.containsKey(marketResult.market().id())) {
+                visitor.visitRemovedMarket(previous, marketResult);
+            }
+        }
+    }
+
+    private static void diffRunners(MatchResult match, MarketResult previous, MarketResult current, ResultDiffVisitor visitor) {
+        List<RunnerResult> before = previous.runnerResults();
+        List<RunnerResult> after = current.runnerResults();
+        if (sameRunners(before, after)) {
+            for (int i = 0; i < after.size(); i++) {
+                diffPrice(match, current, before.get(i), after.get(i), visitor);
+            }
+            return;
+        }
+        LongObjectMap<RunnerResult> previousRunners = new LongObjectMap<>(before.size());
+        for (RunnerResult runnerResult : before) {
+            previousRunners.put(runnerResult.runner().id(), runnerResult);
+        }
+        LongObjectMap<RunnerResult> currentRunners = new LongObjectMap<>(after.size());
+        for (RunnerResult runnerResult : after) {
+            currentRunners.put(runnerResult.runner().id(), runnerResult);
+            RunnerResult beforeRunner = previousRunners.get(runnerResult.runner().id());
+            if (beforeRunner == null) {
+                visitor.visitAddedRunner(current, runnerResult);
+            } else {
+                diffPrice(match, current, beforeRunner, runnerResult, visitor);
+            }
+        }
+        for (RunnerResult runnerResult : before) {
+            if (!currentRunners.containsKey(runnerResult.runner().id())) {
+                visitor.visitRemovedRunner(previous, runnerResult);
+            }
+        }
+    }
+
+    private static void diffPrice(MatchResult match, MarketResult market, RunnerResult previous, RunnerResult current,
+                                  ResultDiffVisitor visitor) {
+        if (previous.runner().price() != current.runner().price()) {
+            visitor.visitChangedPrice(match, market, previous, current);
+        }
+    }
+
+    private static boolean sameMarkets(List<MarketResult> before, List<MarketResult> after) {
+        if (before.size() != after.size()) {
+            return false;
+        }
+        for (int i = 0; i < after.size(); i++) {
+            if (before.get(i).market().id() != after.get(i).market().id()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameRunners(List<RunnerResult> before, List<RunnerResult> after) {
+        if (before.size() != after.size()) {
+            return false;
+        }
+        for (int i = 0; i < after.size(); i++) {
+            if (before.get(i).runner().id() != after.get(i).runner().id()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isComplete(RootResult root) {
+        for (LeagueResult leagueResult : root.leagueResults()) {
+            if (!leagueResult.status().isComplete()) {
+                return false;
+            }
+            for (MatchResult matchResult : leagueResult.matchResults()) {
+                if (!matchResult.status().isComplete()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static LongObjectMap<MatchResult> indexMatches(RootResult root) {
+        LongObjectMap<MatchResult> matches = new LongObjectMap<>();
+        if (root == null) {
+            return matches;
+        }
+        for (LeagueResult leagueResult : root.leagueResults()) {
+            for (MatchResult matchResult : leagueResult.matchResults()) {
+                matches.put(matchResult.event().id(), matchResult);
+            }
+        }
+        return matches;
+    }
+}
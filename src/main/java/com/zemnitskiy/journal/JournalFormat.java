@@ -0,0 +1,88 @@
+package com.zemnitskiy.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * The on-disk layout shared by {@link SnapshotJournal} and {@link JournalReader}.
+ *
+ * <p>A journal is a directory of segment files named by a zero-padded sequence number. Each segment
+ * starts with a magic number and a format version, followed by records:</p>
+ * <pre>
+ * int    length          bytes after this field; 0 marks the end of the written part
+ * int    checksum        CRC32 of the bytes after this field
+ * long   timestamp       epoch milliseconds of the snapshot
+ * int    events          number of entries in the event index
+ * long[] eventIds        event ids in ascending order
+ * int[]  matches         position of each event's match in the snapshot
+ * ...    snapshot        a {@link com.zemnitskiy.model.snapshot.ColumnarSnapshot} in its encoded form
+ * </pre>
+ * <p>Segments are zero-filled when created, so the first zero length ends a segment that was not
+ * filled up, including one still being written. A length running past the segment or a checksum that
+ * does not match marks a record that was torn by a crash or damaged on disk.</p>
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x4C504A31;
+    static final int VERSION = 3;
+    static final int SEGMENT_HEADER_BYTES = 2 * Integer.BYTES;
+    static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+    static final int TIMESTAMP_OFFSET = 2 * Integer.BYTES;
+    static final int END_OF_RECORDS = 0;
+    static final int CORRUPT = -1;
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private JournalFormat() {
+    }
+
+    static boolean hasHeader(ByteBuffer segment) {
+        return segment.limit() >= SEGMENT_HEADER_BYTES
+                && segment.getInt(0) == MAGIC && segment.getInt(Integer.BYTES) == VERSION;
+    }
+
+    /**
+     * Checks the record at the given position of a segment.
+     *
+     * @return the position after the record, {@link #END_OF_RECORDS} if no record was written there, or
+     * {@link #CORRUPT} if the record is torn or fails its checksum
+     */
+    static int recordEnd(ByteBuffer segment, int position) {
+        if (position + Integer.BYTES > segment.limit()) {
+            return END_OF_RECORDS;
+        }
+        int length = segment.getInt(position);
+        if (length == 0) {
+            return END_OF_RECORDS;
+        }
+        if (length < RECORD_HEADER_BYTES - Integer.BYTES || length > segment.limit() - position - Integer.BYTES) {
+            return CORRUPT;
+        }
+        int checksum = checksum(segment, position, length);
+        return checksum == segment.getInt(position + Integer.BYTES) ? position + Integer.BYTES + length : CORRUPT;
+    }
+
+    /**
+     * Computes the checksum of a record from the bytes following its checksum field.
+     */
+    static int checksum(ByteBuffer segment, int position, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(segment.slice(position + TIMESTAMP_OFFSET, length - Integer.BYTES));
+        return (int) crc.getValue();
+    }
+
+    static Path segmentPath(Path directory, long sequence) {
+        return directory.resolve(String.format("%010d%s", sequence, SEGMENT_SUFFIX));
+    }
+
+    static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(SEGMENT_SUFFIX) && name.length() > SEGMENT_SUFFIX.length()
+                && name.chars().limit(name.length() - SEGMENT_SUFFIX.length()).allMatch(Character::isDigit);
+    }
+}
@@ -0,0 +1,243 @@
+package com.zemnitskiy.journal;
+
+import com.zemnitskiy.model.snapshot.ColumnarSnapshot;
+import com.zemnitskiy.visitor.ResultVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * The {@code JournalReader} class replays the snapshots written by a {@link SnapshotJournal}.
+ *
+ * <p>Opening a journal maps every segment read-only and walks the records from one length field to the
+ * next, checking each record's CRC32, to build an index of timestamps and record positions; the
+ * snapshots themselves are not decoded. Reading a segment stops at its first torn or damaged record, since
+ * the records after it cannot be trusted to start where its length says; the following segments, which a
+ * reopened {@link SnapshotJournal} starts after a damaged tail, are still read. A time range is then located by
+ * binary search, and each snapshot in it is decoded with bulk copies from the mapped file into the
+ * columns of a {@link ColumnarSnapshot}. A single event is found through the sorted event index of each
+ * record, and records without it are skipped without decoding. The reader sees the records written
+ * before it was opened.</p>
+ *
+ * <p>A reader is immutable once opened and can be shared between threads.</p>
+ */
+public final class JournalReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalReader.class);
+
+    private final List<ByteBuffer> segments;
+    private final long[] timestamps;
+    private final int[] segmentIndexes;
+    private final int[] offsets;
+
+    private JournalReader(List<ByteBuffer> segments, long[] timestamps, int[] segmentIndexes, int[] offsets) {
+        this.segments = segments;
+        this.timestamps = timestamps;
+        this.segmentIndexes = segmentIndexes;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Opens the journal in the given directory and indexes its records.
+     *
+     * @param directory the journal directory
+     * @return the reader
+     * @throws IOException if a segment cannot be read or is not a journal segment
+     */
+    public static JournalReader open(Path directory) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(JournalFormat::isSegment)
+                    .sorted(Comparator.comparingLong(JournalFormat::sequenceOf))
+                    .toList();
+        }
+        List<ByteBuffer> segments = new ArrayList<>(paths.size());
+        RecordIndex index = new RecordIndex();
+        for (Path path : paths) {
+            MappedByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (!JournalFormat.hasHeader(segment)) {
+                throw new IOException("Not a journal segment: " + path);
+            }
+            int position = JournalFormat.SEGMENT_HEADER_BYTES;
+            int end;
+            while ((end = JournalFormat.recordEnd(segment, position)) > 0) {
+                index.add(segment.getLong(position + JournalFormat.TIMESTAMP_OFFSET), segments.size(), position);
+                position = end;
+            }
+            segments.add(segment);
+            if (end == JournalFormat.CORRUPT) {
+                logger.warn("Damaged journal record in {} at byte {}, the rest of the segment is not read",
+                        path, position);
+            }
+        }
+        return index.toReader(segments);
+    }
+
+    /**
+     * Returns the number of snapshots in the journal.
+     *
+     * @return the number of snapshots
+     */
+    public int size() {
+        return timestamps.length;
+    }
+
+    /**
+     * Decodes every snapshot taken in the given range, in timestamp order.
+     *
+     * @param from     the start of the range, inclusive
+     * @param to       the end of the range, exclusive
+     * @param consumer the consumer receiving each timestamp and snapshot
+     */
+    public void forEach(Instant from, Instant to, BiConsumer<Instant, ColumnarSnapshot> consumer) {
+        for (int i = lowerBound(millis(from)), end = lowerBound(millis(to)); i < end; i++) {
+            ByteBuffer record = record(i);
+            int events = record.getInt();
+            record.position(record.position() + events * (Long.BYTES + Integer.BYTES));
+            consumer.accept(Instant.ofEpochMilli(timestamps[i]), ColumnarSnapshot.readFrom(record));
+        }
+    }
+
+    /**
+     * Replays every snapshot taken in the given range into the visitor, in timestamp order. Each snapshot
+     * starts with a {@link ResultVisitor#visitRoot} call.
+     *
+     * @param from    the start of the range, inclusive
+     * @param to      the end of the range, exclusive
+     * @param visitor the visitor
+     */
+    public void replay(Instant from, Instant to, ResultVisitor visitor) {
+        forEach(from, to, (timestamp, snapshot) -> snapshot.accept(visitor));
+    }
+
+    /**
+     * Replays the history of one event in the given range into the visitor: for every snapshot holding
+     * the event, its league and then its match with markets and runners, as
+     * {@link ColumnarSnapshot#acceptMatch} does.
+     *
+     * @param eventId the event id
+     * @param from    the start of the range, inclusive
+     * @param to      the end of the range, exclusive
+     * @param visitor the visitor
+     */
+    public void replayEvent(long eventId, Instant from, Instant to, ResultVisitor visitor) {
+        for (int i = lowerBound(millis(from)), end = lowerBound(millis(to)); i < end; i++) {
+            ByteBuffer record = record(i);
+            int events = record.getInt();
+            int idsStart = record.position();
+            int match = findEvent(record, idsStart, events, eventId);
+            if (match < 0) {
+                continue;
+            }
+            record.position(idsStart + events * (Long.BYTES + Integer.BYTES));
+            ColumnarSnapshot.readFrom(record).acceptMatch(match, visitor);
+        }
+    }
+
+    private static int findEvent(ByteBuffer record, int idsStart, int events, long eventId) {
+        int low = 0;
+        int high = events - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = record.getLong(idsStart + mid * Long.BYTES);
+            if (id < eventId) {
+                low = mid + 1;
+            } else if (id > eventId) {
+                high = mid - 1;
+            } else {
+                return record.getInt(idsStart + events * Long.BYTES + mid * Integer.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a view of the record positioned at its event count, independent of other readers.
+     */
+    private ByteBuffer record(int i) {
+        return segments.get(segmentIndexes[i]).duplicate()
+                .position(offsets[i] + JournalFormat.TIMESTAMP_OFFSET + Long.BYTES);
+    }
+
+    private int lowerBound(long millis) {
+        int low = 0;
+        int high = timestamps.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long millis(Instant instant) {
+        try {
+            return instant.toEpochMilli();
+        } catch (ArithmeticException e) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Collects record positions while segments are scanned and sorts them by timestamp, in case the
+     * clock went backwards between appends.
+     */
+    private static final class RecordIndex {
+        private long[] timestamps = new long[64];
+        private int[] segmentIndexes = new int[64];
+        private int[] offsets = new int[64];
+        private int size;
+        private boolean sorted = true;
+
+        void add(long timestamp, int segmentIndex, int offset) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                segmentIndexes = Arrays.copyOf(segmentIndexes, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            sorted &= size == 0 || timestamps[size - 1] <= timestamp;
+            timestamps[size] = timestamp;
+            segmentIndexes[size] = segmentIndex;
+            offsets[size] = offset;
+            size++;
+        }
+
+        JournalReader toReader(List<ByteBuffer> segments) {
+            long[] sortedTimestamps = Arrays.copyOf(timestamps, size);
+            int[] sortedSegments = Arrays.copyOf(segmentIndexes, size);
+            int[] sortedOffsets = Arrays.copyOf(offsets, size);
+            if (!sorted) {
+                Integer[] order = new Integer[size];
+                Arrays.setAll(order, i -> i);
+                // a stable sort keeps the append order of snapshots with equal timestamps
+                Arrays.sort(order, Comparator.comparingLong(i -> timestamps[i]));
+                for (int i = 0; i < size; i++) {
+                    sortedTimestamps[i] = timestamps[order[i]];
+                    sortedSegments[i] = segmentIndexes[order[i]];
+                    sortedOffsets[i] = offsets[order[i]];
+                }
+            }
+            return new JournalReader(List.copyOf(segments), sortedTimestamps, sortedSegments, sortedOffsets);
+        }
+    }
+}
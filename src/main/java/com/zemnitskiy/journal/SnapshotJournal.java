@@ -0,0 +1,260 @@
+package com.zemnitskiy.journal;
+
+import com.zemnitskiy.metrics.Counter;
+import com.zemnitskiy.metrics.LatencyHistogram;
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.snapshot.ColumnarSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The {@code SnapshotJournal} class appends result snapshots to an append-only binary journal of
+ * memory-mapped segment files, for later replay with a {@link JournalReader}.
+ *
+ * <p>Each snapshot is stored in the encoded form of a {@link ColumnarSnapshot}, preceded by its
+ * timestamp and an index of its event ids, so a reader can find a time range by binary search and an
+ * event within a snapshot without decoding it. Every record carries a CRC32, so a record torn by a crash
+ * is recognised by the reader. A segment is mapped once at its full size and filled by plain memory
+ * writes; when the next record does not fit, the journal rolls over to a new segment. Opening an
+ * existing journal continues after the last intact record of its last segment, so short runs do not
+ * each leave a mostly empty segment behind; a last segment with a damaged record is left as it is and a
+ * new one is started after it.</p>
+ *
+ * <p>Appends are encoded and written on a dedicated thread, so the caller, typically the fetch pipeline,
+ * only hands the snapshot over. At most {@code maxPending} snapshots wait for that thread; when the disk
+ * cannot keep up, further snapshots are dropped with a warning rather than piling up as whole result
+ * trees on the heap. {@link #close()} waits for the pending appends and forces the last segment to disk.
+ * Appends, dropped snapshots, pending snapshots, written bytes and the time from handing a snapshot over
+ * to its write are reported under {@code journal.}.</p>
+ */
+public final class SnapshotJournal implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+    public static final int DEFAULT_MAX_PENDING = 4;
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotJournal.class);
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ThreadPoolExecutor writer;
+    private final Counter snapshots;
+    private final Counter dropped;
+    private final Counter bytes;
+    private final LatencyHistogram appendLatency;
+
+    // confined to the writer thread
+    private long sequence;
+    private MappedByteBuffer segment;
+
+    private SnapshotJournal(Path directory, int segmentBytes, int maxPending, long lastSequence,
+                            MappedByteBuffer lastSegment, MetricsRegistry metrics) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxPending),
+                Thread.ofPlatform().name("snapshot-journal").daemon().factory());
+        this.sequence = lastSequence;
+        this.segment = lastSegment;
+        this.snapshots = metrics.counter("journal.snapshots");
+        this.dropped = metrics.counter("journal.dropped");
+        this.bytes = metrics.counter("journal.bytes");
+        this.appendLatency = metrics.histogram("journal.append");
+        metrics.gauge("journal.pending", () -> writer.getQueue().size());
+    }
+
+    /**
+     * Opens the journal in the given directory with {@value #DEFAULT_SEGMENT_BYTES}-byte segments and at
+     * most {@value #DEFAULT_MAX_PENDING} pending appends.
+     *
+     * @param directory the journal directory, created if missing
+     * @return the journal
+     * @throws IOException if the directory cannot be created or listed
+     */
+    public static SnapshotJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_BYTES, MetricsRegistry.NOOP);
+    }
+
+    /**
+     * Opens the journal in the given directory with at most {@value #DEFAULT_MAX_PENDING} pending appends.
+     *
+     * @param directory    the journal directory, created if missing
+     * @param segmentBytes the size of a new segment; a larger record gets a segment of its own size
+     * @param metrics      the registry receiving the journal metrics
+     * @return the journal
+     * @throws IOException if the directory cannot be created or listed, or its last segment cannot be mapped
+     */
+    public static SnapshotJournal open(Path directory, int segmentBytes, MetricsRegistry metrics) throws IOException {
+        return open(directory, segmentBytes, DEFAULT_MAX_PENDING, metrics);
+    }
+
+    /**
+     * Opens the journal in the given directory.
+     *
+     * @param directory    the journal directory, created if missing
+     * @param segmentBytes the size of a new segment; a larger record gets a segment of its own size
+     * @param maxPending   the number of snapshots that may wait for the journal thread before appends are dropped
+     * @param metrics      the registry receiving the journal metrics
+     * @return the journal
+     * @throws IOException if the directory cannot be created or listed, or its last segment cannot be mapped
+     */
+    public static SnapshotJournal open(Path directory, int segmentBytes, int maxPending, MetricsRegistry metrics)
+            throws IOException {
+        if (segmentBytes <= JournalFormat.SEGMENT_HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must exceed the segment header.");
+        }
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("The number of pending appends must be positive.");
+        }
+        Files.createDirectories(directory);
+        long lastSequence;
+        try (Stream<Path> files = Files.list(directory)) {
+            lastSequence = files.filter(JournalFormat::isSegment)
+                    .mapToLong(JournalFormat::sequenceOf)
+                    .max()
+                    .orElse(0);
+        }
+        MappedByteBuffer lastSegment = lastSequence == 0 ? null
+                : mapTail(JournalFormat.segmentPath(directory, lastSequence));
+        return new SnapshotJournal(directory, segmentBytes, maxPending, lastSequence, lastSegment, metrics);
+    }
+
+    /**
+     * Maps the given segment for writing, positioned after its last intact record.
+     *
+     * @return the mapped segment, or {@code null} if it is not a segment of this format or holds a damaged record
+     */
+    private static MappedByteBuffer mapTail(Path path) throws IOException {
+        MappedByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        if (!JournalFormat.hasHeader(segment)) {
+            return null;
+        }
+        int position = JournalFormat.SEGMENT_HEADER_BYTES;
+        int end;
+        while ((end = JournalFormat.recordEnd(segment, position)) > 0) {
+            position = end;
+        }
+        if (end == JournalFormat.CORRUPT) {
+            logger.warn("Damaged journal record in {} at byte {}, starting a new segment", path, position);
+            return null;
+        }
+        segment.position(position);
+        return segment;
+    }
+
+    /**
+     * Hands a result tree over to the journal thread, which converts it to a {@link ColumnarSnapshot} and
+     * appends it.
+     *
+     * @param timestamp the time the snapshot was taken
+     * @param rootResult the snapshot
+     * @return a {@link CompletableFuture} that completes once the snapshot is written to the mapped segment,
+     * or exceptionally with a {@link RejectedExecutionException} if it was dropped
+     */
+    public CompletableFuture<Void> append(Instant timestamp, RootResult rootResult) {
+        long submittedAt = System.nanoTime();
+        return submit(timestamp, () -> write(timestamp, ColumnarSnapshot.of(rootResult), submittedAt));
+    }
+
+    /**
+     * Hands a snapshot over to the journal thread, which appends it.
+     *
+     * @param timestamp the time the snapshot was taken
+     * @param snapshot  the snapshot
+     * @return a {@link CompletableFuture} that completes once the snapshot is written to the mapped segment,
+     * or exceptionally with a {@link RejectedExecutionException} if it was dropped
+     */
+    public CompletableFuture<Void> append(Instant timestamp, ColumnarSnapshot snapshot) {
+        long submittedAt = System.nanoTime();
+        return submit(timestamp, () -> write(timestamp, snapshot, submittedAt));
+    }
+
+    /**
+     * Waits for the pending appends and forces the current segment to disk.
+     */
+    @Override
+    public void close() {
+        writer.close();
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+    }
+
+    private CompletableFuture<Void> submit(Instant timestamp, Runnable write) {
+        try {
+            return CompletableFuture.runAsync(write, writer);
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            logger.warn("Journal has {} snapshots pending, dropping the snapshot of {}", writer.getQueue().size(), timestamp);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void write(Instant timestamp, ColumnarSnapshot snapshot, long submittedAt) {
+        int events = snapshot.matchCount();
+        Integer[] order = new Integer[events];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingLong(snapshot::eventId));
+
+        int length = Integer.BYTES + Long.BYTES + Integer.BYTES + events * (Long.BYTES + Integer.BYTES)
+                + snapshot.encodedSize();
+        int recordBytes = Integer.BYTES + length;
+        if (segment == null || segment.remaining() < recordBytes) {
+            roll(recordBytes);
+        }
+        int start = segment.position();
+        segment.position(start + JournalFormat.TIMESTAMP_OFFSET);
+        segment.putLong(timestamp.toEpochMilli()).putInt(events);
+        for (Integer match : order) {
+            segment.putLong(snapshot.eventId(match));
+        }
+        for (Integer match : order) {
+            segment.putInt(match);
+        }
+        snapshot.writeTo(segment);
+        segment.putInt(start + Integer.BYTES, JournalFormat.checksum(segment, start, length));
+        // the length is written last, so a reader never sees a partly written record
+        segment.putInt(start, length);
+
+        snapshots.increment();
+        bytes.add(recordBytes);
+        appendLatency.recordSince(submittedAt);
+    }
+
+    private void roll(int recordBytes) {
+        if (segment != null) {
+            segment.force();
+        }
+        sequence++;
+        int capacity = Math.max(segmentBytes, JournalFormat.SEGMENT_HEADER_BYTES + recordBytes);
+        Path path = JournalFormat.segmentPath(directory, sequence);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create journal segment " + path, e);
+        }
+        segment.putInt(JournalFormat.MAGIC).putInt(JournalFormat.VERSION);
+    }
+}
@@ -0,0 +1,61 @@
+package com.zemnitskiy.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count, such as requests sent or runners produced, that also reports its
+ * mean rate per second since it was created.
+ */
+public final class Counter implements Metric {
+
+    static final Counter DISABLED = new Counter(false);
+
+    private final boolean enabled;
+    private final LongAdder count = new LongAdder();
+    private final long createdNanos = System.nanoTime();
+
+    Counter() {
+        this(true);
+    }
+
+    private Counter(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Adds one to the count.
+     */
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * Adds the given amount to the count.
+     *
+     * @param amount the amount to add
+     */
+    public void add(long amount) {
+        if (enabled) {
+            count.add(amount);
+        }
+    }
+
+    /**
+     * Returns the current count.
+     *
+     * @return the count
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean rate of the count per second since the counter was created.
+     *
+     * @return the rate per second
+     */
+    public double ratePerSecond() {
+        long elapsedNanos = System.nanoTime() - createdNanos;
+        return elapsedNanos <= 0 ? 0 : count() * 1e9 / elapsedNanos;
+    }
+}
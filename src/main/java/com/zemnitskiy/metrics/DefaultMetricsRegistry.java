@@ -0,0 +1,52 @@
+package com.zemnitskiy.metrics;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The default in-memory {@link MetricsRegistry}.
+ */
+final class DefaultMetricsRegistry implements MetricsRegistry {
+
+    private final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(String name) {
+        return get(name, Counter.class, Counter::new);
+    }
+
+    @Override
+    public LatencyHistogram histogram(String name) {
+        return get(name, LatencyHistogram.class, LatencyHistogram::new);
+    }
+
+    @Override
+    public void gauge(String name, LongSupplier supplier) {
+        metrics.compute(name, (key, existing) -> {
+            if (existing != null && !(existing instanceof Gauge)) {
+                throw new IllegalArgumentException("Metric " + name + " is not a gauge.");
+            }
+            return new Gauge(supplier);
+        });
+    }
+
+    @Override
+    public SortedMap<String, Metric> metrics() {
+        return new TreeMap<>(metrics);
+    }
+
+    private <M extends Metric> M get(String name, Class<M> kind, Supplier<M> factory) {
+        Metric metric = metrics.get(name);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(name, key -> factory.get());
+        }
+        if (!kind.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is not a " + kind.getSimpleName() + ".");
+        }
+        return kind.cast(metric);
+    }
+}
@@ -0,0 +1,24 @@
+package com.zemnitskiy.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A value sampled when the metrics are read, such as the number of in-flight requests.
+ */
+public final class Gauge implements Metric {
+
+    private final LongSupplier supplier;
+
+    Gauge(LongSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Samples the current value.
+     *
+     * @return the current value
+     */
+    public long value() {
+        return supplier.getAsLong();
+    }
+}
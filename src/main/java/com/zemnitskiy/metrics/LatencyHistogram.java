@@ -0,0 +1,146 @@
+package com.zemnitskiy.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with HDR-style log-linear buckets.
+ *
+ * <p>Values below {@value #SUB_BUCKETS} nanoseconds get a bucket each; above that, every power of two
+ * is split into {@code SUB_BUCKETS / 2} linear buckets, so any recorded value is reported within about
+ * 3% of its true value across the whole range of a {@code long}, with a fixed footprint of a few
+ * thousand counters. Recording is a single atomic increment and never allocates.</p>
+ */
+public final class LatencyHistogram implements Metric {
+
+    static final LatencyHistogram DISABLED = new LatencyHistogram(false);
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+
+    private final boolean enabled;
+    private final AtomicLongArray buckets;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    LatencyHistogram() {
+        this(true);
+    }
+
+    private LatencyHistogram(boolean enabled) {
+        this.enabled = enabled;
+        this.buckets = new AtomicLongArray(enabled ? BUCKETS : 0);
+    }
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as zero
+     */
+    public void record(long nanos) {
+        if (!enabled) {
+            return;
+        }
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Records the time elapsed since the given {@link System#nanoTime()} reading.
+     *
+     * @param startNanos the {@link System#nanoTime()} reading at the start of the measured operation
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Takes a consistent-enough copy of the histogram for reporting; records made while copying may
+     * or may not be included.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = buckets.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, total == 0 ? 0 : sum.get() / (double) total, max.get());
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> magnitude);
+        return magnitude * HALF_SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = index / HALF_SUB_BUCKETS - 1;
+        long subBucket = index % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << magnitude) - 1;
+    }
+
+    /**
+     * A point-in-time copy of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+        private final long[] buckets;
+        private final long count;
+        private final double meanNanos;
+        private final long maxNanos;
+
+        private Snapshot(long[] buckets, long count, double meanNanos, long maxNanos) {
+            this.buckets = buckets;
+            this.count = count;
+            this.meanNanos = meanNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public double meanNanos() {
+            return meanNanos;
+        }
+
+        public long maxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Returns the latency below which the given fraction of the recorded latencies fall.
+         *
+         * @param quantile the fraction, between 0 and 1
+         * @return the latency in nanoseconds, reported as the upper bound of its bucket, or 0 when empty
+         */
+        public long percentileNanos(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.zemnitskiy.metrics;
+
+/**
+ * A metric held by a {@link MetricsRegistry}.
+ */
+public sealed interface Metric permits Counter, Gauge, LatencyHistogram {
+}
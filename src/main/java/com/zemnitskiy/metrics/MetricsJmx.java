@@ -0,0 +1,138 @@
+package com.zemnitskiy.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Exposes the metrics of a {@link MetricsRegistry} as a single read-only JMX MBean, so they can be
+ * inspected with JConsole or any JMX client without attaching a profiler.
+ *
+ * <p>Every metric becomes one or more attributes named after it: a counter gives {@code name.count} and
+ * {@code name.ratePerSecond}, a gauge gives {@code name}, and a histogram gives {@code name.count},
+ * {@code name.meanMillis}, {@code name.p50Millis}, {@code name.p90Millis}, {@code name.p99Millis} and
+ * {@code name.maxMillis}. The attribute list is rebuilt on every request, so metrics registered after
+ * the MBean show up on the next refresh.</p>
+ */
+public final class MetricsJmx implements DynamicMBean {
+
+    /**
+     * The default object name of the MBean.
+     */
+    public static final String DEFAULT_OBJECT_NAME = "com.zemnitskiy:type=Metrics";
+
+    private final MetricsRegistry registry;
+
+    private MetricsJmx(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers the registry with the platform MBean server under {@link #DEFAULT_OBJECT_NAME},
+     * replacing any MBean registered there before.
+     *
+     * @param registry the registry to expose
+     * @return the object name of the MBean
+     * @throws IllegalStateException if the MBean cannot be registered
+     */
+    public static ObjectName register(MetricsRegistry registry) {
+        try {
+            ObjectName name = new ObjectName(DEFAULT_OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                server.registerMBean(new MetricsJmx(registry), name);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(name);
+                server.registerMBean(new MetricsJmx(registry), name);
+            }
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register metrics MBean", e);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Supplier<Object> value = attributes().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value.get();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        Map<String, Supplier<Object>> attributes = attributes();
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            Supplier<Object> value = attributes.get(name);
+            if (value != null) {
+                list.add(new Attribute(name, value.get()));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("Metrics MBean has no operations");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        MBeanAttributeInfo[] infos = attributes().entrySet().stream()
+                .map(entry -> new MBeanAttributeInfo(entry.getKey(), attributeType(entry.getKey()),
+                        entry.getKey(), true, false, false))
+                .toArray(MBeanAttributeInfo[]::new);
+        return new MBeanInfo(getClass().getName(), "Pipeline metrics", infos, null, null, null);
+    }
+
+    private static String attributeType(String attribute) {
+        return attribute.endsWith("Millis") || attribute.endsWith("PerSecond")
+                ? Double.class.getName()
+                : Long.class.getName();
+    }
+
+    private Map<String, Supplier<Object>> attributes() {
+        Map<String, Supplier<Object>> attributes = new LinkedHashMap<>();
+        registry.metrics().forEach((name, metric) -> {
+            switch (metric) {
+                case Counter counter -> {
+                    attributes.put(name + ".count", counter::count);
+                    attributes.put(name + ".ratePerSecond", counter::ratePerSecond);
+                }
+                case Gauge gauge -> attributes.put(name, gauge::value);
+                case LatencyHistogram histogram -> {
+                    attributes.put(name + ".count", () -> histogram.snapshot().count());
+                    attributes.put(name + ".meanMillis", () -> histogram.snapshot().meanNanos() / 1e6);
+                    attributes.put(name + ".p50Millis", () -> histogram.snapshot().percentileNanos(0.5) / 1e6);
+                    attributes.put(name + ".p90Millis", () -> histogram.snapshot().percentileNanos(0.9) / 1e6);
+                    attributes.put(name + ".p99Millis", () -> histogram.snapshot().percentileNanos(0.99) / 1e6);
+                    attributes.put(name + ".maxMillis", () -> histogram.snapshot().maxNanos() / 1e6);
+                }
+            }
+        });
+        return attributes;
+    }
+}
@@ -0,0 +1,83 @@
+package com.zemnitskiy.metrics;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.function.LongSupplier;
+
+/**
+ * A registry of named metrics. Instrumented components look their metrics up by name, and views such
+ * as {@link MetricsJmx} and {@link MetricsTextDump} read them all through {@link #metrics()}.
+ *
+ * <p>Names are dot-separated, for example {@code api.event_details.network}. Looking up the same name
+ * twice returns the same metric.</p>
+ */
+public interface MetricsRegistry {
+
+    /**
+     * A registry that records nothing and reports no metrics, for components that are not instrumented.
+     */
+    MetricsRegistry NOOP = new MetricsRegistry() {
+        @Override
+        public Counter counter(String name) {
+            return Counter.DISABLED;
+        }
+
+        @Override
+        public LatencyHistogram histogram(String name) {
+            return LatencyHistogram.DISABLED;
+        }
+
+        @Override
+        public void gauge(String name, LongSupplier supplier) {
+            // Not recorded
+        }
+
+        @Override
+        public SortedMap<String, Metric> metrics() {
+            return Collections.emptySortedMap();
+        }
+    };
+
+    /**
+     * Returns the counter with the given name, creating it on first use.
+     *
+     * @param name the metric name
+     * @return the counter
+     * @throws IllegalArgumentException if the name is taken by a metric of another kind
+     */
+    Counter counter(String name);
+
+    /**
+     * Returns the latency histogram with the given name, creating it on first use.
+     *
+     * @param name the metric name
+     * @return the histogram
+     * @throws IllegalArgumentException if the name is taken by a metric of another kind
+     */
+    LatencyHistogram histogram(String name);
+
+    /**
+     * Registers a gauge sampling the given supplier, replacing any gauge with the same name.
+     *
+     * @param name     the metric name
+     * @param supplier the supplier of the current value
+     * @throws IllegalArgumentException if the name is taken by a metric of another kind
+     */
+    void gauge(String name, LongSupplier supplier);
+
+    /**
+     * Returns all registered metrics sorted by name.
+     *
+     * @return a snapshot of the registered metrics
+     */
+    SortedMap<String, Metric> metrics();
+
+    /**
+     * Returns a new, empty registry.
+     *
+     * @return the registry
+     */
+    static MetricsRegistry create() {
+        return new DefaultMetricsRegistry();
+    }
+}
@@ -0,0 +1,56 @@
+package com.zemnitskiy.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Formats the metrics of a {@link MetricsRegistry} as plain text, one metric per line, for logs and
+ * console output.
+ *
+ * <p>Latencies are printed in milliseconds. Example:</p>
+ * <pre>
+ * api.event_details.network  count=1200 mean=4.81ms p50=4.10ms p90=8.32ms p99=19.20ms max=41.02ms
+ * api.in_flight              value=12
+ * pipeline.runners           count=36000 rate=2400.0/s
+ * </pre>
+ */
+public final class MetricsTextDump {
+
+    private MetricsTextDump() {
+    }
+
+    /**
+     * Formats every metric of the registry.
+     *
+     * @param registry the registry to dump
+     * @return the formatted metrics, one per line
+     */
+    public static String format(MetricsRegistry registry) {
+        Map<String, Metric> metrics = registry.metrics();
+        int width = metrics.keySet().stream().mapToInt(String::length).max().orElse(0);
+        StringBuilder out = new StringBuilder();
+        metrics.forEach((name, metric) -> {
+            out.append(name).append(" ".repeat(width - name.length() + 2));
+            switch (metric) {
+                case Counter counter -> out.append("count=").append(counter.count())
+                        .append(String.format(Locale.ROOT, " rate=%.1f/s", counter.ratePerSecond()));
+                case Gauge gauge -> out.append("value=").append(gauge.value());
+                case LatencyHistogram histogram -> {
+                    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+                    out.append("count=").append(snapshot.count())
+                            .append(" mean=").append(millis(snapshot.meanNanos()))
+                            .append(" p50=").append(millis(snapshot.percentileNanos(0.5)))
+                            .append(" p90=").append(millis(snapshot.percentileNanos(0.9)))
+                            .append(" p99=").append(millis(snapshot.percentileNanos(0.99)))
+                            .append(" max=").append(millis(snapshot.maxNanos()));
+                }
+            }
+            out.append(System.lineSeparator());
+        });
+        return out.toString();
+    }
+
+    private static String millis(double nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1e6);
+    }
+}
@@ -0,0 +1,133 @@
+package com.zemnitskiy.model.basemodel;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * The {@code Price} class converts decimal odds between their API text form and the fixed-point
+ * {@code int} form stored in {@link Runner#price()}.
+ *
+ * <p>A price is stored as the odds multiplied by {@value #SCALE}, so {@code "1.57"} becomes
+ * {@code 1570}. Comparing two prices is a plain {@code int} comparison, and a runner keeps four bytes
+ * instead of a {@code String} and its backing array. The text form is rebuilt on demand for display
+ * with two or three decimals, so it is normalised rather than kept as sent: {@code "4.2"} comes back
+ * as {@code "4.20"} and {@code "1.570"} as {@code "1.57"}.</p>
+ */
+public final class Price {
+
+    /**
+     * The factor between decimal odds and their fixed-point form.
+     */
+    public static final int SCALE = 1000;
+
+    /**
+     * The fixed-point value of a missing or unparseable price; real decimal odds are always above one.
+     */
+    public static final int NONE = 0;
+
+    private static final int SCALE_DIGITS = 3;
+
+    private Price() {
+    }
+
+    /**
+     * Parses decimal odds such as {@code "1.57"} into their fixed-point form, rounding half up beyond
+     * {@value #SCALE_DIGITS} decimals.
+     *
+     * @param text the decimal odds, may be {@code null}
+     * @return the odds multiplied by {@value #SCALE}, or {@link #NONE} if the text is not a positive decimal number
+     */
+    public static int parse(String text) {
+        if (text == null || text.isEmpty()) {
+            return NONE;
+        }
+        long value = 0;
+        int decimals = -1;
+        boolean roundUp = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (decimals < SCALE_DIGITS) {
+                    value = value * 10 + (c - '0');
+                    if (decimals >= 0) {
+                        decimals++;
+                    }
+                } else if (decimals == SCALE_DIGITS) {
+                    roundUp = c >= '5';
+                    decimals++;
+                }
+                if (value > Integer.MAX_VALUE) {
+                    return NONE;
+                }
+            } else {
+                return NONE;
+            }
+        }
+        for (int i = Math.max(decimals, 0); i < SCALE_DIGITS; i++) {
+            value *= 10;
+        }
+        if (roundUp) {
+            value++;
+        }
+        return value > Integer.MAX_VALUE ? NONE : (int) value;
+    }
+
+    /**
+     * Formats a fixed-point price as decimal odds.
+     *
+     * @param price the odds multiplied by {@value #SCALE}
+     * @return the decimal odds, such as {@code "1.57"}, or {@code null} for {@link #NONE}
+     */
+    public static String format(int price) {
+        if (price == NONE) {
+            return null;
+        }
+        return appendTo(new StringBuilder(8), price).toString();
+    }
+
+    /**
+     * Appends a fixed-point price as decimal odds without creating an intermediate {@code String}.
+     *
+     * @param target the builder to append to
+     * @param price  the odds multiplied by {@value #SCALE}
+     * @return the given builder
+     */
+    public static StringBuilder appendTo(StringBuilder target, int price) {
+        if (price == NONE) {
+            return target.append("null");
+        }
+        int fraction = price % SCALE;
+        target.append(price / SCALE).append('.').append((char) ('0' + fraction / 100)).append((char) ('0' + fraction / 10 % 10));
+        if (fraction % 10 != 0) {
+            target.append((char) ('0' + fraction % 10));
+        }
+        return target;
+    }
+
+    /**
+     * Binds a fixed-point price to its text form in JSON, so that reflective {@link com.google.gson.Gson}
+     * reads and writes {@link Runner#price()} as {@code priceStr} like the hand-written adapters do.
+     */
+    public static final class TextAdapter extends TypeAdapter<Integer> {
+
+        @Override
+        public Integer read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return NONE;
+            }
+            return parse(in.nextString());
+        }
+
+        @Override
+        public void write(JsonWriter out, Integer price) throws IOException {
+            out.value(price == null ? null : format(price));
+        }
+    }
+}
@@ -1,3 +1,40 @@
 package com.zemnitskiy.model.basemodel;
 
-public record Runner(long id, String name, String priceStr) { }
\ No newline at end of file
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * A runner of a market.
+ *
+ * @param id    the runner id
+ * @param name  the runner name
+ * @param price the decimal odds in the fixed-point form of {@link Price}, or {@link Price#NONE} if unknown;
+ *              bound to {@code priceStr} in JSON
+ */
+public record Runner(long id, String name,
+                     @SerializedName("priceStr") @JsonAdapter(value = Price.TextAdapter.class, nullSafe = false) int price) {
+
+    /**
+     * Constructs a runner from the text form of its decimal odds, as sent by the API.
+     *
+     * @param id       the runner id
+     * @param name     the runner name
+     * @param priceStr the decimal odds, such as {@code "1.57"}
+     */
+    public Runner(long id, String name, String priceStr) {
+        this(id, name, Price.parse(priceStr));
+    }
+
+    /**
+     * Returns the decimal odds as text, built on demand for display from the fixed-point price.
+     *
+     * <p>The text is normalised, not the string the API sent: it always has two or three decimals, so
+     * {@code "4.2"} comes back as {@code "4.20"} and {@code "1.570"} as {@code "1.57"}. Odds with more than
+     * three decimals were rounded when parsed.</p>
+     *
+     * @return the decimal odds, or {@code null} if the price is unknown
+     */
+    public String priceStr() {
+        return Price.format(price);
+    }
+}
@@ -0,0 +1,179 @@
+package com.zemnitskiy.model.index;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive {@code long} keys to object values that never boxes its keys.
+ *
+ * <p>Entries are stored densely in insertion order in a {@code long[]} of keys and an {@code Object[]} of
+ * values; an open-addressing table of {@code int} slots with linear probing points into them. A lookup
+ * is a multiply, a shift and usually a single probe, and iterating with {@link #keyAt(int)} and
+ * {@link #valueAt(int)} walks two arrays in the order the keys were first put. Entries cannot be
+ * removed, which keeps the table free of tombstones.</p>
+ *
+ * <p>The map is not thread-safe.</p>
+ *
+ * @param <V> the type of the values
+ */
+public final class LongObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    // entry index + 1 per slot, 0 for an empty slot; kept at most half full
+    private int[] slots;
+    private int mask;
+
+    /**
+     * Constructs an empty map.
+     */
+    public LongObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map sized to hold {@code expectedSize} entries without growing.
+     *
+     * @param expectedSize the expected number of entries
+     * @throws IllegalArgumentException if {@code expectedSize} is negative
+     */
+    public LongObjectMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative.");
+        }
+        int capacity = Math.max(MIN_CAPACITY, expectedSize);
+        keys = new long[capacity];
+        values = new Object[capacity];
+        slots = new int[tableSize(capacity)];
+        mask = slots.length - 1;
+    }
+
+    /**
+     * Associates the value with the key, replacing the value of an existing key in place.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the previous value of the key, or {@code null} if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int slot = hash(key) & mask;
+        while (slots[slot] != 0) {
+            int entry = slots[slot] - 1;
+            if (keys[entry] == key) {
+                V previous = (V) values[entry];
+                values[entry] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == keys.length) {
+            grow();
+            return put(key, value);
+        }
+        keys[size] = key;
+        values[size] = value;
+        slots[slot] = ++size;
+        return null;
+    }
+
+    /**
+     * Returns the value of the key.
+     *
+     * @param key the key
+     * @return the value, or {@code null} if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int entry = find(key);
+        return entry < 0 ? null : (V) values[entry];
+    }
+
+    /**
+     * Checks whether the map contains the key.
+     *
+     * @param key the key
+     * @return {@code true} if the key is in the map
+     */
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the key of the entry at the given position in insertion order.
+     *
+     * @param index the position of the entry, from {@code 0} to {@link #size()} exclusive
+     * @return the key of the entry
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public long keyAt(int index) {
+        return keys[checkIndex(index)];
+    }
+
+    /**
+     * Returns the value of the entry at the given position in insertion order.
+     *
+     * @param index the position of the entry, from {@code 0} to {@link #size()} exclusive
+     * @return the value of the entry
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+        return (V) values[checkIndex(index)];
+    }
+
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (slots[slot] != 0) {
+            int entry = slots[slot] - 1;
+            if (keys[entry] == key) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return index;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        slots = new int[tableSize(capacity)];
+        mask = slots.length - 1;
+        for (int entry = 0; entry < size; entry++) {
+            int slot = hash(keys[entry]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = entry + 1;
+        }
+    }
+
+    private static int tableSize(int capacity) {
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+
+    private static int hash(long key) {
+        // Fibonacci hashing spreads the sequential ids of the upstream over the whole table
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
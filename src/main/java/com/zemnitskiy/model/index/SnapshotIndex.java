@@ -0,0 +1,197 @@
+package com.zemnitskiy.model.index;
+
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code SnapshotIndex} class indexes a result tree by id, so a match, market or runner can be found
+ * without walking the nested lists of a {@link RootResult}.
+ *
+ * <p>Matches are indexed by {@code Event.id()}, markets by {@code Market.id()} and runners by
+ * {@code Runner.id()}, each in a {@link LongObjectMap} together with the node containing it, and
+ * leagues by their id and by sport name. The index is filled one {@link LeagueResult} at a time with
+ * {@link #add(LeagueResult)}, so the request tree can index each league as soon as it arrives instead of
+ * walking the whole tree once it is complete. If an id occurs more than once, the last node added wins.</p>
+ *
+ * <p>{@link #add(LeagueResult)} may be called from several threads. Lookups are not synchronized and
+ * must happen after the last {@code add}, for example once the future delivering the tree has
+ * completed.</p>
+ */
+public final class SnapshotIndex {
+
+    private final LongObjectMap<LeagueResult> leagues = new LongObjectMap<>();
+    private final Map<String, List<LeagueResult>> sports = new HashMap<>();
+    private final LongObjectMap<MatchResult> matches = new LongObjectMap<>();
+    private final LongObjectMap<LeagueResult> matchLeagues = new LongObjectMap<>();
+    private final LongObjectMap<MarketResult> markets = new LongObjectMap<>();
+    private final LongObjectMap<MatchResult> marketMatches = new LongObjectMap<>();
+    private final LongObjectMap<RunnerResult> runners = new LongObjectMap<>();
+    private final LongObjectMap<MarketResult> runnerMarkets = new LongObjectMap<>();
+
+    /**
+     * Builds the index of a whole result tree.
+     *
+     * @param rootResult the result tree, or {@code null} for an empty index
+     * @return the index of the tree
+     */
+    public static SnapshotIndex of(RootResult rootResult) {
+        SnapshotIndex index = new SnapshotIndex();
+        if (rootResult != null) {
+            for (LeagueResult leagueResult : rootResult.leagueResults()) {
+                index.add(leagueResult);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Adds a league with all its matches, markets and runners to the index.
+     *
+     * @param leagueResult the league to index
+     */
+    public synchronized void add(LeagueResult leagueResult) {
+        leagues.put(leagueResult.league().id(), leagueResult);
+        sports.computeIfAbsent(leagueResult.sportName(), sportName -> new ArrayList<>()).add(leagueResult);
+        for (MatchResult matchResult : leagueResult.matchResults()) {
+            long eventId = matchResult.event().id();
+            matches.put(eventId, matchResult);
+            matchLeagues.put(eventId, leagueResult);
+            for (MarketResult marketResult : matchResult.marketResults()) {
+                long marketId = marketResult.market().id();
+                markets.put(marketId, marketResult);
+                marketMatches.put(marketId, matchResult);
+                for (RunnerResult runnerResult : marketResult.runnerResults()) {
+                    long runnerId = runnerResult.runner().id();
+                    runners.put(runnerId, runnerResult);
+                    runnerMarkets.put(runnerId, marketResult);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the league with the given id.
+     *
+     * @param leagueId the league id
+     * @return the league, or {@code null} if it is not indexed
+     */
+    public LeagueResult league(long leagueId) {
+        return leagues.get(leagueId);
+    }
+
+    /**
+     * Returns the leagues of the given sport, in the order they were added.
+     *
+     * @param sportName the sport name
+     * @return the leagues of the sport, empty if there are none
+     */
+    public List<LeagueResult> leagues(String sportName) {
+        List<LeagueResult> sportLeagues = sports.get(sportName);
+        return sportLeagues == null ? List.of() : List.copyOf(sportLeagues);
+    }
+
+    /**
+     * Returns the match of the event with the given id.
+     *
+     * @param eventId the event id
+     * @return the match, or {@code null} if it is not indexed
+     */
+    public MatchResult match(long eventId) {
+        return matches.get(eventId);
+    }
+
+    /**
+     * Checks whether the event with the given id is indexed.
+     *
+     * @param eventId the event id
+     * @return {@code true} if the index contains a match of the event
+     */
+    public boolean containsMatch(long eventId) {
+        return matches.containsKey(eventId);
+    }
+
+    /**
+     * Returns the league containing the event with the given id.
+     *
+     * @param eventId the event id
+     * @return the league, or {@code null} if the event is not indexed
+     */
+    public LeagueResult leagueOfMatch(long eventId) {
+        return matchLeagues.get(eventId);
+    }
+
+    /**
+     * Returns the market with the given id.
+     *
+     * @param marketId the market id
+     * @return the market, or {@code null} if it is not indexed
+     */
+    public MarketResult market(long marketId) {
+        return markets.get(marketId);
+    }
+
+    /**
+     * Returns the match containing the market with the given id.
+     *
+     * @param marketId the market id
+     * @return the match, or {@code null} if the market is not indexed
+     */
+    public MatchResult matchOfMarket(long marketId) {
+        return marketMatches.get(marketId);
+    }
+
+    /**
+     * Returns the runner with the given id.
+     *
+     * @param runnerId the runner id
+     * @return the runner, or {@code null} if it is not indexed
+     */
+    public RunnerResult runner(long runnerId) {
+        return runners.get(runnerId);
+    }
+
+    /**
+     * Returns the market containing the runner with the given id.
+     *
+     * @param runnerId the runner id
+     * @return the market, or {@code null} if the runner is not indexed
+     */
+    public MarketResult marketOfRunner(long runnerId) {
+        return runnerMarkets.get(runnerId);
+    }
+
+    /**
+     * Returns the number of indexed matches.
+     *
+     * @return the number of distinct event ids
+     */
+    public int matchCount() {
+        return matches.size();
+    }
+
+    /**
+     * Returns the number of indexed markets.
+     *
+     * @return the number of distinct market ids
+     */
+    public int marketCount() {
+        return markets.size();
+    }
+
+    /**
+     * Returns the number of indexed runners.
+     *
+     * @return the number of distinct runner ids
+     */
+    public int runnerCount() {
+        return runners.size();
+    }
+}
@@ -6,7 +6,12 @@ import com.zemnitskiy.visitor.ResultVisitor;
 
 import java.util.List;
 
-public record LeagueResult(String sportName, League league, List<MatchResult> matchResults) implements Result {
+public record LeagueResult(String sportName, League league, List<MatchResult> matchResults,
+                           ResultStatus status) implements Result {
+
+    public LeagueResult(String sportName, League league, List<MatchResult> matchResults) {
+        this(sportName, league, matchResults, ResultStatus.COMPLETE);
+    }
 
     @Override
     public void accept(ResultVisitor v) {
@@ -6,7 +6,11 @@ import com.zemnitskiy.visitor.ResultVisitor;
 
 import java.util.List;
 
-public record MatchResult(Event event, List<MarketResult> marketResults) implements Result {
+public record MatchResult(Event event, List<MarketResult> marketResults, ResultStatus status) implements Result {
+
+    public MatchResult(Event event, List<MarketResult> marketResults) {
+        this(event, marketResults, ResultStatus.COMPLETE);
+    }
 
     @Override
     public void accept(ResultVisitor v) {
@@ -15,4 +19,4 @@ public record MatchResult(Event event, List<MarketResult> marketResults) impleme
             marketResult.accept(v);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.zemnitskiy.model.result;
+
+/**
+ * Tells whether a league or match of a result tree was fetched completely.
+ *
+ * <p>Incomplete results are placeholders kept in a partial tree in place of a request that failed or
+ * ran past its deadline; they carry the league or event as known from the parent response, without
+ * children.</p>
+ */
+public enum ResultStatus {
+
+    /**
+     * The result was fetched completely.
+     */
+    COMPLETE,
+
+    /**
+     * The request for the result failed.
+     */
+    FAILED,
+
+    /**
+     * The request for the result ran past its deadline.
+     */
+    TIMED_OUT;
+
+    /**
+     * Checks whether the result was fetched completely.
+     *
+     * @return {@code true} for {@link #COMPLETE}
+     */
+    public boolean isComplete() {
+        return this == COMPLETE;
+    }
+}
@@ -0,0 +1,656 @@
+package com.zemnitskiy.model.snapshot;
+
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.ResultStatus;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import com.zemnitskiy.visitor.Result;
+import com.zemnitskiy.visitor.ResultVisitor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+
+/**
+ * The {@code ColumnarSnapshot} class stores a result tree in primitive arrays instead of a graph of
+ * records and lists.
+ *
+ * <p>Every level of the tree (leagues, matches, markets and runners) is a set of parallel columns
+ * indexed by the position of the node in a depth-first walk: ids, kickoffs and fixed-point prices are
+ * {@code long}/{@code int} arrays, names are indexes into a pool holding every distinct string once,
+ * and the {@link ResultStatus} of each league and match is a {@code byte} column, so the placeholders
+ * of a partial tree stay failed or timed out. The children of a node are the contiguous range between
+ * its start offset and the start offset of the next node, so a snapshot of a whole catalog is a few
+ * dozen arrays regardless of its size.</p>
+ *
+ * <p>{@link #accept(ResultVisitor)} replays the snapshot into any {@link ResultVisitor} without building
+ * the record graph: each visited node is a short-lived record whose child lists are views over the
+ * columns, creating child records only when they are accessed. {@link #asRootResult()} exposes the same
+ * views as a {@link RootResult} for code that walks the lists itself, such as the snapshot differ.</p>
+ *
+ * <p>A snapshot is immutable and safe to share between threads once built.</p>
+ */
+public final class ColumnarSnapshot implements Result {
+
+    private static final ResultStatus[] STATUSES = ResultStatus.values();
+
+    private final String[] strings;
+
+    private final int leagueCount;
+    private final int[] sportNames;
+    private final long[] leagueIds;
+    private final int[] leagueNames;
+    private final int[] leagueWeights;
+    private final boolean[] leagueTops;
+    private final int[] leagueTopOrders;
+    private final int[] leagueMatchStarts;
+    private final byte[] leagueStatuses;
+
+    private final int matchCount;
+    private final long[] eventIds;
+    private final int[] eventNames;
+    private final long[] kickoffs;
+    private final int[] matchMarketStarts;
+    private final byte[] matchStatuses;
+
+    private final int marketCount;
+    private final long[] marketIds;
+    private final int[] marketNames;
+    private final int[] marketRunnerStarts;
+
+    private final int runnerCount;
+    private final long[] runnerIds;
+    private final int[] runnerNames;
+    private final int[] prices;
+
+    // node factories shared by all views, so a view costs one object
+    private final IntFunction<LeagueResult> leagueResultNodes = this::leagueResult;
+    private final IntFunction<MatchResult> matchResultNodes = this::matchResult;
+    private final IntFunction<Event> eventNodes = this::event;
+    private final IntFunction<MarketResult> marketResultNodes = this::marketResult;
+    private final IntFunction<Market> marketNodes = this::market;
+    private final IntFunction<RunnerResult> runnerResultNodes = this::runnerResult;
+    private final IntFunction<Runner> runnerNodes = this::runner;
+
+    private byte[][] encodedStrings;
+
+    private ColumnarSnapshot(String[] strings, Builder builder) {
+        this.strings = strings;
+        leagueCount = builder.leagueCount;
+        sportNames = trim(builder.sportNames, leagueCount);
+        leagueIds = trim(builder.leagueIds, leagueCount);
+        leagueNames = trim(builder.leagueNames, leagueCount);
+        leagueWeights = trim(builder.leagueWeights, leagueCount);
+        leagueTops = Arrays.copyOf(builder.leagueTops, leagueCount);
+        leagueTopOrders = trim(builder.leagueTopOrders, leagueCount);
+        matchCount = builder.matchCount;
+        leagueMatchStarts = withEnd(builder.leagueMatchStarts, leagueCount, matchCount);
+        leagueStatuses = Arrays.copyOf(builder.leagueStatuses, leagueCount);
+        eventIds = trim(builder.eventIds, matchCount);
+        eventNames = trim(builder.eventNames, matchCount);
+        kickoffs = trim(builder.kickoffs, matchCount);
+        marketCount = builder.marketCount;
+        matchMarketStarts = withEnd(builder.matchMarketStarts, matchCount, marketCount);
+        matchStatuses = Arrays.copyOf(builder.matchStatuses, matchCount);
+        marketIds = trim(builder.marketIds, marketCount);
+        marketNames = trim(builder.marketNames, marketCount);
+        runnerCount = builder.runnerCount;
+        marketRunnerStarts = withEnd(builder.marketRunnerStarts, marketCount, runnerCount);
+        runnerIds = trim(builder.runnerIds, runnerCount);
+        runnerNames = trim(builder.runnerNames, runnerCount);
+        prices = trim(builder.prices, runnerCount);
+    }
+
+    /**
+     * Creates a snapshot holding the same tree as the given result.
+     *
+     * @param rootResult the result tree to copy
+     * @return the columnar snapshot of the tree
+     */
+    public static ColumnarSnapshot of(RootResult rootResult) {
+        Builder builder = builder();
+        for (LeagueResult leagueResult : rootResult.leagueResults()) {
+            builder.league(leagueResult.sportName(), leagueResult.league(), leagueResult.status());
+            for (MatchResult matchResult : leagueResult.matchResults()) {
+                builder.match(matchResult.event(), matchResult.status());
+                for (MarketResult marketResult : matchResult.marketResults()) {
+                    builder.market(marketResult.market());
+                    for (RunnerResult runnerResult : marketResult.runnerResults()) {
+                        builder.runner(runnerResult.runner());
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a builder that appends nodes in depth-first order.
+     *
+     * @return a new, empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void accept(ResultVisitor v) {
+        v.visitRoot(asRootResult());
+        for (int l = 0; l < leagueCount; l++) {
+            v.visitLeague(leagueResult(l));
+            for (int m = leagueMatchStarts[l]; m < leagueMatchStarts[l + 1]; m++) {
+                v.visitMatch(matchResult(m));
+                for (int k = matchMarketStarts[m]; k < matchMarketStarts[m + 1]; k++) {
+                    v.visitMarket(marketResult(k));
+                    for (int r = marketRunnerStarts[k]; r < marketRunnerStarts[k + 1]; r++) {
+                        v.visitRunner(runnerResult(r));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the snapshot as a {@link RootResult} whose lists are views over the columns; nodes are
+     * created each time they are accessed and are not retained.
+     *
+     * @return a view of the snapshot as a result tree
+     */
+    public RootResult asRootResult() {
+        return new RootResult(new NodeList<>(0, leagueCount, leagueResultNodes));
+    }
+
+    /**
+     * Returns the number of leagues in the snapshot.
+     *
+     * @return the number of leagues
+     */
+    public int leagueCount() {
+        return leagueCount;
+    }
+
+    /**
+     * Returns the number of matches in the snapshot.
+     *
+     * @return the number of matches
+     */
+    public int matchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Returns the number of markets in the snapshot.
+     *
+     * @return the number of markets
+     */
+    public int marketCount() {
+        return marketCount;
+    }
+
+    /**
+     * Returns the number of runners in the snapshot.
+     *
+     * @return the number of runners
+     */
+    public int runnerCount() {
+        return runnerCount;
+    }
+
+    /**
+     * Returns the number of distinct strings kept in the pool of the snapshot.
+     *
+     * @return the number of pooled strings
+     */
+    public int stringCount() {
+        return strings.length;
+    }
+
+    /**
+     * Returns the event id of the match at the given position.
+     *
+     * @param match the position of the match, from {@code 0} to {@link #matchCount()} exclusive
+     * @return the event id of the match
+     */
+    public long eventId(int match) {
+        return eventIds[Objects.checkIndex(match, matchCount)];
+    }
+
+    /**
+     * Replays a single match into the visitor: its league, then the match with its markets and runners.
+     *
+     * @param match the position of the match, from {@code 0} to {@link #matchCount()} exclusive
+     * @param v     the visitor
+     */
+    public void acceptMatch(int match, ResultVisitor v) {
+        Objects.checkIndex(match, matchCount);
+        int position = Arrays.binarySearch(leagueMatchStarts, 0, leagueCount, match);
+        // the league of the match is the last one starting at or before it; empty leagues share starts
+        int league = position >= 0 ? position : -position - 2;
+        while (league + 1 < leagueCount && leagueMatchStarts[league + 1] <= match) {
+            league++;
+        }
+        v.visitLeague(leagueResult(league));
+        v.visitMatch(matchResult(match));
+        for (int k = matchMarketStarts[match]; k < matchMarketStarts[match + 1]; k++) {
+            v.visitMarket(marketResult(k));
+            for (int r = marketRunnerStarts[k]; r < marketRunnerStarts[k + 1]; r++) {
+                v.visitRunner(runnerResult(r));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo(ByteBuffer)} writes.
+     *
+     * @return the encoded size of the snapshot
+     */
+    public int encodedSize() {
+        int size = 5 * Integer.BYTES;
+        for (byte[] string : encodedStrings()) {
+            size += Integer.BYTES + string.length;
+        }
+        size += leagueCount * (5 * Integer.BYTES + Long.BYTES + 2);
+        size += matchCount * (2 * Integer.BYTES + 2 * Long.BYTES + 1);
+        size += marketCount * (2 * Integer.BYTES + Long.BYTES);
+        size += runnerCount * (2 * Integer.BYTES + Long.BYTES);
+        return size;
+    }
+
+    /**
+     * Writes the snapshot to the buffer as a sequence of counts, the string pool in UTF-8 and then every
+     * column in bulk, in the buffer's byte order. {@link #readFrom(ByteBuffer)} reads it back.
+     *
+     * @param buffer the buffer to write to, with at least {@link #encodedSize()} bytes remaining
+     */
+    public void writeTo(ByteBuffer buffer) {
+        byte[][] encoded = encodedStrings();
+        buffer.putInt(leagueCount).putInt(matchCount).putInt(marketCount).putInt(runnerCount).putInt(encoded.length);
+        for (byte[] string : encoded) {
+            buffer.putInt(string.length).put(string);
+        }
+        putInts(buffer, sportNames, leagueCount);
+        putLongs(buffer, leagueIds, leagueCount);
+        putInts(buffer, leagueNames, leagueCount);
+        putInts(buffer, leagueWeights, leagueCount);
+        for (int l = 0; l < leagueCount; l++) {
+            buffer.put(leagueTops[l] ? (byte) 1 : (byte) 0);
+        }
+        putInts(buffer, leagueTopOrders, leagueCount);
+        putInts(buffer, leagueMatchStarts, leagueCount);
+        buffer.put(leagueStatuses, 0, leagueCount);
+        putLongs(buffer, eventIds, matchCount);
+        putInts(buffer, eventNames, matchCount);
+        putLongs(buffer, kickoffs, matchCount);
+        putInts(buffer, matchMarketStarts, matchCount);
+        buffer.put(matchStatuses, 0, matchCount);
+        putLongs(buffer, marketIds, marketCount);
+        putInts(buffer, marketNames, marketCount);
+        putInts(buffer, marketRunnerStarts, marketCount);
+        putLongs(buffer, runnerIds, runnerCount);
+        putInts(buffer, runnerNames, runnerCount);
+        putInts(buffer, prices, runnerCount);
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo(ByteBuffer)}, copying every column out of the buffer
+     * in bulk.
+     *
+     * @param buffer the buffer positioned at the start of the encoded snapshot
+     * @return the decoded snapshot
+     */
+    public static ColumnarSnapshot readFrom(ByteBuffer buffer) {
+        Builder columns = new Builder();
+        columns.leagueCount = buffer.getInt();
+        columns.matchCount = buffer.getInt();
+        columns.marketCount = buffer.getInt();
+        columns.runnerCount = buffer.getInt();
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] string = new byte[buffer.getInt()];
+            buffer.get(string);
+            strings[i] = new String(string, StandardCharsets.UTF_8);
+        }
+        int leagues = columns.leagueCount;
+        columns.sportNames = getInts(buffer, leagues);
+        columns.leagueIds = getLongs(buffer, leagues);
+        columns.leagueNames = getInts(buffer, leagues);
+        columns.leagueWeights = getInts(buffer, leagues);
+        columns.leagueTops = new boolean[leagues];
+        for (int l = 0; l < leagues; l++) {
+            columns.leagueTops[l] = buffer.get() != 0;
+        }
+        columns.leagueTopOrders = getInts(buffer, leagues);
+        columns.leagueMatchStarts = getInts(buffer, leagues);
+        columns.leagueStatuses = getStatuses(buffer, leagues);
+        columns.eventIds = getLongs(buffer, columns.matchCount);
+        columns.eventNames = getInts(buffer, columns.matchCount);
+        columns.kickoffs = getLongs(buffer, columns.matchCount);
+        columns.matchMarketStarts = getInts(buffer, columns.matchCount);
+        columns.matchStatuses = getStatuses(buffer, columns.matchCount);
+        columns.marketIds = getLongs(buffer, columns.marketCount);
+        columns.marketNames = getInts(buffer, columns.marketCount);
+        columns.marketRunnerStarts = getInts(buffer, columns.marketCount);
+        columns.runnerIds = getLongs(buffer, columns.runnerCount);
+        columns.runnerNames = getInts(buffer, columns.runnerCount);
+        columns.prices = getInts(buffer, columns.runnerCount);
+        return new ColumnarSnapshot(strings, columns);
+    }
+
+    private byte[][] encodedStrings() {
+        byte[][] encoded = encodedStrings;
+        if (encoded == null) {
+            // a benign race: concurrent callers compute equal arrays
+            encoded = new byte[strings.length][];
+            for (int i = 0; i < strings.length; i++) {
+                encoded[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+            }
+            encodedStrings = encoded;
+        }
+        return encoded;
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] column, int count) {
+        buffer.asIntBuffer().put(column, 0, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+    }
+
+    private static void putLongs(ByteBuffer buffer, long[] column, int count) {
+        buffer.asLongBuffer().put(column, 0, count);
+        buffer.position(buffer.position() + count * Long.BYTES);
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count) {
+        int[] column = new int[count];
+        buffer.asIntBuffer().get(column);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return column;
+    }
+
+    private static long[] getLongs(ByteBuffer buffer, int count) {
+        long[] column = new long[count];
+        buffer.asLongBuffer().get(column);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        return column;
+    }
+
+    private static byte[] getStatuses(ByteBuffer buffer, int count) {
+        byte[] column = new byte[count];
+        buffer.get(column);
+        return column;
+    }
+
+    private LeagueResult leagueResult(int l) {
+        return new LeagueResult(string(sportNames[l]), league(l),
+                new NodeList<>(leagueMatchStarts[l], leagueMatchStarts[l + 1], matchResultNodes),
+                STATUSES[leagueStatuses[l]]);
+    }
+
+    private League league(int l) {
+        return new League(leagueIds[l], string(leagueNames[l]), leagueWeights[l], leagueTops[l], leagueTopOrders[l],
+                new NodeList<>(leagueMatchStarts[l], leagueMatchStarts[l + 1], eventNodes));
+    }
+
+    private MatchResult matchResult(int m) {
+        return new MatchResult(event(m),
+                new NodeList<>(matchMarketStarts[m], matchMarketStarts[m + 1], marketResultNodes),
+                STATUSES[matchStatuses[m]]);
+    }
+
+    private Event event(int m) {
+        return new Event(eventIds[m], string(eventNames[m]), kickoffs[m],
+                new NodeList<>(matchMarketStarts[m], matchMarketStarts[m + 1], marketNodes));
+    }
+
+    private MarketResult marketResult(int k) {
+        return new MarketResult(market(k), new NodeList<>(marketRunnerStarts[k], marketRunnerStarts[k + 1], runnerResultNodes));
+    }
+
+    private Market market(int k) {
+        return new Market(marketIds[k], string(marketNames[k]),
+                new NodeList<>(marketRunnerStarts[k], marketRunnerStarts[k + 1], runnerNodes));
+    }
+
+    private RunnerResult runnerResult(int r) {
+        return new RunnerResult(runner(r));
+    }
+
+    private Runner runner(int r) {
+        return new Runner(runnerIds[r], string(runnerNames[r]), prices[r]);
+    }
+
+    private String string(int index) {
+        return index == StringPool.NULL_INDEX ? null : strings[index];
+    }
+
+    // arrays that already have their exact size are shared; a builder appending to them grows a copy first
+    private static int[] trim(int[] column, int count) {
+        return column.length == count ? column : Arrays.copyOf(column, count);
+    }
+
+    private static long[] trim(long[] column, int count) {
+        return column.length == count ? column : Arrays.copyOf(column, count);
+    }
+
+    private static int[] withEnd(int[] starts, int count, int end) {
+        int[] offsets = Arrays.copyOf(starts, count + 1);
+        offsets[count] = end;
+        return offsets;
+    }
+
+    /**
+     * An immutable list view over a range of node indexes, creating a node on every access.
+     */
+    private static final class NodeList<T> extends AbstractList<T> implements RandomAccess {
+        private final int from;
+        private final int to;
+        private final IntFunction<T> node;
+
+        private NodeList(int from, int to, IntFunction<T> node) {
+            this.from = from;
+            this.to = to;
+            this.node = node;
+        }
+
+        @Override
+        public T get(int index) {
+            return node.apply(from + Objects.checkIndex(index, to - from));
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Builds a {@link ColumnarSnapshot} from nodes appended in depth-first order: a league, then each of
+     * its matches followed by their markets, each followed by its runners. The child lists of the
+     * appended records are ignored; the tree shape comes from the order of the calls alone.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final StringPool strings = new StringPool();
+
+        private int leagueCount;
+        private int[] sportNames = new int[INITIAL_CAPACITY];
+        private long[] leagueIds = new long[INITIAL_CAPACITY];
+        private int[] leagueNames = new int[INITIAL_CAPACITY];
+        private int[] leagueWeights = new int[INITIAL_CAPACITY];
+        private boolean[] leagueTops = new boolean[INITIAL_CAPACITY];
+        private int[] leagueTopOrders = new int[INITIAL_CAPACITY];
+        private int[] leagueMatchStarts = new int[INITIAL_CAPACITY];
+        private byte[] leagueStatuses = new byte[INITIAL_CAPACITY];
+
+        private int matchCount;
+        private long[] eventIds = new long[INITIAL_CAPACITY];
+        private int[] eventNames = new int[INITIAL_CAPACITY];
+        private long[] kickoffs = new long[INITIAL_CAPACITY];
+        private int[] matchMarketStarts = new int[INITIAL_CAPACITY];
+        private byte[] matchStatuses = new byte[INITIAL_CAPACITY];
+
+        private int marketCount;
+        private long[] marketIds = new long[INITIAL_CAPACITY];
+        private int[] marketNames = new int[INITIAL_CAPACITY];
+        private int[] marketRunnerStarts = new int[INITIAL_CAPACITY];
+
+        private int runnerCount;
+        private long[] runnerIds = new long[INITIAL_CAPACITY];
+        private int[] runnerNames = new int[INITIAL_CAPACITY];
+        private int[] prices = new int[INITIAL_CAPACITY];
+
+        private Builder() {
+        }
+
+        /**
+         * Appends a complete league; the following matches belong to it.
+         *
+         * @param sportName the name of the league's sport
+         * @param league    the league
+         * @return this builder
+         */
+        public Builder league(String sportName, League league) {
+            return league(sportName, league, ResultStatus.COMPLETE);
+        }
+
+        /**
+         * Appends a league with the given status; the following matches belong to it.
+         *
+         * @param sportName the name of the league's sport
+         * @param league    the league
+         * @param status    whether the league was fetched completely
+         * @return this builder
+         */
+        public Builder league(String sportName, League league, ResultStatus status) {
+            if (leagueCount == leagueIds.length) {
+                int capacity = leagueCount * 2;
+                sportNames = Arrays.copyOf(sportNames, capacity);
+                leagueIds = Arrays.copyOf(leagueIds, capacity);
+                leagueNames = Arrays.copyOf(leagueNames, capacity);
+                leagueWeights = Arrays.copyOf(leagueWeights, capacity);
+                leagueTops = Arrays.copyOf(leagueTops, capacity);
+                leagueTopOrders = Arrays.copyOf(leagueTopOrders, capacity);
+                leagueMatchStarts = Arrays.copyOf(leagueMatchStarts, capacity);
+                leagueStatuses = Arrays.copyOf(leagueStatuses, capacity);
+            }
+            sportNames[leagueCount] = strings.intern(sportName);
+            leagueIds[leagueCount] = league.id();
+            leagueNames[leagueCount] = strings.intern(league.name());
+            leagueWeights[leagueCount] = league.weight();
+            leagueTops[leagueCount] = league.top();
+            leagueTopOrders[leagueCount] = league.topOrder();
+            leagueMatchStarts[leagueCount] = matchCount;
+            leagueStatuses[leagueCount] = (byte) status.ordinal();
+            leagueCount++;
+            return this;
+        }
+
+        /**
+         * Appends a complete match to the last league; the following markets belong to it.
+         *
+         * @param event the event of the match
+         * @return this builder
+         * @throws IllegalStateException if no league was appended yet
+         */
+        public Builder match(Event event) {
+            return match(event, ResultStatus.COMPLETE);
+        }
+
+        /**
+         * Appends a match with the given status to the last league; the following markets belong to it.
+         *
+         * @param event  the event of the match
+         * @param status whether the match was fetched completely
+         * @return this builder
+         * @throws IllegalStateException if no league was appended yet
+         */
+        public Builder match(Event event, ResultStatus status) {
+            requireParent(leagueCount, "match", "league");
+            if (matchCount == eventIds.length) {
+                int capacity = matchCount * 2;
+                eventIds = Arrays.copyOf(eventIds, capacity);
+                eventNames = Arrays.copyOf(eventNames, capacity);
+                kickoffs = Arrays.copyOf(kickoffs, capacity);
+                matchMarketStarts = Arrays.copyOf(matchMarketStarts, capacity);
+                matchStatuses = Arrays.copyOf(matchStatuses, capacity);
+            }
+            eventIds[matchCount] = event.id();
+            eventNames[matchCount] = strings.intern(event.name());
+            kickoffs[matchCount] = event.kickoff();
+            matchMarketStarts[matchCount] = marketCount;
+            matchStatuses[matchCount] = (byte) status.ordinal();
+            matchCount++;
+            return this;
+        }
+
+        /**
+         * Appends a market to the last match; the following runners belong to it.
+         *
+         * @param market the market
+         * @return this builder
+         * @throws IllegalStateException if no match was appended yet
+         */
+        public Builder market(Market market) {
+            requireParent(matchCount, "market", "match");
+            if (marketCount == marketIds.length) {
+                int capacity = marketCount * 2;
+                marketIds = Arrays.copyOf(marketIds, capacity);
+                marketNames = Arrays.copyOf(marketNames, capacity);
+                marketRunnerStarts = Arrays.copyOf(marketRunnerStarts, capacity);
+            }
+            marketIds[marketCount] = market.id();
+            marketNames[marketCount] = strings.intern(market.name());
+            marketRunnerStarts[marketCount] = runnerCount;
+            marketCount++;
+            return this;
+        }
+
+        /**
+         * Appends a runner to the last market.
+         *
+         * @param runner the runner
+         * @return this builder
+         * @throws IllegalStateException if no market was appended yet
+         */
+        public Builder runner(Runner runner) {
+            requireParent(marketCount, "runner", "market");
+            if (runnerCount == runnerIds.length) {
+                int capacity = runnerCount * 2;
+                runnerIds = Arrays.copyOf(runnerIds, capacity);
+                runnerNames = Arrays.copyOf(runnerNames, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+            }
+            runnerIds[runnerCount] = runner.id();
+            runnerNames[runnerCount] = strings.intern(runner.name());
+            prices[runnerCount] = runner.price();
+            runnerCount++;
+            return this;
+        }
+
+        /**
+         * Builds the snapshot from the nodes appended so far; the arrays are trimmed to their size.
+         *
+         * @return the snapshot
+         */
+        public ColumnarSnapshot build() {
+            return new ColumnarSnapshot(strings.toArray(), this);
+        }
+
+        private static void requireParent(int parentCount, String child, String parent) {
+            if (parentCount == 0) {
+                throw new IllegalStateException("Cannot append a " + child + " before a " + parent + ".");
+            }
+        }
+    }
+}
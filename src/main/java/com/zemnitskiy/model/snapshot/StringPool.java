@@ -0,0 +1,38 @@
+package com.zemnitskiy.model.snapshot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deduplicates the strings of a {@link ColumnarSnapshot} while it is built, so every distinct name is
+ * stored once and referenced by its {@code int} index.
+ */
+final class StringPool {
+
+    static final int NULL_INDEX = -1;
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private String[] strings = new String[64];
+    private int size;
+
+    int intern(String value) {
+        if (value == null) {
+            return NULL_INDEX;
+        }
+        Integer index = indexes.get(value);
+        if (index != null) {
+            return index;
+        }
+        if (size == strings.length) {
+            strings = Arrays.copyOf(strings, size * 2);
+        }
+        strings[size] = value;
+        indexes.put(value, size);
+        return size++;
+    }
+
+    String[] toArray() {
+        return Arrays.copyOf(strings, size);
+    }
+}
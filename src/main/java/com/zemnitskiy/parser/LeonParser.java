@@ -2,12 +2,38 @@ package com.zemnitskiy.parser;
 
 import com.zemnitskiy.Main;
 import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.diff.SnapshotDiffer;
+import com.zemnitskiy.journal.SnapshotJournal;
+import com.zemnitskiy.model.index.SnapshotIndex;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.snapshot.ColumnarSnapshot;
+import com.zemnitskiy.visitor.CrawlProgress;
+import com.zemnitskiy.visitor.ResultDiffVisitor;
 import com.zemnitskiy.visitor.ResultPrinter;
 import com.zemnitskiy.visitor.ResultVisitor;
+import com.zemnitskiy.visitor.VisitingSubscriber;
+import com.zemnitskiy.request.CompletableFutureEngine;
+import com.zemnitskiy.request.RequestEngine;
+import com.zemnitskiy.request.RequestOptions;
 import com.zemnitskiy.request.RootRequest;
+import com.zemnitskiy.schedule.EventRefreshScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * The {@code LeonParser} class orchestrates the process of fetching and processing sports-related data
  * using the {@link LeonApiClient}. It initiates a root request for the current disciplines, processes
@@ -18,6 +44,10 @@ public class LeonParser {
     private static final Logger logger = LoggerFactory.getLogger(LeonParser.class);
 
     private final LeonApiClient apiClient;
+    private final List<String> sportsNames;
+    private final RequestOptions options;
+    private final RequestEngine engine;
+    private final SnapshotJournal journal;
 
     /**
      * Constructs a new {@code LeonParser} with the specified {@link LeonApiClient}.
@@ -25,7 +55,61 @@ public class LeonParser {
      * @param apiClient the API client used to communicate with the Leonbets API
      */
     public LeonParser(LeonApiClient apiClient) {
+        this(apiClient, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a new {@code LeonParser} with the specified {@link LeonApiClient} and request options.
+     *
+     * @param apiClient the API client used to communicate with the Leonbets API
+     * @param options   the options controlling how the request tree is fetched
+     */
+    public LeonParser(LeonApiClient apiClient, RequestOptions options) {
+        this(apiClient, options, new CompletableFutureEngine());
+    }
+
+    /**
+     * Constructs a new {@code LeonParser} with the specified {@link LeonApiClient}, request options and engine.
+     *
+     * @param apiClient the API client used to communicate with the Leonbets API
+     * @param options   the options controlling how the request tree is fetched
+     * @param engine    the engine executing the request tree
+     */
+    public LeonParser(LeonApiClient apiClient, RequestOptions options, RequestEngine engine) {
+        this(apiClient, options, engine, null);
+    }
+
+    /**
+     * Constructs a new {@code LeonParser} that also appends every fetched result tree to a journal.
+     *
+     * <p>Appending only hands the tree over to the journal's own thread, so it never delays the
+     * processing of the result; a failed append is logged.</p>
+     *
+     * @param apiClient the API client used to communicate with the Leonbets API
+     * @param options   the options controlling how the request tree is fetched
+     * @param engine    the engine executing the request tree
+     * @param journal   the journal receiving the result trees, or {@code null} to keep no history
+     */
+    public LeonParser(LeonApiClient apiClient, RequestOptions options, RequestEngine engine, SnapshotJournal journal) {
+        this(apiClient, Main.CURRENT_DISCIPLINES, options, engine, journal);
+    }
+
+    /**
+     * Constructs a new {@code LeonParser} for the given sports.
+     *
+     * @param apiClient   the API client used to communicate with the Leonbets API
+     * @param sportsNames the sports to fetch; an empty list fetches every sport of the catalog
+     * @param options     the options controlling how the request tree is fetched
+     * @param engine      the engine executing the request tree
+     * @param journal     the journal receiving the result trees, or {@code null} to keep no history
+     */
+    public LeonParser(LeonApiClient apiClient, List<String> sportsNames, RequestOptions options, RequestEngine engine,
+                      SnapshotJournal journal) {
         this.apiClient = apiClient;
+        this.sportsNames = sportsNames;
+        this.options = options;
+        this.engine = engine;
+        this.journal = journal;
     }
 
     /**
@@ -33,11 +117,15 @@ public class LeonParser {
      * processes the results using a {@link ResultPrinter}, and logs any errors that occur.
      */
     public void processData() {
-        RootRequest rootRequest = new RootRequest(apiClient, Main.CURRENT_DISCIPLINES);
-        rootRequest.fetch()
+        fetchRoot()
                 .thenAccept(rootResults -> {
-                    ResultVisitor printer = new ResultPrinter();
+                    ResultPrinter printer = new ResultPrinter();
                     rootResults.accept(printer);
+                    try {
+                        printer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
                 })
                 .exceptionally(e -> {
                     logger.error("Error during processing: {}", e.getMessage(), e);
@@ -45,4 +133,126 @@ public class LeonParser {
                 }).join();
     }
 
-}
\ No newline at end of file
+    /**
+     * Executes the same workflow as {@link #processData()}, but prints every league as soon as it is
+     * complete instead of waiting for the whole tree.
+     *
+     * <p>Leagues are printed in the order they complete, so a slow event delays only its own league.
+     * No {@link RootResult} is built, so the streamed tree is not journaled.</p>
+     */
+    public void streamData() {
+        stream(new ResultPrinter()).exceptionally(e -> {
+            logger.error("Error during streaming: {}", e.getMessage(), e);
+            return null;
+        }).join();
+    }
+
+    /**
+     * Crawls the sports of this parser league by league, passing every league to the given visitor as
+     * soon as it is complete, and reports the progress of the crawl while it runs.
+     *
+     * <p>This is the streamed workflow of {@link #streamData()}, meant for options whose
+     * {@link RequestOptions#limits()} cover the whole catalog. Only the leagues in flight or waiting for
+     * the visitor are held in memory, never the whole tree, and the leagues of different sports take
+     * turns, as {@link RootRequest#interleavedLeagueRequests(List)} orders them. A {@link CrawlProgress}
+     * logs the leagues and events visited and the event throughput every {@code reportInterval}.</p>
+     *
+     * @param visitor        the visitor receiving every league
+     * @param reportInterval the shortest time between two progress reports
+     * @return the progress of the crawl once it has ended
+     */
+    public CrawlProgress.Progress crawlData(ResultVisitor visitor, Duration reportInterval) {
+        CrawlProgress progress = new CrawlProgress(visitor, reportInterval, Clock.systemUTC());
+        stream(progress).exceptionally(e -> {
+            logger.error("Error during crawl: {}", e.getMessage(), e);
+            return null;
+        }).join();
+        CrawlProgress.Progress result = progress.progress();
+        logger.info("Crawl finished: {}", result);
+        return result;
+    }
+
+    /**
+     * Starts a long-running polling mode that refreshes the result tree on a schedule.
+     *
+     * <p>Each cycle fetches a new {@link RootResult} and compares it with the snapshot of the previous
+     * successful cycle using {@link SnapshotDiffer}; only the changes are sent to the {@code diffVisitor}.
+     * The first cycle reports every match as added. Between cycles the snapshot is kept as a
+     * {@link ColumnarSnapshot}, so only primitive columns stay on the heap while waiting. The new tree is
+     * indexed by id while its leagues arrive, so the diff finds the matches that disappeared without
+     * indexing it again. A league or match that failed or timed out in a cycle keeps its previous version
+     * in the kept snapshot, so it is neither reported as removed nor, once it is back, as added. Cycles
+     * run with a fixed delay, so a slow cycle never overlaps with the next one, and a failed cycle is
+     * logged without stopping the schedule. A {@link Flushable} visitor, such as
+     * {@link com.zemnitskiy.visitor.ResultDiffPrinter}, is flushed once at the end of every cycle.</p>
+     *
+     * @param scheduler   the scheduler running the polling cycles
+     * @param interval    the delay between the end of one cycle and the start of the next
+     * @param diffVisitor the visitor receiving the changes of each cycle
+     * @return a {@link ScheduledFuture} that can be used to stop polling
+     */
+    public ScheduledFuture<?> startPolling(ScheduledExecutorService scheduler, Duration interval, ResultDiffVisitor diffVisitor) {
+        AtomicReference<ColumnarSnapshot> previous = new AtomicReference<>();
+        return scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                SnapshotIndex currentIndex = new SnapshotIndex();
+                RootResult current = fetchRoot(currentIndex).join();
+                ColumnarSnapshot before = previous.get();
+                RootResult beforeRoot = before == null ? null : before.asRootResult();
+                RootResult carried = SnapshotDiffer.diff(beforeRoot, current, currentIndex, diffVisitor);
+                previous.set(ColumnarSnapshot.of(carried));
+                if (diffVisitor instanceof Flushable flushable) {
+                    flushable.flush();
+                }
+            } catch (Exception e) {
+                logger.error("Error during polling cycle: {}", e.getMessage(), e);
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts refreshing the events of the current disciplines with the given {@link EventRefreshScheduler}.
+     *
+     * <p>The request tree is fetched once to discover the events; from then on each event is refreshed
+     * individually at the rate its priority calls for.</p>
+     *
+     * @param scheduler        the scheduler running the refresh ticks
+     * @param refreshScheduler the scheduler deciding which events to refresh
+     * @param tickPeriod       the period between refresh ticks
+     * @return a {@link ScheduledFuture} that can be used to stop refreshing
+     */
+    public ScheduledFuture<?> startEventRefresh(ScheduledExecutorService scheduler, EventRefreshScheduler refreshScheduler,
+                                                Duration tickPeriod) {
+        RootResult snapshot = fetchRoot().join();
+        refreshScheduler.scheduleAll(snapshot);
+        return refreshScheduler.start(scheduler, tickPeriod);
+    }
+
+    private CompletableFuture<Void> stream(ResultVisitor visitor) {
+        VisitingSubscriber subscriber = new VisitingSubscriber(visitor);
+        engine.publish(new RootRequest(apiClient, sportsNames, options)).subscribe(subscriber);
+        return subscriber.completion();
+    }
+
+    private CompletableFuture<RootResult> fetchRoot() {
+        return fetchRoot(null);
+    }
+
+    private CompletableFuture<RootResult> fetchRoot(SnapshotIndex index) {
+        CompletableFuture<RootResult> root = engine.fetch(new RootRequest(apiClient, sportsNames, options, index));
+        if (journal == null) {
+            return root;
+        }
+        return root.whenComplete((rootResult, e) -> {
+            if (rootResult != null) {
+                journal.append(Instant.now(), rootResult).exceptionally(appendError -> {
+                    // a dropped snapshot is already reported by the journal
+                    if (!(appendError instanceof RejectedExecutionException)) {
+                        logger.warn("Failed to journal snapshot: {}", appendError.getMessage(), appendError);
+                    }
+                    return null;
+                });
+            }
+        });
+    }
+}
@@ -17,10 +17,25 @@ import java.util.concurrent.CompletableFuture;
 public sealed interface AsyncRequest<R> permits EventRequest, LeagueRequest, RootRequest {
 
     /**
-     * Initiates the asynchronous fetch operation.
+     * Initiates the asynchronous fetch operation, bounded only by the deadlines of the request options.
      *
      * @return a {@link CompletableFuture} that, when completed, yields a result of type {@code R}
      * @throws RuntimeException if the fetch operation fails
      */
-    CompletableFuture<R> fetch();
+    default CompletableFuture<R> fetch() {
+        return fetch(Deadline.none());
+    }
+
+    /**
+     * Initiates the asynchronous fetch operation, which together with every request it starts must end
+     * by the given deadline.
+     *
+     * <p>Failing or cancelling the returned future cancels the child requests and HTTP exchanges the
+     * request started.</p>
+     *
+     * @param deadline the deadline of the parent request
+     * @return a {@link CompletableFuture} that, when completed, yields a result of type {@code R}
+     * @throws RuntimeException if the fetch operation fails
+     */
+    CompletableFuture<R> fetch(Deadline deadline);
 }
@@ -0,0 +1,17 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.model.result.RootResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs the request tree through the non-blocking future chains of {@link AsyncRequest#fetch()}, which
+ * bound every level by its deadline and cancel the children of a failed parent.
+ */
+public class CompletableFutureEngine implements RequestEngine {
+
+    @Override
+    public CompletableFuture<RootResult> fetch(RootRequest request) {
+        return request.fetch();
+    }
+}
@@ -0,0 +1,100 @@
+package com.zemnitskiy.request;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a request and everything it started must be finished.
+ *
+ * <p>Deadlines are absolute {@link System#nanoTime()} readings, so a child request started late gets only
+ * what is left of its parent's time.</p>
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(false, 0);
+
+    private final boolean bounded;
+    private final long deadlineNanos;
+
+    private Deadline(boolean bounded, long deadlineNanos) {
+        this.bounded = bounded;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Returns the deadline that never passes.
+     *
+     * @return the unbounded deadline
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Returns the deadline that passes after the given time from now.
+     *
+     * @param timeout the time from now
+     * @return the new deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(true, System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Returns the earlier of this deadline and the given time from now.
+     *
+     * @param timeout the time from now, or {@code null} to keep this deadline
+     * @return the earlier deadline
+     */
+    public Deadline within(Duration timeout) {
+        if (timeout == null) {
+            return this;
+        }
+        Deadline other = after(timeout);
+        return !bounded || other.deadlineNanos - deadlineNanos < 0 ? other : this;
+    }
+
+    /**
+     * Checks whether this deadline ever passes.
+     *
+     * @return {@code false} for {@link #none()}
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return the remaining nanoseconds, never negative, or {@link Long#MAX_VALUE} if unbounded
+     */
+    public long remainingNanos() {
+        return bounded ? Math.max(0, deadlineNanos - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Bounds a future by this deadline.
+     *
+     * <p>The returned future fails with a {@link java.util.concurrent.TimeoutException} once the deadline
+     * passes, and any failure of it, including that timeout, cancels {@code source}, so the work behind
+     * it, such as an HTTP exchange, stops as well.</p>
+     *
+     * @param source the future to bound
+     * @param <T>    the result type
+     * @return {@code source} itself if this deadline is unbounded, otherwise a bounded copy of it
+     */
+    public <T> CompletableFuture<T> bound(CompletableFuture<T> source) {
+        if (!bounded) {
+            return source;
+        }
+        CompletableFuture<T> timed = source.copy().orTimeout(remainingNanos(), TimeUnit.NANOSECONDS);
+        // cancel the source before the timeout reaches the stages waiting on the bounded future
+        CompletableFuture<T> bounded = timed.whenComplete((value, e) -> {
+            if (e != null) {
+                source.cancel(true);
+            }
+        });
+        return RequestFutures.cancelling(bounded, source);
+    }
+}
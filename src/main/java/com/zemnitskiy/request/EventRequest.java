@@ -39,23 +39,33 @@ public record EventRequest(LeonApiClient apiClient, Event event) implements Asyn
      * </ul>
      * </p>
      *
+     * @param deadline the deadline of the event details request
      * @return a {@link CompletableFuture} that completes with a {@link MatchResult} containing the event details and associated market results
      * @throws RuntimeException if the API call fails or returns invalid data
      */
     @Override
-    public CompletableFuture<MatchResult> fetch() {
-        return apiClient.fetchEventDetails(event.id())
-                .thenApply(fetchedEvent -> {
-                    logger.debug("Fetched event: {}", event.id());
-                    List<MarketResult> marketResults = fetchedEvent.markets().stream()
-                            .map(market -> new MarketResult(
-                                    market,
-                                    market.runners().stream()
-                                            .map(RunnerResult::new)
-                                            .toList()
-                            ))
-                            .toList();
-                    return new MatchResult(fetchedEvent, marketResults);
-                });
+    public CompletableFuture<MatchResult> fetch(Deadline deadline) {
+        return RequestFutures.map(deadline.bound(apiClient.fetchEventDetails(event.id())), fetchedEvent -> {
+            logger.debug("Fetched event: {}", event.id());
+            return toMatchResult(fetchedEvent);
+        });
+    }
+
+    /**
+     * Builds a {@link MatchResult} from an event that already carries its markets and runners.
+     *
+     * @param event the event with its markets
+     * @return a {@link MatchResult} containing the event and its market results
+     */
+    public static MatchResult toMatchResult(Event event) {
+        List<MarketResult> marketResults = event.markets().stream()
+                .map(market -> new MarketResult(
+                        market,
+                        market.runners().stream()
+                                .map(RunnerResult::new)
+                                .toList()
+                ))
+                .toList();
+        return new MatchResult(event, marketResults);
     }
 }
@@ -0,0 +1,81 @@
+package com.zemnitskiy.request;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Selects the threads the request tree runs on and the {@link RequestEngine} driving it.
+ */
+public enum ExecutionMode {
+    /**
+     * A small fixed pool of platform threads with the non-blocking {@link CompletableFutureEngine}.
+     */
+    FIXED_POOL {
+        @Override
+        public ExecutorService newExecutorService() {
+            return Executors.newFixedThreadPool(FIXED_POOL_SIZE);
+        }
+
+        @Override
+        public RequestEngine newEngine(ExecutorService executorService) {
+            return new CompletableFutureEngine();
+        }
+    },
+    /**
+     * A virtual thread per task with the blocking-style {@link VirtualThreadEngine}.
+     */
+    VIRTUAL_THREADS {
+        @Override
+        public ExecutorService newExecutorService() {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+
+        @Override
+        public RequestEngine newEngine(ExecutorService executorService) {
+            return new VirtualThreadEngine();
+        }
+    },
+    /**
+     * A virtual thread per request with the {@link StructuredEngine}, which nests a {@link RequestScope}
+     * per level of the tree.
+     */
+    STRUCTURED {
+        @Override
+        public ExecutorService newExecutorService() {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+
+        @Override
+        public RequestEngine newEngine(ExecutorService executorService) {
+            return new StructuredEngine();
+        }
+    };
+
+    public static final int FIXED_POOL_SIZE = 3;
+
+    /**
+     * Creates the executor used for decoding responses and, in {@link #VIRTUAL_THREADS} mode, for the
+     * request tree.
+     *
+     * @return a new executor service
+     */
+    public abstract ExecutorService newExecutorService();
+
+    /**
+     * Creates the engine driving the request tree.
+     *
+     * @param executorService the executor created by {@link #newExecutorService()}
+     * @return a new request engine
+     */
+    public abstract RequestEngine newEngine(ExecutorService executorService);
+
+    /**
+     * Checks whether this mode runs on virtual threads, so the {@link java.net.http.HttpClient} should be
+     * given the same executor.
+     *
+     * @return {@code true} unless this is {@link #FIXED_POOL}
+     */
+    public boolean usesVirtualThreads() {
+        return this != FIXED_POOL;
+    }
+}
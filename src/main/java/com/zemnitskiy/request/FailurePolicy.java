@@ -0,0 +1,22 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.model.result.ResultStatus;
+
+/**
+ * Decides what a request of the tree does when one of its child requests fails or runs past its
+ * deadline.
+ */
+public enum FailurePolicy {
+
+    /**
+     * Fails the parent as soon as any child fails, and cancels the children still in flight.
+     */
+    FAIL_FAST,
+
+    /**
+     * Keeps a placeholder for the failed child, marked with its {@link ResultStatus}, and completes
+     * the parent with every other child as usual. Only the sports catalog, without which there is
+     * nothing to show, still fails the whole tree.
+     */
+    COLLECT_PARTIAL
+}
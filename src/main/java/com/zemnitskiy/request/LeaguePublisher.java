@@ -0,0 +1,257 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.model.result.LeagueResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes the leagues of a {@link RootRequest} one by one, as soon as each of them is complete,
+ * instead of waiting for the whole tree.
+ *
+ * <p>Leagues are delivered in the order they complete, so the first result arrives after the fastest
+ * league rather than the slowest one. Backpressure is applied to the requests themselves: a league is
+ * only fetched while the number of leagues in flight or waiting for delivery stays below the
+ * subscriber's outstanding demand plus {@code prefetch}, so a slow subscriber stops the fan-out instead
+ * of buffering the whole tree.</p>
+ *
+ * <p>Failures follow the {@link FailurePolicy} of the request options, as with {@link RootRequest#fetch()}.
+ * With {@link FailurePolicy#FAIL_FAST} a failure of any league fails the stream: the subscriber receives
+ * {@code onError}, and the futures of the leagues still in flight are cancelled and their results
+ * dropped. With {@link FailurePolicy#COLLECT_PARTIAL} a failed league is published as an incomplete
+ * placeholder and the stream goes on. The catalog request is bounded by the root deadline and each league
+ * by its own. A publisher accepts a single subscriber.</p>
+ */
+final class LeaguePublisher implements Flow.Publisher<LeagueResult> {
+
+    static final int DEFAULT_PREFETCH = 16;
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaguePublisher.class);
+
+    private final RootRequest request;
+    private final RequestEngine engine;
+    private final int prefetch;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Constructs a new {@code LeaguePublisher}.
+     *
+     * @param request  the root request whose leagues are published
+     * @param engine   the engine fetching each league
+     * @param prefetch how many leagues may be fetched ahead of the subscriber's demand
+     * @throws IllegalArgumentException if {@code prefetch} is negative
+     */
+    LeaguePublisher(RootRequest request, RequestEngine engine, int prefetch) {
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("Prefetch must not be negative.");
+        }
+        this.request = request;
+        this.engine = engine;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super LeagueResult> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("A league publisher accepts a single subscriber."));
+            return;
+        }
+        LeagueSubscription subscription = new LeagueSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class LeagueSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super LeagueResult> subscriber;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final long startNanos = System.nanoTime();
+
+        // guarded by this
+        private final ArrayDeque<LeagueResult> ready = new ArrayDeque<>();
+        private final Set<CompletableFuture<LeagueResult>> running = new HashSet<>();
+        private Iterator<LeagueRequest> pending;
+        private boolean catalogRequested;
+        private int remaining;
+        private long demand;
+        private Throwable error;
+        private boolean terminated;
+
+        private LeagueSubscription(Flow.Subscriber<? super LeagueResult> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            boolean fetchCatalog;
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Requested " + n + " leagues, must be positive.");
+                    fetchCatalog = false;
+                } else {
+                    demand = demand > Long.MAX_VALUE - n ? Long.MAX_VALUE : demand + n;
+                    fetchCatalog = !catalogRequested;
+                    catalogRequested = true;
+                }
+            }
+            if (fetchCatalog) {
+                logger.debug("Streaming sports: {}", request.sportsNames());
+                Deadline deadline = Deadline.none().within(request.options().deadlines().root());
+                deadline.bound(request.apiClient().fetchBaseInformation()).whenComplete((sports, e) -> {
+                    synchronized (this) {
+                        if (e != null) {
+                            fail(e);
+                        } else {
+                            List<LeagueRequest> leagueRequests = request.interleavedLeagueRequests(sports);
+                            pending = leagueRequests.iterator();
+                            remaining = leagueRequests.size();
+                        }
+                    }
+                    drain();
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            List<CompletableFuture<LeagueResult>> toCancel;
+            synchronized (this) {
+                terminated = true;
+                ready.clear();
+                toCancel = List.copyOf(running);
+                running.clear();
+            }
+            toCancel.forEach(future -> future.cancel(true));
+        }
+
+        private void onLeague(CompletableFuture<LeagueResult> future, LeagueRequest leagueRequest,
+                              LeagueResult leagueResult, Throwable e) {
+            synchronized (this) {
+                if (!running.remove(future)) {
+                    return;
+                }
+                if (e != null && request.options().failurePolicy() == FailurePolicy.COLLECT_PARTIAL) {
+                    ready.addLast(request.indexed(leagueRequest.failed(e)));
+                } else if (e != null) {
+                    fail(e);
+                } else {
+                    ready.addLast(request.indexed(leagueResult));
+                }
+            }
+            drain();
+        }
+
+        // guarded by this
+        private void fail(Throwable e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                launch();
+                emit();
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private void launch() {
+            while (true) {
+                LeagueRequest next;
+                CompletableFuture<LeagueResult> future;
+                synchronized (this) {
+                    long window = demand > Long.MAX_VALUE - prefetch ? Long.MAX_VALUE : demand + prefetch;
+                    if (terminated || error != null || pending == null || !pending.hasNext()
+                            || running.size() + ready.size() >= window) {
+                        return;
+                    }
+                    next = pending.next();
+                    future = new CompletableFuture<>();
+                    running.add(future);
+                }
+                CompletableFuture<LeagueResult> source;
+                try {
+                    source = engine.fetch(next);
+                } catch (RuntimeException e) {
+                    source = CompletableFuture.failedFuture(e);
+                }
+                CompletableFuture<LeagueResult> fetched = source;
+                future.whenComplete((value, e) -> {
+                    if (future.isCancelled()) {
+                        fetched.cancel(true);
+                    }
+                });
+                fetched.whenComplete((leagueResult, e) -> onLeague(future, next, leagueResult, e));
+            }
+        }
+
+        private void emit() {
+            while (true) {
+                LeagueResult next = null;
+                Throwable failure = null;
+                boolean complete = false;
+                List<CompletableFuture<LeagueResult>> toCancel = List.of();
+                synchronized (this) {
+                    if (terminated) {
+                        return;
+                    }
+                    if (error != null) {
+                        terminated = true;
+                        failure = error;
+                        toCancel = List.copyOf(running);
+                        running.clear();
+                    } else if (demand > 0 && !ready.isEmpty()) {
+                        next = ready.pollFirst();
+                        remaining--;
+                        if (demand != Long.MAX_VALUE) {
+                            demand--;
+                        }
+                    } else if (pending != null && remaining == 0) {
+                        terminated = true;
+                        complete = true;
+                    } else {
+                        return;
+                    }
+                }
+                if (failure != null) {
+                    toCancel.forEach(future -> future.cancel(true));
+                    subscriber.onError(failure);
+                    return;
+                }
+                if (complete) {
+                    request.options().metrics().histogram(RequestMetrics.ROOT).recordSince(startNanos);
+                    subscriber.onComplete();
+                    return;
+                }
+                subscriber.onNext(next);
+                // delivering may have freed room in the window for more leagues
+                launch();
+            }
+        }
+    }
+}
@@ -1,17 +1,17 @@
 package com.zemnitskiy.request;
 
 import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.model.basemodel.Event;
 import com.zemnitskiy.model.basemodel.League;
 import com.zemnitskiy.model.result.LeagueResult;
 import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.ResultStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
-import static com.zemnitskiy.Main.MATCH_COUNT;
-
 /**
  * Represents an asynchronous request to retrieve detailed information about a specific league,
  * including a limited number of match results.
@@ -20,37 +20,118 @@ import static com.zemnitskiy.Main.MATCH_COUNT;
  * processes the events to obtain {@link MatchResult} instances, and constructs a {@link LeagueResult}
  * containing the sport name, league details, and match results.</p>
  *
+ * <p>When {@link RequestOptions#reuseLeagueMarkets()} is enabled, events whose markets are already
+ * complete in the league response are turned into results directly, and an {@link EventRequest}
+ * is sent only for the events that are missing data.</p>
+ *
+ * <p>The league ends by the earlier of its parent's deadline and {@link RequestDeadlines#league()}, and
+ * each event request by the earlier of that and {@link RequestDeadlines#event()}. How a failed or
+ * timed-out event affects the league is decided by {@link RequestOptions#failurePolicy()}.</p>
+ *
  * @param apiClient the API client for interacting with the Leonbets API
  * @param league the league to fetch events for
  * @param sportName the name of the sport associated with the league
+ * @param options the options controlling how events are fetched
  */
-public record LeagueRequest(LeonApiClient apiClient, League league, String sportName) implements AsyncRequest<LeagueResult> {
+public record LeagueRequest(LeonApiClient apiClient, League league, String sportName,
+                            RequestOptions options) implements AsyncRequest<LeagueResult> {
     private static final Logger logger = LoggerFactory.getLogger(LeagueRequest.class);
 
+    /**
+     * Constructs a {@code LeagueRequest} that fetches the details of every event.
+     *
+     * @param apiClient the API client for interacting with the Leonbets API
+     * @param league the league to fetch events for
+     * @param sportName the name of the sport associated with the league
+     */
+    public LeagueRequest(LeonApiClient apiClient, League league, String sportName) {
+        this(apiClient, league, sportName, RequestOptions.DEFAULT);
+    }
+
     /**
      * Executes the asynchronous fetch operation to retrieve league details and match results.
      *
+     * @param parent the deadline of the root request
      * @return a {@link CompletableFuture} that completes with a {@link LeagueResult}
      * @throws RuntimeException if the API call fails or returns invalid data
      */
     @Override
-    public CompletableFuture<LeagueResult> fetch() {
-        return apiClient.fetchEventsForLeague(league)
-                .thenCompose(updatedLeague -> {
-                    logger.debug("Fetched league: {}", league.name());
-                    List<CompletableFuture<MatchResult>> matchFutures = updatedLeague.events().stream()
-                            .map(event -> new EventRequest(apiClient, event).fetch())
-                            .limit(MATCH_COUNT)
-                            .toList();
-
-                    return CompletableFuture.allOf(matchFutures.toArray(new CompletableFuture[0]))
-                            .thenApply(v -> {
-                                logger.debug("Compiling leagues");
-                                List<MatchResult> matchResults = matchFutures.stream()
-                                        .map(CompletableFuture::join)
-                                        .toList();
-                                return new LeagueResult(sportName, league, matchResults);
-                            });
-                });
+    public CompletableFuture<LeagueResult> fetch(Deadline parent) {
+        long startNanos = System.nanoTime();
+        Deadline deadline = parent.within(options.deadlines().league());
+        CompletableFuture<League> updated = deadline.bound(apiClient.fetchEventsForLeague(league));
+        return RequestMetrics.timed(options.metrics(), RequestMetrics.LEAGUE, RequestFutures.compose(updated, updatedLeague -> {
+            logger.debug("Fetched league: {}", league.name());
+            List<Event> events = selectEvents(updatedLeague);
+            List<CompletableFuture<MatchResult>> matchFutures = events.stream()
+                    .map(event -> fetchMatch(event, deadline))
+                    .toList();
+
+            CompletableFuture<List<MatchResult>> matchResults = RequestFutures.collect(matchFutures,
+                    options.failurePolicy(), (index, e) -> failedMatch(events.get(index), e));
+            return RequestFutures.map(matchResults, results -> {
+                logger.debug("Compiling leagues");
+                return new LeagueResult(sportName, league, results);
+            });
+        }), startNanos);
+    }
+
+    /**
+     * Builds the placeholder kept in a partial tree for this league when fetching it failed.
+     *
+     * @param e the failure of the league request
+     * @return a league result without matches, marked as failed or timed out
+     */
+    public LeagueResult failed(Throwable e) {
+        ResultStatus status = RequestFutures.statusOf(e);
+        logger.warn("League {} {}: {}", league.id(), status, RequestFutures.unwrap(e).toString());
+        RequestMetrics.incomplete(options.metrics(), RequestMetrics.LEAGUE, status);
+        return new LeagueResult(sportName, league, List.of(), status);
+    }
+
+    /**
+     * Builds the placeholder kept in a partial tree for an event of this league whose request failed.
+     *
+     * @param event the event as delivered by the league response
+     * @param e     the failure of the event request
+     * @return a match result without markets, marked as failed or timed out
+     */
+    public MatchResult failedMatch(Event event, Throwable e) {
+        ResultStatus status = RequestFutures.statusOf(e);
+        logger.warn("Event {} {}: {}", event.id(), status, RequestFutures.unwrap(e).toString());
+        RequestMetrics.incomplete(options.metrics(), RequestMetrics.EVENT, status);
+        return new MatchResult(event, List.of(), status);
+    }
+
+    /**
+     * Selects the events to fetch from the league response, limited by
+     * {@link RequestLimits#eventsPerLeague()}.
+     *
+     * @param updatedLeague the league as returned by {@link LeonApiClient#fetchEventsForLeague(League)}
+     * @return the events to turn into match results
+     */
+    public List<Event> selectEvents(League updatedLeague) {
+        return updatedLeague.events().stream()
+                .limit(options.limits().eventsPerLeague())
+                .toList();
+    }
+
+    /**
+     * Turns an event of the league response into a match result, reusing its markets when
+     * {@link RequestOptions#canReuseMarkets(Event)} allows it and sending an {@link EventRequest} otherwise.
+     *
+     * @param event    the event as delivered by the league response
+     * @param deadline the deadline of the league
+     * @return a {@link CompletableFuture} that completes with the match result
+     */
+    public CompletableFuture<MatchResult> fetchMatch(Event event, Deadline deadline) {
+        if (options.canReuseMarkets(event)) {
+            logger.debug("Reusing league markets for event: {}", event.id());
+            return CompletableFuture.completedFuture(RequestMetrics.produced(options.metrics(), EventRequest.toMatchResult(event)));
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture<MatchResult> matchResult = new EventRequest(apiClient, event).fetch(deadline.within(options.deadlines().event()));
+        return RequestFutures.map(RequestMetrics.timed(options.metrics(), RequestMetrics.EVENT, matchResult, startNanos),
+                fetched -> RequestMetrics.produced(options.metrics(), fetched));
     }
 }
@@ -0,0 +1,22 @@
+package com.zemnitskiy.request;
+
+import java.time.Duration;
+
+/**
+ * The time each level of the request tree may take, measured from the moment the request starts.
+ *
+ * <p>A level never outlives its parent: a league request ends at the earlier of its own deadline and
+ * the root's, and an event request likewise within its league. A {@code null} duration leaves the level
+ * bounded only by its parent.</p>
+ *
+ * @param root   the time the whole tree may take, or {@code null} for no limit
+ * @param league the time a league with all its events may take, or {@code null} for no limit
+ * @param event  the time a single event detail request may take, or {@code null} for no limit
+ */
+public record RequestDeadlines(Duration root, Duration league, Duration event) {
+
+    /**
+     * Deadlines that leave every level unbounded.
+     */
+    public static final RequestDeadlines NONE = new RequestDeadlines(null, null, null);
+}
@@ -0,0 +1,64 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.RootResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Executes the {@link RootRequest} → {@link LeagueRequest} → {@link EventRequest} fan-out.
+ *
+ * <p>Every engine honours the {@link AsyncRequest} contract: the result is delivered through a
+ * {@link CompletableFuture}, every level is bounded by its {@link Deadline}, and a failed request either
+ * fails the returned future or is replaced by a placeholder, as the {@link FailurePolicy} says.</p>
+ *
+ * <p>{@link #publish(RootRequest)} streams the same tree league by league instead, fetching every league
+ * with {@link #fetch(LeagueRequest)}.</p>
+ *
+ * @see CompletableFutureEngine
+ * @see VirtualThreadEngine
+ * @see StructuredEngine
+ */
+public interface RequestEngine {
+
+    /**
+     * Fetches the whole request tree of the given root request.
+     *
+     * @param request the root of the request tree
+     * @return a {@link CompletableFuture} that completes with the {@link RootResult}
+     */
+    CompletableFuture<RootResult> fetch(RootRequest request);
+
+    /**
+     * Fetches a single league with all its matches.
+     *
+     * @param request the league request
+     * @return a {@link CompletableFuture} that completes with the {@link LeagueResult}
+     */
+    default CompletableFuture<LeagueResult> fetch(LeagueRequest request) {
+        return request.fetch();
+    }
+
+    /**
+     * Streams the leagues of the given root request as each of them completes, fetching up to
+     * {@value LeaguePublisher#DEFAULT_PREFETCH} leagues ahead of the subscriber's demand.
+     *
+     * @param request the root of the request tree
+     * @return a {@link Flow.Publisher} accepting a single subscriber
+     */
+    default Flow.Publisher<LeagueResult> publish(RootRequest request) {
+        return publish(request, LeaguePublisher.DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Streams the leagues of the given root request as each of them completes.
+     *
+     * @param request  the root of the request tree
+     * @param prefetch how many leagues may be fetched ahead of the subscriber's demand
+     * @return a {@link Flow.Publisher} accepting a single subscriber
+     */
+    default Flow.Publisher<LeagueResult> publish(RootRequest request, int prefetch) {
+        return new LeaguePublisher(request, this, prefetch);
+    }
+}
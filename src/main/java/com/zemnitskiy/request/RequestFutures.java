@@ -0,0 +1,174 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.model.result.ResultStatus;
+
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Combines the futures of the request tree so that cancellation flows from parents to children.
+ *
+ * <p>A {@link CompletableFuture} derived with {@code thenApply} or {@code thenCompose} does not cancel
+ * the future it was derived from, so a parent that fails or times out would leave its children, and
+ * their HTTP exchanges, running with nobody to consume their results. The helpers here cancel the
+ * source futures whenever the derived future completes exceptionally; cancelling an already completed
+ * future has no effect.</p>
+ */
+final class RequestFutures {
+
+    private RequestFutures() {
+    }
+
+    /**
+     * Cancels {@code source} when {@code derived} completes exceptionally.
+     *
+     * @param derived the future derived from {@code source}
+     * @param source  the future to cancel
+     * @param <T>     the result type
+     * @return {@code derived}
+     */
+    static <T> CompletableFuture<T> cancelling(CompletableFuture<T> derived, CompletableFuture<?> source) {
+        derived.whenComplete((value, e) -> {
+            if (e != null) {
+                source.cancel(true);
+            }
+        });
+        return derived;
+    }
+
+    /**
+     * Applies the function to the result of {@code source}, cancelling {@code source} if the returned
+     * future fails.
+     *
+     * @param source the source future
+     * @param fn     the function to apply
+     * @param <T>    the source result type
+     * @param <U>    the result type
+     * @return the future of the mapped result
+     */
+    static <T, U> CompletableFuture<U> map(CompletableFuture<T> source, Function<? super T, ? extends U> fn) {
+        return cancelling(source.thenApply(fn), source);
+    }
+
+    /**
+     * Starts the next stage with the result of {@code source}; a failure of the returned future cancels
+     * both {@code source} and the next stage.
+     *
+     * @param source the source future
+     * @param next   the function starting the next stage
+     * @param <T>    the source result type
+     * @param <U>    the result type
+     * @return the future of the next stage
+     */
+    static <T, U> CompletableFuture<U> compose(CompletableFuture<T> source, Function<? super T, CompletableFuture<U>> next) {
+        CompletableFuture<U> result = new CompletableFuture<>();
+        source.whenComplete((value, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+                return;
+            }
+            CompletableFuture<U> stage;
+            try {
+                stage = next.apply(value);
+            } catch (RuntimeException applyError) {
+                result.completeExceptionally(applyError);
+                return;
+            }
+            cancelling(result, stage);
+            stage.whenComplete((stageValue, stageError) -> {
+                if (stageError != null) {
+                    result.completeExceptionally(stageError);
+                } else {
+                    result.complete(stageValue);
+                }
+            });
+        });
+        return cancelling(result, source);
+    }
+
+    /**
+     * Collects the results of the children in their original order, as {@code allOf} would.
+     *
+     * <p>With {@link FailurePolicy#FAIL_FAST} the returned future fails with the first failure without
+     * waiting for the other children. With {@link FailurePolicy#COLLECT_PARTIAL} the result of a failed
+     * child is replaced by {@code fallback}, given the position of the child and its failure. Either way,
+     * a failure or cancellation of the returned future cancels every child still in flight.</p>
+     *
+     * @param children the futures of the child requests
+     * @param policy   what to do when a child fails
+     * @param fallback the placeholder for a failed child, used with {@link FailurePolicy#COLLECT_PARTIAL}
+     * @param <T>      the child result type
+     * @return the future of the child results
+     */
+    static <T> CompletableFuture<List<T>> collect(List<CompletableFuture<T>> children, FailurePolicy policy,
+                                                  BiFunction<Integer, Throwable, T> fallback) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        if (children.isEmpty()) {
+            result.complete(List.of());
+            return result;
+        }
+        AtomicReferenceArray<T> values = new AtomicReferenceArray<>(children.size());
+        AtomicInteger pending = new AtomicInteger(children.size());
+        for (int i = 0; i < children.size(); i++) {
+            int index = i;
+            children.get(i).whenComplete((value, e) -> {
+                if (e != null && (policy == FailurePolicy.FAIL_FAST || result.isDone())) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                values.set(index, e != null ? fallback.apply(index, e) : value);
+                if (pending.decrementAndGet() == 0) {
+                    List<T> collected = new ArrayList<>(values.length());
+                    for (int v = 0; v < values.length(); v++) {
+                        collected.add(values.get(v));
+                    }
+                    result.complete(Collections.unmodifiableList(collected));
+                }
+            });
+        }
+        result.whenComplete((value, e) -> {
+            if (e != null) {
+                children.forEach(child -> child.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Classifies the failure of a request.
+     *
+     * @param e the failure, possibly wrapped in a {@link CompletionException}
+     * @return {@link ResultStatus#TIMED_OUT} if the request ran past a deadline or the HTTP request timed
+     *         out, otherwise {@link ResultStatus#FAILED}
+     */
+    static ResultStatus statusOf(Throwable e) {
+        Throwable cause = unwrap(e);
+        return cause instanceof TimeoutException || cause instanceof HttpTimeoutException
+                ? ResultStatus.TIMED_OUT
+                : ResultStatus.FAILED;
+    }
+
+    /**
+     * Strips the {@link CompletionException} and {@link ExecutionException} wrappers of a failure.
+     *
+     * @param e the failure
+     * @return the underlying cause
+     */
+    static Throwable unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,58 @@
+package com.zemnitskiy.request;
+
+import static com.zemnitskiy.Main.LEAGUE_COUNT;
+import static com.zemnitskiy.Main.MATCH_COUNT;
+
+/**
+ * How much of the sports catalog a request tree covers.
+ *
+ * @param leaguesPerSport the number of leagues fetched per sport
+ * @param eventsPerLeague the number of events fetched per league
+ * @param topLeaguesOnly  whether only the top leagues of a sport are fetched
+ * @see RootRequest#leagueRequests(java.util.List)
+ * @see LeagueRequest#selectEvents(com.zemnitskiy.model.basemodel.League)
+ */
+public record RequestLimits(int leaguesPerSport, int eventsPerLeague, boolean topLeaguesOnly) {
+
+    /**
+     * Limits that fetch the first {@code LEAGUE_COUNT} top leagues of every sport and the first
+     * {@code MATCH_COUNT} events of every league.
+     */
+    public static final RequestLimits DEFAULT = new RequestLimits(LEAGUE_COUNT, MATCH_COUNT, true);
+
+    /**
+     * Limits that fetch every league and every event of the catalog.
+     */
+    public static final RequestLimits UNLIMITED = new RequestLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+
+    /**
+     * Validates the limits.
+     *
+     * @throws IllegalArgumentException if a count is not positive
+     */
+    public RequestLimits {
+        if (leaguesPerSport <= 0 || eventsPerLeague <= 0) {
+            throw new IllegalArgumentException("League and event counts must be positive.");
+        }
+    }
+
+    /**
+     * Returns a copy of these limits with the given number of leagues per sport.
+     *
+     * @param leaguesPerSport the number of leagues fetched per sport
+     * @return the new limits
+     */
+    public RequestLimits withLeaguesPerSport(int leaguesPerSport) {
+        return new RequestLimits(leaguesPerSport, eventsPerLeague, topLeaguesOnly);
+    }
+
+    /**
+     * Returns a copy of these limits with the given number of events per league.
+     *
+     * @param eventsPerLeague the number of events fetched per league
+     * @return the new limits
+     */
+    public RequestLimits withEventsPerLeague(int eventsPerLeague) {
+        return new RequestLimits(leaguesPerSport, eventsPerLeague, topLeaguesOnly);
+    }
+}
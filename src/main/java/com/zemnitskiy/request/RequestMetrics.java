@@ -0,0 +1,70 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.ResultStatus;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records the pipeline metrics of the request tree: the latency of every request kind under
+ * {@code request.<kind>} and the number of events, markets and runners produced under
+ * {@code pipeline.<item>}, whose rates show the throughput of a run. Requests replaced by a placeholder
+ * in a partial tree are counted under {@code request.<kind>.failed} and {@code request.<kind>.timed_out}.
+ */
+final class RequestMetrics {
+
+    static final String ROOT = "request.root";
+    static final String LEAGUE = "request.league";
+    static final String EVENT = "request.event";
+
+    private RequestMetrics() {
+    }
+
+    /**
+     * Records the latency of the request under the given name once its future completes.
+     *
+     * @param registry   the registry to record to
+     * @param name       the histogram name
+     * @param request    the future of the request
+     * @param startNanos the {@link System#nanoTime()} reading taken before the request was started
+     * @param <T>        the result type
+     * @return the same future
+     */
+    static <T> CompletableFuture<T> timed(MetricsRegistry registry, String name, CompletableFuture<T> request, long startNanos) {
+        request.whenComplete((value, e) -> registry.histogram(name).recordSince(startNanos));
+        return request;
+    }
+
+    /**
+     * Counts a request of the given kind replaced by a placeholder in a partial tree, under
+     * {@code <kind>.failed} or {@code <kind>.timed_out}.
+     *
+     * @param registry the registry to record to
+     * @param name     the histogram name of the request kind
+     * @param status   the status of the placeholder
+     */
+    static void incomplete(MetricsRegistry registry, String name, ResultStatus status) {
+        registry.counter(name + "." + status.name().toLowerCase(Locale.ROOT)).increment();
+    }
+
+    /**
+     * Counts the event, markets and runners of a produced match result.
+     *
+     * @param registry    the registry to record to
+     * @param matchResult the produced match result
+     * @return the same match result
+     */
+    static MatchResult produced(MetricsRegistry registry, MatchResult matchResult) {
+        registry.counter("pipeline.events").increment();
+        registry.counter("pipeline.markets").add(matchResult.marketResults().size());
+        long runners = 0;
+        for (MarketResult marketResult : matchResult.marketResults()) {
+            runners += marketResult.runnerResults().size();
+        }
+        registry.counter("pipeline.runners").add(runners);
+        return matchResult;
+    }
+}
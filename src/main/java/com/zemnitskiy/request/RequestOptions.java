@@ -0,0 +1,100 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.Market;
+
+/**
+ * Options that control how the request tree is fetched.
+ *
+ * @param reuseLeagueMarkets whether markets delivered with the league's {@code events/all} response
+ *                           are used directly instead of fetching the event details
+ * @param minLeagueMarkets   the minimum number of priced markets an event from the league response must
+ *                           carry to be used without a detail request
+ * @param metrics            the registry receiving the request latencies and the produced result counts
+ * @param deadlines          the time each level of the tree may take
+ * @param failurePolicy      what a request does when one of its children fails or times out
+ * @param limits             how many leagues and events of the catalog the tree covers
+ * @see LeagueRequest
+ */
+public record RequestOptions(boolean reuseLeagueMarkets, int minLeagueMarkets, MetricsRegistry metrics,
+                             RequestDeadlines deadlines, FailurePolicy failurePolicy, RequestLimits limits) {
+
+    /**
+     * Options that fetch the details of every event.
+     */
+    public static final RequestOptions DEFAULT = new RequestOptions(false, 1);
+
+    /**
+     * Constructs options that record no metrics.
+     *
+     * @param reuseLeagueMarkets whether markets delivered with the league's response are used directly
+     * @param minLeagueMarkets   the minimum number of priced markets needed to skip a detail request
+     */
+    public RequestOptions(boolean reuseLeagueMarkets, int minLeagueMarkets) {
+        this(reuseLeagueMarkets, minLeagueMarkets, MetricsRegistry.NOOP);
+    }
+
+    /**
+     * Constructs options without deadlines that fail the whole tree on the first failure and keep to the
+     * {@link RequestLimits#DEFAULT} limits.
+     *
+     * @param reuseLeagueMarkets whether markets delivered with the league's response are used directly
+     * @param minLeagueMarkets   the minimum number of priced markets needed to skip a detail request
+     * @param metrics            the registry receiving the request latencies and the produced result counts
+     */
+    public RequestOptions(boolean reuseLeagueMarkets, int minLeagueMarkets, MetricsRegistry metrics) {
+        this(reuseLeagueMarkets, minLeagueMarkets, metrics, RequestDeadlines.NONE, FailurePolicy.FAIL_FAST,
+                RequestLimits.DEFAULT);
+    }
+
+    /**
+     * Returns a copy of these options with the given deadlines.
+     *
+     * @param deadlines the time each level of the tree may take
+     * @return the new options
+     */
+    public RequestOptions withDeadlines(RequestDeadlines deadlines) {
+        return new RequestOptions(reuseLeagueMarkets, minLeagueMarkets, metrics, deadlines, failurePolicy, limits);
+    }
+
+    /**
+     * Returns a copy of these options with the given failure policy.
+     *
+     * @param failurePolicy what a request does when one of its children fails or times out
+     * @return the new options
+     */
+    public RequestOptions withFailurePolicy(FailurePolicy failurePolicy) {
+        return new RequestOptions(reuseLeagueMarkets, minLeagueMarkets, metrics, deadlines, failurePolicy, limits);
+    }
+
+    /**
+     * Returns a copy of these options with the given limits.
+     *
+     * @param limits how many leagues and events of the catalog the tree covers
+     * @return the new options
+     */
+    public RequestOptions withLimits(RequestLimits limits) {
+        return new RequestOptions(reuseLeagueMarkets, minLeagueMarkets, metrics, deadlines, failurePolicy, limits);
+    }
+
+    /**
+     * Checks whether the event from the league response is complete enough to skip its detail request.
+     *
+     * @param event the event as delivered by the league response
+     * @return {@code true} if the event's markets can be used directly
+     */
+    public boolean canReuseMarkets(Event event) {
+        if (!reuseLeagueMarkets || event.markets() == null) {
+            return false;
+        }
+        long pricedMarkets = event.markets().stream()
+                .filter(RequestOptions::isPriced)
+                .count();
+        return pricedMarkets >= Math.max(1, minLeagueMarkets) && pricedMarkets == event.markets().size();
+    }
+
+    private static boolean isPriced(Market market) {
+        return market.runners() != null && !market.runners().isEmpty();
+    }
+}
@@ -0,0 +1,258 @@
+package com.zemnitskiy.request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * A structured scope of subtasks, each running on its own virtual thread, that never outlives the code
+ * block that opened it.
+ *
+ * <p>This follows the shape of {@code java.util.concurrent.StructuredTaskScope}, which is a preview API
+ * in Java 21: the owner forks subtasks, waits for them with {@link #join()} and reads their outcomes, and
+ * {@link #close()} interrupts whatever is still running and waits for it to end, so no thread of the
+ * scope survives it. A failure is handled by the {@link FailurePolicy}: {@link FailurePolicy#FAIL_FAST}
+ * shuts the scope down at the first failed subtask, {@link FailurePolicy#COLLECT_PARTIAL} lets the
+ * others finish. Once the {@link Deadline} passes, the subtasks still running fail with a
+ * {@link TimeoutException} and are interrupted.</p>
+ *
+ * <p>A subtask thread is named after the scope and the subtask, for example
+ * {@code request-root/league-1000/event-42}, so the request tree can be read from a thread dump. The
+ * owner waits on a {@link ReentrantLock} condition rather than a monitor, so a waiting virtual thread
+ * does not pin its carrier.</p>
+ *
+ * <p>{@link #fork(String, Callable)}, {@link #join()}, {@link #results(List, BiFunction)} and
+ * {@link #close()} must be called by the thread that opened the scope.</p>
+ */
+final class RequestScope implements AutoCloseable {
+
+    private final String name;
+    private final Deadline deadline;
+    private final FailurePolicy policy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition settled = lock.newCondition();
+    // guarded by lock
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private int running;
+    private boolean shutdown;
+    private Throwable failure;
+
+    /**
+     * Opens a scope named after the current thread.
+     *
+     * @param deadline the deadline of the subtasks
+     * @param policy   what to do when a subtask fails
+     */
+    RequestScope(Deadline deadline, FailurePolicy policy) {
+        this.name = Thread.currentThread().getName();
+        this.deadline = deadline;
+        this.policy = policy;
+    }
+
+    /**
+     * Starts a subtask on a new virtual thread.
+     *
+     * @param childName the name of the subtask, appended to the scope name to name its thread
+     * @param task      the work of the subtask
+     * @param <T>       the result type
+     * @return the handle of the subtask
+     * @throws IllegalStateException if the scope was shut down
+     */
+    <T> Subtask<T> fork(String childName, Callable<T> task) {
+        Subtask<T> subtask = new Subtask<>(task);
+        Thread thread = Thread.ofVirtual().name(name + "/" + childName).unstarted(subtask::run);
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new IllegalStateException("Scope " + name + " is shut down.");
+            }
+            subtask.thread = thread;
+            subtasks.add(subtask);
+            running++;
+        } finally {
+            lock.unlock();
+        }
+        thread.start();
+        return subtask;
+    }
+
+    /**
+     * Waits until every subtask has finished, the scope was shut down by a failure, or the deadline has
+     * passed. Subtasks still running afterwards are interrupted.
+     *
+     * @throws InterruptedException if the owner is interrupted while waiting
+     */
+    void join() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running > 0 && !shutdown) {
+                if (!deadline.isBounded()) {
+                    settled.await();
+                    continue;
+                }
+                long remaining = deadline.remainingNanos();
+                if (remaining <= 0) {
+                    shutdownLocked(new TimeoutException("Scope " + name + " ran past its deadline."));
+                    break;
+                }
+                settled.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+        interruptUnfinished();
+    }
+
+    /**
+     * Returns the results of the given subtasks in their order, after {@link #join()}.
+     *
+     * @param forked   the subtasks, as returned by {@link #fork(String, Callable)}
+     * @param fallback the placeholder for a failed subtask, given its position and failure; used with
+     *                 {@link FailurePolicy#COLLECT_PARTIAL}
+     * @param <T>      the result type
+     * @return the results
+     * @throws CompletionException with the first failure, if a subtask failed under
+     *                             {@link FailurePolicy#FAIL_FAST}
+     */
+    <T> List<T> results(List<Subtask<T>> forked, BiFunction<Integer, Throwable, T> fallback) {
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw failure instanceof CompletionException completionException
+                        ? completionException
+                        : new CompletionException(failure);
+            }
+            List<T> results = new ArrayList<>(forked.size());
+            for (int i = 0; i < forked.size(); i++) {
+                Subtask<T> subtask = forked.get(i);
+                if (subtask.exception == null) {
+                    results.add(subtask.result);
+                } else if (policy == FailurePolicy.FAIL_FAST) {
+                    throw new CompletionException(subtask.exception);
+                } else {
+                    results.add(fallback.apply(i, subtask.exception));
+                }
+            }
+            return results;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Shuts the scope down, interrupting the subtasks still running, and waits for all their threads to
+     * end.
+     */
+    @Override
+    public void close() {
+        List<Thread> threads;
+        lock.lock();
+        try {
+            if (running > 0) {
+                shutdownLocked(new CancellationException("Scope " + name + " was closed."));
+            }
+            threads = subtasks.stream().<Thread>map(subtask -> subtask.thread).toList();
+        } finally {
+            lock.unlock();
+        }
+        interruptUnfinished();
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // guarded by lock
+    private void shutdownLocked(Throwable reason) {
+        shutdown = true;
+        for (Subtask<?> subtask : subtasks) {
+            if (!subtask.done) {
+                subtask.done = true;
+                subtask.exception = reason;
+                running--;
+            }
+        }
+        settled.signalAll();
+    }
+
+    private void interruptUnfinished() {
+        List<Thread> toInterrupt;
+        lock.lock();
+        try {
+            if (!shutdown) {
+                return;
+            }
+            toInterrupt = subtasks.stream()
+                    .filter(subtask -> !subtask.finished)
+                    .<Thread>map(subtask -> subtask.thread)
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+        toInterrupt.forEach(Thread::interrupt);
+    }
+
+    /**
+     * A subtask forked in a {@link RequestScope}.
+     *
+     * @param <T> the result type
+     */
+    final class Subtask<T> {
+        private final Callable<T> task;
+        // guarded by lock
+        private Thread thread;
+        private boolean done;
+        private boolean finished;
+        private T result;
+        private Throwable exception;
+
+        private Subtask(Callable<T> task) {
+            this.task = task;
+        }
+
+        private void run() {
+            T value = null;
+            Throwable error = null;
+            try {
+                value = task.call();
+            } catch (Throwable e) {
+                error = e;
+            }
+            lock.lock();
+            try {
+                finished = true;
+                if (done) {
+                    return;
+                }
+                done = true;
+                result = value;
+                exception = error;
+                running--;
+                if (error != null && policy == FailurePolicy.FAIL_FAST) {
+                    failure = error;
+                    shutdownLocked(new CancellationException("Subtask " + Thread.currentThread().getName() + " failed."));
+                }
+                settled.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
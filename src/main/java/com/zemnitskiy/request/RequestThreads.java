@@ -0,0 +1,83 @@
+package com.zemnitskiy.request;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs the blocking-style request engines on named virtual threads that can be cancelled.
+ *
+ * <p>{@link #start(String, Callable)} ties a thread to the future of its result, so cancelling the
+ * future interrupts the thread, and {@link #await(CompletableFuture)} waits for an API call or for the
+ * children of a request in a way that an interrupt cancels, and with it the HTTP exchanges behind it.
+ * Together they carry the cancellation of a request future down to every call of its tree, as
+ * {@link RequestFutures} does for the {@link CompletableFutureEngine}.</p>
+ */
+final class RequestThreads {
+
+    static final String ROOT_THREAD_NAME = "request-root";
+
+    private RequestThreads() {
+    }
+
+    /**
+     * Runs the task on a new named virtual thread; cancelling the returned future interrupts it.
+     *
+     * @param name the name of the thread
+     * @param task the work of the thread
+     * @param <T>  the result type
+     * @return the future of the result, failing with a {@link CancellationException} if the thread is
+     * interrupted
+     */
+    static <T> CompletableFuture<T> start(String name, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Thread thread = Thread.ofVirtual().name(name).unstarted(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e instanceof InterruptedException
+                        ? new CancellationException(Thread.currentThread().getName() + " was interrupted.")
+                        : e);
+            }
+        });
+        result.whenComplete((value, e) -> {
+            if (result.isCancelled()) {
+                thread.interrupt();
+            }
+        });
+        thread.start();
+        return result;
+    }
+
+    /**
+     * Waits for the future, cancelling it if the waiting thread is interrupted.
+     *
+     * @param future the future to wait for
+     * @param <T>    the result type
+     * @return the result
+     * @throws InterruptedException if the waiting thread is interrupted
+     * @throws CompletionException  with the failure of the future
+     */
+    static <T> T await(CompletableFuture<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the name of the thread running a league request.
+     *
+     * @param request the league request
+     * @return the thread name, for example {@code league-1000}
+     */
+    static String leagueName(LeagueRequest request) {
+        return "league-" + request.league().id();
+    }
+}
@@ -2,17 +2,18 @@ package com.zemnitskiy.request;
 
 import com.zemnitskiy.api.LeonApiClient;
 import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Sport;
+import com.zemnitskiy.model.index.SnapshotIndex;
 import com.zemnitskiy.model.result.LeagueResult;
 import com.zemnitskiy.model.result.RootResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
-import static com.zemnitskiy.Main.LEAGUE_COUNT;
-
 /**
  * Represents an asynchronous request to retrieve and process league information for specified sports.
  *
@@ -20,14 +21,51 @@ import static com.zemnitskiy.Main.LEAGUE_COUNT;
  * based on provided names, retrieves top leagues for each filtered sport, and aggregates the results
  * into a {@link RootResult}.</p>
  *
+ * <p>When an {@code index} is given, every {@link LeagueResult} is added to it as soon as it arrives, so
+ * the index of the tree is complete when the returned future completes.</p>
+ *
  * @param apiClient   the API client used to communicate with the Leonbets API
- * @param sportsNames a list of sport names to filter and process
+ * @param sportsNames a list of sport names to filter and process; an empty list selects every sport
+ * @param options     the options passed down to every {@link LeagueRequest}
+ * @param index       the index receiving every fetched league, or {@code null} to index nothing
  * @see AsyncRequest
  * @see RootResult
  */
-public record RootRequest(LeonApiClient apiClient, List<String> sportsNames) implements AsyncRequest<RootResult> {
+public record RootRequest(LeonApiClient apiClient, List<String> sportsNames,
+                          RequestOptions options, SnapshotIndex index) implements AsyncRequest<RootResult> {
     private static final Logger logger = LoggerFactory.getLogger(RootRequest.class);
 
+    /**
+     * Constructs a {@code RootRequest} with {@link RequestOptions#DEFAULT} options.
+     *
+     * @param apiClient   the API client used to communicate with the Leonbets API
+     * @param sportsNames a list of sport names to filter and process
+     */
+    public RootRequest(LeonApiClient apiClient, List<String> sportsNames) {
+        this(apiClient, sportsNames, RequestOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a {@code RootRequest} that indexes nothing.
+     *
+     * @param apiClient   the API client used to communicate with the Leonbets API
+     * @param sportsNames a list of sport names to filter and process
+     * @param options     the options passed down to every {@link LeagueRequest}
+     */
+    public RootRequest(LeonApiClient apiClient, List<String> sportsNames, RequestOptions options) {
+        this(apiClient, sportsNames, options, null);
+    }
+
+    /**
+     * Returns a copy of this request that adds every fetched league to the given index.
+     *
+     * @param index the index receiving every fetched league
+     * @return the new request
+     */
+    public RootRequest withIndex(SnapshotIndex index) {
+        return new RootRequest(apiClient, sportsNames, options, index);
+    }
+
     /**
      * Executes the asynchronous fetch operation to retrieve league information for the specified sports.
      *
@@ -35,38 +73,100 @@ public record RootRequest(LeonApiClient apiClient, List<String> sportsNames) imp
      * <ul>
      *   <li>Fetches base information about all sports.</li>
      *   <li>Filters the sports based on the provided {@code sportsNames} list.</li>
-     *   <li>For each filtered sport, retrieves top leagues sorted by {@code topOrder} and limited by {@code LEAGUE_COUNT}.</li>
+     *   <li>For each filtered sport, retrieves leagues selected by {@link #leagueRequests(List)}.</li>
      *   <li>Aggregates the fetched {@link LeagueResult} instances into a {@link RootResult}.</li>
      * </ul>
      * </p>
      *
+     * <p>The whole tree ends by the earlier of {@code parent} and {@link RequestDeadlines#root()}. With
+     * {@link FailurePolicy#COLLECT_PARTIAL}, a failed or timed-out league is kept as a placeholder built by
+     * {@link LeagueRequest#failed(Throwable)}.</p>
+     *
+     * @param parent the deadline of the caller
      * @return a {@link CompletableFuture} that completes with a {@link RootResult} containing the aggregated league results
      * @throws RuntimeException if the API call fails or returns invalid data
      */
     @Override
-    public CompletableFuture<RootResult> fetch() {
-        return apiClient.fetchBaseInformation()
-                .thenCompose(sports -> {
-                    logger.debug("Fetching sports: {}", sportsNames);
-                    List<CompletableFuture<LeagueResult>> leagueFutures = sports.stream()
-                            .filter(sport -> sportsNames.contains(sport.name()))
-                            .flatMap(sport -> sport.regions().stream()
-                                    .flatMap(region -> region.leagues().stream())
-                                    .filter(League::top)
-                                    .sorted(Comparator.comparingInt(League::topOrder))
-                                    .limit(LEAGUE_COUNT)
-                                    .map(league -> new LeagueRequest(apiClient, league, sport.name()).fetch())
-                            )
-                            .toList();
+    public CompletableFuture<RootResult> fetch(Deadline parent) {
+        long startNanos = System.nanoTime();
+        Deadline deadline = parent.within(options.deadlines().root());
+        CompletableFuture<List<Sport>> sports = deadline.bound(apiClient.fetchBaseInformation());
+        return RequestMetrics.timed(options.metrics(), RequestMetrics.ROOT, RequestFutures.compose(sports, catalog -> {
+            logger.debug("Fetching sports: {}", sportsNames);
+            List<LeagueRequest> leagueRequests = leagueRequests(catalog);
+            List<CompletableFuture<LeagueResult>> leagueFutures = leagueRequests.stream()
+                    .map(leagueRequest -> RequestFutures.map(leagueRequest.fetch(deadline), this::indexed))
+                    .toList();
+
+            CompletableFuture<List<LeagueResult>> leagueResults = RequestFutures.collect(leagueFutures,
+                    options.failurePolicy(), (i, e) -> indexed(leagueRequests.get(i).failed(e)));
+            return RequestFutures.map(leagueResults, results -> {
+                logger.debug("Compiling sports");
+                return new RootResult(results);
+            });
+        }), startNanos);
+    }
+
+    /**
+     * Adds the league to the index of this request, if there is one.
+     *
+     * @param leagueResult the fetched league
+     * @return the same league
+     */
+    LeagueResult indexed(LeagueResult leagueResult) {
+        if (index != null) {
+            index.add(leagueResult);
+        }
+        return leagueResult;
+    }
+
+    /**
+     * Selects the leagues to fetch from the sports catalog, as limited by {@link RequestOptions#limits()}:
+     * the leagues of the requested sports, top leagues first in {@code topOrder}, or only the top leagues
+     * when {@link RequestLimits#topLeaguesOnly()} is set, up to {@link RequestLimits#leaguesPerSport()}
+     * per sport. The leagues are listed sport by sport, in catalog order.
+     *
+     * @param sports the sports catalog
+     * @return a {@link LeagueRequest} for every selected league
+     */
+    public List<LeagueRequest> leagueRequests(List<Sport> sports) {
+        return perSportLeagueRequests(sports).stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Selects the same leagues as {@link #leagueRequests(List)}, with the leagues of different sports
+     * interleaved round-robin: the first league of every sport before the second of any, so a publisher or
+     * crawl that works through the list in order reaches every sport early instead of finishing the largest
+     * sport first.
+     *
+     * @param sports the sports catalog
+     * @return a {@link LeagueRequest} for every selected league, sports taking turns
+     */
+    public List<LeagueRequest> interleavedLeagueRequests(List<Sport> sports) {
+        List<List<LeagueRequest>> perSport = perSportLeagueRequests(sports);
+        int rounds = perSport.stream().mapToInt(List::size).max().orElse(0);
+        List<LeagueRequest> interleaved = new ArrayList<>();
+        for (int round = 0; round < rounds; round++) {
+            for (List<LeagueRequest> leagues : perSport) {
+                if (round < leagues.size()) {
+                    interleaved.add(leagues.get(round));
+                }
+            }
+        }
+        return interleaved;
+    }
 
-                    return CompletableFuture.allOf(leagueFutures.toArray(new CompletableFuture[0]))
-                            .thenApply(v -> {
-                                logger.debug("Compiling sports");
-                                List<LeagueResult> leagueResults = leagueFutures.stream()
-                                        .map(CompletableFuture::join)
-                                        .toList();
-                                return new RootResult(leagueResults);
-                            });
-                });
+    private List<List<LeagueRequest>> perSportLeagueRequests(List<Sport> sports) {
+        RequestLimits limits = options.limits();
+        return sports.stream()
+                .filter(sport -> sportsNames.isEmpty() || sportsNames.contains(sport.name()))
+                .map(sport -> sport.regions().stream()
+                        .flatMap(region -> region.leagues().stream())
+                        .filter(league -> league.top() || !limits.topLeaguesOnly())
+                        .sorted(Comparator.comparing((League league) -> !league.top()).thenComparingInt(League::topOrder))
+                        .limit(limits.leaguesPerSport())
+                        .map(league -> new LeagueRequest(apiClient, league, sport.name(), options))
+                        .toList())
+                .toList();
     }
 }
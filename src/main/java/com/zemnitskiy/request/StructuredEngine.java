@@ -0,0 +1,134 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.api.AdaptiveLimiter;
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Sport;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.zemnitskiy.request.RequestThreads.ROOT_THREAD_NAME;
+import static com.zemnitskiy.request.RequestThreads.await;
+import static com.zemnitskiy.request.RequestThreads.leagueName;
+import static com.zemnitskiy.request.RequestThreads.start;
+
+/**
+ * Runs the request tree as nested {@link RequestScope}s on virtual threads.
+ *
+ * <p>The root request runs on a thread of its own and opens a scope forking one subtask per league;
+ * every league opens a scope forking one subtask per event that needs its own request, while the events
+ * whose markets are reused from the league response are turned into matches inline. Each level waits
+ * for its children with {@link RequestScope#join()}, bounded by its {@link Deadline}, and builds its
+ * result from theirs in plain sequential code, so a stack trace shows the request it belongs to. The
+ * request selection, result building and indexing are the same as in {@link RootRequest#fetch()}.</p>
+ *
+ * <p>{@link RequestScope} stands in for the preview {@code StructuredTaskScope}, so the JVM knows
+ * nothing of the scopes: a thread dump, including {@code jcmd <pid> Thread.dump_to_file -format=json},
+ * lists the threads flat without a scope tree, and the tree can only be read from the thread names, for
+ * example {@code request-root/league-1000/event-42}.</p>
+ *
+ * <p>Failures follow the {@link FailurePolicy}: under {@link FailurePolicy#FAIL_FAST} the first failed
+ * child shuts its scope down, and under {@link FailurePolicy#COLLECT_PARTIAL} it is replaced by a
+ * placeholder. A scope that ends, however it ends, interrupts its children still running; a child
+ * interrupted while waiting for an API call cancels that call, and with it the HTTP exchange. Cancelling
+ * the future returned by {@link #fetch(RootRequest)} interrupts the root thread, which tears the whole
+ * tree down the same way.</p>
+ *
+ * <p>The engine does not bound the number of threads it forks: a full crawl forks one per league and
+ * per event of the catalog. A virtual thread parked on an API call costs only its small heap-allocated
+ * stack, and how many calls actually run at once is bounded by the {@link AdaptiveLimiter} of the
+ * {@link LeonApiClient}, where the forked threads wait for a permit.</p>
+ */
+public class StructuredEngine implements RequestEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(StructuredEngine.class);
+
+    @Override
+    public CompletableFuture<RootResult> fetch(RootRequest request) {
+        return start(ROOT_THREAD_NAME, () -> fetchRoot(request));
+    }
+
+    @Override
+    public CompletableFuture<LeagueResult> fetch(LeagueRequest request) {
+        // a league fetched on its own is bounded by its own deadline from the moment it is requested
+        Deadline deadline = Deadline.none().within(request.options().deadlines().league());
+        return start(leagueName(request), () -> fetchLeague(request, deadline));
+    }
+
+    private RootResult fetchRoot(RootRequest request) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        try {
+            return fetchRootTree(request);
+        } finally {
+            request.options().metrics().histogram(RequestMetrics.ROOT).recordSince(startNanos);
+        }
+    }
+
+    private RootResult fetchRootTree(RootRequest request) throws InterruptedException {
+        Deadline deadline = Deadline.none().within(request.options().deadlines().root());
+        List<Sport> sports = await(deadline.bound(request.apiClient().fetchBaseInformation()));
+        logger.debug("Fetching sports: {}", request.sportsNames());
+        List<LeagueRequest> leagueRequests = request.leagueRequests(sports);
+        try (RequestScope scope = new RequestScope(deadline, request.options().failurePolicy())) {
+            List<RequestScope.Subtask<LeagueResult>> leagues = leagueRequests.stream()
+                    .map(leagueRequest -> scope.fork(leagueName(leagueRequest),
+                            () -> request.indexed(fetchLeague(leagueRequest, deadline))))
+                    .toList();
+            scope.join();
+            return new RootResult(scope.results(leagues, (i, e) -> request.indexed(leagueRequests.get(i).failed(e))));
+        }
+    }
+
+    private LeagueResult fetchLeague(LeagueRequest request, Deadline parent) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        try {
+            return fetchLeagueTree(request, parent);
+        } finally {
+            request.options().metrics().histogram(RequestMetrics.LEAGUE).recordSince(startNanos);
+        }
+    }
+
+    private LeagueResult fetchLeagueTree(LeagueRequest request, Deadline parent) throws InterruptedException {
+        Deadline deadline = parent.within(request.options().deadlines().league());
+        League updatedLeague = await(deadline.bound(request.apiClient().fetchEventsForLeague(request.league())));
+        logger.debug("Fetched league: {}", request.league().name());
+        List<Event> events = request.selectEvents(updatedLeague);
+        MatchResult[] matchResults = new MatchResult[events.size()];
+        List<Integer> requested = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            if (request.options().canReuseMarkets(events.get(i))) {
+                // the league markets are reused, so the match is already complete
+                matchResults[i] = await(request.fetchMatch(events.get(i), deadline));
+            } else {
+                requested.add(i);
+            }
+        }
+        try (RequestScope scope = new RequestScope(deadline, request.options().failurePolicy())) {
+            List<RequestScope.Subtask<MatchResult>> matches = requested.stream()
+                    .map(i -> scope.fork("event-" + events.get(i).id(),
+                            () -> fetchMatch(request, events.get(i), deadline)))
+                    .toList();
+            scope.join();
+            List<MatchResult> fetched = scope.results(matches,
+                    (j, e) -> request.failedMatch(events.get(requested.get(j)), e));
+            for (int j = 0; j < fetched.size(); j++) {
+                matchResults[requested.get(j)] = fetched.get(j);
+            }
+        }
+        return new LeagueResult(request.sportName(), request.league(), List.of(matchResults));
+    }
+
+    private MatchResult fetchMatch(LeagueRequest request, Event event, Deadline deadline) throws InterruptedException {
+        MatchResult matchResult = await(request.fetchMatch(event, deadline));
+        logger.debug("Fetched event: {}", event.id());
+        return matchResult;
+    }
+}
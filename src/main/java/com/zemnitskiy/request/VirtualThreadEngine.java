@@ -0,0 +1,102 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Sport;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.zemnitskiy.request.RequestThreads.ROOT_THREAD_NAME;
+import static com.zemnitskiy.request.RequestThreads.await;
+import static com.zemnitskiy.request.RequestThreads.leagueName;
+import static com.zemnitskiy.request.RequestThreads.start;
+
+/**
+ * Runs the request tree with blocking-style code on virtual threads.
+ *
+ * <p>The root and every league request get their own named virtual thread, for example
+ * {@code request-root} and {@code request-root/league-1000}, which simply waits for the API calls it
+ * depends on and for its children. Blocking parks only the virtual thread, so the fan-out is not bounded
+ * by the size of a platform thread pool. The events of a league are selected and fetched by
+ * {@link LeagueRequest#selectEvents(League)} and {@link LeagueRequest#fetchMatch(Event, Deadline)}, which
+ * are asynchronous calls waited for by the league thread, so the request selection, result building and
+ * indexing are the same as in {@link RootRequest#fetch()} and {@link LeagueRequest#fetch()}.</p>
+ *
+ * <p>Deadlines and the {@link FailurePolicy} are applied as in the {@link CompletableFutureEngine}: a
+ * blocked virtual thread waits at most until its deadline, and the futures of a failed parent's children
+ * are cancelled. Cancelling the future of a request interrupts its thread; an interrupted thread cancels
+ * what it waits for, so the cancellation reaches the league threads and the HTTP exchanges of the whole
+ * tree, as in the {@link StructuredEngine}.</p>
+ *
+ * <p>For the whole pipeline to run on virtual threads, the {@link LeonApiClient} and its
+ * {@link java.net.http.HttpClient} should be given a virtual-thread executor.</p>
+ */
+public class VirtualThreadEngine implements RequestEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadEngine.class);
+
+    @Override
+    public CompletableFuture<RootResult> fetch(RootRequest request) {
+        return start(ROOT_THREAD_NAME, () -> fetchRoot(request));
+    }
+
+    @Override
+    public CompletableFuture<LeagueResult> fetch(LeagueRequest request) {
+        // a league fetched on its own is bounded by its own deadline from the moment it is requested
+        Deadline deadline = Deadline.none().within(request.options().deadlines().league());
+        return start(leagueName(request), () -> fetchLeague(request, deadline));
+    }
+
+    private CompletableFuture<LeagueResult> fetch(LeagueRequest request, Deadline parent) {
+        return start(ROOT_THREAD_NAME + "/" + leagueName(request), () -> fetchLeague(request, parent));
+    }
+
+    private RootResult fetchRoot(RootRequest request) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        try {
+            return fetchRootTree(request);
+        } finally {
+            request.options().metrics().histogram(RequestMetrics.ROOT).recordSince(startNanos);
+        }
+    }
+
+    private RootResult fetchRootTree(RootRequest request) throws InterruptedException {
+        Deadline deadline = Deadline.none().within(request.options().deadlines().root());
+        List<Sport> sports = await(deadline.bound(request.apiClient().fetchBaseInformation()));
+        logger.debug("Fetching sports: {}", request.sportsNames());
+        List<LeagueRequest> leagueRequests = request.leagueRequests(sports);
+        List<CompletableFuture<LeagueResult>> leagueFutures = leagueRequests.stream()
+                .map(leagueRequest -> RequestFutures.map(fetch(leagueRequest, deadline), request::indexed))
+                .toList();
+        return new RootResult(await(RequestFutures.collect(leagueFutures, request.options().failurePolicy(),
+                (i, e) -> request.indexed(leagueRequests.get(i).failed(e)))));
+    }
+
+    private LeagueResult fetchLeague(LeagueRequest request, Deadline parent) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        try {
+            return fetchLeagueTree(request, parent);
+        } finally {
+            request.options().metrics().histogram(RequestMetrics.LEAGUE).recordSince(startNanos);
+        }
+    }
+
+    private LeagueResult fetchLeagueTree(LeagueRequest request, Deadline parent) throws InterruptedException {
+        Deadline deadline = parent.within(request.options().deadlines().league());
+        League updatedLeague = await(deadline.bound(request.apiClient().fetchEventsForLeague(request.league())));
+        logger.debug("Fetched league: {}", request.league().name());
+        List<Event> events = request.selectEvents(updatedLeague);
+        List<CompletableFuture<MatchResult>> matchFutures = events.stream()
+                .map(event -> request.fetchMatch(event, deadline))
+                .toList();
+        return new LeagueResult(request.sportName(), request.league(), await(RequestFutures.collect(matchFutures,
+                request.options().failurePolicy(), (i, e) -> request.failedMatch(events.get(i), e))));
+    }
+}
@@ -0,0 +1,331 @@
+package com.zemnitskiy.schedule;
+
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.request.EventRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * The {@code EventRefreshScheduler} class keeps the prices of known events fresh with a fixed
+ * request budget.
+ *
+ * <p>Every scheduled event gets a refresh interval from its time to kickoff and its league via the
+ * {@link RefreshPolicy}. Events wait in a priority queue ordered by the time their refresh falls due,
+ * and each tick sends at most {@code requestsPerTick} {@link EventRequest}s for the events that are
+ * due first. Because the interval shrinks as kickoff approaches, the budget is spent where prices go
+ * stale fastest. Every refreshed {@link MatchResult} is passed to the consumer and the event is
+ * rescheduled; events that started more than {@link #DROP_AFTER_KICKOFF} ago are dropped.</p>
+ *
+ * <p>At most {@code maxInFlight} refreshes are outstanding at a time. When the API slows down, a tick
+ * sends only as many requests as the cap leaves room for, and a tick with no room is skipped, so the
+ * outstanding requests do not pile up; the events it would have refreshed stay due.</p>
+ *
+ * <p>Staleness metrics per {@link PriorityClass} are available through {@link #stalenessMetrics()}, and
+ * can be published as gauges with {@link #registerMetrics(MetricsRegistry)}.</p>
+ */
+public class EventRefreshScheduler {
+
+    public static final Duration DROP_AFTER_KICKOFF = Duration.ofHours(3);
+    public static final int DEFAULT_IN_FLIGHT_TICKS = 4;
+
+    private static final Logger logger = LoggerFactory.getLogger(EventRefreshScheduler.class);
+
+    private final LeonApiClient apiClient;
+    private final RefreshPolicy policy;
+    private final int requestsPerTick;
+    private final int maxInFlight;
+    private final Consumer<MatchResult> consumer;
+    private final Clock clock;
+
+    private final PriorityQueue<ScheduledRefresh> queue =
+            new PriorityQueue<>(Comparator.comparingLong(ScheduledRefresh::dueAt));
+    private final Map<Long, ScheduledRefresh> latestByEventId = new HashMap<>();
+    private final Map<PriorityClass, StalenessStats> stats = new EnumMap<>(PriorityClass.class);
+    private int inFlight;
+    private long skippedTicks;
+
+    /**
+     * Constructs a new {@code EventRefreshScheduler} that allows the requests of
+     * {@value #DEFAULT_IN_FLIGHT_TICKS} ticks to be outstanding at a time.
+     *
+     * @param apiClient       the API client used to refresh events
+     * @param policy          the policy computing refresh intervals
+     * @param requestsPerTick the maximum number of requests sent per tick
+     * @param consumer        the consumer receiving every refreshed match
+     * @param clock           the clock used to compute kickoff distances and due times
+     */
+    public EventRefreshScheduler(LeonApiClient apiClient, RefreshPolicy policy, int requestsPerTick,
+                                 Consumer<MatchResult> consumer, Clock clock) {
+        this(apiClient, policy, requestsPerTick, requestsPerTick * DEFAULT_IN_FLIGHT_TICKS, consumer, clock);
+    }
+
+    /**
+     * Constructs a new {@code EventRefreshScheduler}.
+     *
+     * @param apiClient       the API client used to refresh events
+     * @param policy          the policy computing refresh intervals
+     * @param requestsPerTick the maximum number of requests sent per tick
+     * @param maxInFlight     the maximum number of refreshes outstanding at a time
+     * @param consumer        the consumer receiving every refreshed match
+     * @param clock           the clock used to compute kickoff distances and due times
+     */
+    public EventRefreshScheduler(LeonApiClient apiClient, RefreshPolicy policy, int requestsPerTick, int maxInFlight,
+                                 Consumer<MatchResult> consumer, Clock clock) {
+        if (requestsPerTick <= 0) {
+            throw new IllegalArgumentException("Requests per tick must be positive.");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in-flight refreshes must be positive.");
+        }
+        this.apiClient = apiClient;
+        this.policy = policy;
+        this.requestsPerTick = requestsPerTick;
+        this.maxInFlight = maxInFlight;
+        this.consumer = consumer;
+        this.clock = clock;
+        for (PriorityClass priorityClass : PriorityClass.values()) {
+            stats.put(priorityClass, new StalenessStats());
+        }
+    }
+
+    /**
+     * Schedules every match of the snapshot, treating its data as fetched now.
+     *
+     * @param rootResult the snapshot to schedule
+     */
+    public void scheduleAll(RootResult rootResult) {
+        for (LeagueResult leagueResult : rootResult.leagueResults()) {
+            for (MatchResult matchResult : leagueResult.matchResults()) {
+                schedule(matchResult.event(), leagueResult.league());
+            }
+        }
+    }
+
+    /**
+     * Schedules an event whose data was fetched now. An event that is already scheduled is rescheduled.
+     *
+     * @param event  the event to keep fresh
+     * @param league the league of the event
+     */
+    public synchronized void schedule(Event event, League league) {
+        long now = clock.millis();
+        enqueue(new ScheduledRefresh(event, league, now, now + intervalFor(event, league, now).toMillis()));
+    }
+
+    /**
+     * Starts ticking on the given scheduler.
+     *
+     * @param scheduler  the scheduler running the ticks
+     * @param tickPeriod the period between ticks
+     * @return a {@link ScheduledFuture} that can be used to stop the scheduler
+     */
+    public ScheduledFuture<?> start(ScheduledExecutorService scheduler, Duration tickPeriod) {
+        return scheduler.scheduleAtFixedRate(() -> {
+            try {
+                tick();
+            } catch (Exception e) {
+                logger.error("Error during refresh tick: {}", e.getMessage(), e);
+            }
+        }, 0, tickPeriod.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends refresh requests for the events that are due first, up to the per-tick budget and the room
+     * left under the in-flight cap.
+     *
+     * @return the number of requests sent
+     */
+    public int tick() {
+        List<ScheduledRefresh> due = pollDue();
+        for (ScheduledRefresh refresh : due) {
+            new EventRequest(apiClient, refresh.event()).fetch()
+                    .whenComplete((matchResult, e) -> complete(refresh, matchResult, e));
+        }
+        return due.size();
+    }
+
+    /**
+     * Returns the staleness metrics of every priority class.
+     *
+     * @return the staleness metrics keyed by priority class
+     */
+    public synchronized Map<PriorityClass, StalenessMetrics> stalenessMetrics() {
+        Map<PriorityClass, Integer> scheduled = new EnumMap<>(PriorityClass.class);
+        long now = clock.millis();
+        for (ScheduledRefresh refresh : latestByEventId.values()) {
+            scheduled.merge(classify(refresh.event(), now), 1, Integer::sum);
+        }
+        Map<PriorityClass, StalenessMetrics> metrics = new EnumMap<>(PriorityClass.class);
+        stats.forEach((priorityClass, classStats) ->
+                metrics.put(priorityClass, classStats.snapshot(scheduled.getOrDefault(priorityClass, 0))));
+        return metrics;
+    }
+
+    /**
+     * Returns the number of refreshes sent and not yet completed.
+     *
+     * @return the in-flight refresh count
+     */
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the number of ticks skipped because the in-flight cap was reached.
+     *
+     * @return the skipped tick count
+     */
+    public synchronized long skippedTicks() {
+        return skippedTicks;
+    }
+
+    /**
+     * Publishes the in-flight refreshes, the skipped ticks and the staleness metrics of every priority
+     * class as gauges, under {@code refresh.in_flight}, {@code refresh.skipped_ticks} and
+     * {@code refresh.<class>.<metric>}.
+     *
+     * @param metrics the registry receiving the gauges
+     */
+    public void registerMetrics(MetricsRegistry metrics) {
+        metrics.gauge("refresh.in_flight", this::inFlight);
+        metrics.gauge("refresh.skipped_ticks", this::skippedTicks);
+        for (PriorityClass priorityClass : PriorityClass.values()) {
+            String prefix = "refresh." + priorityClass.name().toLowerCase(Locale.ROOT) + ".";
+            registerStalenessGauge(metrics, prefix + "scheduled", priorityClass, StalenessMetrics::scheduled);
+            registerStalenessGauge(metrics, prefix + "refreshes", priorityClass, StalenessMetrics::refreshes);
+            registerStalenessGauge(metrics, prefix + "failures", priorityClass, StalenessMetrics::failures);
+            registerStalenessGauge(metrics, prefix + "staleness_avg_ms", priorityClass,
+                    staleness -> Math.round(staleness.averageStalenessMillis()));
+            registerStalenessGauge(metrics, prefix + "staleness_max_ms", priorityClass,
+                    StalenessMetrics::maxStalenessMillis);
+            registerStalenessGauge(metrics, prefix + "overdue_avg_ms", priorityClass,
+                    staleness -> Math.round(staleness.averageOverdueMillis()));
+        }
+    }
+
+    private void registerStalenessGauge(MetricsRegistry metrics, String name, PriorityClass priorityClass,
+                                        ToLongFunction<StalenessMetrics> value) {
+        metrics.gauge(name, () -> value.applyAsLong(stalenessMetrics().get(priorityClass)));
+    }
+
+    private synchronized List<ScheduledRefresh> pollDue() {
+        long now = clock.millis();
+        int budget = Math.min(requestsPerTick, maxInFlight - inFlight);
+        if (budget <= 0) {
+            skippedTicks++;
+            logger.debug("Skipping refresh tick: {} refreshes in flight", inFlight);
+            return List.of();
+        }
+        List<ScheduledRefresh> due = new ArrayList<>(budget);
+        while (due.size() < budget && !queue.isEmpty() && queue.peek().dueAt() <= now) {
+            ScheduledRefresh refresh = queue.poll();
+            if (latestByEventId.get(refresh.event().id()) != refresh) {
+                continue;
+            }
+            if (now - refresh.event().kickoff() > DROP_AFTER_KICKOFF.toMillis()) {
+                latestByEventId.remove(refresh.event().id());
+                logger.debug("Dropping started event: {}", refresh.event().id());
+                continue;
+            }
+            stats.get(classify(refresh.event(), now)).recordOverdue(now - refresh.dueAt());
+            due.add(refresh);
+        }
+        inFlight += due.size();
+        return due;
+    }
+
+    private void complete(ScheduledRefresh refresh, MatchResult matchResult, Throwable e) {
+        reschedule(refresh, matchResult, e);
+        if (e == null) {
+            consumer.accept(matchResult);
+        }
+    }
+
+    private synchronized void reschedule(ScheduledRefresh refresh, MatchResult matchResult, Throwable e) {
+        inFlight--;
+        long now = clock.millis();
+        StalenessStats classStats = stats.get(classify(refresh.event(), now));
+        Event event = refresh.event();
+        long fetchedAt = refresh.fetchedAt();
+        if (e != null) {
+            classStats.recordFailure();
+            logger.warn("Failed to refresh event {}: {}", event.id(), e.getMessage());
+        } else {
+            classStats.recordRefresh(now - fetchedAt);
+            event = matchResult.event();
+            fetchedAt = now;
+        }
+        if (latestByEventId.get(refresh.event().id()) == refresh) {
+            enqueue(new ScheduledRefresh(event, refresh.league(), fetchedAt,
+                    now + intervalFor(event, refresh.league(), now).toMillis()));
+        }
+    }
+
+    private void enqueue(ScheduledRefresh refresh) {
+        latestByEventId.put(refresh.event().id(), refresh);
+        queue.add(refresh);
+    }
+
+    private Duration intervalFor(Event event, League league, long now) {
+        return policy.intervalFor(classify(event, now), league);
+    }
+
+    private static PriorityClass classify(Event event, long now) {
+        return PriorityClass.forTimeToKickoff(Duration.ofMillis(event.kickoff() - now));
+    }
+
+    private record ScheduledRefresh(Event event, League league, long fetchedAt, long dueAt) { }
+
+    private static final class StalenessStats {
+        private long refreshes;
+        private long failures;
+        private long totalStalenessMillis;
+        private long maxStalenessMillis;
+        private long overdueSamples;
+        private long totalOverdueMillis;
+
+        void recordRefresh(long stalenessMillis) {
+            refreshes++;
+            totalStalenessMillis += stalenessMillis;
+            maxStalenessMillis = Math.max(maxStalenessMillis, stalenessMillis);
+        }
+
+        void recordFailure() {
+            failures++;
+        }
+
+        void recordOverdue(long overdueMillis) {
+            overdueSamples++;
+            totalOverdueMillis += overdueMillis;
+        }
+
+        StalenessMetrics snapshot(int scheduled) {
+            return new StalenessMetrics(scheduled, refreshes, failures,
+                    refreshes == 0 ? 0 : (double) totalStalenessMillis / refreshes,
+                    maxStalenessMillis,
+                    overdueSamples == 0 ? 0 : (double) totalOverdueMillis / overdueSamples);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.zemnitskiy.schedule;
+
+import java.time.Duration;
+
+/**
+ * Classifies events by the time left until kickoff. Each class has a base refresh interval;
+ * the closer an event is to kickoff, the faster its prices go stale.
+ */
+public enum PriorityClass {
+    IMMINENT(Duration.ofHours(1), Duration.ofSeconds(15)),
+    TODAY(Duration.ofHours(24), Duration.ofMinutes(1)),
+    THIS_WEEK(Duration.ofDays(7), Duration.ofMinutes(10)),
+    LATER(Duration.ofMillis(Long.MAX_VALUE), Duration.ofMinutes(30));
+
+    private final Duration maxTimeToKickoff;
+    private final Duration baseInterval;
+
+    PriorityClass(Duration maxTimeToKickoff, Duration baseInterval) {
+        this.maxTimeToKickoff = maxTimeToKickoff;
+        this.baseInterval = baseInterval;
+    }
+
+    public Duration baseInterval() {
+        return baseInterval;
+    }
+
+    /**
+     * Returns the class for the given time left until kickoff. Events that already started are
+     * treated as {@link #IMMINENT}.
+     *
+     * @param timeToKickoff the time left until kickoff, negative if the event already started
+     * @return the matching priority class
+     */
+    public static PriorityClass forTimeToKickoff(Duration timeToKickoff) {
+        for (PriorityClass priorityClass : values()) {
+            if (timeToKickoff.compareTo(priorityClass.maxTimeToKickoff) <= 0) {
+                return priorityClass;
+            }
+        }
+        return LATER;
+    }
+}
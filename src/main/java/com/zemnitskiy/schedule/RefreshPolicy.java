@@ -0,0 +1,34 @@
+package com.zemnitskiy.schedule;
+
+import com.zemnitskiy.model.basemodel.League;
+
+import java.time.Duration;
+
+/**
+ * Computes the refresh interval of an event from its {@link PriorityClass} and its league.
+ *
+ * <p>The base interval of the priority class is stretched by {@code 1 + topOrderWeight * topOrder}
+ * for top leagues, so the leagues with the lowest {@code topOrder} are refreshed first, and by
+ * {@code nonTopFactor} for all other leagues.</p>
+ *
+ * @param topOrderWeight the interval stretch per {@code League.topOrder} step of a top league
+ * @param nonTopFactor   the interval stretch for leagues that are not top leagues
+ */
+public record RefreshPolicy(double topOrderWeight, double nonTopFactor) {
+
+    public static final RefreshPolicy DEFAULT = new RefreshPolicy(0.05, 2.0);
+
+    /**
+     * Returns the refresh interval for an event of the given league.
+     *
+     * @param priorityClass the priority class of the event
+     * @param league        the league of the event
+     * @return the refresh interval
+     */
+    public Duration intervalFor(PriorityClass priorityClass, League league) {
+        double factor = league.top()
+                ? 1.0 + topOrderWeight * Math.max(0, league.topOrder())
+                : nonTopFactor;
+        return Duration.ofMillis(Math.round(priorityClass.baseInterval().toMillis() * factor));
+    }
+}
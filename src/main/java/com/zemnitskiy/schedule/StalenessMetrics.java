@@ -0,0 +1,14 @@
+package com.zemnitskiy.schedule;
+
+/**
+ * A point-in-time view of the staleness of one {@link PriorityClass}.
+ *
+ * @param scheduled              the number of events currently scheduled in the class
+ * @param refreshes              the number of completed refreshes
+ * @param failures               the number of failed refreshes
+ * @param averageStalenessMillis the average age of the replaced data at refresh time
+ * @param maxStalenessMillis     the maximum age of the replaced data at refresh time
+ * @param averageOverdueMillis   the average delay between a refresh falling due and being started
+ */
+public record StalenessMetrics(int scheduled, long refreshes, long failures, double averageStalenessMillis,
+                               long maxStalenessMillis, double averageOverdueMillis) { }
@@ -0,0 +1,147 @@
+package com.zemnitskiy.visitor;
+
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A {@link ResultVisitor} that passes every result on to another visitor and keeps count of what went
+ * through, for a crawl of the whole catalog that runs for minutes.
+ *
+ * <p>It counts the sports, leagues and events visited and the leagues and events that failed or timed
+ * out, and logs the counts with the event throughput at most once per report interval, checked whenever
+ * a league starts. Only counters and the set of sport names are kept, so the memory of a crawl does not
+ * grow with the number of events. It is meant to be visited by a single thread at a time, as
+ * {@link VisitingSubscriber} does; {@link #progress()} may be read from any thread once visiting has
+ * ended.</p>
+ */
+public class CrawlProgress implements ResultVisitor, Flushable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlProgress.class);
+
+    private final ResultVisitor delegate;
+    private final Duration reportInterval;
+    private final Clock clock;
+    private final Instant start;
+
+    private final Set<String> sports = new HashSet<>();
+    private Instant lastReport;
+    private long leagues;
+    private long events;
+    private long incomplete;
+
+    /**
+     * Constructs a new {@code CrawlProgress}.
+     *
+     * @param delegate       the visitor receiving every result
+     * @param reportInterval the shortest time between two progress reports
+     * @param clock          the clock measuring the elapsed time
+     */
+    public CrawlProgress(ResultVisitor delegate, Duration reportInterval, Clock clock) {
+        this.delegate = delegate;
+        this.reportInterval = reportInterval;
+        this.clock = clock;
+        this.start = clock.instant();
+        this.lastReport = start;
+    }
+
+    @Override
+    public void visitRoot(RootResult rootResult) {
+        delegate.visitRoot(rootResult);
+    }
+
+    @Override
+    public void visitLeague(LeagueResult leagueResult) {
+        Instant now = clock.instant();
+        if (!now.isBefore(lastReport.plus(reportInterval))) {
+            lastReport = now;
+            logger.info("Crawl progress: {}", progress());
+        }
+        sports.add(leagueResult.sportName());
+        leagues++;
+        if (!leagueResult.status().isComplete()) {
+            incomplete++;
+        }
+        delegate.visitLeague(leagueResult);
+    }
+
+    @Override
+    public void visitMatch(MatchResult matchResult) {
+        events++;
+        if (!matchResult.status().isComplete()) {
+            incomplete++;
+        }
+        delegate.visitMatch(matchResult);
+    }
+
+    @Override
+    public void visitMarket(MarketResult marketResult) {
+        delegate.visitMarket(marketResult);
+    }
+
+    @Override
+    public void visitRunner(RunnerResult runnerResult) {
+        delegate.visitRunner(runnerResult);
+    }
+
+    /**
+     * Flushes the delegate if it is {@link Flushable}.
+     *
+     * @throws IOException if flushing the delegate fails
+     */
+    @Override
+    public void flush() throws IOException {
+        if (delegate instanceof Flushable flushable) {
+            flushable.flush();
+        }
+    }
+
+    /**
+     * Returns the counts so far.
+     *
+     * @return the progress of the crawl
+     */
+    public Progress progress() {
+        return new Progress(sports.size(), leagues, events, incomplete, Duration.between(start, clock.instant()));
+    }
+
+    /**
+     * The progress of a crawl.
+     *
+     * @param sports     the number of sports with at least one league visited
+     * @param leagues    the number of leagues visited
+     * @param events     the number of events visited
+     * @param incomplete the number of leagues and events that failed or timed out
+     * @param elapsed    the time since the crawl started
+     */
+    public record Progress(int sports, long leagues, long events, long incomplete, Duration elapsed) {
+
+        /**
+         * Returns the mean number of events visited per second.
+         *
+         * @return the event throughput
+         */
+        public double eventsPerSecond() {
+            long elapsedNanos = elapsed.toNanos();
+            return elapsedNanos <= 0 ? 0 : events * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d sports, %d leagues, %d events (%d incomplete) in %d s, %.1f events/s",
+                    sports, leagues, events, incomplete, elapsed.toSeconds(), eventsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.zemnitskiy.visitor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * A reusable buffer of printed lines, written to its target {@link Writer} in blocks of about
+ * {@value #FLUSH_THRESHOLD} characters.
+ *
+ * <p>Printers append a line to {@link #text()} and end it with {@link #endLine()}; the text is copied
+ * out through one reused {@code char[]}, so printing costs a few large writes and no string per line.
+ * The tail of the output stays in the buffer until {@link #flush()}.</p>
+ */
+final class LineBuffer {
+
+    static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Writer out;
+    private final StringBuilder text = new StringBuilder(FLUSH_THRESHOLD * 2);
+    private char[] chunk = new char[FLUSH_THRESHOLD * 2];
+
+    LineBuffer(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Returns the buffer the current line is appended to.
+     *
+     * @return the buffered text
+     */
+    StringBuilder text() {
+        return text;
+    }
+
+    /**
+     * Ends the current line, writing the buffer out once it holds {@value #FLUSH_THRESHOLD} characters.
+     *
+     * @throws UncheckedIOException if the target writer fails
+     */
+    void endLine() {
+        text.append(LINE_SEPARATOR);
+        if (text.length() >= FLUSH_THRESHOLD) {
+            try {
+                drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered text to the target writer and flushes it.
+     *
+     * @throws IOException if the target writer fails
+     */
+    void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void drain() throws IOException {
+        int length = text.length();
+        if (length == 0) {
+            return;
+        }
+        if (chunk.length < length) {
+            chunk = new char[length];
+        }
+        text.getChars(0, length, chunk, 0);
+        text.setLength(0);
+        out.write(chunk, 0, length);
+    }
+}
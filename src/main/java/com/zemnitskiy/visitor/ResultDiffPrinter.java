@@ -0,0 +1,111 @@
+package com.zemnitskiy.visitor;
+
+import com.zemnitskiy.model.basemodel.Price;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RunnerResult;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * The {@code ResultDiffPrinter} class prints the changes between two snapshots, one line per change.
+ *
+ * <p>As in {@link ResultPrinter}, lines are appended to a reusable buffer that is written to the target
+ * {@link Writer} in blocks, and prices are appended from their fixed-point form without creating strings,
+ * so the first polling cycle, which reports every match as added, costs a few large writes. The tail of
+ * the output stays in the buffer until {@link #flush()} is called, once per cycle.</p>
+ */
+public class ResultDiffPrinter implements ResultDiffVisitor, Flushable {
+
+    private final LineBuffer lines;
+    private final StringBuilder buffer;
+
+    /**
+     * Constructs a new {@code ResultDiffPrinter} writing to {@link System#out}.
+     */
+    public ResultDiffPrinter() {
+        this(new OutputStreamWriter(System.out, System.out.charset()));
+    }
+
+    /**
+     * Constructs a new {@code ResultDiffPrinter} writing to the given {@link Writer}.
+     *
+     * @param out the writer receiving the printed changes
+     */
+    public ResultDiffPrinter(Writer out) {
+        this.lines = new LineBuffer(out);
+        this.buffer = lines.text();
+    }
+
+    @Override
+    public void visitAddedMatch(LeagueResult leagueResult, MatchResult matchResult) {
+        appendMatch('+', leagueResult, matchResult);
+    }
+
+    @Override
+    public void visitRemovedMatch(LeagueResult leagueResult, MatchResult matchResult) {
+        appendMatch('-', leagueResult, matchResult);
+    }
+
+    @Override
+    public void visitAddedMarket(MatchResult matchResult, MarketResult marketResult) {
+        appendMarket('+', matchResult, marketResult);
+    }
+
+    @Override
+    public void visitRemovedMarket(MatchResult matchResult, MarketResult marketResult) {
+        appendMarket('-', matchResult, marketResult);
+    }
+
+    @Override
+    public void visitAddedRunner(MarketResult marketResult, RunnerResult runnerResult) {
+        buffer.append("+ ").append(marketResult.market().name()).append(": ")
+                .append(runnerResult.runner().name()).append(", ");
+        Price.appendTo(buffer, runnerResult.runner().price())
+                .append(", ").append(runnerResult.runner().id());
+        lines.endLine();
+    }
+
+    @Override
+    public void visitRemovedRunner(MarketResult marketResult, RunnerResult runnerResult) {
+        buffer.append("- ").append(marketResult.market().name()).append(": ")
+                .append(runnerResult.runner().name()).append(", ").append(runnerResult.runner().id());
+        lines.endLine();
+    }
+
+    @Override
+    public void visitChangedPrice(MatchResult matchResult, MarketResult marketResult, RunnerResult previous, RunnerResult current) {
+        buffer.append("~ ").append(matchResult.event().name()).append(": ").append(marketResult.market().name())
+                .append(": ").append(current.runner().name()).append(", ");
+        Price.appendTo(buffer, previous.runner().price()).append(" -> ");
+        Price.appendTo(buffer, current.runner().price()).append(", ").append(current.runner().id());
+        lines.endLine();
+    }
+
+    /**
+     * Writes the buffered changes to the target writer and flushes it.
+     *
+     * @throws IOException if the target writer fails
+     */
+    @Override
+    public void flush() throws IOException {
+        lines.flush();
+    }
+
+    private void appendMatch(char sign, LeagueResult leagueResult, MatchResult matchResult) {
+        buffer.append(sign).append(' ').append(leagueResult.sportName()).append(", ")
+                .append(leagueResult.league().name()).append(": ").append(matchResult.event().name())
+                .append(", ").append(matchResult.event().id());
+        lines.endLine();
+    }
+
+    private void appendMarket(char sign, MatchResult matchResult, MarketResult marketResult) {
+        buffer.append(sign).append(' ').append(matchResult.event().name()).append(": ")
+                .append(marketResult.market().name());
+        lines.endLine();
+    }
+}
@@ -0,0 +1,23 @@
+package com.zemnitskiy.visitor;
+
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RunnerResult;
+
+/**
+ * Receives the changes between two consecutive snapshots of the result tree.
+ *
+ * <p>Matches are identified by {@code Event.id()}, markets by {@code Market.id()} and runners by
+ * {@code Runner.id()}. Additions carry the parent from the current snapshot, removals the parent
+ * from the previous one.</p>
+ */
+public interface ResultDiffVisitor {
+    void visitAddedMatch(LeagueResult leagueResult, MatchResult matchResult);
+    void visitRemovedMatch(LeagueResult leagueResult, MatchResult matchResult);
+    void visitAddedMarket(MatchResult matchResult, MarketResult marketResult);
+    void visitRemovedMarket(MatchResult matchResult, MarketResult marketResult);
+    void visitAddedRunner(MarketResult marketResult, RunnerResult runnerResult);
+    void visitRemovedRunner(MarketResult marketResult, RunnerResult runnerResult);
+    void visitChangedPrice(MatchResult matchResult, MarketResult marketResult, RunnerResult previous, RunnerResult current);
+}
@@ -1,17 +1,58 @@
 package com.zemnitskiy.visitor;
 
+import com.zemnitskiy.model.basemodel.Price;
 import com.zemnitskiy.model.result.LeagueResult;
 import com.zemnitskiy.model.result.MarketResult;
 import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.ResultStatus;
 import com.zemnitskiy.model.result.RootResult;
 import com.zemnitskiy.model.result.RunnerResult;
 
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
-public class ResultPrinter implements ResultVisitor {
+/**
+ * The {@code ResultPrinter} class prints a result tree as indented text.
+ *
+ * <p>Lines are appended to a reusable buffer that is written to the target {@link Writer} in blocks of
+ * about {@value #FLUSH_THRESHOLD} characters, so printing a large tree costs a few large writes instead
+ * of one console write per runner. The tail of the output stays in the buffer until {@link #flush()} is
+ * called, which callers must do once they have finished visiting.</p>
+ *
+ * <p>A league or match of a partial tree whose request failed or timed out is printed with a
+ * {@code (failed)} or {@code (timed out)} marker.</p>
+ */
+public class ResultPrinter implements ResultVisitor, Flushable {
+
+    static final int FLUSH_THRESHOLD = LineBuffer.FLUSH_THRESHOLD;
+
+    private static final DateTimeFormatter KICKOFF_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    private final LineBuffer lines;
+    private final StringBuilder buffer;
+
+    /**
+     * Constructs a new {@code ResultPrinter} writing to {@link System#out}.
+     */
+    public ResultPrinter() {
+        this(new OutputStreamWriter(System.out, System.out.charset()));
+    }
+
+    /**
+     * Constructs a new {@code ResultPrinter} writing to the given {@link Writer}.
+     *
+     * @param out the writer receiving the printed text
+     */
+    public ResultPrinter(Writer out) {
+        this.lines = new LineBuffer(out);
+        this.buffer = lines.text();
+    }
 
     @Override
     public void visitRoot(RootResult rootResult) {
@@ -20,30 +61,56 @@ public class ResultPrinter implements ResultVisitor {
 
     @Override
     public void visitLeague(LeagueResult leagueResult) {
-        System.out.printf("%s, %s%n", leagueResult.sportName(), leagueResult.league().name());
+        buffer.append(leagueResult.sportName()).append(", ").append(leagueResult.league().name());
+        appendStatus(leagueResult.status());
+        endLine();
     }
 
     @Override
     public void visitMatch(MatchResult matchResult) {
-        LocalDateTime kickoffTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(matchResult.event().kickoff()), ZoneId.systemDefault());
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        System.out.println("\t" + String.format("%s %s, %d",
-                matchResult.event().name(),
-                kickoffTime.format(formatter) + " UTC",
-                matchResult.event().id()));
+        buffer.append('\t').append(matchResult.event().name()).append(' ');
+        KICKOFF_FORMATTER.formatTo(Instant.ofEpochMilli(matchResult.event().kickoff()), buffer);
+        buffer.append(" UTC, ").append(matchResult.event().id());
+        appendStatus(matchResult.status());
+        endLine();
     }
 
     @Override
     public void visitMarket(MarketResult marketResult) {
-        System.out.println("\t\t" + marketResult.market().name());
+        buffer.append("\t\t").append(marketResult.market().name());
+        endLine();
     }
 
     @Override
     public void visitRunner(RunnerResult runnerResult) {
-        System.out.println("\t\t\t" + String.format("%s, %s, %d",
-                runnerResult.runner().name(),
-                runnerResult.runner().priceStr(),
-                runnerResult.runner().id()
-        ));
+        buffer.append("\t\t\t").append(runnerResult.runner().name())
+                .append(", ");
+        Price.appendTo(buffer, runnerResult.runner().price())
+                .append(", ").append(runnerResult.runner().id());
+        endLine();
+    }
+
+    /**
+     * Writes the buffered text to the target writer and flushes it.
+     *
+     * @throws IOException if the target writer fails
+     */
+    @Override
+    public void flush() throws IOException {
+        lines.flush();
+    }
+
+    private void appendStatus(ResultStatus status) {
+        switch (status) {
+            case FAILED -> buffer.append(" (failed)");
+            case TIMED_OUT -> buffer.append(" (timed out)");
+            case COMPLETE -> {
+                // printed without a marker
+            }
+        }
+    }
+
+    private void endLine() {
+        lines.endLine();
     }
 }
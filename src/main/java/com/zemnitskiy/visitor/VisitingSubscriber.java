@@ -0,0 +1,73 @@
+package com.zemnitskiy.visitor;
+
+import com.zemnitskiy.model.result.LeagueResult;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link Flow.Subscriber} that passes every received league to a {@link ResultVisitor}.
+ *
+ * <p>Leagues are requested one at a time, so the visitor is never called concurrently and the publisher
+ * is never asked for more than the visitor can take. If the visitor is {@link Flushable}, it is flushed
+ * after each league, so streamed output shows up as soon as the league arrives. A visitor failure
+ * cancels the subscription and fails {@link #completion()}.</p>
+ */
+public class VisitingSubscriber implements Flow.Subscriber<LeagueResult> {
+
+    private final ResultVisitor visitor;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+
+    /**
+     * Constructs a new {@code VisitingSubscriber}.
+     *
+     * @param visitor the visitor receiving every league
+     */
+    public VisitingSubscriber(ResultVisitor visitor) {
+        this.visitor = visitor;
+    }
+
+    /**
+     * Returns a future that completes when the stream ends.
+     *
+     * @return a {@link CompletableFuture} completing normally when every league was visited, or
+     *         exceptionally when the stream or the visitor failed
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(LeagueResult leagueResult) {
+        try {
+            leagueResult.accept(visitor);
+            if (visitor instanceof Flushable flushable) {
+                flushable.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            subscription.cancel();
+            completion.completeExceptionally(e);
+            return;
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        completion.complete(null);
+    }
+}
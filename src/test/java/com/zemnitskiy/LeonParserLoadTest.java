@@ -2,7 +2,9 @@ package com.zemnitskiy;
 
 import com.zemnitskiy.api.LeonApiClient;
 import com.zemnitskiy.parser.LeonParser;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 
 import java.net.http.HttpClient;
 import java.util.concurrent.ExecutorService;
@@ -11,6 +13,13 @@ import java.util.concurrent.Executors;
 import static com.zemnitskiy.Main.BASE_URL;
 import static org.junit.jupiter.api.Assertions.*;
 
+/**
+ * Times {@link LeonParser#processData()} against the live API at {@link Main#BASE_URL}.
+ * It needs network access, so it runs only with {@code -Dleon.live=true}; {@code StubServerLoadTest}
+ * measures the same pipeline offline.
+ */
+@Tag("load")
+@EnabledIfSystemProperty(named = "leon.live", matches = "true")
 class LeonParserLoadTest {
 
     @Test
@@ -0,0 +1,174 @@
+package com.zemnitskiy.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link AdaptiveLimiter} class.
+ */
+class AdaptiveLimiterTest {
+
+    @Test
+    void testSubmit_QueuesCallsAboveTheLimit() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10, 0.5, 2.0);
+        List<CompletableFuture<String>> sources = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            limiter.submit("Football", () -> {
+                CompletableFuture<String> source = new CompletableFuture<>();
+                sources.add(source);
+                return source;
+            });
+        }
+
+        // Assert
+        assertEquals(2, sources.size(), "Only the limit's worth of calls should start");
+        assertEquals(new AdaptiveLimiter.Stats(2, 2, 3, 0), limiter.stats(), "Excess calls should be queued");
+
+        sources.getFirst().complete("done");
+        assertEquals(3, sources.size(), "A completed call should release a permit to the queue");
+    }
+
+    @Test
+    void testSubmit_ServesLanesRoundRobin() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, 0.5, 2.0);
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        List<String> started = new ArrayList<>();
+        limiter.submit("Football", () -> blocker);
+        for (int i = 0; i < 3; i++) {
+            int index = i;
+            limiter.submit("Football", () -> {
+                started.add("Football" + index);
+                return CompletableFuture.completedFuture("ok");
+            });
+        }
+        limiter.submit("Tennis", () -> {
+            started.add("Tennis");
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        // Act
+        blocker.complete("done");
+
+        // Assert
+        assertEquals(List.of("Football0", "Tennis", "Football1", "Football2"), started,
+                "Lanes should take turns instead of draining one lane first");
+    }
+
+    @Test
+    void testSubmit_OverloadDecreasesLimit() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 10, 0.5, 2.0);
+
+        // Act
+        limiter.submit("Football", () -> CompletableFuture.failedFuture(new ApiResponseException(429)));
+
+        // Assert
+        assertEquals(4, limiter.stats().limit(), "A 429 should halve the limit");
+        assertEquals(1, limiter.stats().decreases(), "The decrease should be counted");
+    }
+
+    @Test
+    void testSubmit_IoErrorDecreasesLimitButClientErrorDoesNot() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 10, 0.5, 2.0);
+
+        // Act
+        limiter.submit("Football", () -> CompletableFuture.failedFuture(new ApiResponseException(404)));
+        int afterClientError = limiter.stats().limit();
+        limiter.submit("Football", () -> CompletableFuture.failedFuture(new IOException("timeout")));
+
+        // Assert
+        assertEquals(8, afterClientError, "A 404 is not a sign of overload");
+        assertEquals(4, limiter.stats().limit(), "An I/O error should halve the limit");
+    }
+
+    @Test
+    void testSubmit_SuccessesGrowLimitWhileItIsUsed() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10, 0.5, 1000.0);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            CompletableFuture<String> first = new CompletableFuture<>();
+            CompletableFuture<String> second = new CompletableFuture<>();
+            limiter.submit("Football", () -> first);
+            limiter.submit("Football", () -> second);
+            first.complete("ok");
+            second.complete("ok");
+        }
+
+        // Assert
+        assertTrue(limiter.stats().limit() > 2, "Fast successes at the limit should grow it");
+        assertTrue(limiter.stats().limit() <= 10, "The limit should not exceed the maximum");
+    }
+
+    @Test
+    void testSubmit_RisingLatencyDecreasesLimitWithoutErrors() throws InterruptedException {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 10, 0.5, 2.0);
+        for (int i = 0; i < 20; i++) {
+            limiter.submit("Football", () -> CompletableFuture.completedFuture("fast"));
+        }
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        CompletableFuture<String> result = limiter.submit("Football", () -> slow);
+
+        // Act
+        Thread.sleep(20);
+        slow.complete("slow");
+
+        // Assert
+        assertEquals("slow", result.join(), "The slow call should still succeed");
+        assertEquals(4, limiter.stats().limit(), "A call far slower than the baseline should halve the limit");
+        assertEquals(1, limiter.stats().decreases(), "The decrease should be counted");
+    }
+
+    @Test
+    void testSubmit_ManySynchronousCallsDoNotOverflowTheStack() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, 0.5, 1000.0);
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        limiter.submit("Football", () -> blocker);
+        List<CompletableFuture<String>> queued = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            queued.add(limiter.submit("Football", () -> CompletableFuture.completedFuture("ok")));
+        }
+
+        // Act
+        blocker.complete("done");
+
+        // Assert
+        assertTrue(queued.stream().allMatch(CompletableFuture::isDone), "Every queued call should run");
+        assertEquals(new AdaptiveLimiter.Stats(1, 0, 0, 0), limiter.stats(), "Nothing should be left queued");
+    }
+
+    @Test
+    void testSubmit_CancellingQueuedCallRemovesIt() {
+        // Arrange
+        AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1, 0.5, 2.0);
+        CompletableFuture<String> blocker = new CompletableFuture<>();
+        limiter.submit("Football", () -> blocker);
+        List<String> started = new ArrayList<>();
+        CompletableFuture<String> queued = limiter.submit("Football", () -> {
+            started.add("queued");
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        // Act
+        queued.cancel(true);
+        blocker.complete("done");
+
+        // Assert
+        assertTrue(started.isEmpty(), "A cancelled queued call should never start");
+        assertEquals(0, limiter.stats().queueDepth(), "A cancelled call should leave the queue");
+    }
+}
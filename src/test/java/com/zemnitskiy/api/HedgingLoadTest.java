@@ -0,0 +1,76 @@
+package com.zemnitskiy.api;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the latency percentiles of calls with and without a {@link RequestHedger}, when a small
+ * fraction of the calls is much slower than the rest, and reports the extra load the hedges cost.
+ */
+@Tag("load")
+class HedgingLoadTest {
+
+    private static final int WAVES = 30;
+    private static final int CALLS_PER_WAVE = 40;
+    private static final long FAST_LATENCY_MILLIS = 5;
+    private static final long SLOW_LATENCY_MILLIS = 200;
+    private static final double SLOW_FRACTION = 0.02;
+    private static final double PERCENTILE = 0.95;
+    private static final double BUDGET = 0.05;
+
+    @Test
+    void testHedgingCutsTailLatencyWithinBudget() {
+        long[] plain = run(null, new Random(42));
+        RequestHedger hedger = new RequestHedger(PERCENTILE, BUDGET);
+        long[] hedged = run(hedger, new Random(42));
+        RequestHedger.Stats stats = hedger.stats();
+
+        System.out.printf("Without hedging: p50 %d ms, p99 %d ms, max %d ms%n",
+                percentile(plain, 0.5), percentile(plain, 0.99), plain[plain.length - 1]);
+        System.out.printf("With hedging:    p50 %d ms, p99 %d ms, max %d ms%n",
+                percentile(hedged, 0.5), percentile(hedged, 0.99), hedged[hedged.length - 1]);
+        System.out.printf("Hedges: %d of %d calls (%.1f%%), %d won, %d denied, delay %d ms%n",
+                stats.hedges(), stats.calls(), stats.hedges() * 100.0 / stats.calls(), stats.wins(), stats.denied(),
+                TimeUnit.NANOSECONDS.toMillis(stats.delayNanos()));
+
+        assertTrue(percentile(hedged, 0.99) * 2 < percentile(plain, 0.99), "Hedging should cut the p99 latency");
+        assertTrue(stats.hedges() <= stats.calls() * BUDGET + 10, "Hedges should stay within the budget and its burst");
+    }
+
+    private static long[] run(RequestHedger hedger, Random random) {
+        List<Long> latencies = new ArrayList<>();
+        for (int wave = 0; wave < WAVES; wave++) {
+            List<CompletableFuture<Long>> calls = new ArrayList<>();
+            for (int i = 0; i < CALLS_PER_WAVE; i++) {
+                long firstLatency = random.nextDouble() < SLOW_FRACTION ? SLOW_LATENCY_MILLIS : FAST_LATENCY_MILLIS;
+                int[] copies = {0};
+                Supplier<CompletableFuture<String>> call = () -> simulated(copies[0]++ == 0 ? firstLatency : FAST_LATENCY_MILLIS);
+                long start = System.nanoTime();
+                CompletableFuture<String> result = hedger == null ? call.get() : hedger.submit(call);
+                calls.add(result.thenApply(value -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            }
+            calls.forEach(latency -> latencies.add(latency.join()));
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static CompletableFuture<String> simulated(long latencyMillis) {
+        return CompletableFuture.supplyAsync(() -> "event", CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+    }
+}
@@ -0,0 +1,373 @@
+package com.zemnitskiy.api;
+
+import com.sun.net.httpserver.HttpServer;
+import com.zemnitskiy.metrics.Gauge;
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Sport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the {@link LeonApiClient} class against an in-process HTTP server.
+ */
+class LeonApiClientTest {
+
+    private static final String SPORTS_JSON = "[{\"id\":1,\"name\":\"Football\",\"regions\":[]}]";
+    private static final String ETAG = "\"v1\"";
+    private static final List<String> ENCODINGS = List.of("gzip", "deflate", "raw", "identity");
+
+    private HttpServer server;
+    private ExecutorService executorService;
+    private ExecutorService serverExecutor;
+    private HttpClient httpClient;
+    private final AtomicInteger fullResponses = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final AtomicReference<String> acceptedEncodings = new AtomicReference<>();
+    private final AtomicInteger headRequests = new AtomicInteger();
+    private final CountDownLatch slowResponse = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/betline/sports", exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            fullResponses.incrementAndGet();
+            byte[] body = SPORTS_JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/betline/event/all", exchange -> {
+            acceptedEncodings.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            String query = exchange.getRequestURI().getQuery();
+            int eventId = Integer.parseInt(query.substring(query.indexOf("eventId=") + "eventId=".length(), query.indexOf('&')));
+            String encoding = ENCODINGS.get(eventId - 1);
+            byte[] body = encode(eventJson().getBytes(StandardCharsets.UTF_8), encoding);
+            if (!encoding.equals("identity")) {
+                exchange.getResponseHeaders().add("Content-Encoding", encoding.equals("raw") ? "deflate" : encoding);
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/betline/events/all", exchange -> {
+            try {
+                slowResponse.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/", exchange -> {
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                headRequests.incrementAndGet();
+            }
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        executorService = Executors.newFixedThreadPool(2);
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slowResponse.countDown();
+        httpClient.close();
+        executorService.close();
+        server.stop(0);
+        serverExecutor.close();
+    }
+
+    @Test
+    void testFetchBaseInformation_FreshCacheSkipsRequest() {
+        // Arrange
+        LeonApiClient apiClient = client(ApiClientOptions.DEFAULT.withSportsTtl(Duration.ofMinutes(10)));
+
+        // Act
+        List<Sport> first = apiClient.fetchBaseInformation().join();
+        List<Sport> second = apiClient.fetchBaseInformation().join();
+
+        // Assert
+        assertEquals("Football", first.getFirst().name(), "Sports should be decoded");
+        assertSame(first, second, "Cached hit should return the decoded catalog");
+        assertEquals(1, fullResponses.get(), "Only one request should reach the server");
+        assertEquals(1, apiClient.sportsCacheStats().hits(), "Cache hit should be counted");
+    }
+
+    @Test
+    void testFetchBaseInformation_StaleCacheIsRevalidated() {
+        // Arrange
+        LeonApiClient apiClient = client(ApiClientOptions.DEFAULT.withSportsTtl(Duration.ZERO));
+
+        // Act
+        List<Sport> first = apiClient.fetchBaseInformation().join();
+        List<Sport> second = apiClient.fetchBaseInformation().join();
+
+        // Assert
+        assertSame(first, second, "Revalidated catalog should be reused without decoding");
+        assertEquals(1, fullResponses.get(), "Only the first request should get a full response");
+        assertEquals(1, notModifiedResponses.get(), "Second request should be answered with 304");
+        assertEquals(1, apiClient.sportsCacheStats().revalidations(), "Revalidation should be counted");
+    }
+
+    @Test
+    void testFetchBaseInformation_RecordsEndpointMetrics() {
+        // Arrange
+        MetricsRegistry metrics = MetricsRegistry.create();
+        String baseUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+        LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, baseUrl, ApiClientOptions.DEFAULT, metrics);
+
+        // Act
+        apiClient.fetchBaseInformation().join();
+
+        // Assert
+        assertEquals(1, metrics.counter("api.sports.requests").count(), "The request should be counted");
+        assertEquals(SPORTS_JSON.length(), metrics.counter("api.sports.bytes").count(), "Body bytes should be counted");
+        assertEquals(1, metrics.histogram("api.sports.ttfb").snapshot().count(), "Time to first byte should be recorded");
+        assertEquals(1, metrics.histogram("api.sports.network").snapshot().count(), "Network time should be recorded");
+        assertTrue(metrics.histogram("api.sports.network").snapshot().maxNanos()
+                >= metrics.histogram("api.sports.ttfb").snapshot().maxNanos(), "Network time should include the first byte");
+        assertEquals(1, metrics.histogram("api.sports.queue_wait").snapshot().count(), "Queue wait should be recorded");
+        assertEquals(1, metrics.histogram("api.sports.decode").snapshot().count(), "Decode time should be recorded");
+        assertEquals(0, metrics.counter("api.sports.errors").count(), "No error should be counted");
+        assertTrue(metrics.metrics().containsKey("api.in_flight"), "In-flight requests should be exposed as a gauge");
+        assertEquals(1, ((Gauge) metrics.metrics().get("api.sports.cache_misses")).value(),
+                "The cache miss should be exposed as a gauge");
+        assertEquals(0, ((Gauge) metrics.metrics().get("api.sports.cache_evictions")).value(),
+                "Cache evictions should be exposed as a gauge");
+        assertTrue(metrics.metrics().containsKey("api.name_pool.hit_percent"), "The name pool hit rate should be exposed as a gauge");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "deflate", "raw", "identity"})
+    void testFetchEventDetails_DecodesCompressedBody(String encoding) {
+        // Arrange
+        MetricsRegistry metrics = MetricsRegistry.create();
+        String baseUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+        LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, baseUrl, ApiClientOptions.DEFAULT, metrics);
+        long eventId = ENCODINGS.indexOf(encoding) + 1;
+
+        // Act
+        Event event = apiClient.fetchEventDetails(eventId).join();
+
+        // Assert
+        assertEquals("gzip, deflate", acceptedEncodings.get(), "Compressed encodings should be offered");
+        assertEquals(40, event.markets().size(), "The body should be decoded whatever its encoding");
+        long wire = metrics.counter("api.event_details.bytes").count();
+        long decoded = metrics.counter("api.event_details.decoded_bytes").count();
+        assertEquals(eventJson().length(), decoded, "Decoded bytes should match the JSON size");
+        if (encoding.equals("identity")) {
+            assertEquals(decoded, wire, "An uncompressed body should be counted once");
+            assertEquals(0, metrics.histogram("api.event_details.decompress").snapshot().count(), "Nothing should be inflated");
+        } else {
+            assertTrue(wire < decoded / 5, "Repetitive JSON should compress well over the wire");
+            assertEquals(decoded - wire, metrics.counter("api.event_details.bytes_saved").count(), "Saved bytes should be counted");
+            assertEquals(1, metrics.histogram("api.event_details.decompress").snapshot().count(), "Inflating should be timed");
+        }
+    }
+
+    @Test
+    void testFetchEventDetails_HedgingExposesHedgerMetrics() {
+        // Arrange
+        MetricsRegistry metrics = MetricsRegistry.create();
+        String baseUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+        LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, baseUrl,
+                ApiClientOptions.DEFAULT.withHedging(0.95, 0.05), metrics);
+
+        // Act
+        Event event = apiClient.fetchEventDetails(ENCODINGS.indexOf("identity") + 1).join();
+
+        // Assert
+        assertEquals(40, event.markets().size(), "The hedged request should be decoded");
+        assertEquals(1, apiClient.eventHedgerStats().calls(), "The request should pass through the hedger");
+        assertTrue(metrics.metrics().containsKey("api.event_details.hedge_win_percent"), "Hedge wins should be exposed as a gauge");
+        assertNull(client(ApiClientOptions.DEFAULT).eventHedgerStats(), "Hedging should be disabled by default");
+    }
+
+    @Test
+    void testWarmUp_SendsHeadRequestPerConnection() {
+        // Arrange
+        LeonApiClient apiClient = client(ApiClientOptions.DEFAULT);
+
+        // Act
+        apiClient.warmUp(3).join();
+
+        // Assert
+        assertEquals(3, headRequests.get(), "A HEAD request should be sent per connection");
+        assertEquals(0, fullResponses.get(), "Warm-up should not fetch any endpoint");
+    }
+
+    @Test
+    void testWarmUp_IgnoresUnreachableServer() {
+        // Arrange
+        LeonApiClient apiClient = client(ApiClientOptions.DEFAULT);
+        server.stop(0);
+
+        // Act & Assert
+        assertDoesNotThrow(() -> apiClient.warmUp(2).join(), "A failed warm-up should not fail the caller");
+    }
+
+    @Test
+    void testFetchEventsForLeague_TimesOut() {
+        // Arrange
+        MetricsRegistry metrics = MetricsRegistry.create();
+        String baseUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+        LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, baseUrl,
+                ApiClientOptions.DEFAULT.withRequestTimeout(Duration.ofMillis(100)), metrics);
+        League league = new League(7, "Premier League", 0, false, 0, List.of());
+
+        // Act
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> apiClient.fetchEventsForLeague(league).join(), "A slow response should time out");
+
+        // Assert
+        assertInstanceOf(HttpTimeoutException.class, exception.getCause(), "The timeout should be reported as such");
+        assertEquals(1, metrics.counter("api.league_events.errors").count(), "The timeout should be counted as an error");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFetchEventDetails_CancelBeforeDecodeClosesBody() throws InterruptedException {
+        // Arrange
+        AtomicInteger closedBodies = new AtomicInteger();
+        InputStream body = new ByteArrayInputStream(eventJson().getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closedBodies.incrementAndGet();
+            }
+        };
+        HttpResponse<InputStream> response = mock(HttpResponse.class);
+        when(response.body()).thenReturn(body);
+        HttpClient headersOnlyClient = mock(HttpClient.class);
+        when(headersOnlyClient.sendAsync(any(), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+        CountDownLatch decoderBusy = new CountDownLatch(1);
+        try (ExecutorService decoder = Executors.newSingleThreadExecutor()) {
+            decoder.execute(() -> {
+                try {
+                    decoderBusy.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            LeonApiClient apiClient = new LeonApiClient(headersOnlyClient, decoder, "http://localhost/");
+
+            // Act
+            CompletableFuture<Event> event = apiClient.fetchEventDetails(1);
+            event.cancel(true);
+            decoderBusy.countDown();
+        }
+
+        // Assert
+        assertEquals(1, closedBodies.get(), "The body of a request cancelled before decoding should be closed");
+    }
+
+    @Test
+    void testFetchEventDetails_CorruptGzipHeaderClosesBody() {
+        // Arrange
+        AtomicInteger openedBodies = new AtomicInteger();
+        AtomicInteger closedBodies = new AtomicInteger();
+        HttpResponse<InputStream> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(response.headers()).thenReturn(HttpHeaders.of(Map.of("Content-Encoding", List.of("gzip")), (name, value) -> true));
+        when(response.body()).thenAnswer(invocation -> {
+            openedBodies.incrementAndGet();
+            return new ByteArrayInputStream("not gzip".getBytes(StandardCharsets.UTF_8)) {
+                @Override
+                public void close() {
+                    closedBodies.incrementAndGet();
+                }
+            };
+        });
+        HttpClient corruptClient = mock(HttpClient.class);
+        when(corruptClient.sendAsync(any(), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+        LeonApiClient apiClient = new LeonApiClient(corruptClient, executorService, "http://localhost/");
+
+        // Act
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> apiClient.fetchEventDetails(1).join());
+
+        // Assert
+        assertInstanceOf(UncheckedIOException.class, exception.getCause(), "The corrupt header should fail the read");
+        assertTrue(openedBodies.get() > 0, "The body should have been read");
+        assertEquals(openedBodies.get(), closedBodies.get(), "Every body with a corrupt gzip header should be closed");
+    }
+
+    private static String eventJson() {
+        StringBuilder json = new StringBuilder("{\"id\":1,\"name\":\"Team A - Team B\",\"kickoff\":0,\"markets\":[");
+        for (int m = 0; m < 40; m++) {
+            json.append(m == 0 ? "" : ",").append("{\"id\":").append(m).append(",\"name\":\"Winner\",\"runners\":[")
+                    .append("{\"id\":1,\"name\":\"Home\",\"priceStr\":\"1.85\"},")
+                    .append("{\"id\":2,\"name\":\"Away\",\"priceStr\":\"2.10\"}]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static byte[] encode(byte[] body, String encoding) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream encoder = switch (encoding) {
+            case "gzip" -> new GZIPOutputStream(out);
+            case "deflate" -> new DeflaterOutputStream(out);
+            case "raw" -> new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+            default -> out;
+        }) {
+            encoder.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private LeonApiClient client(ApiClientOptions options) {
+        String baseUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+        return new LeonApiClient(httpClient, executorService, baseUrl, options);
+    }
+}
@@ -0,0 +1,109 @@
+package com.zemnitskiy.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RequestHedger} class.
+ */
+class RequestHedgerTest {
+
+    @Test
+    void testSubmit_DoesNotHedgeBeforeEnoughSamples() {
+        // Arrange
+        RequestHedger hedger = new RequestHedger(0.5, 1.0);
+        List<CompletableFuture<String>> copies = new ArrayList<>();
+
+        // Act
+        CompletableFuture<String> result = hedger.submit(() -> {
+            CompletableFuture<String> copy = new CompletableFuture<>();
+            copies.add(copy);
+            return copy;
+        });
+
+        // Assert
+        assertSame(copies.getFirst(), result, "Without a hedge delay the call should not be wrapped");
+        assertEquals(0, hedger.stats().delayNanos(), "No delay should be known yet");
+    }
+
+    @Test
+    void testSubmit_HedgeWinsAndCancelsSlowCopy() {
+        // Arrange
+        RequestHedger hedger = warmedUp(1.0);
+        List<CompletableFuture<String>> copies = new ArrayList<>();
+
+        // Act
+        CompletableFuture<String> result = hedger.submit(() -> {
+            CompletableFuture<String> copy = copies.isEmpty()
+                    ? new CompletableFuture<>()
+                    : CompletableFuture.completedFuture("hedge");
+            copies.add(copy);
+            return copy;
+        });
+
+        // Assert
+        assertEquals("hedge", result.join(), "The hedge should answer the call");
+        assertEquals(2, copies.size(), "A second copy should be sent");
+        assertTrue(copies.getFirst().isCancelled(), "The slow copy should be cancelled");
+        assertEquals(1, hedger.stats().hedges(), "The hedge should be counted");
+        assertEquals(1, hedger.stats().wins(), "The hedge win should be counted");
+    }
+
+    @Test
+    void testSubmit_BudgetDeniesHedges() {
+        // Arrange
+        RequestHedger hedger = warmedUp(0.0);
+        CompletableFuture<String> slow = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> result = hedger.submit(() -> slow);
+        while (hedger.stats().denied() == 0) {
+            Thread.onSpinWait();
+        }
+        slow.complete("slow");
+
+        // Assert
+        assertEquals("slow", result.join(), "The call should still be answered by its only copy");
+        assertEquals(0, hedger.stats().hedges(), "No hedge should be sent without budget");
+        assertEquals(1, hedger.stats().denied(), "The denied hedge should be counted");
+    }
+
+    @Test
+    void testSubmit_FailsOnlyWhenEveryCopyFailed() {
+        // Arrange
+        RequestHedger hedger = warmedUp(1.0);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> hedge = new CompletableFuture<>();
+        List<CompletableFuture<String>> copies = List.of(first, hedge);
+        int[] started = {0};
+
+        // Act
+        CompletableFuture<String> result = hedger.submit(() -> copies.get(started[0]++));
+        while (hedge.getNumberOfDependents() == 0) {
+            Thread.onSpinWait();
+        }
+        first.completeExceptionally(new ApiResponseException(503));
+        boolean doneAfterFirstFailure = result.isDone();
+        hedge.completeExceptionally(new ApiResponseException(503));
+
+        // Assert
+        assertFalse(doneAfterFirstFailure, "The call should wait for the hedge after the first copy failed");
+        CompletionException failure = assertThrows(CompletionException.class, result::join, "The call should fail");
+        assertInstanceOf(ApiResponseException.class, failure.getCause(), "The failure of the last copy should be kept");
+    }
+
+    private static RequestHedger warmedUp(double budget) {
+        RequestHedger hedger = new RequestHedger(0.5, budget);
+        for (int i = 0; i < RequestHedger.MIN_SAMPLES; i++) {
+            hedger.submit(() -> CompletableFuture.completedFuture("warm-up")).join();
+        }
+        assertTrue(hedger.stats().delayNanos() > 0, "Warm-up calls should set a hedge delay");
+        return hedger;
+    }
+}
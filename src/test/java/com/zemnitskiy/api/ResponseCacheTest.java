@@ -0,0 +1,110 @@
+package com.zemnitskiy.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ResponseCache} class.
+ */
+class ResponseCacheTest {
+
+    private static final Instant START = Instant.ofEpochMilli(1_700_000_000_000L);
+
+    @Test
+    void testTryHit_FreshEntryIsServed() {
+        // Arrange
+        ResponseCache<String, String> cache = new ResponseCache<>(Duration.ofMinutes(1), 10, Clock.fixed(START, ZoneOffset.UTC));
+        boolean servedBeforeFetch = cache.tryHit(cache.get("sports"));
+        cache.put("sports", "catalog", null, null);
+
+        // Act
+        ResponseCache.Entry<String> entry = cache.get("sports");
+
+        // Assert
+        assertFalse(servedBeforeFetch, "An empty cache should not serve the entry");
+        assertTrue(cache.tryHit(entry), "Fresh entry should be served");
+        assertEquals("catalog", entry.value(), "Cached value should be returned");
+        assertEquals(new ResponseCache.CacheStats(1, 1, 1, 0, 0), cache.stats(), "One miss and one hit should be counted");
+    }
+
+    @Test
+    void testTryHit_CountsMissWhenFetchNeverStoresAValue() {
+        // Arrange
+        ResponseCache<String, String> cache = new ResponseCache<>(Duration.ofMinutes(1), 10, Clock.fixed(START, ZoneOffset.UTC));
+
+        // Act
+        boolean served = cache.tryHit(cache.get("sports"));
+
+        // Assert
+        assertFalse(served, "An empty cache should not serve the entry");
+        assertEquals(new ResponseCache.CacheStats(0, 0, 1, 0, 0), cache.stats(),
+                "The lookup should count as a miss even if the fetch then fails");
+    }
+
+    @Test
+    void testTryHit_ExpiredEntryIsNotServed() {
+        // Arrange
+        ResponseCache<String, String> writer = new ResponseCache<>(Duration.ofMinutes(1), 10, Clock.fixed(START, ZoneOffset.UTC));
+        writer.put("sports", "catalog", "\"v1\"", null);
+        ResponseCache.Entry<String> entry = writer.get("sports");
+        ResponseCache<String, String> later = new ResponseCache<>(Duration.ofMinutes(1), 10,
+                Clock.fixed(START.plus(Duration.ofMinutes(2)), ZoneOffset.UTC));
+
+        // Act & Assert
+        assertFalse(later.tryHit(entry), "Expired entry should be revalidated");
+    }
+
+    @Test
+    void testPut_ZeroTtlKeepsOnlyEntriesWithValidators() {
+        // Arrange
+        ResponseCache<String, String> cache = new ResponseCache<>(Duration.ZERO, 10, Clock.fixed(START, ZoneOffset.UTC));
+
+        // Act
+        cache.put("plain", "value", null, null);
+        cache.put("tagged", "value", "\"v1\"", null);
+
+        // Assert
+        assertNull(cache.get("plain"), "Entry without validators cannot be revalidated and should not be kept");
+        assertNotNull(cache.get("tagged"), "Entry with validators should be kept for revalidation");
+        assertFalse(cache.tryHit(cache.get("tagged")), "Zero TTL should always revalidate");
+    }
+
+    @Test
+    void testRevalidated_RenewsEntry() {
+        // Arrange
+        ResponseCache<String, String> cache = new ResponseCache<>(Duration.ofMinutes(1), 10, Clock.fixed(START, ZoneOffset.UTC));
+        ResponseCache.Entry<String> stale = new ResponseCache.Entry<>("catalog", "\"v1\"", null, 0L);
+
+        // Act
+        cache.revalidated("sports", stale);
+
+        // Assert
+        ResponseCache.Entry<String> renewed = cache.get("sports");
+        assertEquals(START.toEpochMilli(), renewed.storedAt(), "Revalidated entry should be renewed");
+        assertEquals("\"v1\"", renewed.etag(), "Validators should be kept");
+        assertEquals(1, cache.stats().revalidations(), "Revalidation should be counted");
+    }
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsedEntry() {
+        // Arrange
+        ResponseCache<String, String> cache = new ResponseCache<>(Duration.ofMinutes(1), 2, Clock.fixed(START, ZoneOffset.UTC));
+        cache.put("a", "1", null, null);
+        cache.put("b", "2", null, null);
+        cache.get("a");
+
+        // Act
+        cache.put("c", "3", null, null);
+
+        // Assert
+        assertNotNull(cache.get("a"), "Recently used entry should be kept");
+        assertNull(cache.get("b"), "Least recently used entry should be evicted");
+        assertEquals(1, cache.stats().evictions(), "Eviction should be counted");
+    }
+}
@@ -0,0 +1,123 @@
+package com.zemnitskiy.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SingleFlight} class.
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void testExecute_ConcurrentCallersShareOneCall() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> first = singleFlight.execute(1L, () -> {
+            calls.incrementAndGet();
+            return source;
+        });
+        CompletableFuture<String> second = singleFlight.execute(1L, () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        source.complete("result");
+
+        // Assert
+        assertEquals(1, calls.get(), "Only one call should be started");
+        assertEquals("result", first.join(), "First caller should get the shared result");
+        assertEquals("result", second.join(), "Second caller should get the shared result");
+        assertEquals(1, singleFlight.coalescedCount(), "One caller should be coalesced");
+        assertEquals(0, singleFlight.inFlight(), "No call should be in flight after completion");
+    }
+
+    @Test
+    void testExecute_DifferentKeysAreNotCoalesced() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act
+        singleFlight.execute(1L, () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        singleFlight.execute(2L, () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        // Assert
+        assertEquals(2, calls.get(), "Each key should start its own call");
+        assertEquals(2, singleFlight.inFlight(), "Two calls should be in flight");
+    }
+
+    @Test
+    void testExecute_FailureIsPropagatedToAllCallers() {
+        // Arrange
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute(1L, () -> source);
+        CompletableFuture<String> second = singleFlight.execute(1L, () -> source);
+
+        // Act
+        source.completeExceptionally(new RuntimeException("API error"));
+
+        // Assert
+        assertThrows(CompletionException.class, first::join, "First caller should see the failure");
+        assertThrows(CompletionException.class, second::join, "Second caller should see the failure");
+        assertEquals(0, singleFlight.inFlight(), "A failed call should release its key");
+    }
+
+    @Test
+    void testExecute_CancellingOneCallerKeepsTheCallForOthers() {
+        // Arrange
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute(1L, () -> source);
+        CompletableFuture<String> second = singleFlight.execute(1L, () -> source);
+
+        // Act
+        first.cancel(true);
+        source.complete("result");
+
+        // Assert
+        assertFalse(source.isCancelled(), "The shared call should not be cancelled");
+        assertEquals("result", second.join(), "Remaining caller should get the result");
+    }
+
+    @Test
+    void testExecute_CancellingAllCallersCancelsTheCall() {
+        // Arrange
+        CompletableFuture<String> source = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute(1L, () -> source);
+        CompletableFuture<String> second = singleFlight.execute(1L, () -> source);
+
+        // Act
+        first.cancel(true);
+        second.cancel(true);
+
+        // Assert
+        assertTrue(source.isCancelled(), "The shared call should be cancelled");
+        assertEquals(0, singleFlight.inFlight(), "A cancelled call should release its key");
+        CompletableFuture<String> next = singleFlight.execute(1L, () -> CompletableFuture.completedFuture("fresh"));
+        assertEquals("fresh", next.join(), "A new caller should start a fresh call");
+    }
+
+    @Test
+    void testExecute_CompletedCallIsNotReused() {
+        // Act
+        String first = singleFlight.execute(1L, () -> CompletableFuture.completedFuture("first")).join();
+        String second = singleFlight.execute(1L, () -> CompletableFuture.completedFuture("second")).join();
+
+        // Assert
+        assertEquals("first", first, "First call should complete with its own result");
+        assertEquals("second", second, "Second call should start after the first completed");
+    }
+}
@@ -0,0 +1,193 @@
+package com.zemnitskiy.api;
+
+import com.zemnitskiy.api.json.LeonJson;
+import com.zemnitskiy.model.basemodel.League;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.management.JMException;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the heap held while a response is decoded through a whole-body {@code String} with the
+ * streaming {@link LeonApiClient#decode(InputStream, java.lang.reflect.Type)} path.
+ *
+ * <p>Halfway through each decode, the input wrapper counts the bytes of all live objects, so the figure
+ * is what the decode keeps alive at that point above the live heap before it started:
+ * the whole-body {@code String} and the half-built model for the string path, the reader buffers and
+ * the half-built model for the streaming path. Total allocation, short-lived garbage included, would
+ * not show the body being held.</p>
+ */
+@Tag("load")
+class StreamingDecodeLoadTest {
+
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 7;
+    private static final int BASELINE_READINGS = 5;
+
+    private static final ObjectName DIAGNOSTIC_COMMAND = diagnosticCommand();
+
+    @Test
+    void testStreamingDecodeHoldsLessHeapThanStringDecode() throws IOException {
+        byte[] payload = SyntheticPayloads.league(200, 20, 3);
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            assertEquals(decodeViaString(payload, null), decodeViaStream(payload, null),
+                    "Both decoding paths should produce the same model");
+        }
+
+        long[] stringHeldBytes = new long[MEASURED_RUNS];
+        long[] streamHeldBytes = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            stringHeldBytes[i] = heldByStringDecode(payload);
+            streamHeldBytes[i] = heldByStreamDecode(payload);
+        }
+        long stringHeld = median(stringHeldBytes);
+        long streamHeld = median(streamHeldBytes);
+
+        System.out.printf("Payload size: %d KB%n", payload.length / 1024);
+        System.out.printf("String decode: %d KB held halfway through a decode%n", stringHeld / 1024);
+        System.out.printf("Stream decode: %d KB held halfway through a decode%n", streamHeld / 1024);
+
+        assertTrue(stringHeld - streamHeld >= payload.length / 2,
+                "Whole-body decode should hold about the size of the body more than streaming decode");
+    }
+
+    private long heldByStringDecode(byte[] payload) throws IOException {
+        HeapProbe probe = new HeapProbe(payload.length);
+        decodeViaString(payload, probe);
+        return probe.heldBytes();
+    }
+
+    private long heldByStreamDecode(byte[] payload) throws IOException {
+        HeapProbe probe = new HeapProbe(payload.length);
+        decodeViaStream(payload, probe);
+        return probe.heldBytes();
+    }
+
+    /**
+     * Mirrors the former {@code BodyHandlers.ofString()} path: the body is buffered, turned into a
+     * {@code String} and only then handed to the same Gson adapters, through the {@link StringReader}
+     * that {@code Gson.fromJson(String, Class)} would create.
+     */
+    private static League decodeViaString(byte[] payload, HeapProbe probe) throws IOException {
+        try (InputStream body = new ByteArrayInputStream(payload)) {
+            String json = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            Reader reader = new StringReader(json);
+            return LeonJson.gson().fromJson(probe == null ? reader : probe.wrap(reader), League.class);
+        }
+    }
+
+    private static League decodeViaStream(byte[] payload, HeapProbe probe) throws IOException {
+        try (InputStream body = new ByteArrayInputStream(payload)) {
+            return LeonApiClient.decode(probe == null ? body : probe.wrap(body), League.class);
+        }
+    }
+
+    private static ObjectName diagnosticCommand() {
+        try {
+            return new ObjectName("com.sun.management:type=DiagnosticCommand");
+        } catch (MalformedObjectNameException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Measures the live heap once half of the input has been read, relative to the live heap when the
+     * probe was created.
+     */
+    private static final class HeapProbe {
+        private final long halfway;
+        private final long baseline;
+        private long read;
+        private boolean measured;
+        private long held;
+
+        HeapProbe(long inputLength) {
+            this.halfway = inputLength / 2;
+            this.baseline = settledLiveHeapBytes();
+        }
+
+        long heldBytes() {
+            assertTrue(measured, "The decode should have read past the middle of the input");
+            return held;
+        }
+
+        InputStream wrap(InputStream in) {
+            return new FilterInputStream(in) {
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return counted(super.read(b, off, len));
+                }
+            };
+        }
+
+        Reader wrap(Reader in) {
+            return new FilterReader(in) {
+                @Override
+                public int read(char[] cbuf, int off, int len) throws IOException {
+                    return counted(super.read(cbuf, off, len));
+                }
+            };
+        }
+
+        private int counted(int n) {
+            if (n > 0) {
+                read += n;
+                if (!measured && read >= halfway) {
+                    measured = true;
+                    held = liveHeapBytes() - baseline;
+                }
+            }
+            return n;
+        }
+    }
+
+    /**
+     * Returns the lowest of several live heap readings: what the previous decode left behind can take a
+     * few collections to be released, which would otherwise inflate the baseline.
+     */
+    private static long settledLiveHeapBytes() {
+        long lowest = Long.MAX_VALUE;
+        for (int i = 0; i < BASELINE_READINGS; i++) {
+            lowest = Math.min(lowest, liveHeapBytes());
+        }
+        return lowest;
+    }
+
+    /**
+     * Returns the bytes of all live objects, from the class histogram of the {@code GC.class_histogram}
+     * diagnostic command, which collects garbage before counting; the used heap of the memory pools
+     * includes free space and is too coarse for a body of under a megabyte.
+     */
+    private static long liveHeapBytes() {
+        try {
+            String histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(DIAGNOSTIC_COMMAND,
+                    "gcClassHistogram", new Object[]{null}, new String[]{String[].class.getName()});
+            String[] total = histogram.strip().lines().reduce((first, last) -> last).orElseThrow().trim().split("\\s+");
+            return Long.parseLong(total[2]);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot read the class histogram", e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.zemnitskiy.api;
+
+import com.zemnitskiy.api.json.LeonJson;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Region;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.basemodel.Sport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds synthetic Leonbets-shaped JSON payloads for decoding benchmarks.
+ */
+public final class SyntheticPayloads {
+
+    private SyntheticPayloads() {
+    }
+
+    /**
+     * Builds a {@code betline/events/all}-like payload for a single league.
+     *
+     * @param events            number of events in the league
+     * @param marketsPerEvent   number of markets per event
+     * @param runnersPerMarket  number of runners per market
+     * @return the UTF-8 encoded JSON payload
+     */
+    static byte[] league(int events, int marketsPerEvent, int runnersPerMarket) {
+        List<Event> eventList = new ArrayList<>(events);
+        for (int e = 0; e < events; e++) {
+            eventList.add(event(e, marketsPerEvent, runnersPerMarket));
+        }
+        League league = new League(1L, "Synthetic League", 1, true, 1, eventList);
+        return LeonJson.gson().toJson(league).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds a {@code betline/event/all}-like payload for a single event.
+     *
+     * @param markets           number of markets in the event
+     * @param runnersPerMarket  number of runners per market
+     * @return the UTF-8 encoded JSON payload
+     */
+    static byte[] event(int markets, int runnersPerMarket) {
+        return LeonJson.gson().toJson(event(0, markets, runnersPerMarket)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds a {@code betline/sports}-like payload.
+     *
+     * @param sports            number of sports in the catalog
+     * @param regionsPerSport   number of regions per sport
+     * @param leaguesPerRegion  number of leagues per region, every tenth of them a top league
+     * @return the UTF-8 encoded JSON payload
+     */
+    static byte[] sports(int sports, int regionsPerSport, int leaguesPerRegion) {
+        List<Sport> sportList = new ArrayList<>(sports);
+        long leagueId = 1;
+        for (int s = 0; s < sports; s++) {
+            List<Region> regions = new ArrayList<>(regionsPerSport);
+            for (int g = 0; g < regionsPerSport; g++) {
+                List<League> leagues = new ArrayList<>(leaguesPerRegion);
+                for (int l = 0; l < leaguesPerRegion; l++) {
+                    leagues.add(new League(leagueId, "League " + leagueId, l, l % 10 == 0, l, null));
+                    leagueId++;
+                }
+                regions.add(new Region("Region " + g, leagues));
+            }
+            sportList.add(new Sport(s, "Sport " + s, regions));
+        }
+        return LeonJson.gson().toJson(sportList).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds an event with markets and runners whose ids are derived from the event id.
+     *
+     * @param id                the event id
+     * @param markets           number of markets in the event
+     * @param runnersPerMarket  number of runners per market
+     * @return the event
+     */
+    public static Event event(long id, int markets, int runnersPerMarket) {
+        List<Market> marketList = new ArrayList<>(markets);
+        for (int m = 0; m < markets; m++) {
+            List<Runner> runners = new ArrayList<>(runnersPerMarket);
+            for (int r = 0; r < runnersPerMarket; r++) {
+                long runnerId = (id * markets + m) * runnersPerMarket + r + 1;
+                runners.add(new Runner(runnerId, "Runner " + r, String.format("%d.%02d", 1 + r, (id + m) % 100)));
+            }
+            marketList.add(new Market(id * 1000L + m, "Market " + m, runners));
+        }
+        return new Event(id, "Team " + id + " - Team " + (id + 1), 1_700_000_000_000L + id * 60_000L, marketList);
+    }
+}
@@ -0,0 +1,80 @@
+package com.zemnitskiy.api.json;
+
+import com.google.gson.Gson;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.basemodel.Sport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LeonJson} decoder registry.
+ */
+class LeonJsonTest {
+
+    private static final String SPORTS_JSON = """
+            [{"id":1970324836974595,"name":"Football","weight":1,"family":"Soccer",
+              "regions":[{"id":1,"name":"England","nameDefault":"England","family":"England","url":"england",
+                "leagues":[{"id":1970324836975217,"name":"Premier League","nameDefault":"Premier League",
+                  "url":"premier-league","weight":10,"prematch":12,"inplay":0,"outright":1,"top":true,
+                  "hasZeroMarginEvents":false,"topOrder":3,"logoUrl":null,"background":{"src":"x","nested":[1,2,{}]}}]}]},
+             {"id":2,"name":"Tennis","regions":[]}]
+            """;
+
+    private static final String EVENT_JSON = """
+            {"id":1970324846161480,"name":"Arsenal - Chelsea","nameDefault":"Arsenal - Chelsea",
+             "competitors":[{"id":1,"name":"Arsenal","homeAway":"HOME"}],"kickoff":1731780000000,
+             "lastUpdated":1731700000000,"league":{"id":5,"name":"Premier League","sport":{"id":1}},
+             "betline":"prematch","open":true,"status":"OPEN",
+             "markets":[{"id":1970324850000001,"typeTag":"REGULAR","name":"Match Result","open":true,"col":3,
+               "runners":[{"id":11,"name":"1","open":true,"r":0,"c":0,"tags":["HOME"],"price":1.57,"priceStr":"1.57"},
+                          {"id":12,"name":"X","open":true,"r":0,"c":1,"tags":["DRAW"],"price":4.2,"priceStr":"4.20"}],
+               "specifiers":{}}]}
+            """;
+
+    @Test
+    void testDecodeSportsSkipsUnknownFields() {
+        List<Sport> sports = LeonJson.gson().fromJson(SPORTS_JSON, LeonJson.SPORT_LIST.getType());
+
+        assertEquals(2, sports.size(), "Should decode two sports");
+        Sport football = sports.getFirst();
+        assertEquals("Football", football.name(), "Sport name should be decoded");
+        League league = football.regions().getFirst().leagues().getFirst();
+        assertEquals(new League(1970324836975217L, "Premier League", 10, true, 3, null), league,
+                "League should be decoded with unknown fields skipped");
+        assertTrue(sports.get(1).regions().isEmpty(), "Empty regions should be decoded as an empty list");
+    }
+
+    @Test
+    void testDecodeEvent() {
+        Event event = LeonJson.gson().fromJson(EVENT_JSON, Event.class);
+
+        Market expectedMarket = new Market(1970324850000001L, "Match Result", List.of(
+                new Runner(11L, "1", "1.57"),
+                new Runner(12L, "X", "4.20")));
+        assertEquals(new Event(1970324846161480L, "Arsenal - Chelsea", 1731780000000L, List.of(expectedMarket)), event,
+                "Event should be decoded with its markets and runners");
+    }
+
+    @Test
+    void testDecodingMatchesReflectiveBinding() {
+        Event adapterEvent = LeonJson.gson().fromJson(EVENT_JSON, Event.class);
+        Event reflectiveEvent = new Gson().fromJson(EVENT_JSON, Event.class);
+
+        assertEquals(reflectiveEvent, adapterEvent, "Adapters should bind the same values as reflection");
+    }
+
+    @Test
+    void testRoundTrip() {
+        Event event = LeonJson.gson().fromJson(EVENT_JSON, Event.class);
+
+        String json = LeonJson.gson().toJson(event);
+
+        assertEquals(event, LeonJson.gson().fromJson(json, Event.class), "Written JSON should decode to the same event");
+    }
+}
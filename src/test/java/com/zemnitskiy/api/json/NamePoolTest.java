@@ -0,0 +1,75 @@
+package com.zemnitskiy.api.json;
+
+import com.zemnitskiy.model.basemodel.Event;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link NamePool} class.
+ */
+class NamePoolTest {
+
+    @Test
+    void testDedup_ReturnsPooledInstanceForEqualName() {
+        // Arrange
+        NamePool pool = new NamePool(16);
+        String first = new String("Draw");
+        String second = new String("Draw");
+
+        // Act
+        String pooledFirst = pool.dedup(first);
+        String pooledSecond = pool.dedup(second);
+
+        // Assert
+        assertSame(first, pooledFirst, "The first occurrence should be pooled as is");
+        assertSame(first, pooledSecond, "A later equal name should resolve to the pooled instance");
+        assertEquals(1, pool.hits(), "The second lookup should be a hit");
+        assertEquals(1, pool.misses(), "The first lookup should be a miss");
+        assertNull(pool.dedup(null), "Null should pass through");
+    }
+
+    @Test
+    void testDedup_StaysBoundedUnderManyDistinctNames() {
+        // Arrange
+        NamePool pool = new NamePool(100);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            pool.dedup("Over " + i + ".5");
+        }
+        String common = pool.dedup(new String("Total"));
+
+        // Assert
+        assertEquals(128, pool.capacity(), "Capacity should be rounded up to a power of two");
+        assertSame(common, pool.dedup(new String("Total")), "A recurring name should still be pooled after churn");
+        assertEquals(100_001, pool.misses(), "Every distinct name should miss");
+    }
+
+    @Test
+    void testConstructor_RejectsCapacityThatCannotBeRoundedUp() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new NamePool(NamePool.MAX_CAPACITY + 1),
+                "A capacity above 2^30 cannot be rounded up to a power of two");
+        assertThrows(IllegalArgumentException.class, () -> new NamePool(0), "A capacity must be positive");
+    }
+
+    @Test
+    void testLeonJson_SharesMarketAndRunnerNamesAcrossEvents() {
+        // Arrange
+        String json = """
+                {"id":%d,"name":"Event %d","kickoff":0,"markets":[{"id":%d,"name":"Match Result",
+                  "runners":[{"id":%d,"name":"Draw","priceStr":"3.10"}]}]}
+                """;
+
+        // Act
+        Event first = LeonJson.gson().fromJson(json.formatted(1, 1, 10, 100), Event.class);
+        Event second = LeonJson.gson().fromJson(json.formatted(2, 2, 20, 200), Event.class);
+
+        // Assert
+        assertSame(first.markets().getFirst().name(), second.markets().getFirst().name(),
+                "Market names should be shared across events");
+        assertSame(first.markets().getFirst().runners().getFirst().name(),
+                second.markets().getFirst().runners().getFirst().name(), "Runner names should be shared across events");
+    }
+}
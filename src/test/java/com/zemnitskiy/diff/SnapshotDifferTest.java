@@ -0,0 +1,188 @@
+package com.zemnitskiy.diff;
+
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.ResultStatus;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import com.zemnitskiy.request.EventRequest;
+import com.zemnitskiy.visitor.ResultDiffVisitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link SnapshotDiffer} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class SnapshotDifferTest {
+
+    @Mock
+    private ResultDiffVisitor visitor;
+
+    private final League league = new League(1000L, "Premier League", 1, true, 1, List.of());
+
+    @Test
+    void testDiff_NoPreviousSnapshotReportsAllMatchesAsAdded() {
+        // Arrange
+        RootResult current = root(event(1L, market(100L, new Runner(1L, "Home", "1.80"))));
+
+        // Act
+        SnapshotDiffer.diff(null, current, visitor);
+
+        // Assert
+        LeagueResult leagueResult = current.leagueResults().getFirst();
+        verify(visitor).visitAddedMatch(leagueResult, leagueResult.matchResults().getFirst());
+        verifyNoMoreInteractions(visitor);
+    }
+
+    @Test
+    void testDiff_IdenticalSnapshotsReportNothing() {
+        // Arrange
+        RootResult previous = root(event(1L, market(100L, new Runner(1L, "Home", "1.80"))));
+        RootResult current = root(event(1L, market(100L, new Runner(1L, "Home", "1.80"))));
+
+        // Act
+        SnapshotDiffer.diff(previous, current, visitor);
+
+        // Assert
+        verifyNoInteractions(visitor);
+    }
+
+    @Test
+    void testDiff_ReportsChangedPriceAndMarketChanges() {
+        // Arrange
+        RootResult previous = root(
+                event(1L, market(100L, new Runner(1L, "Home", "1.80"), new Runner(2L, "Away", "2.00")),
+                        market(101L, new Runner(3L, "Over", "1.90"))),
+                event(2L, market(200L, new Runner(4L, "Home", "1.50"))));
+        RootResult current = root(
+                event(1L, market(100L, new Runner(1L, "Home", "1.75"), new Runner(2L, "Away", "2.00")),
+                        market(102L, new Runner(5L, "Under", "1.95"))),
+                event(3L, market(300L, new Runner(6L, "Home", "3.10"))));
+
+        // Act
+        SnapshotDiffer.diff(previous, current, visitor);
+
+        // Assert
+        MatchResult previousMatch = previous.leagueResults().getFirst().matchResults().getFirst();
+        MatchResult currentMatch = current.leagueResults().getFirst().matchResults().getFirst();
+        MarketResult currentMarket = currentMatch.marketResults().getFirst();
+        verify(visitor).visitChangedPrice(currentMatch, currentMarket,
+                previousMatch.marketResults().getFirst().runnerResults().getFirst(),
+                currentMarket.runnerResults().getFirst());
+        verify(visitor).visitAddedMarket(currentMatch, currentMatch.marketResults().get(1));
+        verify(visitor).visitRemovedMarket(previousMatch, previousMatch.marketResults().get(1));
+        verify(visitor).visitAddedMatch(current.leagueResults().getFirst(), current.leagueResults().getFirst().matchResults().get(1));
+        verify(visitor).visitRemovedMatch(previous.leagueResults().getFirst(), previous.leagueResults().getFirst().matchResults().get(1));
+        verifyNoMoreInteractions(visitor);
+    }
+
+    @Test
+    void testDiff_ReportsAddedAndRemovedRunners() {
+        // Arrange
+        RootResult previous = root(event(1L, market(100L, new Runner(1L, "Home", "1.80"))));
+        RootResult current = root(event(1L, market(100L, new Runner(2L, "Away", "2.00"))));
+
+        // Act
+        SnapshotDiffer.diff(previous, current, visitor);
+
+        // Assert
+        MarketResult previousMarket = previous.leagueResults().getFirst().matchResults().getFirst().marketResults().getFirst();
+        MarketResult currentMarket = current.leagueResults().getFirst().matchResults().getFirst().marketResults().getFirst();
+        verify(visitor).visitAddedRunner(currentMarket, currentMarket.runnerResults().getFirst());
+        verify(visitor).visitRemovedRunner(previousMarket, previousMarket.runnerResults().getFirst());
+        verifyNoMoreInteractions(visitor);
+    }
+
+    @Test
+    void testDiff_ReorderedMarketsAndRunnersReportOnlyPriceChanges() {
+        // Arrange
+        RootResult previous = root(event(1L,
+                market(100L, new Runner(1L, "Home", "1.80"), new Runner(2L, "Away", "2.00")),
+                market(101L, new Runner(3L, "Over", "1.90"))));
+        RootResult current = root(event(1L,
+                market(101L, new Runner(3L, "Over", "1.90")),
+                market(100L, new Runner(2L, "Away", "2.05"), new Runner(1L, "Home", "1.80"))));
+
+        // Act
+        SnapshotDiffer.diff(previous, current, visitor);
+
+        // Assert
+        MatchResult currentMatch = current.leagueResults().getFirst().matchResults().getFirst();
+        MarketResult previousMarket = previous.leagueResults().getFirst().matchResults().getFirst().marketResults().getFirst();
+        MarketResult currentMarket = currentMatch.marketResults().get(1);
+        verify(visitor).visitChangedPrice(currentMatch, currentMarket,
+                previousMarket.runnerResults().get(1), currentMarket.runnerResults().getFirst());
+        verifyNoMoreInteractions(visitor);
+    }
+
+    @Test
+    void testDiff_TimedOutMatchKeepsPreviousVersion() {
+        // Arrange
+        RootResult previous = root(
+                event(1L, market(100L, new Runner(1L, "Home", "1.80"))),
+                event(2L, market(200L, new Runner(2L, "Home", "1.50"))));
+        MatchResult changed = EventRequest.toMatchResult(event(1L, market(100L, new Runner(1L, "Home", "1.85"))));
+        MatchResult timedOut = new MatchResult(event(2L), List.of(), ResultStatus.TIMED_OUT);
+        RootResult current = new RootResult(List.of(new LeagueResult("Football", league, List.of(changed, timedOut))));
+
+        // Act
+        RootResult carried = SnapshotDiffer.diff(previous, current, visitor);
+
+        // Assert
+        MatchResult previousMatch = previous.leagueResults().getFirst().matchResults().getFirst();
+        verify(visitor).visitChangedPrice(changed, changed.marketResults().getFirst(),
+                previousMatch.marketResults().getFirst().runnerResults().getFirst(),
+                changed.marketResults().getFirst().runnerResults().getFirst());
+        verifyNoMoreInteractions(visitor);
+        List<MatchResult> carriedMatches = carried.leagueResults().getFirst().matchResults();
+        assertSame(changed, carriedMatches.get(0), "Complete match should be kept");
+        assertSame(previous.leagueResults().getFirst().matchResults().get(1), carriedMatches.get(1),
+                "Timed-out match should be replaced by its previous version");
+    }
+
+    @Test
+    void testCarryForward_FailedLeagueKeepsPreviousVersion() {
+        // Arrange
+        RootResult previous = root(event(1L, market(100L, new Runner(1L, "Home", "1.80"))));
+        RootResult current = new RootResult(List.of(new LeagueResult("Football", league, List.of(), ResultStatus.FAILED)));
+        RootResult complete = root(event(1L, market(100L, new Runner(1L, "Home", "1.80"))));
+
+        // Act
+        RootResult carried = SnapshotDiffer.carryForward(previous, current);
+        SnapshotDiffer.diff(previous, current, visitor);
+
+        // Assert
+        assertSame(previous.leagueResults().getFirst(), carried.leagueResults().getFirst(),
+                "Failed league should be replaced by its previous version");
+        assertSame(complete, SnapshotDiffer.carryForward(previous, complete), "Complete snapshot should be returned as is");
+        verifyNoInteractions(visitor);
+    }
+
+    private RootResult root(Event... events) {
+        List<MatchResult> matchResults = List.of(events).stream()
+                .map(EventRequest::toMatchResult)
+                .toList();
+        return new RootResult(List.of(new LeagueResult("Football", league, matchResults)));
+    }
+
+    private static Event event(long id, Market... markets) {
+        return new Event(id, "Event " + id, 0L, List.of(markets));
+    }
+
+    private static Market market(long id, Runner... runners) {
+        return new Market(id, "Market " + id, List.of(runners));
+    }
+}
@@ -0,0 +1,125 @@
+package com.zemnitskiy.journal;
+
+import com.zemnitskiy.api.SyntheticPayloads;
+import com.zemnitskiy.api.json.LeonJson;
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import com.zemnitskiy.request.EventRequest;
+import com.zemnitskiy.visitor.ResultVisitor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares replaying 200 journaled snapshots of a 20k-runner league with decoding the same snapshots
+ * from their JSON responses, which is the cost a re-crawl would pay even with instant responses.
+ */
+@Tag("load")
+class JournalReplayLoadTest {
+
+    private static final int SNAPSHOTS = 200;
+    private static final int EVENTS = 200;
+    private static final int MARKETS_PER_EVENT = 20;
+    private static final int RUNNERS_PER_MARKET = 5;
+    private static final int WARMUP_RUNS = 3;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReplayIsFasterThanDecodingResponses() throws IOException {
+        List<Event> events = new ArrayList<>(EVENTS);
+        for (int e = 0; e < EVENTS; e++) {
+            events.add(SyntheticPayloads.event(e, MARKETS_PER_EVENT, RUNNERS_PER_MARKET));
+        }
+        League league = new League(1L, "Synthetic League", 1, true, 1, events);
+        byte[] json = LeonJson.gson().toJson(league).getBytes(StandardCharsets.UTF_8);
+        RootResult root = new RootResult(List.of(new LeagueResult("Football", league,
+                events.stream().map(EventRequest::toMatchResult).toList())));
+
+        MetricsRegistry metrics = MetricsRegistry.create();
+        long writeStart = System.nanoTime();
+        try (SnapshotJournal journal = SnapshotJournal.open(directory, SnapshotJournal.DEFAULT_SEGMENT_BYTES,
+                SNAPSHOTS, metrics)) {
+            for (int i = 0; i < SNAPSHOTS; i++) {
+                journal.append(Instant.ofEpochSecond(30L * i), root);
+            }
+        }
+        long writeNanos = System.nanoTime() - writeStart;
+        JournalReader reader = JournalReader.open(directory);
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            replay(reader);
+            decode(json, SNAPSHOTS / 10);
+        }
+        long replayStart = System.nanoTime();
+        long replayedRunners = replay(reader);
+        long replayNanos = System.nanoTime() - replayStart;
+        long decodeStart = System.nanoTime();
+        long decodedRunners = decode(json, SNAPSHOTS);
+        long decodeNanos = System.nanoTime() - decodeStart;
+
+        long journalBytes = metrics.counter("journal.bytes").count();
+        System.out.printf("Journal: %d snapshots, %d MB written in %d ms%n",
+                SNAPSHOTS, journalBytes / (1024 * 1024), writeNanos / 1_000_000);
+        System.out.printf("Replay: %d ms, %.0f MB/s%n", replayNanos / 1_000_000, journalBytes / 1e6 / (replayNanos / 1e9));
+        System.out.printf("JSON decode of the same snapshots (%d MB): %d ms%n",
+                (long) json.length * SNAPSHOTS / (1024 * 1024), decodeNanos / 1_000_000);
+
+        assertEquals(decodedRunners, replayedRunners, "Replay should restore every runner");
+        assertTrue(replayNanos < decodeNanos, "Replaying the journal should be faster than decoding the responses");
+    }
+
+    private static long replay(JournalReader reader) {
+        long[] runners = new long[1];
+        reader.replay(Instant.MIN, Instant.MAX, new ResultVisitor() {
+            @Override
+            public void visitRoot(RootResult rootResult) {
+            }
+
+            @Override
+            public void visitLeague(LeagueResult leagueResult) {
+            }
+
+            @Override
+            public void visitMatch(MatchResult matchResult) {
+            }
+
+            @Override
+            public void visitMarket(MarketResult marketResult) {
+            }
+
+            @Override
+            public void visitRunner(RunnerResult runnerResult) {
+                runners[0] += runnerResult.runner().price() > 0 ? 1 : 0;
+            }
+        });
+        return runners[0];
+    }
+
+    private static long decode(byte[] json, int times) {
+        long runners = 0;
+        for (int i = 0; i < times; i++) {
+            League league = LeonJson.gson().fromJson(new String(json, StandardCharsets.UTF_8), League.class);
+            for (Event event : league.events()) {
+                runners += event.markets().stream().mapToLong(market -> market.runners().size()).sum();
+            }
+        }
+        return runners;
+    }
+}
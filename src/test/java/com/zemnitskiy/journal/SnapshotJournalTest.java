@@ -0,0 +1,289 @@
+package com.zemnitskiy.journal;
+
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.ResultStatus;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import com.zemnitskiy.model.snapshot.ColumnarSnapshot;
+import com.zemnitskiy.request.EventRequest;
+import com.zemnitskiy.visitor.ResultPrinter;
+import com.zemnitskiy.visitor.ResultVisitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SnapshotJournal} and {@link JournalReader} classes.
+ */
+class SnapshotJournalTest {
+
+    private static final Instant START = Instant.parse("2024-11-16T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final League league = new League(1000L, "Premier League", 1, true, 1, List.of());
+
+    @Test
+    void testReplay_ReturnsAppendedSnapshotsInRange() throws IOException {
+        // Arrange
+        MetricsRegistry metrics = MetricsRegistry.create();
+        try (SnapshotJournal journal = SnapshotJournal.open(directory, SnapshotJournal.DEFAULT_SEGMENT_BYTES, metrics)) {
+            for (int minute = 0; minute < 5; minute++) {
+                journal.append(START.plusSeconds(60L * minute), root(price(minute)));
+            }
+        }
+
+        // Act
+        JournalReader reader = JournalReader.open(directory);
+        List<String> prices = new ArrayList<>();
+        reader.replay(START.plusSeconds(60), START.plusSeconds(240), runnerPrices(prices));
+
+        // Assert
+        assertEquals(5, reader.size(), "Every appended snapshot should be indexed");
+        assertEquals(List.of("1.81", "1.91", "1.82", "1.92", "1.83", "1.93"), prices,
+                "Snapshots from the start of the range up to its end should be replayed in order");
+        assertEquals(5, metrics.counter("journal.snapshots").count(), "Appends should be counted");
+    }
+
+    @Test
+    void testForEach_RestoresSnapshotsExactly() throws IOException {
+        // Arrange
+        RootResult root = root("2.50");
+        try (SnapshotJournal journal = SnapshotJournal.open(directory)) {
+            journal.append(START, root);
+        }
+
+        // Act
+        List<ColumnarSnapshot> snapshots = new ArrayList<>();
+        List<Instant> timestamps = new ArrayList<>();
+        JournalReader.open(directory).forEach(Instant.MIN, Instant.MAX, (timestamp, snapshot) -> {
+            timestamps.add(timestamp);
+            snapshots.add(snapshot);
+        });
+
+        // Assert
+        assertEquals(List.of(START), timestamps, "The timestamp should be restored");
+        assertEquals(root.leagueResults().getFirst().matchResults(),
+                snapshots.getFirst().asRootResult().leagueResults().getFirst().matchResults(),
+                "Matches, markets and runners should be restored");
+    }
+
+    @Test
+    void testReplay_KeepsFailedAndTimedOutPlaceholders() throws IOException {
+        // Arrange
+        League other = new League(2000L, "La Liga", 5, true, 2, List.of());
+        MatchResult failed = new MatchResult(event(2L, "1.90"), List.of(), ResultStatus.FAILED);
+        RootResult root = new RootResult(List.of(
+                new LeagueResult("Football", league, List.of(EventRequest.toMatchResult(event(1L, "1.80")), failed)),
+                new LeagueResult("Football", other, List.of(), ResultStatus.TIMED_OUT)));
+        try (SnapshotJournal journal = SnapshotJournal.open(directory)) {
+            journal.append(START, root);
+        }
+
+        // Act
+        StringWriter replayed = new StringWriter();
+        ResultPrinter printer = new ResultPrinter(replayed);
+        JournalReader.open(directory).replay(Instant.MIN, Instant.MAX, printer);
+        printer.flush();
+
+        // Assert
+        StringWriter expected = new StringWriter();
+        ResultPrinter original = new ResultPrinter(expected);
+        root.accept(original);
+        original.flush();
+        assertEquals(expected.toString(), replayed.toString(),
+                "The failed match and the timed-out league should be replayed with their markers");
+        assertTrue(replayed.toString().contains("(timed out)"), "The timed-out league should be marked");
+    }
+
+    @Test
+    void testAppend_RollsSegmentsWhenFull() throws IOException {
+        // Arrange
+        int segmentBytes = 2 * ColumnarSnapshot.of(root("1.80")).encodedSize();
+
+        // Act
+        try (SnapshotJournal journal = SnapshotJournal.open(directory, segmentBytes, MetricsRegistry.NOOP)) {
+            for (int minute = 0; minute < 6; minute++) {
+                journal.append(START.plusSeconds(60L * minute), root(price(minute))).join();
+            }
+        }
+
+        // Assert
+        assertTrue(segmentCount() >= 3, "Records that do not fit should roll over to new segments");
+        assertEquals(6, JournalReader.open(directory).size(), "Records from every segment should be indexed");
+    }
+
+    @Test
+    void testOpen_ContinuesExistingJournalInItsLastSegment() throws IOException {
+        // Arrange
+        try (SnapshotJournal journal = SnapshotJournal.open(directory)) {
+            journal.append(START, root("1.80"));
+        }
+
+        // Act
+        try (SnapshotJournal journal = SnapshotJournal.open(directory)) {
+            journal.append(START.plusSeconds(60), root("1.90"));
+        }
+
+        // Assert
+        assertEquals(1, segmentCount(), "A reopened journal should continue in the tail of its last segment");
+        assertEquals(2, JournalReader.open(directory).size(), "Both sessions should be readable");
+    }
+
+    @Test
+    void testOpen_ReaderSkipsRestOfDamagedSegmentAndReadsNewSegment() throws IOException {
+        // Arrange
+        try (SnapshotJournal journal = SnapshotJournal.open(directory)) {
+            for (int minute = 0; minute < 3; minute++) {
+                journal.append(START.plusSeconds(60L * minute), root(price(minute)));
+            }
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int second = JournalFormat.SEGMENT_HEADER_BYTES + Integer.BYTES + mapped.getInt(JournalFormat.SEGMENT_HEADER_BYTES);
+            int damaged = second + JournalFormat.RECORD_HEADER_BYTES + 8;
+            mapped.put(damaged, (byte) ~mapped.get(damaged));
+        }
+
+        // Act
+        int beforeReopen = JournalReader.open(directory).size();
+        try (SnapshotJournal journal = SnapshotJournal.open(directory)) {
+            journal.append(START.plusSeconds(180), root("1.84"));
+        }
+
+        // Assert
+        assertEquals(1, beforeReopen, "Only the records before the damaged one should be read");
+        assertEquals(2, segmentCount(), "A journal whose last segment is damaged should start a new segment");
+        assertEquals(2, JournalReader.open(directory).size(),
+                "The snapshot after the damaged segment should be read as well");
+    }
+
+    @Test
+    void testAppend_DropsSnapshotsWhileQueueIsFull() throws IOException {
+        // Arrange
+        MetricsRegistry metrics = MetricsRegistry.create();
+        CountDownLatch release = new CountDownLatch(1);
+        LeagueResult leagueResult = root("1.80").leagueResults().getFirst();
+        List<LeagueResult> blocking = new AbstractList<>() {
+            @Override
+            public LeagueResult get(int index) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return leagueResult;
+            }
+
+            @Override
+            public int size() {
+                return 1;
+            }
+        };
+        CompletableFuture<Void> dropped;
+        try (SnapshotJournal journal = SnapshotJournal.open(directory, SnapshotJournal.DEFAULT_SEGMENT_BYTES, 1, metrics)) {
+            journal.append(START, new RootResult(blocking));
+            journal.append(START.plusSeconds(60), root("1.81"));
+
+            // Act
+            dropped = journal.append(START.plusSeconds(120), root("1.82"));
+            release.countDown();
+        }
+
+        // Assert
+        assertTrue(dropped.isCompletedExceptionally(), "An append beyond the pending limit should be dropped");
+        assertEquals(1, metrics.counter("journal.dropped").count(), "The dropped snapshot should be counted");
+        assertEquals(2, JournalReader.open(directory).size(), "The snapshots within the limit should be written");
+    }
+
+    @Test
+    void testReplayEvent_VisitsOnlySnapshotsHoldingEvent() throws IOException {
+        // Arrange
+        try (SnapshotJournal journal = SnapshotJournal.open(directory)) {
+            journal.append(START, root("1.80"));
+            journal.append(START.plusSeconds(60), new RootResult(List.of(new LeagueResult("Football", league,
+                    List.of(EventRequest.toMatchResult(event(7L, "3.00")))))));
+            journal.append(START.plusSeconds(120), root("1.85"));
+        }
+
+        // Act
+        List<String> prices = new ArrayList<>();
+        JournalReader.open(directory).replayEvent(2L, Instant.MIN, Instant.MAX, runnerPrices(prices));
+
+        // Assert
+        assertEquals(List.of("1.90", "1.95"), prices, "Only the runners of the event should be replayed");
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private RootResult root(String price) {
+        MatchResult first = EventRequest.toMatchResult(event(1L, price));
+        MatchResult second = EventRequest.toMatchResult(event(2L, "1.9" + price.charAt(price.length() - 1)));
+        return new RootResult(List.of(new LeagueResult("Football", league, List.of(first, second))));
+    }
+
+    private static Event event(long id, String price) {
+        return new Event(id, "Event " + id, 0L, List.of(new Market(id * 10, "Winner", List.of(new Runner(id * 100, "Home", price)))));
+    }
+
+    private static String price(int minute) {
+        return "1.8" + minute;
+    }
+
+    private static ResultVisitor runnerPrices(List<String> prices) {
+        return new ResultVisitor() {
+            @Override
+            public void visitRoot(RootResult rootResult) {
+            }
+
+            @Override
+            public void visitLeague(LeagueResult leagueResult) {
+            }
+
+            @Override
+            public void visitMatch(MatchResult matchResult) {
+            }
+
+            @Override
+            public void visitMarket(MarketResult marketResult) {
+            }
+
+            @Override
+            public void visitRunner(RunnerResult runnerResult) {
+                prices.add(runnerResult.runner().priceStr());
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.zemnitskiy.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LatencyHistogram} class.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testBuckets_AreContiguousAndPrecise() {
+        // Arrange
+        long[] values = {0, 1, 63, 64, 65, 127, 128, 1_000, 999_999, 1_000_000_007L, Long.MAX_VALUE};
+
+        // Act & Assert
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upperBound = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upperBound >= value, "Bucket of " + value + " should contain it");
+            assertTrue(upperBound - value <= Math.max(1, value / 32), "Bucket of " + value + " should be within about 3%");
+        }
+        for (int index = 1; index < LatencyHistogram.bucketIndex(Long.MAX_VALUE); index++) {
+            assertEquals(index, LatencyHistogram.bucketIndex(LatencyHistogram.bucketUpperBound(index - 1) + 1),
+                    "The value after a bucket's upper bound should start the next bucket");
+        }
+    }
+
+    @Test
+    void testSnapshot_ReportsPercentilesWithinPrecision() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        for (long millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis * 1_000_000);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // Assert
+        assertEquals(1000, snapshot.count(), "Every value should be counted");
+        assertEquals(500.0, snapshot.percentileNanos(0.5) / 1e6, 500 * 0.04, "p50 should be within precision");
+        assertEquals(990.0, snapshot.percentileNanos(0.99) / 1e6, 990 * 0.04, "p99 should be within precision");
+        assertEquals(1_000_000_000L, snapshot.maxNanos(), "Max should be exact");
+        assertEquals(500.5, snapshot.meanNanos() / 1e6, 0.001, "Mean should be exact");
+    }
+
+    @Test
+    void testSnapshot_EmptyHistogramReportsZero() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // Assert
+        assertEquals(0, snapshot.count(), "Empty histogram should have no values");
+        assertEquals(0, snapshot.percentileNanos(0.99), "Empty histogram should report zero percentiles");
+    }
+}
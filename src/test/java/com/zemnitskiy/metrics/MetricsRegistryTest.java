@@ -0,0 +1,89 @@
+package com.zemnitskiy.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link MetricsRegistry} implementations and their views.
+ */
+class MetricsRegistryTest {
+
+    @Test
+    void testRegistry_ReturnsSameMetricForSameName() {
+        // Arrange
+        MetricsRegistry registry = MetricsRegistry.create();
+
+        // Act
+        registry.counter("pipeline.runners").add(3);
+        registry.counter("pipeline.runners").add(4);
+
+        // Assert
+        assertEquals(7, registry.counter("pipeline.runners").count(), "Lookups by name should share the counter");
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("pipeline.runners"),
+                "A name should not be reused for another kind of metric");
+    }
+
+    @Test
+    void testNoopRegistry_RecordsNothing() {
+        // Act
+        MetricsRegistry.NOOP.counter("pipeline.runners").add(5);
+        MetricsRegistry.NOOP.histogram("request.root").record(1_000);
+
+        // Assert
+        assertEquals(0, MetricsRegistry.NOOP.counter("pipeline.runners").count(), "No-op counter should stay at zero");
+        assertEquals(0, MetricsRegistry.NOOP.histogram("request.root").snapshot().count(), "No-op histogram should stay empty");
+        assertTrue(MetricsRegistry.NOOP.metrics().isEmpty(), "No-op registry should report no metrics");
+    }
+
+    @Test
+    void testTextDump_FormatsEveryMetric() {
+        // Arrange
+        MetricsRegistry registry = MetricsRegistry.create();
+        registry.counter("pipeline.events").add(2);
+        registry.gauge("api.in_flight", () -> 3);
+        registry.histogram("api.event_details.network").record(2_000_000);
+
+        // Act
+        String dump = MetricsTextDump.format(registry);
+
+        // Assert
+        String[] lines = dump.split(System.lineSeparator());
+        assertEquals(3, lines.length, "Every metric should get one line");
+        assertTrue(lines[0].startsWith("api.event_details.network") && lines[0].contains("count=1")
+                && lines[0].contains("max=2.00ms"), "Histogram line should show count and latencies");
+        assertTrue(lines[1].startsWith("api.in_flight") && lines[1].endsWith("value=3"), "Gauge line should show the value");
+        assertTrue(lines[2].startsWith("pipeline.events") && lines[2].contains("count=2"), "Counter line should show the count");
+    }
+
+    @Test
+    void testJmx_ExposesMetricsAsAttributes() throws Exception {
+        // Arrange
+        MetricsRegistry registry = MetricsRegistry.create();
+        AtomicLong inFlight = new AtomicLong(4);
+        registry.gauge("api.in_flight", inFlight::get);
+        registry.histogram("api.sports.network").record(5_000_000);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        // Act
+        ObjectName name = MetricsJmx.register(registry);
+        registry.counter("pipeline.events").increment();
+
+        // Assert
+        try {
+            assertEquals(4L, server.getAttribute(name, "api.in_flight"), "Gauge should be readable");
+            assertEquals(1L, server.getAttribute(name, "api.sports.network.count"), "Histogram count should be readable");
+            assertEquals(5.0, (Double) server.getAttribute(name, "api.sports.network.maxMillis"), 0.001,
+                    "Histogram max should be readable in milliseconds");
+            assertEquals(1L, server.getAttribute(name, "pipeline.events.count"),
+                    "Metrics registered after the MBean should be readable");
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
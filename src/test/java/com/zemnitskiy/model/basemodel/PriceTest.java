@@ -0,0 +1,55 @@
+package com.zemnitskiy.model.basemodel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link Price} class.
+ */
+class PriceTest {
+
+    @ParameterizedTest
+    @CsvSource({"1.57, 1570", "4.20, 4200", "4.2, 4200", "12, 12000", "1.575, 1575", "1.5755, 1576", "1.5754, 1575", "101.00, 101000"})
+    void testParse_ScalesDecimalOdds(String text, int expected) {
+        // Act
+        int price = Price.parse(text);
+
+        // Assert
+        assertEquals(expected, price, "Decimal odds " + text + " should be scaled by " + Price.SCALE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-1.5", "1.5.0", "11/10", "abc", "99999999999"})
+    void testParse_RejectsMalformedOdds(String text) {
+        // Act & Assert
+        assertEquals(Price.NONE, Price.parse(text), "Malformed odds " + text + " should have no price");
+        assertEquals(Price.NONE, Price.parse(null), "Missing odds should have no price");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1.57", "4.20", "1.05", "1.575", "101.00", "2.00"})
+    void testFormat_RestoresApiText(String text) {
+        // Act
+        String formatted = Price.format(Price.parse(text));
+
+        // Assert
+        assertEquals(text, formatted, "Formatting should restore the API text");
+    }
+
+    @Test
+    void testRunner_ComparesPricesNumerically() {
+        // Arrange
+        Runner decoded = new Runner(1L, "Home", "1.80");
+        Runner shortened = new Runner(1L, "Home", "1.8");
+
+        // Act & Assert
+        assertEquals(decoded, shortened, "Equal odds should be equal whatever their text");
+        assertEquals(1800, decoded.price(), "The price should be stored in fixed point");
+        assertEquals("1.80", shortened.priceStr(), "The text form should be rebuilt with two decimals");
+        assertNull(new Runner(2L, "Away", (String) null).priceStr(), "A missing price should stay missing");
+    }
+}
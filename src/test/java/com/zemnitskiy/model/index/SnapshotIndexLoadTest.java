@@ -0,0 +1,195 @@
+package com.zemnitskiy.model.index;
+
+import com.zemnitskiy.diff.SnapshotDiffer;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import com.zemnitskiy.visitor.ResultDiffVisitor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares looking runners up by id in a 200k-runner tree with a linear walk, a boxed {@link HashMap}
+ * and a {@link SnapshotIndex}, and times a full snapshot diff on top of the index.
+ */
+@Tag("load")
+class SnapshotIndexLoadTest {
+
+    private static final int MATCHES = 2_000;
+    private static final int MARKETS_PER_MATCH = 20;
+    private static final int RUNNERS_PER_MARKET = 5;
+    private static final int RUNNERS = MATCHES * MARKETS_PER_MATCH * RUNNERS_PER_MARKET;
+    private static final int SCAN_LOOKUPS = 200;
+    private static final int LOOKUPS = 1_000_000;
+    private static final int WARMUP_RUNS = 10;
+
+    @Test
+    void testIndexedLookupsBeatLinearScans() {
+        RootResult root = tree(0);
+        long[] ids = new SplittableRandom(42).longs(LOOKUPS, 1, RUNNERS + 1).toArray();
+
+        long scanStart = System.nanoTime();
+        long scanChecksum = 0;
+        for (int i = 0; i < SCAN_LOOKUPS; i++) {
+            scanChecksum += scan(root, ids[i]).runner().price();
+        }
+        double scanNanos = (double) (System.nanoTime() - scanStart) / SCAN_LOOKUPS;
+
+        Map<Long, RunnerResult> boxed = new HashMap<>();
+        SnapshotIndex index = SnapshotIndex.of(root);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            boxed.clear();
+            indexBoxed(root, boxed);
+            lookUpBoxed(boxed, ids);
+            lookUp(SnapshotIndex.of(root), ids);
+        }
+
+        long boxedStart = System.nanoTime();
+        boxed.clear();
+        indexBoxed(root, boxed);
+        long boxedBuilt = System.nanoTime();
+        long boxedChecksum = lookUpBoxed(boxed, ids);
+        double boxedNanos = (double) (System.nanoTime() - boxedBuilt) / LOOKUPS;
+
+        long indexStart = System.nanoTime();
+        index = SnapshotIndex.of(root);
+        long indexBuilt = System.nanoTime();
+        long indexChecksum = lookUp(index, ids);
+        double indexNanos = (double) (System.nanoTime() - indexBuilt) / LOOKUPS;
+
+        RootResult next = tree(1);
+        long[] changes = new long[1];
+        ResultDiffVisitor counter = new ResultDiffVisitor() {
+            @Override
+            public void visitAddedMatch(LeagueResult leagueResult, MatchResult matchResult) {
+                throw new AssertionError("No match was added");
+            }
+
+            @Override
+            public void visitRemovedMatch(LeagueResult leagueResult, MatchResult matchResult) {
+                throw new AssertionError("No match was removed");
+            }
+
+            @Override
+            public void visitAddedMarket(MatchResult matchResult, MarketResult marketResult) {
+                throw new AssertionError("No market was added");
+            }
+
+            @Override
+            public void visitRemovedMarket(MatchResult matchResult, MarketResult marketResult) {
+                throw new AssertionError("No market was removed");
+            }
+
+            @Override
+            public void visitAddedRunner(MarketResult marketResult, RunnerResult runnerResult) {
+                throw new AssertionError("No runner was added");
+            }
+
+            @Override
+            public void visitRemovedRunner(MarketResult marketResult, RunnerResult runnerResult) {
+                throw new AssertionError("No runner was removed");
+            }
+
+            @Override
+            public void visitChangedPrice(MatchResult matchResult, MarketResult marketResult, RunnerResult previous, RunnerResult current) {
+                changes[0]++;
+            }
+        };
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            SnapshotDiffer.diff(root, next, counter);
+        }
+        changes[0] = 0;
+        long diffStart = System.nanoTime();
+        SnapshotDiffer.diff(root, next, counter);
+        long diffNanos = System.nanoTime() - diffStart;
+
+        System.out.printf("Linear scan: %.0f ns per lookup%n", scanNanos);
+        System.out.printf("Boxed HashMap of runners: built in %.1f ms, %.0f ns per lookup%n",
+                (boxedBuilt - boxedStart) / 1e6, boxedNanos);
+        System.out.printf("SnapshotIndex of every level: built in %.1f ms, %.0f ns per lookup%n",
+                (indexBuilt - indexStart) / 1e6, indexNanos);
+        System.out.printf("Diff of %d runners: %.1f ms%n", RUNNERS, diffNanos / 1e6);
+
+        assertEquals(boxedChecksum, indexChecksum, "The index should find the same runners as the HashMap");
+        assertTrue(scanChecksum > 0, "The scan should find the runners");
+        assertEquals(RUNNERS / 2, changes[0], "Every other runner changed its price");
+        assertTrue(indexNanos * 100 < scanNanos, "Indexed lookups should be orders of magnitude faster than scanning");
+    }
+
+    private static RunnerResult scan(RootResult root, long runnerId) {
+        for (LeagueResult leagueResult : root.leagueResults()) {
+            for (MatchResult matchResult : leagueResult.matchResults()) {
+                for (MarketResult marketResult : matchResult.marketResults()) {
+                    for (RunnerResult runnerResult : marketResult.runnerResults()) {
+                        if (runnerResult.runner().id() == runnerId) {
+                            return runnerResult;
+                        }
+                    }
+                }
+            }
+        }
+        throw new AssertionError("Runner " + runnerId + " not found");
+    }
+
+    private static void indexBoxed(RootResult root, Map<Long, RunnerResult> boxed) {
+        for (LeagueResult leagueResult : root.leagueResults()) {
+            for (MatchResult matchResult : leagueResult.matchResults()) {
+                for (MarketResult marketResult : matchResult.marketResults()) {
+                    for (RunnerResult runnerResult : marketResult.runnerResults()) {
+                        boxed.put(runnerResult.runner().id(), runnerResult);
+                    }
+                }
+            }
+        }
+    }
+
+    private static long lookUpBoxed(Map<Long, RunnerResult> boxed, long[] ids) {
+        long checksum = 0;
+        for (long id : ids) {
+            checksum += boxed.get(id).runner().price();
+        }
+        return checksum;
+    }
+
+    private static long lookUp(SnapshotIndex index, long[] ids) {
+        long checksum = 0;
+        for (long id : ids) {
+            checksum += index.runner(id).runner().price();
+        }
+        return checksum;
+    }
+
+    private static RootResult tree(int cycle) {
+        List<MatchResult> matchResults = new ArrayList<>(MATCHES);
+        long runnerId = 1;
+        for (int e = 0; e < MATCHES; e++) {
+            List<MarketResult> marketResults = new ArrayList<>(MARKETS_PER_MATCH);
+            for (int m = 0; m < MARKETS_PER_MATCH; m++) {
+                List<RunnerResult> runnerResults = new ArrayList<>(RUNNERS_PER_MARKET);
+                for (int r = 0; r < RUNNERS_PER_MARKET; r++) {
+                    int price = 1_500 + (int) (runnerId % 2) * cycle * 10;
+                    runnerResults.add(new RunnerResult(new Runner(runnerId++, "Runner " + r, price)));
+                }
+                marketResults.add(new MarketResult(new Market(e * 1000L + m, "Market " + m, List.of()), runnerResults));
+            }
+            Event event = new Event(e, "Team " + e + " - Team " + (e + 1), 1_700_000_000_000L, List.of());
+            matchResults.add(new MatchResult(event, marketResults));
+        }
+        League league = new League(1L, "Synthetic League", 1, true, 1, List.of());
+        return new RootResult(List.of(new LeagueResult("Football", league, matchResults)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.zemnitskiy.model.index;
+
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.request.EventRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SnapshotIndex} and {@link LongObjectMap} classes.
+ */
+class SnapshotIndexTest {
+
+    @Test
+    void testLongObjectMap_GrowsAndKeepsInsertionOrder() {
+        // Arrange
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        // Act
+        for (long key = 0; key < 1_000; key++) {
+            map.put(key * 10_000, "value " + key);
+        }
+        String replaced = map.put(0, "zero");
+
+        // Assert
+        assertEquals(1_000, map.size(), "Every distinct key should be stored once");
+        assertEquals("value 0", replaced, "Putting an existing key should return the previous value");
+        assertEquals("zero", map.valueAt(0), "A replaced value should keep its position");
+        assertEquals(9_990_000L, map.keyAt(999), "Keys should be iterated in insertion order");
+        assertEquals("value 500", map.get(5_000_000), "Keys should still be found after the table grew");
+        assertNull(map.get(-1), "A missing key should return null");
+        assertFalse(map.containsKey(10_001), "A missing key should not be contained");
+        assertThrows(IndexOutOfBoundsException.class, () -> map.keyAt(1_000), "Positions past the size should be rejected");
+    }
+
+    @Test
+    void testOf_IndexesEveryLevelWithItsParent() {
+        // Arrange
+        LeagueResult premierLeague = league(1000L, "Football",
+                event(1L, new Market(100L, "Match Result", List.of(new Runner(10L, "Home", "1.80"), new Runner(11L, "Away", "2.10")))));
+        LeagueResult nba = league(2000L, "Basketball",
+                event(2L, new Market(200L, "Winner", List.of(new Runner(20L, "Home", "1.50")))));
+
+        // Act
+        SnapshotIndex index = SnapshotIndex.of(new RootResult(List.of(premierLeague, nba)));
+
+        // Assert
+        MatchResult match = premierLeague.matchResults().getFirst();
+        assertSame(match, index.match(1L), "Matches should be found by event id");
+        assertSame(premierLeague, index.leagueOfMatch(1L), "The league of a match should be indexed");
+        assertSame(match.marketResults().getFirst(), index.market(100L), "Markets should be found by id");
+        assertSame(match, index.matchOfMarket(100L), "The match of a market should be indexed");
+        assertEquals(2_100, index.runner(11L).runner().price(), "Runners should be found by id");
+        assertSame(match.marketResults().getFirst(), index.marketOfRunner(11L), "The market of a runner should be indexed");
+        assertSame(nba, index.league(2000L), "Leagues should be found by id");
+        assertEquals(List.of(nba), index.leagues("Basketball"), "Leagues should be found by sport name");
+        assertEquals(List.of(), index.leagues("Tennis"), "An unknown sport should have no leagues");
+        assertNull(index.match(3L), "An unknown event should not be found");
+        assertEquals(2, index.matchCount(), "Both matches should be indexed");
+        assertEquals(3, index.runnerCount(), "Every runner should be indexed");
+    }
+
+    private static LeagueResult league(long id, String sportName, MatchResult... matches) {
+        return new LeagueResult(sportName, new League(id, "League " + id, 1, true, 1, List.of()), List.of(matches));
+    }
+
+    private static MatchResult event(long id, Market... markets) {
+        return EventRequest.toMatchResult(new Event(id, "Event " + id, 0L, List.of(markets)));
+    }
+}
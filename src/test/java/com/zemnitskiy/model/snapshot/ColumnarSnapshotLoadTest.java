@@ -0,0 +1,136 @@
+package com.zemnitskiy.model.snapshot;
+
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import com.zemnitskiy.visitor.Result;
+import com.zemnitskiy.visitor.ResultVisitor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the retained heap and traversal time of a 200k-runner tree held as records with the same
+ * tree held as a {@link ColumnarSnapshot}. Each runner gets its own name string, as decoded responses do.
+ */
+@Tag("load")
+class ColumnarSnapshotLoadTest {
+
+    private static final int MATCHES = 2_000;
+    private static final int MARKETS_PER_MATCH = 20;
+    private static final int RUNNERS_PER_MARKET = 5;
+    private static final int WARMUP_RUNS = 30;
+    private static final int MEASURED_RUNS = 20;
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void testColumnarSnapshotRetainsLessHeapThanRecordGraph() {
+        long graphBytes = retainedBytes(ColumnarSnapshotLoadTest::tree);
+        long columnarBytes = retainedBytes(() -> ColumnarSnapshot.of(tree()));
+
+        RootResult root = tree();
+        ColumnarSnapshot snapshot = ColumnarSnapshot.of(root);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            traverse(root);
+            traverse(snapshot);
+        }
+        long graphNanos = 0;
+        long columnarNanos = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            traverse(root);
+            long middle = System.nanoTime();
+            traverse(snapshot);
+            long end = System.nanoTime();
+            graphNanos += middle - start;
+            columnarNanos += end - middle;
+        }
+
+        System.out.printf("Record graph: %d KB retained, %.1f ms per traversal%n",
+                graphBytes / 1024, graphNanos / MEASURED_RUNS / 1e6);
+        System.out.printf("Columnar snapshot: %d KB retained, %.1f ms per traversal%n",
+                columnarBytes / 1024, columnarNanos / MEASURED_RUNS / 1e6);
+
+        assertEquals(MATCHES * MARKETS_PER_MATCH * RUNNERS_PER_MARKET, snapshot.runnerCount(), "Every runner should be stored");
+        assertTrue(columnarBytes * 3 < graphBytes, "The columnar snapshot should retain a fraction of the record graph");
+    }
+
+    private long retainedBytes(Supplier<Object> factory) {
+        long before = usedHeap();
+        Object retained = factory.get();
+        long after = usedHeap();
+        assertNotNull(retained, "The measured object should stay reachable until measured");
+        return after - before;
+    }
+
+    private long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryBean.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long traverse(Result result) {
+        long[] checksum = new long[1];
+        result.accept(new ResultVisitor() {
+            @Override
+            public void visitRoot(RootResult rootResult) {
+            }
+
+            @Override
+            public void visitLeague(LeagueResult leagueResult) {
+                checksum[0] += leagueResult.league().id();
+            }
+
+            @Override
+            public void visitMatch(MatchResult matchResult) {
+                checksum[0] += matchResult.event().kickoff();
+            }
+
+            @Override
+            public void visitMarket(MarketResult marketResult) {
+                checksum[0] += marketResult.market().id();
+            }
+
+            @Override
+            public void visitRunner(RunnerResult runnerResult) {
+                checksum[0] += runnerResult.runner().price();
+            }
+        });
+        return checksum[0];
+    }
+
+    private static RootResult tree() {
+        List<MatchResult> matchResults = new ArrayList<>(MATCHES);
+        long runnerId = 1;
+        for (int e = 0; e < MATCHES; e++) {
+            List<MarketResult> marketResults = new ArrayList<>(MARKETS_PER_MATCH);
+            for (int m = 0; m < MARKETS_PER_MATCH; m++) {
+                List<RunnerResult> runnerResults = new ArrayList<>(RUNNERS_PER_MARKET);
+                for (int r = 0; r < RUNNERS_PER_MARKET; r++) {
+                    // a fresh string per runner, as every decoded response carries its own copies
+                    runnerResults.add(new RunnerResult(new Runner(runnerId++, new String("Runner " + r), (1 + r) + "." + (10 + m))));
+                }
+                marketResults.add(new MarketResult(new Market(e * 1000L + m, new String("Market " + m), List.of()), runnerResults));
+            }
+            Event event = new Event(e, "Team " + e + " - Team " + (e + 1), 1_700_000_000_000L + e * 60_000L, List.of());
+            matchResults.add(new MatchResult(event, marketResults));
+        }
+        League league = new League(1L, "Synthetic League", 1, true, 1, List.of());
+        return new RootResult(List.of(new LeagueResult("Football", league, matchResults)));
+    }
+}
@@ -0,0 +1,127 @@
+package com.zemnitskiy.model.snapshot;
+
+import com.zemnitskiy.diff.SnapshotDiffer;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.request.EventRequest;
+import com.zemnitskiy.visitor.ResultDiffVisitor;
+import com.zemnitskiy.visitor.ResultPrinter;
+import com.zemnitskiy.visitor.Result;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ColumnarSnapshot} class.
+ */
+class ColumnarSnapshotTest {
+
+    private final League premierLeague = new League(1000L, "Premier League", 10, true, 1, List.of());
+    private final League laLiga = new League(2000L, "La Liga", 5, false, 0, List.of());
+
+    @Test
+    void testAccept_ReplaysSameTreeAsRecordGraph() throws IOException {
+        // Arrange
+        RootResult root = root();
+        ColumnarSnapshot snapshot = ColumnarSnapshot.of(root);
+
+        // Act
+        String fromGraph = print(root);
+        String fromSnapshot = print(snapshot);
+
+        // Assert
+        assertEquals(fromGraph, fromSnapshot, "Replaying the snapshot should visit the same nodes in the same order");
+        assertEquals(2, snapshot.leagueCount(), "Leagues should be counted");
+        assertEquals(3, snapshot.matchCount(), "Matches should be counted");
+        assertEquals(4, snapshot.marketCount(), "Markets should be counted");
+        assertEquals(6, snapshot.runnerCount(), "Runners should be counted");
+    }
+
+    @Test
+    void testAsRootResult_ExposesChildListsAsViews() {
+        // Arrange
+        ColumnarSnapshot snapshot = ColumnarSnapshot.of(root());
+
+        // Act
+        RootResult view = snapshot.asRootResult();
+
+        // Assert
+        LeagueResult league = view.leagueResults().getFirst();
+        MatchResult match = league.matchResults().getFirst();
+        assertEquals("Football", league.sportName(), "Sport name should be restored");
+        assertEquals(premierLeague.id(), league.league().id(), "League should be restored");
+        assertEquals(2, league.league().events().size(), "League events should be the events of its matches");
+        assertEquals(root().leagueResults().getFirst().matchResults().getFirst(), match,
+                "A match should equal the record it was built from");
+        assertThrows(IndexOutOfBoundsException.class, () -> match.marketResults().get(2),
+                "Views should be bounded by their own children");
+    }
+
+    @Test
+    void testAsRootResult_DiffsLikeRecordGraph() {
+        // Arrange
+        ResultDiffVisitor visitor = mock(ResultDiffVisitor.class);
+        ColumnarSnapshot snapshot = ColumnarSnapshot.of(root());
+
+        // Act
+        SnapshotDiffer.diff(root(), snapshot.asRootResult(), visitor);
+
+        // Assert
+        verifyNoInteractions(visitor);
+    }
+
+    @Test
+    void testBuilder_PoolsRepeatedStrings() {
+        // Act
+        ColumnarSnapshot snapshot = ColumnarSnapshot.of(root());
+
+        // Assert
+        // one sport, two leagues, three events, two market names and three runner names
+        assertEquals(11, snapshot.stringCount(), "Every distinct string should be pooled once");
+    }
+
+    @Test
+    void testBuilder_RejectsChildWithoutParent() {
+        // Arrange
+        ColumnarSnapshot.Builder builder = ColumnarSnapshot.builder();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> builder.match(new Event(1L, "Event", 0L, List.of())),
+                "A match needs a league");
+        builder.league("Football", premierLeague);
+        assertThrows(IllegalStateException.class, () -> builder.market(new Market(1L, "Winner", List.of())),
+                "A market needs a match");
+    }
+
+    private RootResult root() {
+        Event first = new Event(1L, "Arsenal - Chelsea", 1_700_000_000_000L, List.of(
+                new Market(10L, "Winner", List.of(new Runner(1L, "Home", "1.80"), new Runner(2L, "Away", "2.10"))),
+                new Market(11L, "Total", List.of(new Runner(3L, "Draw", "3.25")))));
+        Event second = new Event(2L, "Spurs - Everton", 1_700_000_060_000L, List.of(
+                new Market(20L, "Winner", List.of(new Runner(4L, "Home", "1.50")))));
+        Event third = new Event(3L, "Betis - Sevilla", 1_700_000_120_000L, List.of(
+                new Market(30L, "Winner", List.of(new Runner(5L, "Home", "2.00"), new Runner(6L, "Draw", "3.10")))));
+        return new RootResult(List.of(
+                new LeagueResult("Football", premierLeague, List.of(
+                        EventRequest.toMatchResult(first), EventRequest.toMatchResult(second))),
+                new LeagueResult("Football", laLiga, List.of(EventRequest.toMatchResult(third)))));
+    }
+
+    private static String print(Result result) throws IOException {
+        StringWriter out = new StringWriter();
+        ResultPrinter printer = new ResultPrinter(out);
+        result.accept(printer);
+        printer.flush();
+        return out.toString();
+    }
+}
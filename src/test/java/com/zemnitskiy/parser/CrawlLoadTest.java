@@ -0,0 +1,119 @@
+package com.zemnitskiy.parser;
+
+import com.zemnitskiy.api.ApiClientOptions;
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import com.zemnitskiy.request.CompletableFutureEngine;
+import com.zemnitskiy.request.FailurePolicy;
+import com.zemnitskiy.request.RequestLimits;
+import com.zemnitskiy.request.RequestOptions;
+import com.zemnitskiy.stub.LatencyDistribution;
+import com.zemnitskiy.stub.StubServer;
+import com.zemnitskiy.stub.StubServerOptions;
+import com.zemnitskiy.visitor.CrawlProgress;
+import com.zemnitskiy.visitor.ResultVisitor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Crawls every league and event of a {@link StubServer} catalog of 400 leagues and 20k events through
+ * {@link LeonParser#crawlData(ResultVisitor, Duration)}, and reports the throughput and how early every
+ * sport got its first league.
+ */
+@Tag("load")
+class CrawlLoadTest {
+
+    private static final int SPORTS = 8;
+
+    @Test
+    void testCrawlCoversWholeCatalogWithSportsTakingTurns() throws IOException {
+        StubServerOptions stubOptions = StubServerOptions.DEFAULT
+                .withCatalog(SPORTS, 10, 5, 50)
+                .withMarkets(5, 3)
+                .withLatency(LatencyDistribution.logNormal(Duration.ofMillis(2), Duration.ofMillis(20)));
+        try (StubServer stub = StubServer.start(stubOptions);
+             ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(executorService).build()) {
+            MetricsRegistry metrics = MetricsRegistry.create();
+            LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, stub.baseUrl(),
+                    ApiClientOptions.DEFAULT, metrics);
+            RequestOptions options = new RequestOptions(true, 1, metrics)
+                    .withFailurePolicy(FailurePolicy.COLLECT_PARTIAL)
+                    .withLimits(RequestLimits.UNLIMITED);
+            LeonParser parser = new LeonParser(apiClient, List.of(), options, new CompletableFutureEngine(), null);
+            SportOrder sportOrder = new SportOrder();
+
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+            CrawlProgress.Progress progress = parser.crawlData(sportOrder, Duration.ofSeconds(1));
+            long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+            int allSportsAfter = sportOrder.leaguesUntilEverySport();
+            System.out.printf("Crawl: %s, %d requests%n", progress, stub.stats().requests());
+            System.out.printf("Every sport had a league after %d of %d leagues, heap grew by %d MB%n",
+                    allSportsAfter, progress.leagues(), (heapAfter - heapBefore) / (1024 * 1024));
+
+            assertEquals(stub.catalog().leagueCount(), progress.leagues(), "Every league should be crawled");
+            assertEquals(stub.catalog().eventCount(), progress.events(), "Every event should be crawled");
+            assertEquals(SPORTS, progress.sports(), "Every sport should be crawled");
+            assertEquals(0, progress.incomplete(), "No league or event should be incomplete");
+            assertTrue(allSportsAfter <= progress.leagues() / 4,
+                    "Every sport should get a league within the first quarter of the crawl");
+        }
+    }
+
+    /**
+     * Records the order in which the sports of the crawled leagues arrive.
+     */
+    private static final class SportOrder implements ResultVisitor {
+        private final List<String> sports = new ArrayList<>();
+
+        int leaguesUntilEverySport() {
+            HashSet<String> seen = new HashSet<>();
+            for (int i = 0; i < sports.size(); i++) {
+                if (seen.add(sports.get(i)) && seen.size() == SPORTS) {
+                    return i + 1;
+                }
+            }
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void visitRoot(RootResult rootResult) {
+        }
+
+        @Override
+        public void visitLeague(LeagueResult leagueResult) {
+            sports.add(leagueResult.sportName());
+        }
+
+        @Override
+        public void visitMatch(MatchResult matchResult) {
+        }
+
+        @Override
+        public void visitMarket(MarketResult marketResult) {
+        }
+
+        @Override
+        public void visitRunner(RunnerResult runnerResult) {
+        }
+    }
+}
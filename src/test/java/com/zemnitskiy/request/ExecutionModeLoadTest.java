@@ -0,0 +1,131 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Region;
+import com.zemnitskiy.model.basemodel.Sport;
+import com.zemnitskiy.model.result.RootResult;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.zemnitskiy.Main.LEAGUE_COUNT;
+import static com.zemnitskiy.Main.MATCH_COUNT;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares throughput and tail latency of the {@link ExecutionMode}s at 10, 100 and 1000 concurrent
+ * event fetches against a simulated API.
+ *
+ * <p>The simulated event endpoint answers with headers after {@link #HEADER_LATENCY_MILLIS} and then
+ * blocks the decoding thread for {@link #BODY_READ_MILLIS}, like reading a streamed body does. Every
+ * mode must build the same result tree as the default {@link RootRequest#fetch()}.</p>
+ */
+@Tag("load")
+class ExecutionModeLoadTest {
+
+    private static final long HEADER_LATENCY_MILLIS = 20;
+    private static final long BODY_READ_MILLIS = 2;
+    private static final int MEASURED_RUNS = 3;
+
+    @Test
+    void testExecutionModesLoad() {
+        for (int events : new int[]{10, 100, 1000}) {
+            for (ExecutionMode mode : ExecutionMode.values()) {
+                run(mode, events);
+            }
+        }
+    }
+
+    private void run(ExecutionMode mode, int events) {
+        try (ExecutorService executorService = mode.newExecutorService()) {
+            SimulatedApiClient apiClient = new SimulatedApiClient(executorService, events / (LEAGUE_COUNT * MATCH_COUNT));
+            RequestEngine engine = mode.newEngine(executorService);
+            RootRequest request = new RootRequest(apiClient, apiClient.sportNames());
+
+            RootResult expected = request.fetch().join();
+            assertEquals(expected, engine.fetch(request).join(),
+                    mode + " should build the same result tree as RootRequest#fetch()");
+            apiClient.latencies.clear();
+
+            long totalNanos = 0;
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long start = System.nanoTime();
+                RootResult result = engine.fetch(request).join();
+                totalNanos += System.nanoTime() - start;
+                assertEquals(events, result.leagueResults().stream().mapToInt(l -> l.matchResults().size()).sum(),
+                        "Every event should be fetched");
+                assertEquals(expected, result, mode + " should build the same result tree as RootRequest#fetch()");
+            }
+
+            long[] latencies = apiClient.latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            double seconds = totalNanos / 1e9;
+            System.out.printf("%-15s %5d events: %8.0f events/s, p50 %4d ms, p99 %4d ms%n",
+                    mode, events, events * MEASURED_RUNS / seconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99));
+        }
+    }
+
+    private static long percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(0, index)]);
+    }
+
+    private static final class SimulatedApiClient extends LeonApiClient {
+        private final ExecutorService executorService;
+        private final List<Sport> sports = new ArrayList<>();
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        SimulatedApiClient(ExecutorService executorService, int sportCount) {
+            super(null, executorService, "http://localhost/");
+            this.executorService = executorService;
+            for (int i = 0; i < sportCount; i++) {
+                League league = new League(i, "League " + i, 1, true, 1, List.of());
+                sports.add(new Sport(i, "Sport " + i, List.of(new Region("Region " + i, List.of(league)))));
+            }
+        }
+
+        List<String> sportNames() {
+            return sports.stream().map(Sport::name).toList();
+        }
+
+        @Override
+        public CompletableFuture<List<Sport>> fetchBaseInformation() {
+            return CompletableFuture.completedFuture(sports);
+        }
+
+        @Override
+        public CompletableFuture<League> fetchEventsForLeague(League league) {
+            Event[] events = new Event[MATCH_COUNT];
+            Arrays.setAll(events, i -> new Event(league.id() * MATCH_COUNT + i, "Event " + i, 0L, List.of()));
+            return CompletableFuture.completedFuture(new League(league.id(), league.name(), league.weight(),
+                    league.top(), league.topOrder(), List.of(events)));
+        }
+
+        @Override
+        public CompletableFuture<Event> fetchEventDetails(long eventId) {
+            long start = System.nanoTime();
+            return CompletableFuture.supplyAsync(() -> {
+                        sleep(BODY_READ_MILLIS);
+                        return new Event(eventId, "Event " + eventId, 0L, List.of());
+                    }, CompletableFuture.delayedExecutor(HEADER_LATENCY_MILLIS, TimeUnit.MILLISECONDS, executorService))
+                    .whenComplete((event, e) -> latencies.add(System.nanoTime() - start));
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
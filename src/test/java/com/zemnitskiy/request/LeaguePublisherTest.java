@@ -0,0 +1,162 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Region;
+import com.zemnitskiy.model.basemodel.Sport;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.visitor.ResultPrinter;
+import com.zemnitskiy.visitor.VisitingSubscriber;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link LeaguePublisher} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class LeaguePublisherTest {
+
+    @Mock
+    private LeonApiClient apiClient;
+
+    private final League football = new League(1000L, "Premier League", 1, true, 1, List.of());
+    private final League tennis = new League(2000L, "ATP", 1, true, 1, List.of());
+    private final League hockey = new League(3000L, "NHL", 1, true, 1, List.of());
+
+    @Test
+    void testPublish_DeliversLeaguesInCompletionOrder() {
+        // Arrange
+        CompletableFuture<League> slowFootball = new CompletableFuture<>();
+        catalog(football, tennis);
+        when(apiClient.fetchEventsForLeague(football)).thenReturn(slowFootball);
+        when(apiClient.fetchEventsForLeague(tennis)).thenReturn(CompletableFuture.completedFuture(tennis));
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+
+        // Act
+        new CompletableFutureEngine().publish(request()).subscribe(subscriber);
+        List<String> beforeSlowLeague = subscriber.leagueNames();
+        slowFootball.complete(football);
+
+        // Assert
+        assertEquals(List.of("ATP"), beforeSlowLeague, "The fast league should be delivered before the slow one completes");
+        assertEquals(List.of("ATP", "Premier League"), subscriber.leagueNames(), "Both leagues should be delivered");
+        assertTrue(subscriber.completed, "The stream should complete after the last league");
+    }
+
+    @Test
+    void testPublish_FetchesNoFurtherThanDemandPlusPrefetch() {
+        // Arrange
+        catalog(football, tennis, hockey);
+        when(apiClient.fetchEventsForLeague(any(League.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+        RecordingSubscriber subscriber = new RecordingSubscriber(1);
+
+        // Act
+        new CompletableFutureEngine().publish(request(), 1).subscribe(subscriber);
+        int fetchedAfterFirstRequest = mockingDetails(apiClient).getInvocations().size() - 1;
+        subscriber.subscription.request(2);
+
+        // Assert
+        assertEquals(2, fetchedAfterFirstRequest, "Only the requested league and one prefetched league should be fetched");
+        assertEquals(List.of("Premier League", "ATP", "NHL"), subscriber.leagueNames(), "Every league should be delivered on demand");
+        assertTrue(subscriber.completed, "The stream should complete after the last league");
+    }
+
+    @Test
+    void testPublish_FailedLeagueFailsStreamAndDropsTheOthers() {
+        // Arrange
+        CompletableFuture<League> pendingFootball = new CompletableFuture<>();
+        catalog(football, tennis);
+        when(apiClient.fetchEventsForLeague(football)).thenReturn(pendingFootball);
+        when(apiClient.fetchEventsForLeague(tennis)).thenReturn(CompletableFuture.failedFuture(new RuntimeException("API error")));
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+
+        // Act
+        new CompletableFutureEngine().publish(request()).subscribe(subscriber);
+        pendingFootball.complete(football);
+
+        // Assert
+        assertNotNull(subscriber.error, "The failed league should fail the stream");
+        assertEquals(List.of(), subscriber.leagueNames(), "A league completing after the failure should not be delivered");
+        assertFalse(subscriber.completed, "A failed stream should not complete");
+    }
+
+    @Test
+    void testVisitingSubscriber_PrintsEveryStreamedLeague() {
+        // Arrange
+        catalog(football, tennis);
+        when(apiClient.fetchEventsForLeague(any(League.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+        StringWriter out = new StringWriter();
+        VisitingSubscriber subscriber = new VisitingSubscriber(new ResultPrinter(out));
+
+        // Act
+        new CompletableFutureEngine().publish(request()).subscribe(subscriber);
+        subscriber.completion().join();
+
+        // Assert
+        assertTrue(out.toString().contains("Football, Premier League"), "The first league should be printed");
+        assertTrue(out.toString().contains("Tennis, ATP"), "The second league should be printed");
+    }
+
+    private void catalog(League... leagues) {
+        List<Sport> sports = new ArrayList<>();
+        for (League league : leagues) {
+            String sportName = league == football ? "Football" : league == tennis ? "Tennis" : "Ice Hockey";
+            sports.add(new Sport(league.id(), sportName, List.of(new Region("Region", List.of(league)))));
+        }
+        when(apiClient.fetchBaseInformation()).thenReturn(CompletableFuture.completedFuture(sports));
+    }
+
+    private RootRequest request() {
+        return new RootRequest(apiClient, List.of("Football", "Tennis", "Ice Hockey"));
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<LeagueResult> {
+        private final long initialRequest;
+        private final List<LeagueResult> leagues = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        private RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(LeagueResult item) {
+            leagues.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        List<String> leagueNames() {
+            return leagues.stream().map(leagueResult -> leagueResult.league().name()).toList();
+        }
+    }
+}
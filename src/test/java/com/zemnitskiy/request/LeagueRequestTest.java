@@ -8,6 +8,7 @@ import com.zemnitskiy.model.basemodel.Runner;
 import com.zemnitskiy.model.result.LeagueResult;
 import com.zemnitskiy.model.result.MatchResult;
 import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.ResultStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import static org.junit.jupiter.api.Assertions.*;
@@ -147,4 +149,125 @@ class LeagueRequestTest {
         assertEquals(league, leagueResult.league(), "League should match");
         assertEquals(0, leagueResult.matchResults().size(), "Should have zero match results");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFetch_ReusesCompleteLeagueMarkets() {
+        // Arrange
+        Market market = new Market(100L, "Match Outcome", List.of(new Runner(1L, "Team A Win", "1.80")));
+        Event completeEvent = new Event(1L, "Team A vs Team B", System.currentTimeMillis() + 3600000, List.of(market));
+        Event incompleteEvent = new Event(2L, "Team C vs Team D", System.currentTimeMillis() + 7200000, List.of());
+        League updatedLeague = new League(league.id(), league.name(), league.weight(), league.top(), league.topOrder(),
+                List.of(completeEvent, incompleteEvent));
+        Event fetchedEvent = new Event(incompleteEvent.id(), incompleteEvent.name(), incompleteEvent.kickoff(), List.of(market));
+
+        when(apiClient.fetchEventsForLeague(league)).thenReturn(CompletableFuture.completedFuture(updatedLeague));
+        when(apiClient.fetchEventDetails(incompleteEvent.id())).thenReturn(CompletableFuture.completedFuture(fetchedEvent));
+
+        LeagueRequest reusingRequest = new LeagueRequest(apiClient, league, sportName, new RequestOptions(true, 1));
+
+        // Act
+        LeagueResult leagueResult = reusingRequest.fetch().join();
+
+        // Assert
+        assertEquals(2, leagueResult.matchResults().size(), "Should have two match results");
+        assertEquals(completeEvent, leagueResult.matchResults().get(0).event(), "Complete event should be taken from the league response");
+        assertEquals(fetchedEvent, leagueResult.matchResults().get(1).event(), "Incomplete event should be fetched");
+        verify(apiClient, never()).fetchEventDetails(completeEvent.id());
+    }
+
+    @Test
+    void testFetch_FetchesEventsBelowMinimumMarkets() {
+        // Arrange
+        Market market = new Market(100L, "Match Outcome", List.of(new Runner(1L, "Team A Win", "1.80")));
+        Event event = new Event(1L, "Team A vs Team B", System.currentTimeMillis() + 3600000, List.of(market));
+        League updatedLeague = new League(league.id(), league.name(), league.weight(), league.top(), league.topOrder(), List.of(event));
+
+        when(apiClient.fetchEventsForLeague(league)).thenReturn(CompletableFuture.completedFuture(updatedLeague));
+        when(apiClient.fetchEventDetails(event.id())).thenReturn(CompletableFuture.completedFuture(event));
+
+        LeagueRequest reusingRequest = new LeagueRequest(apiClient, league, sportName, new RequestOptions(true, 2));
+
+        // Act
+        LeagueResult leagueResult = reusingRequest.fetch().join();
+
+        // Assert
+        assertEquals(1, leagueResult.matchResults().size(), "Should have one match result");
+        verify(apiClient).fetchEventDetails(event.id());
+    }
+
+    @Test
+    void testFetch_PartialPolicyMarksHungEventAsTimedOut() {
+        // Arrange
+        Market market = new Market(100L, "Match Outcome", List.of(new Runner(1L, "Team A Win", "1.80")));
+        Event event1 = new Event(1L, "Team A vs Team B", System.currentTimeMillis() + 3600000, List.of());
+        Event event2 = new Event(2L, "Team C vs Team D", System.currentTimeMillis() + 7200000, List.of());
+        League updatedLeague = new League(league.id(), league.name(), league.weight(), league.top(), league.topOrder(),
+                List.of(event1, event2));
+        Event event1WithMarkets = new Event(event1.id(), event1.name(), event1.kickoff(), List.of(market));
+        CompletableFuture<Event> hungEvent = new CompletableFuture<>();
+
+        when(apiClient.fetchEventsForLeague(league)).thenReturn(CompletableFuture.completedFuture(updatedLeague));
+        when(apiClient.fetchEventDetails(event1.id())).thenReturn(CompletableFuture.completedFuture(event1WithMarkets));
+        when(apiClient.fetchEventDetails(event2.id())).thenReturn(hungEvent);
+
+        RequestOptions options = new RequestOptions(false, 1)
+                .withDeadlines(new RequestDeadlines(null, null, Duration.ofMillis(50)))
+                .withFailurePolicy(FailurePolicy.COLLECT_PARTIAL);
+        LeagueRequest partialRequest = new LeagueRequest(apiClient, league, sportName, options);
+
+        // Act
+        LeagueResult leagueResult = partialRequest.fetch().join();
+
+        // Assert
+        assertEquals(ResultStatus.COMPLETE, leagueResult.status(), "League should be complete");
+        assertEquals(2, leagueResult.matchResults().size(), "Should keep both match results");
+        assertEquals(ResultStatus.COMPLETE, leagueResult.matchResults().get(0).status(), "Fetched event should be complete");
+        MatchResult timedOut = leagueResult.matchResults().get(1);
+        assertEquals(event2, timedOut.event(), "Placeholder should carry the event from the league response");
+        assertEquals(ResultStatus.TIMED_OUT, timedOut.status(), "Hung event should be marked as timed out");
+        assertTrue(timedOut.marketResults().isEmpty(), "Placeholder should have no markets");
+        assertTrue(hungEvent.isCancelled(), "Hung event request should be cancelled at its deadline");
+    }
+
+    @Test
+    void testFetch_FailFastFailsWithoutWaitingForOtherEvents() {
+        // Arrange
+        Event event1 = new Event(1L, "Team A vs Team B", System.currentTimeMillis() + 3600000, List.of());
+        Event event2 = new Event(2L, "Team C vs Team D", System.currentTimeMillis() + 7200000, List.of());
+        League updatedLeague = new League(league.id(), league.name(), league.weight(), league.top(), league.topOrder(),
+                List.of(event1, event2));
+        CompletableFuture<Event> hungEvent = new CompletableFuture<>();
+
+        when(apiClient.fetchEventsForLeague(league)).thenReturn(CompletableFuture.completedFuture(updatedLeague));
+        when(apiClient.fetchEventDetails(event1.id())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("Event API error")));
+        when(apiClient.fetchEventDetails(event2.id())).thenReturn(hungEvent);
+
+        // Act
+        CompletableFuture<LeagueResult> futureResult = leagueRequest.fetch();
+
+        // Assert
+        assertTrue(futureResult.isCompletedExceptionally(), "League should fail as soon as one event fails");
+        assertTrue(hungEvent.isCancelled(), "Remaining event request should be cancelled");
+    }
+
+    @Test
+    void testSelectEvents_KeepsToTheEventLimit() {
+        // Arrange
+        List<Event> events = List.of(
+                new Event(1L, "Team A vs Team B", 0L, List.of()),
+                new Event(2L, "Team C vs Team D", 0L, List.of()),
+                new Event(3L, "Team E vs Team F", 0L, List.of()));
+        League updatedLeague = new League(league.id(), league.name(), league.weight(), league.top(), league.topOrder(), events);
+        RequestOptions options = RequestOptions.DEFAULT;
+
+        // Act
+        List<Event> limited = new LeagueRequest(apiClient, league, sportName,
+                options.withLimits(RequestLimits.DEFAULT.withEventsPerLeague(1))).selectEvents(updatedLeague);
+        List<Event> unlimited = new LeagueRequest(apiClient, league, sportName,
+                options.withLimits(RequestLimits.UNLIMITED)).selectEvents(updatedLeague);
+
+        // Assert
+        assertEquals(List.of(events.getFirst()), limited, "Only the first event should be selected");
+        assertEquals(events, unlimited, "Every event should be selected without a limit");
+    }
+}
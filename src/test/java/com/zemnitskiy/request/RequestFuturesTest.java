@@ -0,0 +1,67 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.model.result.ResultStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RequestFutures} and {@link Deadline} classes.
+ */
+class RequestFuturesTest {
+
+    @Test
+    void testCollect_KeepsOrderAndReplacesFailedChildren() {
+        // Arrange
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        CompletableFuture<String> failed = CompletableFuture.failedFuture(new RuntimeException("boom"));
+        CompletableFuture<String> fast = CompletableFuture.completedFuture("fast");
+
+        // Act
+        CompletableFuture<List<String>> collected = RequestFutures.collect(List.of(slow, failed, fast),
+                FailurePolicy.COLLECT_PARTIAL, (index, e) -> "fallback " + index);
+        boolean doneBeforeSlow = collected.isDone();
+        slow.complete("slow");
+
+        // Assert
+        assertFalse(doneBeforeSlow, "Collecting should wait for every child");
+        assertEquals(List.of("slow", "fallback 1", "fast"), collected.join(), "Results should keep the order of the children");
+    }
+
+    @Test
+    void testCompose_FailureCancelsBothStages() {
+        // Arrange
+        CompletableFuture<String> source = CompletableFuture.completedFuture("source");
+        CompletableFuture<String> next = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> composed = RequestFutures.compose(source, value -> next);
+        composed.cancel(true);
+
+        // Assert
+        assertTrue(next.isCancelled(), "Cancelling the composed future should cancel the next stage");
+    }
+
+    @Test
+    void testBound_TimesOutAndCancelsSource() {
+        // Arrange
+        CompletableFuture<String> source = new CompletableFuture<>();
+        Deadline deadline = Deadline.after(Duration.ofMillis(20)).within(Duration.ofHours(1));
+
+        // Act
+        CompletableFuture<String> bounded = deadline.bound(source);
+        CompletionException failure = assertThrows(CompletionException.class, bounded::join, "Bounded future should time out");
+
+        // Assert
+        assertInstanceOf(TimeoutException.class, RequestFutures.unwrap(failure), "Failure should be a timeout");
+        assertEquals(ResultStatus.TIMED_OUT, RequestFutures.statusOf(failure), "Timeout should be classified as timed out");
+        assertTrue(source.isCancelled(), "Source should be cancelled once the deadline passes");
+        assertSame(source, Deadline.none().bound(source), "An unbounded deadline should not wrap the future");
+    }
+}
@@ -2,9 +2,11 @@ package com.zemnitskiy.request;
 
 import com.zemnitskiy.api.LeonApiClient;
 import com.zemnitskiy.model.basemodel.*;
+import com.zemnitskiy.model.index.SnapshotIndex;
 import com.zemnitskiy.model.result.LeagueResult;
 import com.zemnitskiy.model.result.MatchResult;
 import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.ResultStatus;
 import com.zemnitskiy.model.result.RootResult;
 import com.zemnitskiy.model.result.RunnerResult;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +28,12 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class RootRequestTest {
 
+    private static final League FOOTBALL_TOP = new League(1000L, "Premier League", 1, true, 1, List.of());
+    private static final League FOOTBALL_OTHER = new League(1001L, "League Two", 2, false, 0, List.of());
+    private static final League FOOTBALL_THIRD = new League(1002L, "National League", 3, false, 0, List.of());
+    private static final League TENNIS_OTHER = new League(2000L, "ITF", 1, false, 0, List.of());
+    private static final League TENNIS_TOP = new League(2001L, "ATP", 2, true, 1, List.of());
+
     @Mock
     private LeonApiClient apiClient;
 
@@ -111,6 +119,29 @@ class RootRequestTest {
         }
     }
 
+    @Test
+    void testFetch_IndexesEveryFetchedLeague() {
+        // Arrange
+        Market market = new Market(100L, "Match Outcome", List.of(new Runner(1L, "Team A Win", "1.80")));
+        Event event = new Event(10L, "Team A vs Team B", 0L, List.of(market));
+        League league = new League(1000L, "Premier League", 1, true, 1, List.of(event));
+        Sport sport = new Sport(1L, "Football", List.of(new Region("England", List.of(league))));
+        SnapshotIndex index = new SnapshotIndex();
+
+        when(apiClient.fetchBaseInformation()).thenReturn(CompletableFuture.completedFuture(List.of(sport)));
+        when(apiClient.fetchEventsForLeague(any(League.class))).thenReturn(CompletableFuture.completedFuture(league));
+        when(apiClient.fetchEventDetails(anyLong())).thenReturn(CompletableFuture.completedFuture(event));
+
+        // Act
+        RootResult rootResult = rootRequest.withIndex(index).fetch().join();
+
+        // Assert
+        LeagueResult leagueResult = rootResult.leagueResults().getFirst();
+        assertSame(leagueResult, index.league(1000L), "The fetched league should be indexed");
+        assertSame(leagueResult.matchResults().getFirst(), index.match(10L), "The fetched match should be indexed");
+        assertEquals(1, index.runnerCount(), "The fetched runner should be indexed");
+    }
+
     @Test
      void testFetch_ApiClientThrowsException() {
         // Arrange
@@ -163,6 +194,45 @@ class RootRequestTest {
         assertEquals(0, rootResult.leagueResults().size(), "Should have zero league results");
     }
 
+    @Test
+    void testLeagueRequests_UnlimitedCoversEverySportAndLeagueSportBySport() {
+        // Arrange
+        List<Sport> sports = unlimitedCatalog();
+        RootRequest crawl = new RootRequest(apiClient, List.of(),
+                RequestOptions.DEFAULT.withLimits(RequestLimits.UNLIMITED));
+
+        // Act
+        List<LeagueRequest> leagueRequests = crawl.leagueRequests(sports);
+
+        // Assert
+        assertEquals(List.of(FOOTBALL_TOP, FOOTBALL_OTHER, FOOTBALL_THIRD, TENNIS_TOP, TENNIS_OTHER),
+                leagueRequests.stream().map(LeagueRequest::league).toList(),
+                "Every league of every sport should be selected, top leagues first, sport by sport");
+    }
+
+    @Test
+    void testInterleavedLeagueRequests_UnlimitedCoversEverySportAndLeagueTakingTurns() {
+        // Arrange
+        List<Sport> sports = unlimitedCatalog();
+        RootRequest crawl = new RootRequest(apiClient, List.of(),
+                RequestOptions.DEFAULT.withLimits(RequestLimits.UNLIMITED));
+
+        // Act
+        List<LeagueRequest> leagueRequests = crawl.interleavedLeagueRequests(sports);
+
+        // Assert
+        assertEquals(List.of(FOOTBALL_TOP, TENNIS_TOP, FOOTBALL_OTHER, TENNIS_OTHER, FOOTBALL_THIRD),
+                leagueRequests.stream().map(LeagueRequest::league).toList(),
+                "Every league of every sport should be selected, top leagues first, with sports taking turns");
+    }
+
+    private static List<Sport> unlimitedCatalog() {
+        return List.of(
+                new Sport(1L, "Football", List.of(new Region("England", List.of(FOOTBALL_OTHER, FOOTBALL_TOP)),
+                        new Region("Scotland", List.of(FOOTBALL_THIRD)))),
+                new Sport(2L, "Tennis", List.of(new Region("World", List.of(TENNIS_OTHER, TENNIS_TOP)))));
+    }
+
     @Test
      void testFetch_LeagueRequestThrowsException() {
         // Arrange
@@ -180,4 +250,38 @@ class RootRequestTest {
         // Assert
         assertThrows(RuntimeException.class, futureResult::join, "Should throw RuntimeException when fetching league events fails");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFetch_PartialPolicyKeepsFailedLeagueAsPlaceholder() {
+        // Arrange
+        Market market = new Market(100L, "Match Outcome", List.of(new Runner(1L, "Team A Win", "1.80")));
+        Event event = new Event(10L, "Team A vs Team B", 0L, List.of(market));
+        League footballLeague = new League(1000L, "Premier League", 1, true, 1, List.of(event));
+        League basketballLeague = new League(2000L, "NBA", 1, true, 1, List.of());
+        Sport football = new Sport(1L, "Football", List.of(new Region("England", List.of(footballLeague))));
+        Sport basketball = new Sport(2L, "Basketball", List.of(new Region("USA", List.of(basketballLeague))));
+        SnapshotIndex index = new SnapshotIndex();
+
+        when(apiClient.fetchBaseInformation()).thenReturn(CompletableFuture.completedFuture(List.of(football, basketball)));
+        when(apiClient.fetchEventsForLeague(footballLeague)).thenReturn(CompletableFuture.completedFuture(footballLeague));
+        when(apiClient.fetchEventsForLeague(basketballLeague)).thenReturn(CompletableFuture.failedFuture(new RuntimeException("League API error")));
+        when(apiClient.fetchEventDetails(event.id())).thenReturn(CompletableFuture.completedFuture(event));
+
+        RequestOptions options = RequestOptions.DEFAULT.withFailurePolicy(FailurePolicy.COLLECT_PARTIAL);
+        RootRequest partialRequest = new RootRequest(apiClient, sportsNames, options, index);
+
+        // Act
+        RootResult rootResult = partialRequest.fetch().join();
+
+        // Assert
+        assertEquals(2, rootResult.leagueResults().size(), "Should keep both leagues");
+        LeagueResult fetched = rootResult.leagueResults().get(0);
+        LeagueResult failed = rootResult.leagueResults().get(1);
+        assertEquals(ResultStatus.COMPLETE, fetched.status(), "Fetched league should be complete");
+        assertEquals(1, fetched.matchResults().size(), "Fetched league should keep its match");
+        assertEquals(basketballLeague, failed.league(), "Placeholder should carry the league from the catalog");
+        assertEquals(ResultStatus.FAILED, failed.status(), "Failed league should be marked as failed");
+        assertTrue(failed.matchResults().isEmpty(), "Placeholder should have no matches");
+        assertSame(failed, index.league(2000L), "The placeholder should be indexed");
+    }
+}
@@ -0,0 +1,144 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Region;
+import com.zemnitskiy.model.basemodel.Sport;
+import com.zemnitskiy.model.result.LeagueResult;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static com.zemnitskiy.Main.MATCH_COUNT;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the time to the first result of {@link RootRequest#fetch()} with streaming the same tree
+ * through {@link RequestEngine#publish(RootRequest)}, when one event of one league is much slower than
+ * the rest.
+ */
+@Tag("load")
+class StreamingLoadTest {
+
+    private static final int LEAGUES = 50;
+    private static final long EVENT_LATENCY_MILLIS = 20;
+    private static final long SLOW_EVENT_LATENCY_MILLIS = 500;
+    private static final int MEASURED_RUNS = 3;
+
+    @Test
+    void testStreamingDeliversFirstLeagueBeforeSlowestEvent() {
+        try (ExecutorService executorService = ExecutionMode.FIXED_POOL.newExecutorService()) {
+            SimulatedApiClient apiClient = new SimulatedApiClient(executorService);
+            RequestEngine engine = ExecutionMode.FIXED_POOL.newEngine(executorService);
+            RootRequest request = new RootRequest(apiClient, apiClient.sportNames());
+
+            long barrierNanos = 0;
+            long firstNanos = 0;
+            long lastNanos = 0;
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long start = System.nanoTime();
+                engine.fetch(request).join();
+                barrierNanos += System.nanoTime() - start;
+
+                TimingSubscriber subscriber = new TimingSubscriber(System.nanoTime());
+                engine.publish(request).subscribe(subscriber);
+                subscriber.done.join();
+                assertEquals(LEAGUES, subscriber.leagues, "Every league should be streamed");
+                firstNanos += subscriber.firstNanos;
+                lastNanos += subscriber.lastNanos;
+            }
+
+            System.out.printf("allOf barrier: first result after %d ms%n", millis(barrierNanos));
+            System.out.printf("Streaming:     first result after %d ms, last after %d ms%n",
+                    millis(firstNanos), millis(lastNanos));
+
+            assertTrue(firstNanos * 5 < barrierNanos, "Streaming should deliver the first league long before the barrier");
+        }
+    }
+
+    private static long millis(long totalNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos / MEASURED_RUNS);
+    }
+
+    private static final class TimingSubscriber implements Flow.Subscriber<LeagueResult> {
+        private final long startNanos;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private int leagues;
+        private long firstNanos;
+        private long lastNanos;
+
+        private TimingSubscriber(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(LeagueResult item) {
+            lastNanos = System.nanoTime() - startNanos;
+            if (leagues++ == 0) {
+                firstNanos = lastNanos;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+    }
+
+    private static final class SimulatedApiClient extends LeonApiClient {
+        private final ExecutorService executorService;
+        private final List<Sport> sports = new ArrayList<>();
+
+        SimulatedApiClient(ExecutorService executorService) {
+            super(null, executorService, "http://localhost/");
+            this.executorService = executorService;
+            for (int i = 0; i < LEAGUES; i++) {
+                League league = new League(i, "League " + i, 1, true, 1, List.of());
+                sports.add(new Sport(i, "Sport " + i, List.of(new Region("Region " + i, List.of(league)))));
+            }
+        }
+
+        List<String> sportNames() {
+            return sports.stream().map(Sport::name).toList();
+        }
+
+        @Override
+        public CompletableFuture<List<Sport>> fetchBaseInformation() {
+            return CompletableFuture.completedFuture(sports);
+        }
+
+        @Override
+        public CompletableFuture<League> fetchEventsForLeague(League league) {
+            Event[] events = new Event[MATCH_COUNT];
+            Arrays.setAll(events, i -> new Event(league.id() * MATCH_COUNT + i, "Event " + i, 0L, List.of()));
+            return CompletableFuture.completedFuture(new League(league.id(), league.name(), league.weight(),
+                    league.top(), league.topOrder(), List.of(events)));
+        }
+
+        @Override
+        public CompletableFuture<Event> fetchEventDetails(long eventId) {
+            // the first event of the last league is the slow one
+            long latency = eventId == (LEAGUES - 1L) * MATCH_COUNT ? SLOW_EVENT_LATENCY_MILLIS : EVENT_LATENCY_MILLIS;
+            return CompletableFuture.supplyAsync(() -> new Event(eventId, "Event " + eventId, 0L, List.of()),
+                    CompletableFuture.delayedExecutor(latency, TimeUnit.MILLISECONDS, executorService));
+        }
+    }
+}
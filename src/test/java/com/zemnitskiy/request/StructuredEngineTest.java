@@ -0,0 +1,173 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Region;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.basemodel.Sport;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.ResultStatus;
+import com.zemnitskiy.model.result.RootResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link StructuredEngine} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class StructuredEngineTest {
+
+    @Mock
+    private LeonApiClient apiClient;
+
+    private final StructuredEngine engine = new StructuredEngine();
+    private final Market market = new Market(100L, "Match Outcome", List.of(new Runner(1L, "Team A Win", "1.80")));
+    private final Event event1 = new Event(10L, "Team A vs Team B", 0L, List.of());
+    private final Event event2 = new Event(11L, "Team C vs Team D", 0L, List.of());
+    private final League league = new League(1000L, "Premier League", 1, true, 1, List.of(event1, event2));
+
+    @BeforeEach
+    public void setUp() {
+        Sport sport = new Sport(1L, "Football", List.of(new Region("England", List.of(league))));
+        when(apiClient.fetchBaseInformation()).thenReturn(CompletableFuture.completedFuture(List.of(sport)));
+        when(apiClient.fetchEventsForLeague(league)).thenReturn(CompletableFuture.completedFuture(league));
+    }
+
+    @Test
+    void testFetch_RunsEachEventInANamedScopeThread() {
+        // Arrange
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        when(apiClient.fetchEventDetails(anyLong())).thenAnswer(invocation -> {
+            threadNames.add(Thread.currentThread().getName());
+            long eventId = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(new Event(eventId, "Event " + eventId, 0L, List.of(market)));
+        });
+        RootRequest request = new RootRequest(apiClient, List.of("Football"));
+
+        // Act
+        RootResult rootResult = engine.fetch(request).join();
+
+        // Assert
+        LeagueResult leagueResult = rootResult.leagueResults().getFirst();
+        assertEquals(league, leagueResult.league(), "League should match");
+        assertEquals(List.of(10L, 11L), leagueResult.matchResults().stream().map(m -> m.event().id()).toList(),
+                "Matches should keep the order of the events");
+        assertEquals(Set.of("request-root/league-1000/event-10", "request-root/league-1000/event-11"), threadNames,
+                "Every event should run on a thread named after its place in the tree");
+    }
+
+    @Test
+    void testFetch_ForksOnlyEventsThatNeedTheirOwnRequest() {
+        // Arrange
+        Event pricedEvent = new Event(event1.id(), event1.name(), 0L, List.of(market));
+        League pricedLeague = new League(league.id(), league.name(), 1, true, 1, List.of(pricedEvent, event2));
+        when(apiClient.fetchEventsForLeague(league)).thenReturn(CompletableFuture.completedFuture(pricedLeague));
+        when(apiClient.fetchEventDetails(event2.id()))
+                .thenReturn(CompletableFuture.completedFuture(new Event(event2.id(), event2.name(), 0L, List.of(market))));
+        MetricsRegistry registry = MetricsRegistry.create();
+        MetricsRegistry metrics = mock(MetricsRegistry.class, AdditionalAnswers.delegatesTo(registry));
+        Set<String> producingThreads = ConcurrentHashMap.newKeySet();
+        when(metrics.counter("pipeline.events")).thenAnswer(invocation -> {
+            producingThreads.add(Thread.currentThread().getName());
+            return registry.counter("pipeline.events");
+        });
+        RootRequest request = new RootRequest(apiClient, List.of("Football"), new RequestOptions(true, 1, metrics));
+
+        // Act
+        LeagueResult leagueResult = engine.fetch(request).join().leagueResults().getFirst();
+
+        // Assert
+        assertEquals(List.of(10L, 11L), leagueResult.matchResults().stream().map(m -> m.event().id()).toList(),
+                "Reused and fetched matches should keep the order of the events");
+        assertTrue(producingThreads.contains("request-root/league-1000"),
+                "The match with reused markets should be built on the league thread");
+        assertFalse(producingThreads.contains("request-root/league-1000/event-10"),
+                "The event with reusable markets should not get a thread of its own");
+        verify(apiClient, never()).fetchEventDetails(event1.id());
+    }
+
+    @Test
+    void testFetch_PartialPolicyMarksHungEventAsTimedOut() {
+        // Arrange
+        CompletableFuture<Event> hungEvent = new CompletableFuture<>();
+        when(apiClient.fetchEventDetails(event1.id()))
+                .thenReturn(CompletableFuture.completedFuture(new Event(event1.id(), event1.name(), 0L, List.of(market))));
+        when(apiClient.fetchEventDetails(event2.id())).thenReturn(hungEvent);
+        RequestOptions options = RequestOptions.DEFAULT
+                .withDeadlines(new RequestDeadlines(null, Duration.ofMillis(100), null))
+                .withFailurePolicy(FailurePolicy.COLLECT_PARTIAL);
+        RootRequest request = new RootRequest(apiClient, List.of("Football"), options);
+
+        // Act
+        LeagueResult leagueResult = engine.fetch(request).join().leagueResults().getFirst();
+
+        // Assert
+        assertEquals(ResultStatus.COMPLETE, leagueResult.matchResults().get(0).status(), "Fetched event should be complete");
+        assertEquals(ResultStatus.TIMED_OUT, leagueResult.matchResults().get(1).status(), "Hung event should be marked as timed out");
+        assertTrue(hungEvent.isCancelled(), "Hung event request should be cancelled when its scope ends");
+    }
+
+    @Test
+    void testFetch_FailFastInterruptsSiblingsAndCancelsTheirCalls() {
+        // Arrange
+        CompletableFuture<Event> hungEvent = new CompletableFuture<>();
+        when(apiClient.fetchEventDetails(event1.id())).thenReturn(hungEvent);
+        when(apiClient.fetchEventDetails(event2.id())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("Event API error")));
+        RootRequest request = new RootRequest(apiClient, List.of("Football"));
+
+        // Act
+        CompletableFuture<RootResult> futureResult = engine.fetch(request);
+
+        // Assert
+        CompletionException failure = assertThrows(CompletionException.class, futureResult::join, "The tree should fail");
+        assertEquals("Event API error", RequestFutures.unwrap(failure).getMessage(), "The failure of the event should be kept");
+        assertTrue(hungEvent.isCancelled(), "The sibling's request should be cancelled");
+    }
+
+    @Test
+    @Timeout(5)
+    void testFetch_CancellingTheRootCancelsEveryCall() throws InterruptedException {
+        // Arrange
+        CompletableFuture<Event> hungEvent1 = new CompletableFuture<>();
+        CompletableFuture<Event> hungEvent2 = new CompletableFuture<>();
+        CountDownLatch eventsRequested = new CountDownLatch(2);
+        when(apiClient.fetchEventDetails(event1.id())).thenAnswer(invocation -> {
+            eventsRequested.countDown();
+            return hungEvent1;
+        });
+        when(apiClient.fetchEventDetails(event2.id())).thenAnswer(invocation -> {
+            eventsRequested.countDown();
+            return hungEvent2;
+        });
+        RootRequest request = new RootRequest(apiClient, List.of("Football"));
+        CompletableFuture<RootResult> futureResult = engine.fetch(request);
+        eventsRequested.await();
+
+        // Act
+        futureResult.cancel(true);
+        CompletableFuture.allOf(hungEvent1, hungEvent2).handle((value, e) -> null).join();
+
+        // Assert
+        assertTrue(hungEvent1.isCancelled(), "The first event request should be cancelled");
+        assertTrue(hungEvent2.isCancelled(), "The second event request should be cancelled");
+    }
+}
@@ -0,0 +1,123 @@
+package com.zemnitskiy.request;
+
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Region;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.basemodel.Sport;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.RootResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link VirtualThreadEngine} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class VirtualThreadEngineTest {
+
+    @Mock
+    private LeonApiClient apiClient;
+
+    private final VirtualThreadEngine engine = new VirtualThreadEngine();
+    private final Market market = new Market(100L, "Match Outcome", List.of(new Runner(1L, "Team A Win", "1.80")));
+    private final Event event1 = new Event(10L, "Team A vs Team B", 0L, List.of());
+    private final Event event2 = new Event(11L, "Team C vs Team D", 0L, List.of());
+    private final League league = new League(1000L, "Premier League", 1, true, 1, List.of(event1, event2));
+
+    @Test
+    void testFetch_RunsEachLeagueOnANamedThread() {
+        // Arrange
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        when(apiClient.fetchEventsForLeague(league)).thenAnswer(invocation -> {
+            threadNames.add(Thread.currentThread().getName());
+            return CompletableFuture.completedFuture(league);
+        });
+        when(apiClient.fetchEventDetails(anyLong())).thenAnswer(invocation -> {
+            long eventId = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(new Event(eventId, "Event " + eventId, 0L, List.of(market)));
+        });
+        RootRequest request = rootRequest();
+
+        // Act
+        RootResult rootResult = engine.fetch(request).join();
+
+        // Assert
+        LeagueResult leagueResult = rootResult.leagueResults().getFirst();
+        assertEquals(List.of(10L, 11L), leagueResult.matchResults().stream().map(m -> m.event().id()).toList(),
+                "Matches should keep the order of the events");
+        assertEquals(Set.of("request-root/league-1000"), threadNames,
+                "The league should run on a thread named after its place in the tree");
+    }
+
+    @Test
+    @Timeout(5)
+    void testFetch_CancellingTheRootCancelsEveryCall() throws InterruptedException {
+        // Arrange
+        CompletableFuture<Event> hungEvent1 = new CompletableFuture<>();
+        CompletableFuture<Event> hungEvent2 = new CompletableFuture<>();
+        CountDownLatch eventsRequested = new CountDownLatch(2);
+        when(apiClient.fetchEventsForLeague(league)).thenReturn(CompletableFuture.completedFuture(league));
+        when(apiClient.fetchEventDetails(event1.id())).thenAnswer(invocation -> {
+            eventsRequested.countDown();
+            return hungEvent1;
+        });
+        when(apiClient.fetchEventDetails(event2.id())).thenAnswer(invocation -> {
+            eventsRequested.countDown();
+            return hungEvent2;
+        });
+        RootRequest request = rootRequest();
+        CompletableFuture<RootResult> futureResult = engine.fetch(request);
+        eventsRequested.await();
+
+        // Act
+        futureResult.cancel(true);
+        CompletableFuture.allOf(hungEvent1, hungEvent2).handle((value, e) -> null).join();
+
+        // Assert
+        assertTrue(hungEvent1.isCancelled(), "The first event request should be cancelled");
+        assertTrue(hungEvent2.isCancelled(), "The second event request should be cancelled");
+    }
+
+    @Test
+    @Timeout(5)
+    void testFetch_CancellingALeagueCancelsItsCall() throws InterruptedException {
+        // Arrange
+        CompletableFuture<League> hungLeague = new CompletableFuture<>();
+        CountDownLatch leagueRequested = new CountDownLatch(1);
+        when(apiClient.fetchEventsForLeague(league)).thenAnswer(invocation -> {
+            leagueRequested.countDown();
+            return hungLeague;
+        });
+        LeagueRequest request = new LeagueRequest(apiClient, league, "Football", RequestOptions.DEFAULT);
+        CompletableFuture<LeagueResult> futureResult = engine.fetch(request);
+        leagueRequested.await();
+
+        // Act
+        futureResult.cancel(true);
+        hungLeague.handle((value, e) -> null).join();
+
+        // Assert
+        assertTrue(hungLeague.isCancelled(), "The league request should be cancelled");
+    }
+
+    private RootRequest rootRequest() {
+        Sport sport = new Sport(1L, "Football", List.of(new Region("England", List.of(league))));
+        when(apiClient.fetchBaseInformation()).thenReturn(CompletableFuture.completedFuture(List.of(sport)));
+        return new RootRequest(apiClient, List.of("Football"));
+    }
+}
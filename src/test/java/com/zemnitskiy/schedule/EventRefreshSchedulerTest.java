@@ -0,0 +1,198 @@
+package com.zemnitskiy.schedule;
+
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.metrics.Gauge;
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.result.MatchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link EventRefreshScheduler} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventRefreshSchedulerTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Mock
+    private LeonApiClient apiClient;
+
+    private final MutableClock clock = new MutableClock();
+    private final List<MatchResult> refreshed = new ArrayList<>();
+    private final League league = new League(1000L, "Premier League", 1, true, 1, List.of());
+
+    private Event imminentEvent;
+    private Event distantEvent;
+
+    @BeforeEach
+    public void setUp() {
+        clock.millis = START;
+        imminentEvent = new Event(1L, "Soon", START + Duration.ofMinutes(10).toMillis(), List.of());
+        distantEvent = new Event(2L, "Next week", START + Duration.ofDays(6).toMillis(), List.of());
+    }
+
+    @Test
+    void testTick_NothingDueBeforeInterval() {
+        // Arrange
+        EventRefreshScheduler scheduler = new EventRefreshScheduler(apiClient, RefreshPolicy.DEFAULT, 10, refreshed::add, clock);
+        scheduler.schedule(imminentEvent, league);
+
+        // Act
+        int sent = scheduler.tick();
+
+        // Assert
+        assertEquals(0, sent, "No request should be sent before the interval elapses");
+        verifyNoInteractions(apiClient);
+    }
+
+    @Test
+    void testTick_SpendsBudgetOnImminentEventsFirst() {
+        // Arrange
+        EventRefreshScheduler scheduler = new EventRefreshScheduler(apiClient, RefreshPolicy.DEFAULT, 1, refreshed::add, clock);
+        scheduler.schedule(distantEvent, league);
+        scheduler.schedule(imminentEvent, league);
+        when(apiClient.fetchEventDetails(imminentEvent.id())).thenReturn(CompletableFuture.completedFuture(imminentEvent));
+
+        // Act
+        clock.millis = START + Duration.ofHours(1).toMillis();
+        int sent = scheduler.tick();
+
+        // Assert
+        assertEquals(1, sent, "Only one request fits into the budget");
+        assertEquals(1, refreshed.size(), "The imminent event should be refreshed");
+        assertEquals(imminentEvent, refreshed.getFirst().event(), "The imminent event should be refreshed first");
+        verify(apiClient, never()).fetchEventDetails(distantEvent.id());
+    }
+
+    @Test
+    void testStalenessMetrics_RecordedPerPriorityClass() {
+        // Arrange
+        EventRefreshScheduler scheduler = new EventRefreshScheduler(apiClient, RefreshPolicy.DEFAULT, 10, refreshed::add, clock);
+        scheduler.schedule(imminentEvent, league);
+        scheduler.schedule(distantEvent, league);
+        when(apiClient.fetchEventDetails(imminentEvent.id())).thenReturn(CompletableFuture.completedFuture(imminentEvent));
+
+        // Act
+        clock.millis = START + Duration.ofSeconds(20).toMillis();
+        scheduler.tick();
+        Map<PriorityClass, StalenessMetrics> metrics = scheduler.stalenessMetrics();
+
+        // Assert
+        StalenessMetrics imminent = metrics.get(PriorityClass.IMMINENT);
+        assertEquals(1, imminent.scheduled(), "One imminent event should be scheduled");
+        assertEquals(1, imminent.refreshes(), "One imminent refresh should be recorded");
+        assertEquals(20_000, imminent.maxStalenessMillis(), "Staleness should be the age of the replaced data");
+        assertEquals(1, metrics.get(PriorityClass.THIS_WEEK).scheduled(), "One event should be scheduled this week");
+        assertEquals(0, metrics.get(PriorityClass.THIS_WEEK).refreshes(), "The distant event should not be refreshed yet");
+    }
+
+    @Test
+    void testTick_FailedRefreshIsRescheduled() {
+        // Arrange
+        EventRefreshScheduler scheduler = new EventRefreshScheduler(apiClient, RefreshPolicy.DEFAULT, 10, refreshed::add, clock);
+        scheduler.schedule(imminentEvent, league);
+        when(apiClient.fetchEventDetails(imminentEvent.id()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("API error")))
+                .thenReturn(CompletableFuture.completedFuture(imminentEvent));
+
+        // Act
+        clock.millis = START + Duration.ofMinutes(1).toMillis();
+        scheduler.tick();
+        clock.millis = START + Duration.ofMinutes(2).toMillis();
+        scheduler.tick();
+
+        // Assert
+        assertEquals(1, refreshed.size(), "The event should be refreshed after the failure");
+        assertEquals(1, scheduler.stalenessMetrics().get(PriorityClass.IMMINENT).failures(), "The failure should be recorded");
+    }
+
+    @Test
+    void testTick_SkipsWhileInFlightCapIsReached() {
+        // Arrange
+        EventRefreshScheduler scheduler = new EventRefreshScheduler(apiClient, RefreshPolicy.DEFAULT, 1, 1, refreshed::add, clock);
+        Event secondImminentEvent = new Event(3L, "Also soon", START + Duration.ofMinutes(20).toMillis(), List.of());
+        scheduler.schedule(imminentEvent, league);
+        scheduler.schedule(secondImminentEvent, league);
+        CompletableFuture<Event> slowRefresh = new CompletableFuture<>();
+        when(apiClient.fetchEventDetails(anyLong())).thenReturn(slowRefresh);
+
+        // Act
+        clock.millis = START + Duration.ofMinutes(1).toMillis();
+        int firstTick = scheduler.tick();
+        int secondTick = scheduler.tick();
+        slowRefresh.complete(imminentEvent);
+        int thirdTick = scheduler.tick();
+
+        // Assert
+        assertEquals(1, firstTick, "The first tick should send one request");
+        assertEquals(0, secondTick, "A tick should send nothing while the cap is reached");
+        assertEquals(1, scheduler.skippedTicks(), "The skipped tick should be counted");
+        assertEquals(1, thirdTick, "Room under the cap should be used once the refresh completed");
+        verify(apiClient, times(2)).fetchEventDetails(anyLong());
+    }
+
+    @Test
+    void testRegisterMetrics_PublishesStalenessAsGauges() {
+        // Arrange
+        EventRefreshScheduler scheduler = new EventRefreshScheduler(apiClient, RefreshPolicy.DEFAULT, 10, refreshed::add, clock);
+        scheduler.schedule(imminentEvent, league);
+        when(apiClient.fetchEventDetails(imminentEvent.id())).thenReturn(CompletableFuture.completedFuture(imminentEvent));
+        MetricsRegistry metrics = MetricsRegistry.create();
+
+        // Act
+        scheduler.registerMetrics(metrics);
+        clock.millis = START + Duration.ofSeconds(20).toMillis();
+        scheduler.tick();
+
+        // Assert
+        assertEquals(1, ((Gauge) metrics.metrics().get("refresh.imminent.refreshes")).value(),
+                "The refresh should be published");
+        assertEquals(20_000, ((Gauge) metrics.metrics().get("refresh.imminent.staleness_max_ms")).value(),
+                "The staleness should be published");
+        assertEquals(0, ((Gauge) metrics.metrics().get("refresh.in_flight")).value(),
+                "No refresh should be in flight");
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.zemnitskiy.stub;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * A distribution of response latencies simulated by the {@link StubServer}.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * The z-score of the 99th percentile of the standard normal distribution.
+     */
+    double Z_99 = 2.3263;
+
+    /**
+     * Draws the latency of one response.
+     *
+     * @param random the source of randomness
+     * @return the latency to wait before responding
+     */
+    Duration sample(RandomGenerator random);
+
+    /**
+     * Returns a distribution that responds immediately.
+     *
+     * @return the distribution
+     */
+    static LatencyDistribution none() {
+        return random -> Duration.ZERO;
+    }
+
+    /**
+     * Returns a distribution that always waits the same time.
+     *
+     * @param latency the latency of every response
+     * @return the distribution
+     */
+    static LatencyDistribution fixed(Duration latency) {
+        return random -> latency;
+    }
+
+    /**
+     * Returns a log-normal distribution with the given median and 99th percentile, the usual shape of
+     * real service latencies: most responses close to the median and a long tail of slow ones.
+     *
+     * @param median the median latency
+     * @param p99    the 99th percentile latency, not below the median
+     * @return the distribution
+     * @throws IllegalArgumentException if the median is not positive or the 99th percentile is below it
+     */
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        if (median.isNegative() || median.isZero() || p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("Median must be positive and p99 must not be below it.");
+        }
+        double mu = Math.log(median.toNanos());
+        double sigma = (Math.log(p99.toNanos()) - mu) / Z_99;
+        return random -> Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+    }
+}
@@ -0,0 +1,165 @@
+package com.zemnitskiy.stub;
+
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Price;
+import com.zemnitskiy.model.basemodel.Region;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.basemodel.Sport;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.zemnitskiy.Main.BASKETBALL;
+import static com.zemnitskiy.Main.FOOTBALL;
+import static com.zemnitskiy.Main.ICE_HOCKEY;
+import static com.zemnitskiy.Main.TENNIS;
+
+/**
+ * The {@code StubCatalog} class generates a deterministic synthetic Leonbets catalog for the
+ * {@link StubServer}.
+ *
+ * <p>Only the sports catalog is kept in memory. League events and event details are derived from their
+ * ids on every request, so catalogs with tens of thousands of events cost no memory. An event id
+ * encodes its league as {@code leagueId * EVENT_ID_STRIDE + index}.</p>
+ */
+public final class StubCatalog {
+
+    static final long EVENT_ID_STRIDE = 10_000;
+
+    private static final List<String> KNOWN_SPORTS = List.of(FOOTBALL, TENNIS, ICE_HOCKEY, BASKETBALL);
+    private static final long KICKOFF_STEP_MILLIS = 15 * 60_000L;
+
+    private final StubServerOptions options;
+    private final long kickoffBaseMillis;
+    private final List<Sport> sports;
+
+    /**
+     * Constructs a new {@code StubCatalog}.
+     *
+     * @param options     the options with the catalog sizes
+     * @param kickoffBase the instant the generated kickoffs are counted from
+     */
+    public StubCatalog(StubServerOptions options, Instant kickoffBase) {
+        this.options = options;
+        this.kickoffBaseMillis = kickoffBase.toEpochMilli();
+        this.sports = buildSports();
+    }
+
+    /**
+     * Returns the sports catalog, as served by {@code betline/sports}.
+     *
+     * @return the sports with their regions and leagues, without events
+     */
+    public List<Sport> sports() {
+        return sports;
+    }
+
+    /**
+     * Returns a league with its events, as served by {@code betline/events/all}.
+     *
+     * @param leagueId the league id
+     * @return the league with its events, or empty if the id is not in the catalog
+     */
+    public Optional<League> leagueEvents(long leagueId) {
+        if (!isLeague(leagueId)) {
+            return Optional.empty();
+        }
+        List<Event> events = new ArrayList<>(options.eventsPerLeague());
+        for (int i = 0; i < options.eventsPerLeague(); i++) {
+            events.add(event(leagueId, i));
+        }
+        League league = league(leagueId);
+        return Optional.of(new League(league.id(), league.name(), league.weight(), league.top(), league.topOrder(), events));
+    }
+
+    /**
+     * Returns an event with its markets, as served by {@code betline/event/all}.
+     *
+     * @param eventId the event id
+     * @return the event, or empty if the id is not in the catalog
+     */
+    public Optional<Event> event(long eventId) {
+        long leagueId = eventId / EVENT_ID_STRIDE;
+        int index = (int) (eventId % EVENT_ID_STRIDE);
+        if (!isLeague(leagueId) || index >= options.eventsPerLeague()) {
+            return Optional.empty();
+        }
+        return Optional.of(event(leagueId, index));
+    }
+
+    /**
+     * Returns the number of leagues in the catalog.
+     *
+     * @return the league count
+     */
+    public int leagueCount() {
+        return options.sports() * options.regionsPerSport() * options.leaguesPerRegion();
+    }
+
+    /**
+     * Returns the number of events in the catalog.
+     *
+     * @return the event count
+     */
+    public long eventCount() {
+        return (long) leagueCount() * options.eventsPerLeague();
+    }
+
+    private List<Sport> buildSports() {
+        List<Sport> result = new ArrayList<>(options.sports());
+        for (int s = 0; s < options.sports(); s++) {
+            List<Region> regions = new ArrayList<>(options.regionsPerSport());
+            for (int r = 0; r < options.regionsPerSport(); r++) {
+                List<League> leagues = new ArrayList<>(options.leaguesPerRegion());
+                for (int l = 0; l < options.leaguesPerRegion(); l++) {
+                    leagues.add(league(leagueId(s, r, l)));
+                }
+                regions.add(new Region("Region " + (r + 1), leagues));
+            }
+            String name = s < KNOWN_SPORTS.size() ? KNOWN_SPORTS.get(s) : "Sport " + (s + 1);
+            result.add(new Sport(s + 1, name, regions));
+        }
+        return result;
+    }
+
+    private long leagueId(int sport, int region, int league) {
+        return 1 + ((long) sport * options.regionsPerSport() + region) * options.leaguesPerRegion() + league;
+    }
+
+    private boolean isLeague(long leagueId) {
+        return leagueId >= 1 && leagueId <= leagueCount();
+    }
+
+    private League league(long leagueId) {
+        int indexInRegion = (int) ((leagueId - 1) % options.leaguesPerRegion());
+        int region = (int) ((leagueId - 1) / options.leaguesPerRegion() % options.regionsPerSport());
+        boolean top = indexInRegion == 0;
+        return new League(leagueId, "League " + leagueId, options.leaguesPerRegion() - indexInRegion, top,
+                top ? region + 1 : 0, null);
+    }
+
+    private Event event(long leagueId, int index) {
+        long eventId = leagueId * EVENT_ID_STRIDE + index;
+        List<Market> markets = new ArrayList<>(options.marketsPerEvent());
+        for (int m = 0; m < options.marketsPerEvent(); m++) {
+            long marketId = eventId * 100 + m;
+            List<Runner> runners = new ArrayList<>(options.runnersPerMarket());
+            for (int r = 0; r < options.runnersPerMarket(); r++) {
+                long runnerId = marketId * 10 + r;
+                runners.add(new Runner(runnerId, "Runner " + (r + 1), price(runnerId)));
+            }
+            markets.add(new Market(marketId, "Market " + (m + 1), runners));
+        }
+        return new Event(eventId, "Team " + (2 * index + 1) + " - Team " + (2 * index + 2),
+                kickoffBaseMillis + (index + 1) * KICKOFF_STEP_MILLIS, markets);
+    }
+
+    private static int price(long runnerId) {
+        long hundredths = 101 + Math.floorMod(runnerId * 2_654_435_761L, 900);
+        return (int) hundredths * (Price.SCALE / 100);
+    }
+}
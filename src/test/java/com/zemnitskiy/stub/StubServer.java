@@ -0,0 +1,239 @@
+package com.zemnitskiy.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.zemnitskiy.api.json.LeonJson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@code StubServer} class is an embedded stand-in for the Leonbets API, used for deterministic load
+ * and soak testing without a live betting site.
+ *
+ * <p>It serves {@code betline/sports}, {@code betline/events/all} and {@code betline/event/all} from a
+ * synthetic {@link StubCatalog}, or from recorded responses when a fixtures directory is configured:
+ * {@code sports.json}, {@code events/<leagueId>.json} and {@code event/<eventId>.json} are served as
+ * they are, and anything missing falls back to the synthetic catalog. Every response is delayed by a
+ * sample of the configured {@link LatencyDistribution}, and a configured fraction of requests is
+ * answered with {@code 503 Service Unavailable}. Bodies are gzip-compressed when the request accepts
+ * it, as a typical production server would. Requests are handled on virtual threads, so simulated
+ * latency does not limit the server's concurrency.</p>
+ *
+ * <p>A {@link com.zemnitskiy.api.LeonApiClient} is pointed at the stub by passing {@link #baseUrl()}.</p>
+ */
+public final class StubServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final StubServerOptions options;
+    private final StubCatalog catalog;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+
+    private StubServer(HttpServer server, ExecutorService executor, StubServerOptions options) {
+        this.server = server;
+        this.executor = executor;
+        this.options = options;
+        this.catalog = new StubCatalog(options, Instant.now());
+    }
+
+    /**
+     * Starts a stub server on an ephemeral local port.
+     *
+     * @param options the catalog and behaviour options
+     * @return the running server
+     * @throws IOException if the server cannot be bound
+     */
+    public static StubServer start(StubServerOptions options) throws IOException {
+        return start(options, 0);
+    }
+
+    /**
+     * Starts a stub server on the given local port.
+     *
+     * @param options the catalog and behaviour options
+     * @param port    the port to listen on, or {@code 0} for an ephemeral port
+     * @return the running server
+     * @throws IOException if the server cannot be bound
+     */
+    public static StubServer start(StubServerOptions options, int port) throws IOException {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpServer.setExecutor(executor);
+        StubServer stub = new StubServer(httpServer, executor, options);
+        httpServer.createContext("/betline/sports", exchange -> stub.serve(exchange, query ->
+                stub.recorded("sports.json").or(() -> Optional.of(LeonJson.gson().toJson(stub.catalog.sports())))));
+        httpServer.createContext("/betline/events/all", exchange -> stub.serve(exchange, query ->
+                parseId(query.get("league_id")).flatMap(id -> stub.recorded("events/" + id + ".json")
+                        .or(() -> stub.catalog.leagueEvents(id).map(LeonJson.gson()::toJson)))));
+        httpServer.createContext("/betline/event/all", exchange -> stub.serve(exchange, query ->
+                parseId(query.get("eventId")).flatMap(id -> stub.recorded("event/" + id + ".json")
+                        .or(() -> stub.catalog.event(id).map(LeonJson.gson()::toJson)))));
+        httpServer.start();
+        logger.info("Stub server listening on {} with {} leagues and {} events",
+                stub.baseUrl(), stub.catalog.leagueCount(), stub.catalog.eventCount());
+        return stub;
+    }
+
+    /**
+     * Runs a stub server with the default options until the process is stopped.
+     *
+     * @param args an optional port number, {@code 8080} by default
+     * @throws IOException if the server cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        start(StubServerOptions.DEFAULT, port);
+    }
+
+    /**
+     * Returns the base URL to pass to {@link com.zemnitskiy.api.LeonApiClient}, ending with a slash.
+     *
+     * @return the base URL of the server
+     */
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Returns the catalog served by this server.
+     *
+     * @return the catalog
+     */
+    public StubCatalog catalog() {
+        return catalog;
+    }
+
+    /**
+     * Returns the number of requests served so far and how many of them were answered with an injected error.
+     *
+     * @return the request statistics
+     */
+    public Stats stats() {
+        return new Stats(requests.sum(), injectedErrors.sum());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void serve(HttpExchange exchange, Function<Map<String, String>, Optional<String>> handler) throws IOException {
+        try (exchange) {
+            requests.increment();
+            Duration latency = options.latency().sample(ThreadLocalRandom.current());
+            if (latency.isPositive()) {
+                Thread.sleep(latency);
+            }
+            if (options.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < options.errorRate()) {
+                injectedErrors.increment();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            Optional<String> body = handler.apply(parseQuery(exchange.getRequestURI().getRawQuery()));
+            if (body.isEmpty()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            if (acceptsGzip(exchange)) {
+                bytes = gzip(bytes);
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return accepted != null && accepted.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private Optional<String> recorded(String relativePath) {
+        if (options.fixtures() == null) {
+            return Optional.empty();
+        }
+        Path file = options.fixtures().resolve(relativePath);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readString(file));
+        } catch (IOException e) {
+            logger.warn("Failed to read fixture {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static Optional<Long> parseId(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The request statistics of a {@link StubServer}.
+     *
+     * @param requests       the number of requests received
+     * @param injectedErrors the number of requests answered with an injected {@code 503}
+     */
+    public record Stats(long requests, long injectedErrors) { }
+}
@@ -0,0 +1,119 @@
+package com.zemnitskiy.stub;
+
+import com.zemnitskiy.api.ApiClientOptions;
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.metrics.Counter;
+import com.zemnitskiy.metrics.LatencyHistogram;
+import com.zemnitskiy.metrics.MetricsRegistry;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import com.zemnitskiy.parser.LeonParser;
+import com.zemnitskiy.request.CompletableFutureEngine;
+import com.zemnitskiy.request.RequestLimits;
+import com.zemnitskiy.request.RequestOptions;
+import com.zemnitskiy.visitor.CrawlProgress;
+import com.zemnitskiy.visitor.ResultVisitor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.zemnitskiy.Main.MATCH_COUNT;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures throughput and tail latency of the whole {@link LeonParser} pipeline, from the sports
+ * request down to the event requests, against a {@link StubServer} with a 1000-league, 20k-event
+ * catalog and a log-normal upstream latency.
+ */
+@Tag("load")
+class StubServerLoadTest {
+
+    @Test
+    void testPipelineAgainstLargeStubCatalog() throws IOException {
+        StubServerOptions stubOptions = StubServerOptions.DEFAULT
+                .withCatalog(10, 10, 10, 20)
+                .withMarkets(20, 3)
+                .withLatency(LatencyDistribution.logNormal(Duration.ofMillis(5), Duration.ofMillis(40)));
+        try (StubServer stub = StubServer.start(stubOptions);
+             ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(executorService).build()) {
+            MetricsRegistry metrics = MetricsRegistry.create();
+            LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, stub.baseUrl(),
+                    ApiClientOptions.DEFAULT, metrics);
+            RequestOptions options = new RequestOptions(false, 1, metrics)
+                    .withLimits(RequestLimits.UNLIMITED.withEventsPerLeague(MATCH_COUNT));
+            LeonParser parser = new LeonParser(apiClient, List.of(), options, new CompletableFutureEngine(), null);
+            MatchCounts matchCounts = new MatchCounts();
+
+            long start = System.nanoTime();
+            CrawlProgress.Progress progress = parser.crawlData(matchCounts, Duration.ofSeconds(5));
+            long elapsed = System.nanoTime() - start;
+
+            LatencyHistogram.Snapshot leagues = ((LatencyHistogram) metrics.metrics().get("request.league")).snapshot();
+            long requests = stub.stats().requests();
+            System.out.printf("%d leagues, %d requests in %d ms: %.0f requests/s, league p50 %d ms, p99 %d ms, limit %d%n",
+                    progress.leagues(), requests, elapsed / 1_000_000, requests * 1e9 / elapsed,
+                    leagues.percentileNanos(0.50) / 1_000_000, leagues.percentileNanos(0.99) / 1_000_000,
+                    apiClient.limiterStats().limit());
+            System.out.printf("%d KB over the wire for %d KB of JSON, %.1f ms spent inflating%n",
+                    sumCounters(metrics, ".bytes") / 1024, sumCounters(metrics, ".decoded_bytes") / 1024,
+                    metrics.metrics().entrySet().stream()
+                            .filter(entry -> entry.getKey().endsWith(".decompress"))
+                            .mapToDouble(entry -> ((LatencyHistogram) entry.getValue()).snapshot().meanNanos()
+                                    * ((LatencyHistogram) entry.getValue()).snapshot().count())
+                            .sum() / 1e6);
+
+            assertEquals(stub.catalog().leagueCount(), progress.leagues(), "Every league should be requested");
+            assertEquals(0, progress.incomplete(), "No league or event should be incomplete");
+            assertEquals(1 + progress.leagues() * (1L + MATCH_COUNT), requests,
+                    "The sports, every league and its selected matches should reach the stub exactly once");
+            assertTrue(matchCounts.counts.stream().allMatch(count -> count == MATCH_COUNT),
+                    "Every league should yield its selected matches");
+        }
+    }
+
+    private static long sumCounters(MetricsRegistry metrics, String suffix) {
+        return metrics.metrics().entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith(suffix) && entry.getValue() instanceof Counter)
+                .mapToLong(entry -> ((Counter) entry.getValue()).count())
+                .sum();
+    }
+
+    /**
+     * Records the number of matches of every league.
+     */
+    private static final class MatchCounts implements ResultVisitor {
+        private final List<Integer> counts = new ArrayList<>();
+
+        @Override
+        public void visitRoot(RootResult rootResult) {
+        }
+
+        @Override
+        public void visitLeague(LeagueResult leagueResult) {
+            counts.add(leagueResult.matchResults().size());
+        }
+
+        @Override
+        public void visitMatch(MatchResult matchResult) {
+        }
+
+        @Override
+        public void visitMarket(MarketResult marketResult) {
+        }
+
+        @Override
+        public void visitRunner(RunnerResult runnerResult) {
+        }
+    }
+}
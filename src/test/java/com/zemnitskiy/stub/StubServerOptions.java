@@ -0,0 +1,69 @@
+package com.zemnitskiy.stub;
+
+import java.nio.file.Path;
+
+/**
+ * Options that shape the catalog and the behaviour of the {@link StubServer}.
+ *
+ * @param sports           the number of sports in the catalog; the first ones are named after the real disciplines
+ * @param regionsPerSport  the number of regions per sport
+ * @param leaguesPerRegion the number of leagues per region; the first league of every region is a top league
+ * @param eventsPerLeague  the number of events per league
+ * @param marketsPerEvent  the number of markets per event, at most 100
+ * @param runnersPerMarket the number of runners per market, at most 10
+ * @param latency          the latency distribution of every response
+ * @param errorRate        the fraction of requests answered with {@code 503 Service Unavailable}, between 0 and 1
+ * @param fixtures         a directory of recorded responses served instead of the synthetic ones, or {@code null}
+ */
+public record StubServerOptions(int sports, int regionsPerSport, int leaguesPerRegion, int eventsPerLeague,
+                                int marketsPerEvent, int runnersPerMarket, LatencyDistribution latency,
+                                double errorRate, Path fixtures) {
+
+    public static final StubServerOptions DEFAULT = new StubServerOptions(4, 5, 4, 10, 10, 3,
+            LatencyDistribution.none(), 0.0, null);
+
+    /**
+     * Validates the options.
+     *
+     * @throws IllegalArgumentException if a size is out of range or the error rate is not in {@code [0, 1]}
+     */
+    public StubServerOptions {
+        if (sports <= 0 || regionsPerSport <= 0 || leaguesPerRegion <= 0) {
+            throw new IllegalArgumentException("Catalog sizes must be positive.");
+        }
+        if (marketsPerEvent < 0 || marketsPerEvent > 100 || runnersPerMarket < 0 || runnersPerMarket > 10) {
+            throw new IllegalArgumentException("Markets per event must be in [0, 100] and runners per market in [0, 10].");
+        }
+        if (eventsPerLeague < 0 || eventsPerLeague >= StubCatalog.EVENT_ID_STRIDE) {
+            throw new IllegalArgumentException("Events per league must be in [0, " + StubCatalog.EVENT_ID_STRIDE + ").");
+        }
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("Error rate must be in [0, 1].");
+        }
+    }
+
+    public StubServerOptions withCatalog(int sports, int regionsPerSport, int leaguesPerRegion, int eventsPerLeague) {
+        return new StubServerOptions(sports, regionsPerSport, leaguesPerRegion, eventsPerLeague,
+                marketsPerEvent, runnersPerMarket, latency, errorRate, fixtures);
+    }
+
+    public StubServerOptions withMarkets(int marketsPerEvent, int runnersPerMarket) {
+        return new StubServerOptions(sports, regionsPerSport, leaguesPerRegion, eventsPerLeague,
+                marketsPerEvent, runnersPerMarket, latency, errorRate, fixtures);
+    }
+
+    public StubServerOptions withLatency(LatencyDistribution latency) {
+        return new StubServerOptions(sports, regionsPerSport, leaguesPerRegion, eventsPerLeague,
+                marketsPerEvent, runnersPerMarket, latency, errorRate, fixtures);
+    }
+
+    public StubServerOptions withErrorRate(double errorRate) {
+        return new StubServerOptions(sports, regionsPerSport, leaguesPerRegion, eventsPerLeague,
+                marketsPerEvent, runnersPerMarket, latency, errorRate, fixtures);
+    }
+
+    public StubServerOptions withFixtures(Path fixtures) {
+        return new StubServerOptions(sports, regionsPerSport, leaguesPerRegion, eventsPerLeague,
+                marketsPerEvent, runnersPerMarket, latency, errorRate, fixtures);
+    }
+}
@@ -0,0 +1,142 @@
+package com.zemnitskiy.stub;
+
+import com.zemnitskiy.api.ApiResponseException;
+import com.zemnitskiy.api.LeonApiClient;
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Sport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.random.RandomGenerator;
+
+import static com.zemnitskiy.Main.FOOTBALL;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link StubServer} class through a real {@link LeonApiClient}.
+ */
+class StubServerTest {
+
+    private ExecutorService executorService;
+    private HttpClient httpClient;
+
+    @TempDir
+    Path fixtures;
+
+    @BeforeEach
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(2);
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        httpClient.close();
+        executorService.close();
+    }
+
+    @Test
+    void testServesSyntheticCatalog() throws IOException {
+        // Arrange
+        StubServerOptions options = StubServerOptions.DEFAULT.withCatalog(2, 3, 4, 5).withMarkets(2, 3);
+        try (StubServer stub = StubServer.start(options)) {
+            LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, stub.baseUrl());
+
+            // Act
+            List<Sport> sports = apiClient.fetchBaseInformation().join();
+            League firstLeague = sports.getFirst().regions().getFirst().leagues().getFirst();
+            League leagueWithEvents = apiClient.fetchEventsForLeague(firstLeague).join();
+            Event event = apiClient.fetchEventDetails(leagueWithEvents.events().getFirst().id()).join();
+
+            // Assert
+            assertEquals(2, sports.size(), "Catalog should contain the configured sports");
+            assertEquals(FOOTBALL, sports.getFirst().name(), "The first sport should carry a real discipline name");
+            assertTrue(firstLeague.top(), "The first league of a region should be a top league");
+            assertEquals(24, stub.catalog().leagueCount(), "League count should follow the catalog sizes");
+            assertEquals(5, leagueWithEvents.events().size(), "League should contain the configured events");
+            assertEquals(2, event.markets().size(), "Event should contain the configured markets");
+            assertEquals(3, event.markets().getFirst().runners().size(), "Market should contain the configured runners");
+            assertEquals(3, stub.stats().requests(), "Every call should reach the server");
+        }
+    }
+
+    @Test
+    void testUnknownEventIsNotFound() throws IOException {
+        // Arrange
+        try (StubServer stub = StubServer.start(StubServerOptions.DEFAULT)) {
+            LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, stub.baseUrl());
+
+            // Act
+            CompletionException exception = assertThrows(CompletionException.class,
+                    () -> apiClient.fetchEventDetails(42L).join());
+
+            // Assert
+            ApiResponseException cause = assertInstanceOf(ApiResponseException.class, exception.getCause());
+            assertEquals(404, cause.statusCode(), "Unknown ids should be answered with 404");
+        }
+    }
+
+    @Test
+    void testErrorRateInjectsServiceUnavailable() throws IOException {
+        // Arrange
+        try (StubServer stub = StubServer.start(StubServerOptions.DEFAULT.withErrorRate(1.0))) {
+            LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, stub.baseUrl());
+
+            // Act
+            CompletionException exception = assertThrows(CompletionException.class,
+                    () -> apiClient.fetchBaseInformation().join());
+
+            // Assert
+            ApiResponseException cause = assertInstanceOf(ApiResponseException.class, exception.getCause());
+            assertEquals(503, cause.statusCode(), "Injected errors should be answered with 503");
+            assertEquals(1, stub.stats().injectedErrors(), "Injected errors should be counted");
+        }
+    }
+
+    @Test
+    void testRecordedFixtureOverridesSyntheticResponse() throws IOException {
+        // Arrange
+        Files.writeString(fixtures.resolve("sports.json"), "[{\"id\":7,\"name\":\"Recorded\",\"regions\":[]}]");
+        try (StubServer stub = StubServer.start(StubServerOptions.DEFAULT.withFixtures(fixtures))) {
+            LeonApiClient apiClient = new LeonApiClient(httpClient, executorService, stub.baseUrl());
+
+            // Act
+            List<Sport> sports = apiClient.fetchBaseInformation().join();
+
+            // Assert
+            assertEquals(List.of(new Sport(7L, "Recorded", List.of())), sports, "The recorded response should be served");
+        }
+    }
+
+    @Test
+    void testLogNormalLatencyMatchesMedianAndTail() {
+        // Arrange
+        LatencyDistribution latency = LatencyDistribution.logNormal(Duration.ofMillis(10), Duration.ofMillis(100));
+        RandomGenerator random = new SplittableRandom(1);
+        long[] samples = new long[100_000];
+
+        // Act
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = latency.sample(random).toNanos();
+        }
+        Arrays.sort(samples);
+
+        // Assert
+        assertEquals(10.0, samples[samples.length / 2] / 1e6, 0.5, "Median should match the configured median");
+        assertEquals(100.0, samples[samples.length * 99 / 100] / 1e6, 10.0, "p99 should match the configured p99");
+    }
+}
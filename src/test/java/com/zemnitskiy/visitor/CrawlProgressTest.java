@@ -0,0 +1,94 @@
+package com.zemnitskiy.visitor;
+
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.ResultStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CrawlProgress} class.
+ */
+class CrawlProgressTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void testVisit_CountsWhatPassesThroughToTheDelegate() throws IOException {
+        // Arrange
+        Event event1 = new Event(10L, "Team A vs Team B", 0L, List.of());
+        Event event2 = new Event(11L, "Team C vs Team D", 0L, List.of());
+        League league1 = new League(1000L, "Premier League", 1, true, 1, List.of());
+        League league2 = new League(2000L, "ATP", 1, true, 1, List.of());
+        LeagueResult football = new LeagueResult("Football", league1, List.of(
+                new MatchResult(event1, List.of()), new MatchResult(event2, List.of(), ResultStatus.TIMED_OUT)));
+        LeagueResult tennis = new LeagueResult("Tennis", league2, List.of(), ResultStatus.FAILED);
+        StringWriter out = new StringWriter();
+        CrawlProgress progress = new CrawlProgress(new ResultPrinter(out), Duration.ofSeconds(5), clock);
+
+        // Act
+        football.accept(progress);
+        clock.millis = 2_000;
+        tennis.accept(progress);
+        progress.flush();
+
+        // Assert
+        CrawlProgress.Progress counts = progress.progress();
+        assertEquals(2, counts.sports(), "Both sports should be counted");
+        assertEquals(2, counts.leagues(), "Both leagues should be counted");
+        assertEquals(2, counts.events(), "Both events should be counted");
+        assertEquals(2, counts.incomplete(), "The timed-out event and the failed league should be counted");
+        assertEquals(1.0, counts.eventsPerSecond(), 1e-9, "Two events in two seconds should be one event per second");
+        assertTrue(out.toString().contains("Football, Premier League"), "The delegate should receive the leagues");
+        assertTrue(out.toString().contains("Team C vs Team D"), "The delegate should receive the matches");
+    }
+
+    @Test
+    void testProgress_ReportsZeroThroughputBeforeAnyTimeHasPassed() {
+        // Arrange
+        CrawlProgress progress = new CrawlProgress(new ResultPrinter(new StringWriter()), Duration.ofSeconds(5), clock);
+
+        // Act
+        CrawlProgress.Progress counts = progress.progress();
+
+        // Assert
+        assertEquals(0, counts.leagues(), "No league should be counted");
+        assertEquals(0.0, counts.eventsPerSecond(), "The throughput should be zero without elapsed time");
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.zemnitskiy.visitor;
+
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ResultDiffPrinter} class.
+ */
+class ResultDiffPrinterTest {
+
+    private final Runner runner = new Runner(7L, "Home", "1.85");
+    private final Market market = new Market(5L, "Winner", List.of(runner));
+    private final Event event = new Event(3L, "Team A - Team B", 0L, List.of(market));
+    private final League league = new League(1L, "Premier League", 1, true, 1, List.of(event));
+    private final LeagueResult leagueResult = new LeagueResult("Football", league, List.of());
+    private final MatchResult matchResult = new MatchResult(event, List.of());
+    private final MarketResult marketResult = new MarketResult(market, List.of());
+
+    @Test
+    void testVisit_FormatsEveryKindOfChange() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+        ResultDiffPrinter printer = new ResultDiffPrinter(out);
+
+        // Act
+        printer.visitAddedMatch(leagueResult, matchResult);
+        printer.visitRemovedMatch(leagueResult, matchResult);
+        printer.visitAddedMarket(matchResult, marketResult);
+        printer.visitRemovedMarket(matchResult, marketResult);
+        printer.visitAddedRunner(marketResult, new RunnerResult(runner));
+        printer.visitRemovedRunner(marketResult, new RunnerResult(runner));
+        printer.visitChangedPrice(matchResult, marketResult, new RunnerResult(new Runner(7L, "Home", "1.8")),
+                new RunnerResult(runner));
+        printer.flush();
+
+        // Assert
+        String n = System.lineSeparator();
+        assertEquals("+ Football, Premier League: Team A - Team B, 3" + n
+                        + "- Football, Premier League: Team A - Team B, 3" + n
+                        + "+ Team A - Team B: Winner" + n
+                        + "- Team A - Team B: Winner" + n
+                        + "+ Winner: Home, 1.85, 7" + n
+                        + "- Winner: Home, 7" + n
+                        + "~ Team A - Team B: Winner: Home, 1.80 -> 1.85, 7" + n,
+                out.toString(), "Every change should be printed on a line of its own");
+    }
+
+    @Test
+    void testVisit_KeepsChangesBufferedUntilFlushed() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+        ResultDiffPrinter printer = new ResultDiffPrinter(out);
+
+        // Act
+        printer.visitAddedMatch(leagueResult, matchResult);
+        String beforeFlush = out.toString();
+        printer.flush();
+
+        // Assert
+        assertEquals("", beforeFlush, "A change should stay in the buffer until the cycle is flushed");
+        assertFalse(out.toString().isEmpty(), "Flushing should write the buffered change");
+    }
+}
@@ -0,0 +1,182 @@
+package com.zemnitskiy.visitor;
+
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the cost of printing a 100k-runner tree with one {@code printf} per line against the
+ * buffered {@link ResultPrinter}. Both write to a discarding sink, so only formatting and the number of
+ * writes are measured, not the terminal.
+ */
+@Tag("load")
+class ResultPrinterLoadTest {
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 5;
+
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void testBufferedPrinterIsCheaperThanPerLinePrintf() throws IOException {
+        RootResult root = tree(1_000, 20, 5);
+        CountingOutputStream legacySink = new CountingOutputStream();
+        PrintStream legacyOut = new PrintStream(legacySink, false);
+        CountingWriter bufferedSink = new CountingWriter();
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            root.accept(new LegacyPrinter(legacyOut));
+            printBuffered(root, bufferedSink);
+        }
+        legacySink.writes = 0;
+        bufferedSink.writes = 0;
+
+        long legacyNanos = 0;
+        long bufferedNanos = 0;
+        long legacyBytes = 0;
+        long bufferedBytes = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startBytes = allocatedBytes();
+            long start = System.nanoTime();
+            root.accept(new LegacyPrinter(legacyOut));
+            long middle = System.nanoTime();
+            long middleBytes = allocatedBytes();
+            printBuffered(root, bufferedSink);
+            long end = System.nanoTime();
+            long endBytes = allocatedBytes();
+
+            legacyNanos += middle - start;
+            bufferedNanos += end - middle;
+            legacyBytes += middleBytes - startBytes;
+            bufferedBytes += endBytes - middleBytes;
+        }
+
+        System.out.printf("Per-line printf: %d ms, %d MB allocated, %d writes per run%n",
+                legacyNanos / MEASURED_RUNS / 1_000_000, legacyBytes / MEASURED_RUNS / (1024 * 1024),
+                legacySink.writes / MEASURED_RUNS);
+        System.out.printf("Buffered printer: %d ms, %d MB allocated, %d writes per run%n",
+                bufferedNanos / MEASURED_RUNS / 1_000_000, bufferedBytes / MEASURED_RUNS / (1024 * 1024),
+                bufferedSink.writes / MEASURED_RUNS);
+
+        assertTrue(bufferedBytes < legacyBytes, "The buffered printer should allocate less than per-line printf");
+        assertTrue(bufferedSink.writes < legacySink.writes, "The buffered printer should issue fewer writes");
+    }
+
+    private static void printBuffered(RootResult root, Writer sink) throws IOException {
+        ResultPrinter printer = new ResultPrinter(sink);
+        root.accept(printer);
+        printer.flush();
+    }
+
+    private static RootResult tree(int matches, int marketsPerMatch, int runnersPerMarket) {
+        List<MatchResult> matchResults = new ArrayList<>(matches);
+        long runnerId = 1;
+        for (int e = 0; e < matches; e++) {
+            List<MarketResult> marketResults = new ArrayList<>(marketsPerMatch);
+            for (int m = 0; m < marketsPerMatch; m++) {
+                List<RunnerResult> runnerResults = new ArrayList<>(runnersPerMarket);
+                for (int r = 0; r < runnersPerMarket; r++) {
+                    runnerResults.add(new RunnerResult(new Runner(runnerId++, "Runner " + r, (1 + r) + "." + (10 + m))));
+                }
+                marketResults.add(new MarketResult(new Market(e * 1000L + m, "Market " + m, List.of()), runnerResults));
+            }
+            Event event = new Event(e, "Team " + e + " - Team " + (e + 1), 1_700_000_000_000L + e * 60_000L, List.of());
+            matchResults.add(new MatchResult(event, marketResults));
+        }
+        League league = new League(1L, "Synthetic League", 1, true, 1, List.of());
+        return new RootResult(List.of(new LeagueResult("Football", league, matchResults)));
+    }
+
+    private long allocatedBytes() {
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    /**
+     * Mirrors the former {@code ResultPrinter}: one formatted console write per line and a new
+     * formatter per match.
+     */
+    private record LegacyPrinter(PrintStream out) implements ResultVisitor {
+
+        @Override
+        public void visitRoot(RootResult rootResult) {
+        }
+
+        @Override
+        public void visitLeague(LeagueResult leagueResult) {
+            out.printf("%s, %s%n", leagueResult.sportName(), leagueResult.league().name());
+        }
+
+        @Override
+        public void visitMatch(MatchResult matchResult) {
+            LocalDateTime kickoffTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(matchResult.event().kickoff()), ZoneId.systemDefault());
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+            out.println("\t" + String.format("%s %s, %d", matchResult.event().name(),
+                    kickoffTime.format(formatter) + " UTC", matchResult.event().id()));
+        }
+
+        @Override
+        public void visitMarket(MarketResult marketResult) {
+            out.println("\t\t" + marketResult.market().name());
+        }
+
+        @Override
+        public void visitRunner(RunnerResult runnerResult) {
+            out.println("\t\t\t" + String.format("%s, %s, %d", runnerResult.runner().name(),
+                    runnerResult.runner().priceStr(), runnerResult.runner().id()));
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long writes;
+
+        @Override
+        public void write(int b) {
+            writes++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            writes++;
+        }
+    }
+
+    private static final class CountingWriter extends Writer {
+        private long writes;
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            writes++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
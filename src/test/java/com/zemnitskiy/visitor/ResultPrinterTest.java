@@ -0,0 +1,112 @@
+package com.zemnitskiy.visitor;
+
+import com.zemnitskiy.model.basemodel.Event;
+import com.zemnitskiy.model.basemodel.League;
+import com.zemnitskiy.model.basemodel.Market;
+import com.zemnitskiy.model.basemodel.Runner;
+import com.zemnitskiy.model.result.LeagueResult;
+import com.zemnitskiy.model.result.MarketResult;
+import com.zemnitskiy.model.result.MatchResult;
+import com.zemnitskiy.model.result.ResultStatus;
+import com.zemnitskiy.model.result.RootResult;
+import com.zemnitskiy.model.result.RunnerResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ResultPrinter} class.
+ */
+class ResultPrinterTest {
+
+    @Test
+    void testPrint_FormatsTreeWithKickoffInUtc() throws IOException {
+        // Arrange
+        Runner runner = new Runner(7L, "Home", "1.85");
+        Market market = new Market(5L, "Winner", List.of(runner));
+        Event event = new Event(3L, "Team A - Team B", 1_700_000_000_000L, List.of(market));
+        League league = new League(1L, "Premier League", 1, true, 1, List.of(event));
+        RootResult root = new RootResult(List.of(new LeagueResult("Football", league, List.of(
+                new MatchResult(event, List.of(new MarketResult(market, List.of(new RunnerResult(runner)))))))));
+        StringWriter out = new StringWriter();
+        ResultPrinter printer = new ResultPrinter(out);
+
+        // Act
+        root.accept(printer);
+        printer.flush();
+
+        // Assert
+        String n = System.lineSeparator();
+        assertEquals("Football, Premier League" + n
+                        + "\tTeam A - Team B 2023-11-14 22:13:20 UTC, 3" + n
+                        + "\t\tWinner" + n
+                        + "\t\t\tHome, 1.85, 7" + n,
+                out.toString(), "The printed tree should match the expected layout");
+    }
+
+    @Test
+    void testPrint_MarksIncompleteLeaguesAndMatches() throws IOException {
+        // Arrange
+        Event event = new Event(3L, "Team A - Team B", 1_700_000_000_000L, List.of());
+        League league = new League(1L, "Premier League", 1, true, 1, List.of(event));
+        League failedLeague = new League(2L, "Championship", 2, true, 2, List.of());
+        RootResult root = new RootResult(List.of(
+                new LeagueResult("Football", league, List.of(new MatchResult(event, List.of(), ResultStatus.TIMED_OUT))),
+                new LeagueResult("Football", failedLeague, List.of(), ResultStatus.FAILED)));
+        StringWriter out = new StringWriter();
+        ResultPrinter printer = new ResultPrinter(out);
+
+        // Act
+        root.accept(printer);
+        printer.flush();
+
+        // Assert
+        String n = System.lineSeparator();
+        assertEquals("Football, Premier League" + n
+                        + "\tTeam A - Team B 2023-11-14 22:13:20 UTC, 3 (timed out)" + n
+                        + "Football, Championship (failed)" + n,
+                out.toString(), "Incomplete results should be marked");
+    }
+
+    @Test
+    void testPrint_BuffersUntilThresholdOrFlush() throws IOException {
+        // Arrange
+        List<Integer> writes = new ArrayList<>();
+        Writer out = new Writer() {
+            @Override
+            public void write(char[] chars, int offset, int length) {
+                writes.add(length);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        ResultPrinter printer = new ResultPrinter(out);
+        RunnerResult runner = new RunnerResult(new Runner(1L, "Runner", "2.00"));
+
+        // Act
+        printer.visitRunner(runner);
+        int writesBeforeFlush = writes.size();
+        for (int i = 0; i < 10_000; i++) {
+            printer.visitRunner(runner);
+        }
+        printer.flush();
+
+        // Assert
+        assertEquals(0, writesBeforeFlush, "A single line should stay in the buffer");
+        assertTrue(writes.size() > 1 && writes.size() < 10, "Lines should be written in large blocks");
+        assertTrue(writes.stream().limit(writes.size() - 1).allMatch(length -> length >= ResultPrinter.FLUSH_THRESHOLD),
+                "Every block but the last should reach the flush threshold");
+    }
+}